@@ -14,10 +14,12 @@ import com.microsoft.azure.management.resources.fluentcore.arm.collection.Suppor
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsGettingById;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsGettingByResourceGroup;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsListingByResourceGroup;
+import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsStreamingListingByResourceGroup;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.HasManager;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsStreamingListing;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 
 /**
@@ -29,8 +31,10 @@ public interface AppServiceCertificateOrders extends
         SupportsCreating<AppServiceCertificateOrder.DefinitionStages.Blank>,
         SupportsDeletingById,
         SupportsListingByResourceGroup<AppServiceCertificateOrder>,
+        SupportsStreamingListingByResourceGroup<AppServiceCertificateOrder>,
         SupportsGettingByResourceGroup<AppServiceCertificateOrder>,
         SupportsListing<AppServiceCertificateOrder>,
+        SupportsStreamingListing<AppServiceCertificateOrder>,
         SupportsGettingById<AppServiceCertificateOrder>,
         SupportsDeletingByResourceGroup,
         HasManager<AppServiceManager>,
@@ -15,10 +15,12 @@ import com.microsoft.azure.management.resources.fluentcore.arm.collection.Suppor
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsGettingByResourceGroup;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsGettingById;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsListingByResourceGroup;
+import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsStreamingListingByResourceGroup;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.HasManager;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsStreamingListing;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 
 /**
@@ -29,7 +31,9 @@ import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 public interface AppServiceDomains extends
         SupportsCreating<AppServiceDomain.DefinitionStages.Blank>,
         SupportsListing<AppServiceDomain>,
+        SupportsStreamingListing<AppServiceDomain>,
         SupportsListingByResourceGroup<AppServiceDomain>,
+        SupportsStreamingListingByResourceGroup<AppServiceDomain>,
         SupportsDeletingById,
         SupportsDeletingByResourceGroup,
         SupportsGettingByResourceGroup<AppServiceDomain>,
@@ -14,10 +14,12 @@ import com.microsoft.azure.management.resources.fluentcore.arm.collection.Suppor
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsGettingById;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsGettingByResourceGroup;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsListingByResourceGroup;
+import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsStreamingListingByResourceGroup;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.HasManager;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsStreamingListing;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 
 /**
@@ -29,7 +31,9 @@ public interface AppServicePlans extends
         SupportsCreating<AppServicePlan.DefinitionStages.Blank>,
         SupportsDeletingById,
         SupportsListingByResourceGroup<AppServicePlan>,
+        SupportsStreamingListingByResourceGroup<AppServicePlan>,
         SupportsListing<AppServicePlan>,
+        SupportsStreamingListing<AppServicePlan>,
         SupportsGettingByResourceGroup<AppServicePlan>,
         SupportsGettingById<AppServicePlan>,
         SupportsDeletingByResourceGroup,
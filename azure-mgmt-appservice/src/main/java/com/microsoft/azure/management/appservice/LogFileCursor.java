@@ -0,0 +1,26 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.appservice;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Fluent;
+
+import java.util.Map;
+
+/**
+ * The position reached in the log files of a web app, deployment slot or function app by
+ * {@link WebAppBase#pollAllLogsAsBytesAsync(LogFileCursor)}. Each caller polling the logs of a site
+ * keeps a cursor of its own, so that callers never read past each other's data.
+ */
+@Fluent(ContainerName = "/Microsoft.Azure.Management.AppService.Fluent")
+@Beta(Beta.SinceVersion.V1_30_0)
+public interface LogFileCursor {
+    /**
+     * @return the size read so far of each log file, by path; empty until the first poll
+     */
+    Map<String, Long> offsets();
+}
@@ -24,6 +24,7 @@ import rx.Observable;
 
 import java.io.File;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -468,6 +469,35 @@ public interface WebAppBase extends
     @Method
     Observable<String> streamAllLogsAsync();
 
+    /**
+     * Streams all logs as raw bytes, without decoding or splitting them into lines.
+     * Buffers are read from the connection only as the subscriber requests them.
+     *
+     * @return an Observable streaming all logs as byte buffers
+     */
+    @Beta(SinceVersion.V1_30_0)
+    @Method
+    Observable<ByteBuffer> streamAllLogsAsBytesAsync();
+
+    /**
+     * @return a new cursor to poll the log files of this site with, positioned where they end on its first poll
+     */
+    @Beta(SinceVersion.V1_30_0)
+    @Method
+    LogFileCursor newLogFileCursor();
+
+    /**
+     * Reads the data written to the log files since the cursor was last moved, without keeping a connection open,
+     * and moves the cursor past it. The first poll with a cursor only records where the log files end. Each buffer
+     * holds complete lines of one log file, unless a single line is longer than a read. Polls with different cursors
+     * may overlap; a cursor is used by one poll at a time.
+     *
+     * @param cursor the cursor created by {@link #newLogFileCursor()} on this site
+     * @return an Observable of the new log data, completing once the log files are read
+     */
+    @Beta(SinceVersion.V1_30_0)
+    Observable<ByteBuffer> pollAllLogsAsBytesAsync(LogFileCursor cursor);
+
     /**
      * Verifies the ownership of the domain for a certificate order by verifying a hostname
      * of the domain is bound to this web app.
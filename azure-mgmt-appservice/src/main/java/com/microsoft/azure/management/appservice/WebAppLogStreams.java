@@ -0,0 +1,288 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.appservice;
+
+import com.microsoft.azure.CloudException;
+import com.microsoft.azure.management.apigeneration.Beta;
+import rx.Observable;
+import rx.functions.Action0;
+import rx.functions.Func0;
+import rx.functions.Func1;
+import rx.schedulers.Schedulers;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tails the logs of many web apps, deployment slots and function apps through a single stream.
+ */
+@Beta(Beta.SinceVersion.V1_30_0)
+public final class WebAppLogStreams {
+
+    private static final int DEFAULT_POLL_INTERVAL_IN_SECONDS = 5;
+    private static final int DEFAULT_MAX_CONCURRENT_READS = 8;
+    private static final int MAX_CONSECUTIVE_FAILED_POLLS = 3;
+
+    private WebAppLogStreams() {
+    }
+
+    /**
+     * A chunk of log data received from one of the tailed sites.
+     */
+    public static final class Entry {
+        private final WebAppBase source;
+        private final ByteBuffer data;
+
+        private Entry(WebAppBase source, ByteBuffer data) {
+            this.source = source;
+            this.data = data;
+        }
+
+        /**
+         * @return the web app, deployment slot or function app the data was read from
+         */
+        public WebAppBase source() {
+            return source;
+        }
+
+        /**
+         * @return the log data; a single line without its terminator when lines are split
+         */
+        public ByteBuffer data() {
+            return data;
+        }
+    }
+
+    /**
+     * Tails all logs of the given sites as one stream, polling their log files every 5 seconds
+     * with at most 8 reads in flight.
+     *
+     * @param sites the web apps, deployment slots or function apps to tail
+     * @param splitLines true to emit one entry per log line, false to emit raw buffers as received
+     * @return an Observable of log entries from all sites
+     */
+    public static Observable<Entry> streamAllLogsAsync(Iterable<? extends WebAppBase> sites, boolean splitLines) {
+        return streamAllLogsAsync(sites, splitLines, DEFAULT_POLL_INTERVAL_IN_SECONDS, DEFAULT_MAX_CONCURRENT_READS);
+    }
+
+    /**
+     * Tails all logs of the given sites as one stream.
+     * <p>
+     * No connection is held open per site: one timer polls the log files of all sites through
+     * {@link WebAppBase#pollAllLogsAsBytesAsync(LogFileCursor)}, and no more than the given number of sites are read
+     * at once, so the threads used do not grow with the number of sites. Each poll reads only as fast
+     * as the subscriber requests entries; polls falling behind are skipped. Each subscription keeps its own
+     * position in the log files of each site. A site that cannot be read is read again on the next poll;
+     * the stream fails once a site fails 3 polls in a row, or at once if access to it is denied.
+     *
+     * @param sites the web apps, deployment slots or function apps to tail
+     * @param splitLines true to emit one entry per log line, false to emit raw buffers as received
+     * @param pollIntervalInSeconds the time between polls in seconds, at least 1
+     * @param maxConcurrentReads the maximum number of sites read at once, at least 1
+     * @return an Observable of log entries from all sites
+     */
+    public static Observable<Entry> streamAllLogsAsync(Iterable<? extends WebAppBase> sites, final boolean splitLines,
+                                                       int pollIntervalInSeconds, final int maxConcurrentReads) {
+        if (pollIntervalInSeconds < 1) {
+            return Observable.error(new IllegalArgumentException("pollIntervalInSeconds must be at least 1"));
+        }
+        if (maxConcurrentReads < 1) {
+            return Observable.error(new IllegalArgumentException("maxConcurrentReads must be at least 1"));
+        }
+        final List<WebAppBase> siteList = new ArrayList<>();
+        for (WebAppBase site : sites) {
+            siteList.add(site);
+        }
+        final long interval = pollIntervalInSeconds;
+        return Observable.defer(new Func0<Observable<Entry>>() {
+            @Override
+            public Observable<Entry> call() {
+                final List<SiteTail> tails = new ArrayList<>();
+                for (WebAppBase site : siteList) {
+                    tails.add(new SiteTail(site));
+                }
+                return Observable.interval(0, interval, TimeUnit.SECONDS)
+                        .onBackpressureDrop()
+                        .concatMap(new Func1<Long, Observable<Entry>>() {
+                            @Override
+                            public Observable<Entry> call(Long tick) {
+                                return Observable.from(tails).flatMap(new Func1<SiteTail, Observable<Entry>>() {
+                                    @Override
+                                    public Observable<Entry> call(SiteTail tail) {
+                                        return pollAsync(tail, splitLines);
+                                    }
+                                }, maxConcurrentReads);
+                            }
+                        });
+            }
+        });
+    }
+
+    private static Observable<Entry> pollAsync(final SiteTail tail, boolean splitLines) {
+        final WebAppBase site = tail.site;
+        Observable<ByteBuffer> data = site.pollAllLogsAsBytesAsync(tail.cursor)
+                .subscribeOn(Schedulers.io())
+                .doOnCompleted(new Action0() {
+                    @Override
+                    public void call() {
+                        tail.failedPolls = 0;
+                    }
+                })
+                .onErrorResumeNext(new Func1<Throwable, Observable<ByteBuffer>>() {
+                    @Override
+                    public Observable<ByteBuffer> call(Throwable throwable) {
+                        if (isAccessDenied(throwable) || ++tail.failedPolls >= MAX_CONSECUTIVE_FAILED_POLLS) {
+                            return Observable.error(throwable);
+                        }
+                        // e.g. the site is restarting, the data is read on the next poll
+                        return Observable.empty();
+                    }
+                });
+        if (splitLines) {
+            // every buffer ends a line, so no line is carried over to the next poll
+            data = data.compose(splitLines());
+        }
+        return data.map(new Func1<ByteBuffer, Entry>() {
+            @Override
+            public Entry call(ByteBuffer buffer) {
+                return new Entry(site, buffer);
+            }
+        });
+    }
+
+    private static boolean isAccessDenied(Throwable throwable) {
+        if (!(throwable instanceof CloudException) || ((CloudException) throwable).response() == null) {
+            return false;
+        }
+        int code = ((CloudException) throwable).response().code();
+        return code == 401 || code == 403;
+    }
+
+    /**
+     * The state of the tail of one site: its position in the log files and its failed polls in a row.
+     */
+    private static class SiteTail {
+        private final WebAppBase site;
+        private final LogFileCursor cursor;
+        // updated by one poll of the site at a time
+        private volatile int failedPolls;
+
+        SiteTail(WebAppBase site) {
+            this.site = site;
+            this.cursor = site.newLogFileCursor();
+        }
+    }
+
+    /**
+     * Splits a stream of byte buffers into lines terminated by '\n' or "\r\n".
+     * <p>
+     * Emitted lines are read-only views over the received buffers; bytes are only copied
+     * when a line spans two buffers.
+     *
+     * @return a transformer splitting byte buffers into lines
+     */
+    public static Observable.Transformer<ByteBuffer, ByteBuffer> splitLines() {
+        return new Observable.Transformer<ByteBuffer, ByteBuffer>() {
+            @Override
+            public Observable<ByteBuffer> call(final Observable<ByteBuffer> buffers) {
+                return Observable.defer(new Func0<Observable<ByteBuffer>>() {
+                    @Override
+                    public Observable<ByteBuffer> call() {
+                        final LineSplitter splitter = new LineSplitter();
+                        return buffers.concatMapIterable(new Func1<ByteBuffer, Iterable<ByteBuffer>>() {
+                            @Override
+                            public Iterable<ByteBuffer> call(ByteBuffer buffer) {
+                                return splitter.split(buffer);
+                            }
+                        }).concatWith(Observable.defer(new Func0<Observable<ByteBuffer>>() {
+                            @Override
+                            public Observable<ByteBuffer> call() {
+                                ByteBuffer remainder = splitter.remainder();
+                                return remainder == null ? Observable.<ByteBuffer>empty() : Observable.just(remainder);
+                            }
+                        }));
+                    }
+                });
+            }
+        };
+    }
+
+    /**
+     * Stateful line splitter; carries an incomplete trailing line over to the next buffer.
+     */
+    private static class LineSplitter {
+        private ByteBuffer partial;
+
+        List<ByteBuffer> split(ByteBuffer buffer) {
+            List<ByteBuffer> lines = null;
+            int start = buffer.position();
+            for (int i = buffer.position(); i < buffer.limit(); i++) {
+                if (buffer.get(i) == '\n') {
+                    if (lines == null) {
+                        lines = new ArrayList<>();
+                    }
+                    lines.add(line(buffer, start, i));
+                    start = i + 1;
+                }
+            }
+            if (start < buffer.limit()) {
+                append(buffer, start, buffer.limit());
+            }
+            return lines == null ? Collections.<ByteBuffer>emptyList() : lines;
+        }
+
+        ByteBuffer remainder() {
+            ByteBuffer rest = partial;
+            partial = null;
+            if (rest == null) {
+                return null;
+            }
+            rest.flip();
+            return trimCarriageReturn(rest).asReadOnlyBuffer();
+        }
+
+        private ByteBuffer line(ByteBuffer buffer, int start, int end) {
+            ByteBuffer line;
+            if (partial == null) {
+                ByteBuffer view = buffer.duplicate();
+                view.limit(end).position(start);
+                line = view.slice();
+            } else {
+                append(buffer, start, end);
+                line = partial;
+                line.flip();
+                partial = null;
+            }
+            return trimCarriageReturn(line).asReadOnlyBuffer();
+        }
+
+        private void append(ByteBuffer buffer, int start, int end) {
+            int length = end - start;
+            if (partial == null) {
+                partial = ByteBuffer.allocate(Math.max(length, 256));
+            } else if (partial.remaining() < length) {
+                ByteBuffer grown = ByteBuffer.allocate(Math.max(partial.capacity() * 2, partial.position() + length));
+                partial.flip();
+                grown.put(partial);
+                partial = grown;
+            }
+            ByteBuffer view = buffer.duplicate();
+            view.limit(end).position(start);
+            partial.put(view);
+        }
+
+        private static ByteBuffer trimCarriageReturn(ByteBuffer line) {
+            if (line.remaining() > 0 && line.get(line.limit() - 1) == '\r') {
+                line.limit(line.limit() - 1);
+            }
+            return line;
+        }
+    }
+}
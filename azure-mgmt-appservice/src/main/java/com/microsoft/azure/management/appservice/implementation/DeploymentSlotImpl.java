@@ -12,8 +12,6 @@ import com.microsoft.azure.management.appservice.WebApp;
 import rx.Completable;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.IOException;
 import java.io.InputStream;
 
 /**
@@ -70,11 +68,7 @@ class DeploymentSlotImpl
 
     @Override
     public Completable warDeployAsync(File warFile, String appName) {
-        try {
-            return warDeployAsync(new FileInputStream(warFile), appName);
-        } catch (IOException e) {
-            return Completable.error(e);
-        }
+        return kuduClient.warDeployAsync(warFile, appName);
     }
 
     @Override
@@ -109,10 +103,6 @@ class DeploymentSlotImpl
 
     @Override
     public Completable zipDeployAsync(File zipFile) {
-        try {
-            return zipDeployAsync(new FileInputStream(zipFile));
-        } catch (IOException e) {
-            return Completable.error(e);
-        }
+        return kuduClient.zipDeployAsync(zipFile).concatWith(stopAsync()).concatWith(startAsync());
     }
 }
\ No newline at end of file
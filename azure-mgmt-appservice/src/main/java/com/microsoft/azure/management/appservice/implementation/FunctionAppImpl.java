@@ -46,8 +46,6 @@ import rx.functions.Func1;
 import rx.functions.Func2;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.IOException;
 import java.io.InputStream;
 import java.util.HashMap;
 import java.util.List;
@@ -173,7 +171,7 @@ class FunctionAppImpl
             if (cachedAppServicePlanObservable == null) {
                 cachedAppServicePlanObservable = this.cachedAppServicePlanObservable();
             }
-            return Observable.merge(storageAccountToSet.getKeysAsync()
+            return Observable.merge(storageAccountToSet.manager().storageAccountKeyCache().getKeysAsync(storageAccountToSet)
                 .flatMapIterable(new Func1<List<StorageAccountKey>, Iterable<StorageAccountKey>>() {
                     @Override
                     public Iterable<StorageAccountKey> call(List<StorageAccountKey> storageAccountKeys) {
@@ -511,77 +509,15 @@ class FunctionAppImpl
     }
 
     @Override
-    public Observable<String> streamApplicationLogsAsync() {
+    Observable<Void> warmUpLogStreamAsync() {
         return functionService.ping()
                 .mergeWith(functionService.getHostStatus())
-                .last()
-                .flatMap(new Func1<Void, Observable<String>>() {
-                    @Override
-                    public Observable<String> call(Void aVoid) {
-                        return FunctionAppImpl.super.streamApplicationLogsAsync();
-                    }
-                });
-    }
-
-    @Override
-    public Observable<String> streamHttpLogsAsync() {
-        return functionService.ping()
-                .mergeWith(functionService.getHostStatus())
-                .last()
-                .flatMap(new Func1<Void, Observable<String>>() {
-                    @Override
-                    public Observable<String> call(Void aVoid) {
-                        return FunctionAppImpl.super.streamHttpLogsAsync();
-                    }
-                });
-    }
-
-    @Override
-    public Observable<String> streamTraceLogsAsync() {
-        return functionService.ping()
-                .mergeWith(functionService.getHostStatus())
-                .last()
-                .flatMap(new Func1<Void, Observable<String>>() {
-                    @Override
-                    public Observable<String> call(Void aVoid) {
-                        return FunctionAppImpl.super.streamTraceLogsAsync();
-                    }
-                });
-    }
-
-    @Override
-    public Observable<String> streamDeploymentLogsAsync() {
-        return functionService.ping()
-                .mergeWith(functionService.getHostStatus())
-                .last()
-                .flatMap(new Func1<Void, Observable<String>>() {
-                    @Override
-                    public Observable<String> call(Void aVoid) {
-                        return FunctionAppImpl.super.streamDeploymentLogsAsync();
-                    }
-                });
-    }
-
-    @Override
-    public Observable<String> streamAllLogsAsync() {
-        return functionService.ping()
-                .mergeWith(functionService.getHostStatus())
-                .last()
-                .flatMap(new Func1<Void, Observable<String>>() {
-                    @Override
-                    public Observable<String> call(Void aVoid) {
-                        return FunctionAppImpl.super.streamAllLogsAsync();
-                    }
-                });
+                .last();
     }
 
     @Override
     public Completable zipDeployAsync(File zipFile) {
-        try {
-            return zipDeployAsync(new FileInputStream(zipFile));
-        } catch (IOException e) {
-            return Completable.error(e);
-        }
+        return kuduClient.zipDeployAsync(zipFile);
     }
 
     @Override
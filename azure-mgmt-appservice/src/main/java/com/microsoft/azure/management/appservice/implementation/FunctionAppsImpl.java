@@ -13,8 +13,10 @@ import com.microsoft.azure.management.appservice.FunctionApps;
 import com.microsoft.azure.management.appservice.FunctionEnvelope;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.implementation.TopLevelModifiableResourcesImpl;
 import com.microsoft.azure.management.resources.fluentcore.utils.PagedListConverter;
+import com.microsoft.azure.management.resources.fluentcore.utils.StreamingPagedIterable;
 import rx.Completable;
 import rx.Observable;
+import rx.functions.Func0;
 import rx.functions.Func1;
 import rx.functions.Func2;
 
@@ -129,6 +131,11 @@ class FunctionAppsImpl
         return converter.convert(pagedList);
     }
 
+    @Override
+    protected StreamingPagedIterable<SiteInner, FunctionApp> wrapListStreaming(Func0<PagedList<SiteInner>> innerList) {
+        return converter.convertStreaming(innerList);
+    }
+
 
     @Override
     public FunctionAppImpl define(String name) {
@@ -13,8 +13,6 @@ import com.microsoft.azure.management.appservice.FunctionDeploymentSlot.Definiti
 import rx.Completable;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.IOException;
 import java.io.InputStream;
 
 /**
@@ -66,10 +64,6 @@ class FunctionDeploymentSlotImpl
 
     @Override
     public Completable zipDeployAsync(File zipFile) {
-        try {
-            return zipDeployAsync(new FileInputStream(zipFile));
-        } catch (IOException e) {
-            return Completable.error(e);
-        }
+        return kuduClient.zipDeployAsync(zipFile);
     }
 }
\ No newline at end of file
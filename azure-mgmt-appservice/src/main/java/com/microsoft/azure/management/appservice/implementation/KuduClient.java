@@ -6,38 +6,57 @@
 
 package com.microsoft.azure.management.appservice.implementation;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.google.common.base.Joiner;
-import com.google.common.io.ByteStreams;
 import com.microsoft.azure.CloudException;
 import com.microsoft.azure.management.appservice.WebAppBase;
 import okhttp3.MediaType;
 import okhttp3.RequestBody;
 import okhttp3.ResponseBody;
+import okio.Buffer;
 import okio.BufferedSource;
+import retrofit2.Response;
 import retrofit2.http.Body;
 import retrofit2.http.GET;
+import retrofit2.http.Header;
 import retrofit2.http.Headers;
 import retrofit2.http.POST;
+import retrofit2.http.Path;
 import retrofit2.http.Query;
 import retrofit2.http.Streaming;
 import rx.Completable;
-import rx.Emitter;
-import rx.Emitter.BackpressureMode;
 import rx.Observable;
+import rx.Observer;
 import rx.exceptions.Exceptions;
 import rx.functions.Action1;
+import rx.functions.Action2;
+import rx.functions.Func0;
 import rx.functions.Func1;
 import rx.functions.Func2;
+import rx.observables.SyncOnSubscribe;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 
 /**
  * A client which interacts with Kudu service.
  */
 class KuduClient {
+    private static final long LOG_STREAM_CHUNK_SIZE = 8 * 1024;
+    private static final String LOG_FILES_ROOT = "LogFiles";
+    private static final int LOG_FILES_MAX_DEPTH = 3;
+    private static final long LOG_FILES_MAX_READ_SIZE = 1024 * 1024;
+
     private KuduService service;
 
     KuduClient(WebAppBase webAppBase) {
@@ -92,95 +111,352 @@ class KuduClient {
         @POST("api/zipdeploy")
         @Streaming
         Observable<Void> zipDeploy(@Body RequestBody zipFile);
+
+        @Headers({ "x-ms-logging-context: com.microsoft.azure.management.appservice.WebApps listVfsDirectory" })
+        @GET("api/vfs/{path}/")
+        Observable<List<VfsEntry>> listVfsDirectory(@Path(value = "path", encoded = true) String path);
+
+        @Headers({ "x-ms-logging-context: com.microsoft.azure.management.appservice.WebApps readVfsFile", "x-ms-body-logging: false" })
+        @GET("api/vfs/{path}")
+        Observable<Response<ResponseBody>> readVfsFile(@Path(value = "path", encoded = true) String path, @Header("Range") String range);
+    }
+
+    private static class VfsEntry {
+        @JsonProperty("name")
+        private String name;
+
+        @JsonProperty("size")
+        private long size;
+
+        @JsonProperty("mime")
+        private String mime;
+
+        boolean isDirectory() {
+            return "inode/directory".equalsIgnoreCase(mime);
+        }
     }
 
     Observable<String> streamApplicationLogsAsync() {
-        return service.streamApplicationLogs()
-                .flatMap(new Func1<ResponseBody, Observable<String>>() {
-                    @Override
-                    public Observable<String> call(ResponseBody responseBody) {
-                        final BufferedSource source = responseBody.source();
-                        return streamFromBufferedSource(source);
-                    }
-                });
+        return streamLinesAsync(service.streamApplicationLogs());
     }
 
     Observable<String> streamHttpLogsAsync() {
-        return service.streamHttpLogs()
-                .flatMap(new Func1<ResponseBody, Observable<String>>() {
-                    @Override
-                    public Observable<String> call(ResponseBody responseBody) {
-                        final BufferedSource source = responseBody.source();
-                        return streamFromBufferedSource(source);
-                    }
-                });
+        return streamLinesAsync(service.streamHttpLogs());
     }
 
     Observable<String> streamTraceLogsAsync() {
-        return service.streamTraceLogs()
-                .flatMap(new Func1<ResponseBody, Observable<String>>() {
+        return streamLinesAsync(service.streamTraceLogs());
+    }
+
+    Observable<String> streamDeploymentLogsAsync() {
+        return streamLinesAsync(service.streamDeploymentLogs());
+    }
+
+    Observable<String> streamAllLogsAsync() {
+        return streamLinesAsync(service.streamAllLogs());
+    }
+
+    Observable<ByteBuffer> streamApplicationLogsAsBytesAsync() {
+        return streamBytesAsync(service.streamApplicationLogs());
+    }
+
+    Observable<ByteBuffer> streamHttpLogsAsBytesAsync() {
+        return streamBytesAsync(service.streamHttpLogs());
+    }
+
+    Observable<ByteBuffer> streamTraceLogsAsBytesAsync() {
+        return streamBytesAsync(service.streamTraceLogs());
+    }
+
+    Observable<ByteBuffer> streamDeploymentLogsAsBytesAsync() {
+        return streamBytesAsync(service.streamDeploymentLogs());
+    }
+
+    Observable<ByteBuffer> streamAllLogsAsBytesAsync() {
+        return streamBytesAsync(service.streamAllLogs());
+    }
+
+    Observable<ByteBuffer> pollAllLogsAsBytesAsync(final LogFileCursorImpl cursor) {
+        return listLogFilesAsync(LOG_FILES_ROOT, 1)
+                .toMap(new Func1<VfsEntry, String>() {
+                    @Override
+                    public String call(VfsEntry entry) {
+                        return entry.name;
+                    }
+                }, new Func1<VfsEntry, Long>() {
                     @Override
-                    public Observable<String> call(ResponseBody responseBody) {
-                        final BufferedSource source = responseBody.source();
-                        return streamFromBufferedSource(source);
+                    public Long call(VfsEntry entry) {
+                        return entry.size;
+                    }
+                })
+                .concatMap(new Func1<Map<String, Long>, Observable<ByteBuffer>>() {
+                    @Override
+                    public Observable<ByteBuffer> call(Map<String, Long> sizes) {
+                        ConcurrentMap<String, Long> offsets = cursor.positions();
+                        if (offsets == null) {
+                            // like the log stream, only data written from now on is read
+                            cursor.start(sizes);
+                            return Observable.empty();
+                        }
+                        offsets.keySet().retainAll(sizes.keySet());
+                        List<Observable<ByteBuffer>> reads = new ArrayList<>();
+                        for (Map.Entry<String, Long> file : sizes.entrySet()) {
+                            Long start = logReadStart(offsets.get(file.getKey()), file.getValue());
+                            if (start != null) {
+                                reads.add(readLogFileAsync(offsets, file.getKey(), start, file.getValue()));
+                            }
+                        }
+                        return Observable.concat(Observable.from(reads));
                     }
                 });
     }
 
-    Observable<String> streamDeploymentLogsAsync() {
-        return service.streamDeploymentLogs()
-                .flatMap(new Func1<ResponseBody, Observable<String>>() {
+    /**
+     * Lists the log files under a directory; the entries returned are named by their path.
+     */
+    private Observable<VfsEntry> listLogFilesAsync(final String path, final int depth) {
+        return service.listVfsDirectory(path)
+                .onErrorResumeNext(new Func1<Throwable, Observable<List<VfsEntry>>>() {
+                    @Override
+                    public Observable<List<VfsEntry>> call(Throwable throwable) {
+                        if (throwable instanceof CloudException
+                                && ((CloudException) throwable).response().code() == 404) {
+                            return Observable.just((List<VfsEntry>) new ArrayList<VfsEntry>());
+                        }
+                        return Observable.error(throwable);
+                    }
+                })
+                .concatMap(new Func1<List<VfsEntry>, Observable<VfsEntry>>() {
                     @Override
-                    public Observable<String> call(ResponseBody responseBody) {
-                        final BufferedSource source = responseBody.source();
-                        return streamFromBufferedSource(source);
+                    public Observable<VfsEntry> call(List<VfsEntry> entries) {
+                        List<Observable<VfsEntry>> files = new ArrayList<>();
+                        if (entries != null) {
+                            for (VfsEntry entry : entries) {
+                                String entryPath = path + "/" + entry.name;
+                                if (entry.isDirectory()) {
+                                    if (depth < LOG_FILES_MAX_DEPTH) {
+                                        files.add(listLogFilesAsync(entryPath, depth + 1));
+                                    }
+                                } else if (isLogFile(entry.name)) {
+                                    VfsEntry file = new VfsEntry();
+                                    file.name = entryPath;
+                                    file.size = entry.size;
+                                    files.add(Observable.just(file));
+                                }
+                            }
+                        }
+                        return Observable.concat(Observable.from(files));
                     }
                 });
     }
 
-    Observable<String> streamAllLogsAsync() {
-        return service.streamAllLogs()
-                .flatMap(new Func1<ResponseBody, Observable<String>>() {
+    private Observable<ByteBuffer> readLogFileAsync(final Map<String, Long> offsets, final String path, final long start, long size) {
+        final long length = Math.min(size - start, LOG_FILES_MAX_READ_SIZE);
+        return service.readVfsFile(path, "bytes=" + start + "-" + (start + length - 1))
+                .concatMap(new Func1<Response<ResponseBody>, Observable<ByteBuffer>>() {
                     @Override
-                    public Observable<String> call(ResponseBody responseBody) {
-                        final BufferedSource source = responseBody.source();
-                        return streamFromBufferedSource(source);
+                    public Observable<ByteBuffer> call(Response<ResponseBody> response) {
+                        byte[] data;
+                        try {
+                            if (response.code() == 404 || response.code() == 416) {
+                                // the file was removed or truncated since it was listed, it is read again on the next poll
+                                if (response.errorBody() != null) {
+                                    response.errorBody().close();
+                                }
+                                return Observable.empty();
+                            }
+                            if (!response.isSuccessful()) {
+                                // e.g. 401 or 403, reading again on the next poll would fail the same way
+                                return Observable.error(new CloudException("Status code " + response.code()
+                                        + " reading log file " + path, Response.<ResponseBody>error(response.errorBody(), response.raw())));
+                            }
+                            data = response.body().bytes();
+                        } catch (IOException e) {
+                            return Observable.error(e);
+                        }
+                        // a server ignoring the range returns the whole file
+                        int from = response.code() == 206 ? 0 : (int) Math.min(start, data.length);
+                        int to = (int) Math.min(data.length, from + length);
+                        int end = from + completeLinesLength(data, from, to, to - from == length);
+                        offsets.put(path, start + end - from);
+                        if (end == from) {
+                            return Observable.empty();
+                        }
+                        return Observable.just(ByteBuffer.wrap(data, from, end - from).slice());
                     }
                 });
     }
 
-    private Observable<String> streamFromBufferedSource(final BufferedSource source) {
-        return Observable.create(new Action1<Emitter<String>>() {
+    private static boolean isLogFile(String name) {
+        String lowerCaseName = name.toLowerCase();
+        return lowerCaseName.endsWith(".txt") || lowerCaseName.endsWith(".log");
+    }
+
+    /**
+     * Finds where to start reading a log file from.
+     *
+     * @param offset the size read so far, null for a file created since the previous poll
+     * @param size the current size of the file
+     * @return the offset to read from, or null if nothing was written since the previous poll
+     */
+    static Long logReadStart(Long offset, long size) {
+        // a new file, or a file truncated or rolled over since the previous poll, is read from the start
+        long start = offset == null || size < offset ? 0 : offset;
+        return size > start ? start : null;
+    }
+
+    /**
+     * Finds the length of the complete lines in a read, so that a line being written is read again as a whole
+     * on the next poll.
+     *
+     * @param data the data read
+     * @param from the index of the first byte read
+     * @param to the index after the last byte read
+     * @param full true if the read returned as many bytes as requested
+     * @return the length of the data up to and including its last line terminator; all of it for a full read
+     * without a line terminator, so that a line longer than a read is not read again forever
+     */
+    static int completeLinesLength(byte[] data, int from, int to, boolean full) {
+        for (int i = to - 1; i >= from; i--) {
+            if (data[i] == '\n') {
+                return i + 1 - from;
+            }
+        }
+        return full ? to - from : 0;
+    }
+
+    private Observable<String> streamLinesAsync(Observable<ResponseBody> response) {
+        return response.flatMap(new Func1<ResponseBody, Observable<String>>() {
+            @Override
+            public Observable<String> call(ResponseBody responseBody) {
+                return streamFromBufferedSource(responseBody);
+            }
+        });
+    }
+
+    private Observable<ByteBuffer> streamBytesAsync(Observable<ResponseBody> response) {
+        return response.flatMap(new Func1<ResponseBody, Observable<ByteBuffer>>() {
+            @Override
+            public Observable<ByteBuffer> call(ResponseBody responseBody) {
+                return streamBytesFromBufferedSource(responseBody);
+            }
+        });
+    }
+
+    // The source is only read when the subscriber requests more, so a slow consumer
+    // holds back the connection instead of growing an unbounded buffer.
+    private Observable<String> streamFromBufferedSource(final ResponseBody responseBody) {
+        return Observable.create(SyncOnSubscribe.<BufferedSource, String>createSingleState(new Func0<BufferedSource>() {
             @Override
-            public void call(Emitter<String> stringEmitter) {
+            public BufferedSource call() {
+                return responseBody.source();
+            }
+        }, new Action2<BufferedSource, Observer<? super String>>() {
+            @Override
+            public void call(BufferedSource source, Observer<? super String> observer) {
                 try {
-                    while (!source.exhausted()) {
-                        stringEmitter.onNext(source.readUtf8Line());
+                    String line = source.readUtf8Line();
+                    if (line == null) {
+                        observer.onCompleted();
+                    } else {
+                        observer.onNext(line);
                     }
-                    stringEmitter.onCompleted();
                 } catch (IOException e) {
-                    stringEmitter.onError(e);
+                    observer.onError(e);
                 }
             }
-        }, BackpressureMode.BUFFER);
+        }, new Action1<BufferedSource>() {
+            @Override
+            public void call(BufferedSource source) {
+                responseBody.close();
+            }
+        }));
     }
 
-    Completable warDeployAsync(InputStream warFile, String appName) {
-        try {
-            RequestBody body = RequestBody.create(MediaType.parse("application/octet-stream"), ByteStreams.toByteArray(warFile));
-            return getCompletable(service.warDeploy(body, appName));
-        } catch (IOException e) {
-            return Completable.error(e);
-        }
+    private Observable<ByteBuffer> streamBytesFromBufferedSource(final ResponseBody responseBody) {
+        return Observable.create(SyncOnSubscribe.<BufferedSource, ByteBuffer>createSingleState(new Func0<BufferedSource>() {
+            @Override
+            public BufferedSource call() {
+                return responseBody.source();
+            }
+        }, new Action2<BufferedSource, Observer<? super ByteBuffer>>() {
+            @Override
+            public void call(BufferedSource source, Observer<? super ByteBuffer> observer) {
+                try {
+                    Buffer chunk = new Buffer();
+                    // returns as soon as any bytes are available rather than waiting for a full chunk
+                    if (source.read(chunk, LOG_STREAM_CHUNK_SIZE) < 0) {
+                        observer.onCompleted();
+                    } else {
+                        observer.onNext(ByteBuffer.wrap(chunk.readByteArray()));
+                    }
+                } catch (IOException e) {
+                    observer.onError(e);
+                }
+            }
+        }, new Action1<BufferedSource>() {
+            @Override
+            public void call(BufferedSource source) {
+                responseBody.close();
+            }
+        }));
+    }
+
+    Completable warDeployAsync(InputStream warFile, final String appName) {
+        return spillToFile(warFile, new Func1<File, Completable>() {
+            @Override
+            public Completable call(File file) {
+                return warDeployAsync(file, appName);
+            }
+        });
+    }
+
+    Completable warDeployAsync(File warFile, String appName) {
+        // the file is re-opened and streamed on every attempt, so retries never buffer the archive on heap
+        RequestBody body = RequestBody.create(MediaType.parse("application/octet-stream"), warFile);
+        return getCompletable(service.warDeploy(body, appName));
     }
 
     Completable zipDeployAsync(InputStream zipFile) {
-        try {
-            RequestBody body = RequestBody.create(MediaType.parse("application/octet-stream"), ByteStreams.toByteArray(zipFile));
-            return getCompletable(service.zipDeploy(body));
-        } catch (IOException e) {
-            return Completable.error(e);
-        }
+        return spillToFile(zipFile, new Func1<File, Completable>() {
+            @Override
+            public Completable call(File file) {
+                return zipDeployAsync(file);
+            }
+        });
+    }
+
+    Completable zipDeployAsync(File zipFile) {
+        RequestBody body = RequestBody.create(MediaType.parse("application/octet-stream"), zipFile);
+        return getCompletable(service.zipDeploy(body));
+    }
+
+    /**
+     * Copies a one-shot input stream to a temporary file so that the upload can be streamed and
+     * replayed on retry without holding the archive in memory. The file is removed once the
+     * deployment terminates.
+     */
+    private Completable spillToFile(final InputStream inputStream, Func1<File, Completable> deploy) {
+        return Completable.using(new Func0<File>() {
+            @Override
+            public File call() {
+                try {
+                    File file = File.createTempFile("kudu-deploy", ".tmp");
+                    file.deleteOnExit();
+                    Files.copy(inputStream, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                    return file;
+                } catch (IOException e) {
+                    throw Exceptions.propagate(e);
+                }
+            }
+        }, deploy, new Action1<File>() {
+            @Override
+            public void call(File file) {
+                if (!file.delete()) {
+                    file.deleteOnExit();
+                }
+            }
+        });
     }
 
     private Completable getCompletable(Observable<Void> observable) {
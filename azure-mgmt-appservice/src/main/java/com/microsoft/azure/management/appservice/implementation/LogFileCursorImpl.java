@@ -0,0 +1,46 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.appservice.implementation;
+
+import com.microsoft.azure.management.appservice.LogFileCursor;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The implementation for LogFileCursor.
+ */
+class LogFileCursorImpl implements LogFileCursor {
+    // the size read so far of each log file, by path; null until the first poll recorded where the files end
+    private volatile ConcurrentMap<String, Long> offsets;
+
+    @Override
+    public Map<String, Long> offsets() {
+        ConcurrentMap<String, Long> current = offsets;
+        return current == null
+                ? Collections.<String, Long>emptyMap()
+                : Collections.unmodifiableMap(current);
+    }
+
+    /**
+     * @return the size read so far of each log file, by path, or null before the first poll
+     */
+    ConcurrentMap<String, Long> positions() {
+        return offsets;
+    }
+
+    /**
+     * Positions the cursor where the log files end.
+     *
+     * @param sizes the size of each log file, by path
+     */
+    void start(Map<String, Long> sizes) {
+        this.offsets = new ConcurrentHashMap<>(sizes);
+    }
+}
@@ -25,6 +25,7 @@ import com.microsoft.azure.management.appservice.HostNameBinding;
 import com.microsoft.azure.management.appservice.HostNameSslState;
 import com.microsoft.azure.management.appservice.HostNameType;
 import com.microsoft.azure.management.appservice.JavaVersion;
+import com.microsoft.azure.management.appservice.LogFileCursor;
 import com.microsoft.azure.management.appservice.MSDeploy;
 import com.microsoft.azure.management.appservice.ManagedPipelineMode;
 import com.microsoft.azure.management.appservice.NetFrameworkVersion;
@@ -58,18 +59,18 @@ import com.microsoft.rest.RestException;
 import org.joda.time.DateTime;
 import rx.Completable;
 import rx.Observable;
-import rx.Subscription;
+import rx.Subscriber;
 import rx.functions.Action0;
-import rx.functions.Action1;
 import rx.functions.Func1;
 import rx.functions.Func2;
 import rx.functions.FuncN;
 import rx.schedulers.Schedulers;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.PipedInputStream;
-import java.io.PipedOutputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -78,7 +79,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.LinkedBlockingQueue;
 
 /**
  * The implementation for WebAppBase.
@@ -584,89 +587,87 @@ abstract class WebAppBaseImpl<
 
     @Override
     public InputStream streamApplicationLogs() {
-        return pipeObservableToInputStream(streamApplicationLogsAsync());
+        return new ByteBufferObservableInputStream(withLogStreamWarmUp(kuduClient.streamApplicationLogsAsBytesAsync()));
     }
 
     @Override
     public Observable<String> streamApplicationLogsAsync() {
-        return kuduClient.streamApplicationLogsAsync();
+        return withLogStreamWarmUp(kuduClient.streamApplicationLogsAsync());
     }
 
     @Override
     public InputStream streamHttpLogs() {
-        return pipeObservableToInputStream(streamHttpLogsAsync());
+        return new ByteBufferObservableInputStream(withLogStreamWarmUp(kuduClient.streamHttpLogsAsBytesAsync()));
     }
 
     @Override
     public Observable<String> streamHttpLogsAsync() {
-        return kuduClient.streamHttpLogsAsync();
+        return withLogStreamWarmUp(kuduClient.streamHttpLogsAsync());
     }
 
     @Override
     public InputStream streamTraceLogs() {
-        return pipeObservableToInputStream(streamTraceLogsAsync());
+        return new ByteBufferObservableInputStream(withLogStreamWarmUp(kuduClient.streamTraceLogsAsBytesAsync()));
     }
 
     @Override
     public Observable<String> streamTraceLogsAsync() {
-        return kuduClient.streamTraceLogsAsync();
+        return withLogStreamWarmUp(kuduClient.streamTraceLogsAsync());
     }
 
     @Override
     public InputStream streamDeploymentLogs() {
-        return pipeObservableToInputStream(streamDeploymentLogsAsync());
+        return new ByteBufferObservableInputStream(withLogStreamWarmUp(kuduClient.streamDeploymentLogsAsBytesAsync()));
     }
 
     @Override
     public Observable<String> streamDeploymentLogsAsync() {
-        return kuduClient.streamDeploymentLogsAsync();
+        return withLogStreamWarmUp(kuduClient.streamDeploymentLogsAsync());
     }
 
     @Override
     public InputStream streamAllLogs() {
-        return pipeObservableToInputStream(streamAllLogsAsync());
+        return new ByteBufferObservableInputStream(streamAllLogsAsBytesAsync());
     }
 
     @Override
     public Observable<String> streamAllLogsAsync() {
-        return kuduClient.streamAllLogsAsync();
+        return withLogStreamWarmUp(kuduClient.streamAllLogsAsync());
     }
 
-    private InputStream pipeObservableToInputStream(Observable<String> observable) {
-        PipedInputStreamWithCallback in = new PipedInputStreamWithCallback();
-        final PipedOutputStream out = new PipedOutputStream();
-        try {
-            in.connect(out);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+    @Override
+    public Observable<ByteBuffer> streamAllLogsAsBytesAsync() {
+        return withLogStreamWarmUp(kuduClient.streamAllLogsAsBytesAsync());
+    }
+
+    @Override
+    public LogFileCursor newLogFileCursor() {
+        return new LogFileCursorImpl();
+    }
+
+    @Override
+    public Observable<ByteBuffer> pollAllLogsAsBytesAsync(LogFileCursor cursor) {
+        if (!(cursor instanceof LogFileCursorImpl)) {
+            return Observable.error(new IllegalArgumentException("cursor must be created by newLogFileCursor()"));
         }
-        final Subscription subscription = observable
-                // Do not block current thread
-                .subscribeOn(Schedulers.newThread())
-                .subscribe(new Action1<String>() {
+        return kuduClient.pollAllLogsAsBytesAsync((LogFileCursorImpl) cursor);
+    }
+
+    /**
+     * @return an observable that completes once the site is ready to serve log streams
+     */
+    Observable<Void> warmUpLogStreamAsync() {
+        return Observable.<Void>just(null);
+    }
+
+    private <T> Observable<T> withLogStreamWarmUp(final Observable<T> stream) {
+        return warmUpLogStreamAsync()
+                .flatMap(new Func1<Void, Observable<T>>() {
                     @Override
-                    public void call(String s) {
-                        try {
-                            out.write(s.getBytes());
-                            out.write('\n');
-                            out.flush();
-                        } catch (IOException e) {
-                            throw new RuntimeException(e);
-                        }
+                    public Observable<T> call(Void aVoid) {
+                        return stream;
                     }
                 });
-        in.addCallback(new Action0() {
-            @Override
-            public void call() {
-                subscription.unsubscribe();
-                try {
-                    out.close();
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
-            }
-        });
-        return in;
     }
 
     @Override
@@ -1781,17 +1782,115 @@ abstract class WebAppBaseImpl<
         return defineDiagnosticLogsConfiguration();
     }
 
-    private static class PipedInputStreamWithCallback extends PipedInputStream {
-        private Action0 callback;
+    /**
+     * An input stream over an observable of byte buffers. The observable is read on the I/O
+     * scheduler and at most {@link #MAX_PENDING_BUFFERS} buffers are requested ahead of the reader.
+     */
+    private static class ByteBufferObservableInputStream extends InputStream {
+        private static final int MAX_PENDING_BUFFERS = 16;
+        private static final Object COMPLETED = new Object();
+
+        private final BlockingQueue<Object> pending = new LinkedBlockingQueue<>();
+        private final PendingBufferSubscriber subscriber;
+        private ByteBuffer current;
+        private boolean completed;
+
+        /**
+         * Queues the buffers, the completion or the error of the observable for the reader.
+         */
+        private static final class PendingBufferSubscriber extends Subscriber<ByteBuffer> {
+            private final BlockingQueue<Object> pending;
+
+            private PendingBufferSubscriber(BlockingQueue<Object> pending) {
+                this.pending = pending;
+            }
+
+            @Override
+            public void onStart() {
+                request(MAX_PENDING_BUFFERS);
+            }
 
-        private void addCallback(Action0 action) {
-            this.callback = action;
+            @Override
+            public void onNext(ByteBuffer byteBuffer) {
+                pending.offer(byteBuffer);
+            }
+
+            @Override
+            public void onCompleted() {
+                pending.offer(COMPLETED);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                pending.offer(throwable);
+            }
+
+            private void requestMore(long n) {
+                request(n);
+            }
+        }
+
+        ByteBufferObservableInputStream(Observable<ByteBuffer> observable) {
+            this.subscriber = new PendingBufferSubscriber(pending);
+            observable.subscribeOn(Schedulers.io()).subscribe(subscriber);
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!ensureAvailable()) {
+                return -1;
+            }
+            return current.get() & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!ensureAvailable()) {
+                return -1;
+            }
+            int count = Math.min(len, current.remaining());
+            current.get(b, off, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return current == null ? 0 : current.remaining();
         }
 
         @Override
         public void close() throws IOException {
-            callback.call();
-            super.close();
+            subscriber.unsubscribe();
+            completed = true;
+            current = null;
+        }
+
+        private boolean ensureAvailable() throws IOException {
+            while (current == null || !current.hasRemaining()) {
+                if (completed) {
+                    return false;
+                }
+                Object next;
+                try {
+                    next = pending.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+                if (next == COMPLETED) {
+                    completed = true;
+                } else if (next instanceof Throwable) {
+                    completed = true;
+                    throw new IOException((Throwable) next);
+                } else {
+                    current = (ByteBuffer) next;
+                    subscriber.requestMore(1);
+                }
+            }
+            return true;
         }
     }
 }
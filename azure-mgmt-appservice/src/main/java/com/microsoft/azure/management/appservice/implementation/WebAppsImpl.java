@@ -12,7 +12,9 @@ import com.microsoft.azure.management.appservice.WebApp;
 import com.microsoft.azure.management.appservice.WebApps;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.implementation.TopLevelModifiableResourcesImpl;
 import com.microsoft.azure.management.resources.fluentcore.utils.PagedListConverter;
+import com.microsoft.azure.management.resources.fluentcore.utils.StreamingPagedIterable;
 import rx.Observable;
+import rx.functions.Func0;
 import rx.functions.Func1;
 import rx.functions.Func2;
 
@@ -100,6 +102,11 @@ class WebAppsImpl
         return converter.convert(pagedList);
     }
 
+    @Override
+    protected StreamingPagedIterable<SiteInner, WebApp> wrapListStreaming(Func0<PagedList<SiteInner>> innerList) {
+        return converter.convertStreaming(innerList);
+    }
+
 
     @Override
     public WebAppImpl define(String name) {
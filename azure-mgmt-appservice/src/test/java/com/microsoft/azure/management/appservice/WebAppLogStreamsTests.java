@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.appservice;
+
+import org.junit.Assert;
+import org.junit.Test;
+import rx.Observable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class WebAppLogStreamsTests {
+
+    @Test
+    public void canSplitLinesWithinOneBuffer() {
+        Assert.assertEquals(Arrays.asList("first", "second", ""), split("first\nsecond\n\n"));
+    }
+
+    @Test
+    public void canSplitLinesSpanningBuffers() {
+        Assert.assertEquals(Arrays.asList("first line", "second line", "third"),
+                split("fir", "st li", "ne\nsecond", " line\nthi", "rd\n"));
+    }
+
+    @Test
+    public void canSplitCrLfLines() {
+        Assert.assertEquals(Arrays.asList("first", "second", "third"),
+                split("first\r\nsecond\r", "\nthird\r\n"));
+    }
+
+    @Test
+    public void canEmitTrailingPartialLine() {
+        Assert.assertEquals(Arrays.asList("first", "partial line"), split("first\npartial", " line"));
+        Assert.assertEquals(Arrays.asList("first", "partial"), split("first\npartial\r"));
+    }
+
+    @Test
+    public void canSplitLinesLongerThanInitialBuffer() {
+        StringBuilder longLine = new StringBuilder();
+        List<String> chunks = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            longLine.append("0123456789");
+            chunks.add("0123456789");
+        }
+        chunks.add("\nend");
+        Assert.assertEquals(Arrays.asList(longLine.toString(), "end"), split(chunks.toArray(new String[0])));
+    }
+
+    @Test
+    public void emittedLinesAreReadOnly() {
+        ByteBuffer line = Observable.just(ByteBuffer.wrap("line\n".getBytes(StandardCharsets.UTF_8)))
+                .compose(WebAppLogStreams.splitLines())
+                .toBlocking().single();
+        Assert.assertTrue(line.isReadOnly());
+    }
+
+    private static List<String> split(String... chunks) {
+        List<ByteBuffer> buffers = new ArrayList<>();
+        for (String chunk : chunks) {
+            buffers.add(ByteBuffer.wrap(chunk.getBytes(StandardCharsets.UTF_8)));
+        }
+        List<String> lines = new ArrayList<>();
+        for (ByteBuffer line : Observable.from(buffers).compose(WebAppLogStreams.splitLines()).toBlocking().toIterable()) {
+            byte[] bytes = new byte[line.remaining()];
+            line.get(bytes);
+            lines.add(new String(bytes, StandardCharsets.UTF_8));
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,63 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.appservice.implementation;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+public class KuduClientLogTailTests {
+
+    @Test
+    public void canFindWhereToReadFrom() {
+        // new files are read from the start
+        Assert.assertEquals(Long.valueOf(0), KuduClient.logReadStart(null, 100));
+        Assert.assertEquals(Long.valueOf(40), KuduClient.logReadStart(40L, 100));
+        // nothing written since the previous poll
+        Assert.assertNull(KuduClient.logReadStart(100L, 100));
+        Assert.assertNull(KuduClient.logReadStart(null, 0));
+        // truncated or rolled over
+        Assert.assertEquals(Long.valueOf(0), KuduClient.logReadStart(100L, 30));
+    }
+
+    @Test
+    public void canReadCompleteLinesOnly() {
+        byte[] data = "skipped\nfirst\nsecond\npartial".getBytes(StandardCharsets.UTF_8);
+        int from = "skipped\n".length();
+
+        Assert.assertEquals("first\nsecond\n".length(), KuduClient.completeLinesLength(data, from, data.length, false));
+        Assert.assertEquals("first\nsecond\n".length(), KuduClient.completeLinesLength(data, from, data.length, true));
+        Assert.assertEquals("first\n".length(), KuduClient.completeLinesLength(data, from, from + "first\nsec".length(), false));
+    }
+
+    @Test
+    public void canReadLinesLongerThanRead() {
+        byte[] data = "a line longer than a read".getBytes(StandardCharsets.UTF_8);
+
+        Assert.assertEquals(0, KuduClient.completeLinesLength(data, 0, data.length, false));
+        Assert.assertEquals(data.length, KuduClient.completeLinesLength(data, 0, data.length, true));
+    }
+
+    @Test
+    public void canKeepOffsetsPerCursor() {
+        LogFileCursorImpl first = new LogFileCursorImpl();
+        LogFileCursorImpl second = new LogFileCursorImpl();
+        Assert.assertNull(first.positions());
+        Assert.assertTrue(first.offsets().isEmpty());
+
+        first.start(Collections.singletonMap("LogFiles/a.log", 40L));
+        first.positions().put("LogFiles/a.log", 100L);
+
+        Assert.assertEquals(Long.valueOf(100), first.offsets().get("LogFiles/a.log"));
+        // a cursor moved by one caller does not move the cursor of another
+        Assert.assertNull(second.positions());
+        second.start(Collections.singletonMap("LogFiles/a.log", 40L));
+        Assert.assertEquals(Long.valueOf(40), second.offsets().get("LogFiles/a.log"));
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.benchmarks;
+
+import com.microsoft.azure.AzureResponseBuilder;
+import com.microsoft.azure.management.emulator.ArmEmulator;
+import com.microsoft.azure.management.resources.GenericResource;
+import com.microsoft.azure.management.resources.ResourceGroup;
+import com.microsoft.azure.management.resources.fluentcore.arm.Region;
+import com.microsoft.azure.management.resources.fluentcore.model.Creatable;
+import com.microsoft.azure.management.resources.fluentcore.model.Indexable;
+import com.microsoft.azure.management.resources.fluentcore.utils.ResourceManagerRateLimiter;
+import com.microsoft.azure.management.resources.fluentcore.utils.ResourceManagerThrottlingInterceptor;
+import com.microsoft.azure.management.resources.implementation.ResourceManager;
+import com.microsoft.azure.serializer.AzureJacksonAdapter;
+import com.microsoft.rest.RestClient;
+import com.microsoft.rest.credentials.TokenCredentials;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import rx.Observable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End to end throughput of the fluent SDK against the in-process {@link ArmEmulator}: paging through a
+ * large resource group, creating a batch of resource groups through a TaskGroup, and creating a batch
+ * of resources polled as long running operations, optionally with a share of the requests throttled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArmEmulatorBenchmark {
+    private static final String RESOURCE_GROUP = "rg-benchmark";
+
+    @Param({"10000"})
+    public int resources;
+
+    @Param({"50"})
+    public int batchSize;
+
+    @Param({"0", "10"})
+    public int throttleEveryNthRequest;
+
+    private ArmEmulator emulator;
+    private ResourceManager resourceManager;
+    private int batch;
+
+    @Setup
+    public void setup() throws IOException {
+        emulator = new ArmEmulator()
+                .withOperationPolls(2)
+                .withThrottlingEveryNthRequest(throttleEveryNthRequest)
+                .start();
+        String resourceGroupId = "/subscriptions/" + ArmEmulator.SUBSCRIPTION_ID + "/resourceGroups/" + RESOURCE_GROUP;
+        emulator.put(resourceGroupId, "{\"location\":\"westus\"}");
+        emulator.seed(resourceGroupId + "/providers/Microsoft.Network/virtualNetworks", "vnet", resources);
+
+        RestClient restClient = new RestClient.Builder()
+                .withBaseUrl(emulator.baseUrl())
+                .withSerializerAdapter(new AzureJacksonAdapter())
+                .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
+                .withCredentials(new TokenCredentials("Bearer", "emulator"))
+                .withInterceptor(new ResourceManagerThrottlingInterceptor(new ResourceManagerRateLimiter(Integer.MAX_VALUE, Integer.MAX_VALUE)))
+                .build();
+        resourceManager = ResourceManager.authenticate(restClient).withSubscription(ArmEmulator.SUBSCRIPTION_ID);
+    }
+
+    @TearDown
+    public void tearDown() {
+        emulator.close();
+    }
+
+    @Benchmark
+    public void listResourceGroupResources(Blackhole blackhole) {
+        for (GenericResource resource : resourceManager.genericResources().listByResourceGroup(RESOURCE_GROUP)) {
+            blackhole.consume(resource);
+        }
+    }
+
+    @Benchmark
+    public void createResourceGroupBatch(Blackhole blackhole) {
+        List<Creatable<ResourceGroup>> creatables = new ArrayList<>(batchSize);
+        int current = batch++;
+        for (int i = 0; i < batchSize; i++) {
+            creatables.add(resourceManager.resourceGroups().define("rg-" + current + "-" + i).withRegion(Region.US_WEST));
+        }
+        blackhole.consume(resourceManager.resourceGroups().create(creatables));
+    }
+
+    @Benchmark
+    public void createGenericResourceBatchWithPolling(Blackhole blackhole) {
+        List<Observable<Indexable>> creations = new ArrayList<>(batchSize);
+        int current = batch++;
+        for (int i = 0; i < batchSize; i++) {
+            creations.add(resourceManager.genericResources().define("nsg-" + current + "-" + i)
+                    .withRegion(Region.US_WEST)
+                    .withExistingResourceGroup(RESOURCE_GROUP)
+                    .withResourceType("networkSecurityGroups")
+                    .withProviderNamespace("Microsoft.Network")
+                    .withoutPlan()
+                    .withApiVersion("2019-06-01")
+                    .withProperties(Collections.emptyMap())
+                    .createAsync());
+        }
+        blackhole.consume(Observable.merge(creations).toList().toBlocking().single());
+    }
+}
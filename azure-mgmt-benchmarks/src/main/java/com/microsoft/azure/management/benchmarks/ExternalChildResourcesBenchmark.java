@@ -0,0 +1,151 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.benchmarks;
+
+import com.microsoft.azure.management.resources.fluentcore.arm.collection.implementation.ExternalChildResourcesCachedImpl;
+import com.microsoft.azure.management.resources.fluentcore.arm.models.ExternalChildResource;
+import com.microsoft.azure.management.resources.fluentcore.arm.models.implementation.ExternalChildResourceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import rx.Observable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Committing the pending changes of a cached external child resource collection: the children are
+ * defined, updated and removed in memory, so only the bookkeeping of the collection is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExternalChildResourcesBenchmark {
+    @Param({"10", "100", "1000"})
+    public int children;
+
+    private Widgets widgets;
+
+    @Setup(Level.Invocation)
+    public void prepare() {
+        this.widgets = new Widgets(new WidgetParent(), children);
+        for (int i = 0; i < children; i++) {
+            widgets.define("new" + i);
+        }
+        for (int i = 0; i < children; i += 2) {
+            widgets.update("existing" + i);
+        }
+        for (int i = 1; i < children; i += 4) {
+            widgets.remove("existing" + i);
+        }
+    }
+
+    @Benchmark
+    public Integer commit() {
+        return widgets.commitAsync().count().toBlocking().single();
+    }
+
+    /**
+     * The parent of the widgets.
+     */
+    static final class WidgetParent {
+    }
+
+    /**
+     * A child resource.
+     */
+    interface Widget extends ExternalChildResource<Widget, WidgetParent> {
+    }
+
+    /**
+     * A child resource whose service calls complete immediately.
+     */
+    static final class WidgetImpl extends ExternalChildResourceImpl<Widget, Object, WidgetParent, WidgetParent>
+            implements Widget {
+        WidgetImpl(String name, WidgetParent parent) {
+            super(name, name, parent, new Object());
+        }
+
+        @Override
+        public Observable<Widget> createResourceAsync() {
+            return Observable.<Widget>just(this);
+        }
+
+        @Override
+        public Observable<Widget> updateResourceAsync() {
+            return Observable.<Widget>just(this);
+        }
+
+        @Override
+        public Observable<Void> deleteResourceAsync() {
+            return Observable.just(null);
+        }
+
+        @Override
+        protected Observable<Object> getInnerAsync() {
+            return Observable.just(this.inner());
+        }
+
+        @Override
+        public String id() {
+            return this.name();
+        }
+    }
+
+    /**
+     * A cached collection of widgets.
+     */
+    static final class Widgets extends ExternalChildResourcesCachedImpl<WidgetImpl, Widget, Object, WidgetParent, WidgetParent> {
+        private final int existing;
+
+        Widgets(WidgetParent parent, int existing) {
+            super(parent, null, "Widget");
+            this.existing = existing;
+            cacheCollection();
+            enableCommitMode();
+        }
+
+        WidgetImpl define(String name) {
+            return prepareInlineDefine(name);
+        }
+
+        WidgetImpl update(String name) {
+            return prepareInlineUpdate(name);
+        }
+
+        void remove(String name) {
+            prepareInlineRemove(name);
+        }
+
+        @Override
+        protected List<WidgetImpl> listChildResources() {
+            List<WidgetImpl> resources = new ArrayList<>();
+            for (int i = 0; i < existing; i++) {
+                resources.add(new WidgetImpl("existing" + i, this.parent()));
+            }
+            return resources;
+        }
+
+        @Override
+        protected WidgetImpl newChildResource(String name) {
+            return new WidgetImpl(name, this.parent());
+        }
+    }
+}
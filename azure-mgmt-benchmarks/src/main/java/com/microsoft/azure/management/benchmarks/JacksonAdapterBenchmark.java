@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.benchmarks;
+
+import com.google.common.reflect.TypeToken;
+import com.microsoft.azure.management.appservice.implementation.PageImpl;
+import com.microsoft.azure.management.appservice.implementation.SiteInner;
+import com.microsoft.azure.management.compute.implementation.PageImpl1;
+import com.microsoft.azure.management.compute.implementation.VirtualMachineInner;
+import com.microsoft.azure.serializer.AzureJacksonAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deserialization of list responses built from recorded virtual machine and web app payloads,
+ * the way the generated inner clients deserialize them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonAdapterBenchmark {
+    private static final Type VIRTUAL_MACHINE_PAGE = new TypeToken<PageImpl1<VirtualMachineInner>>() { }.getType();
+    private static final Type SITE_PAGE = new TypeToken<PageImpl<SiteInner>>() { }.getType();
+
+    @Param({"100", "1000"})
+    public int itemsPerPage;
+
+    private AzureJacksonAdapter adapter;
+    private String virtualMachinePage;
+    private String sitePage;
+
+    @Setup
+    public void setup() throws IOException {
+        this.adapter = new AzureJacksonAdapter();
+        this.virtualMachinePage = Payloads.page("virtualMachine.json", itemsPerPage);
+        this.sitePage = Payloads.page("site.json", itemsPerPage);
+    }
+
+    @Benchmark
+    public PageImpl1<VirtualMachineInner> deserializeVirtualMachinePage() throws IOException {
+        return adapter.deserialize(virtualMachinePage, VIRTUAL_MACHINE_PAGE);
+    }
+
+    @Benchmark
+    public PageImpl<SiteInner> deserializeSitePage() throws IOException {
+        return adapter.deserialize(sitePage, SITE_PAGE);
+    }
+}
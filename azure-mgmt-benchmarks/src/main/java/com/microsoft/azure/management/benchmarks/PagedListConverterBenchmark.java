@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.benchmarks;
+
+import com.microsoft.azure.Page;
+import com.microsoft.azure.PagedList;
+import com.microsoft.azure.management.resources.fluentcore.utils.PagedListConverter;
+import com.microsoft.azure.management.resources.implementation.PageImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import rx.Observable;
+import rx.functions.Action1;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion of paged lists, enumerating the converted {@link PagedList} and streaming the
+ * converted items. The source pages are served from memory after the given latency.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PagedListConverterBenchmark {
+    @Param({"20"})
+    public int pages;
+
+    @Param({"100"})
+    public int pageSize;
+
+    @Param({"0", "5"})
+    public int pageLatencyMillis;
+
+    @Param({"false", "true"})
+    public boolean prefetch;
+
+    private List<Page<String>> sourcePages;
+
+    @Setup
+    public void setup() {
+        this.sourcePages = new ArrayList<>();
+        for (int p = 0; p < pages; p++) {
+            List<String> items = new ArrayList<>();
+            for (int i = 0; i < pageSize; i++) {
+                items.add("item" + (p * pageSize + i));
+            }
+            PageImpl<String> page = new PageImpl<>();
+            page.setItems(items);
+            page.setNextPageLink(p + 1 < pages ? Integer.toString(p + 1) : null);
+            this.sourcePages.add(page);
+        }
+    }
+
+    private PagedList<String> sourceList() {
+        return new PagedList<String>(sourcePages.get(0)) {
+            @Override
+            public Page<String> nextPage(String nextPageLink) {
+                if (pageLatencyMillis > 0) {
+                    try {
+                        Thread.sleep(pageLatencyMillis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return sourcePages.get(Integer.parseInt(nextPageLink));
+            }
+        };
+    }
+
+    private PagedListConverter<String, Integer> converter() {
+        PagedListConverter<String, Integer> converter = new PagedListConverter<String, Integer>() {
+            @Override
+            public Observable<Integer> typeConvertAsync(String s) {
+                return Observable.just(s.length());
+            }
+        };
+        return prefetch ? converter.withPrefetch() : converter;
+    }
+
+    @Benchmark
+    public void convert(Blackhole blackhole) {
+        for (Integer item : converter().convert(sourceList())) {
+            blackhole.consume(item);
+        }
+    }
+
+    @Benchmark
+    public void convertAsync(final Blackhole blackhole) {
+        converter().convertAsync(sourceList()).toBlocking().forEach(new Action1<Integer>() {
+            @Override
+            public void call(Integer item) {
+                blackhole.consume(item);
+            }
+        });
+    }
+}
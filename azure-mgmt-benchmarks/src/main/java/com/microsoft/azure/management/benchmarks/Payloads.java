@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.benchmarks;
+
+import com.google.common.io.ByteStreams;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The inputs shared by the benchmarks.
+ */
+final class Payloads {
+    private Payloads() {
+    }
+
+    /**
+     * Generates resource ids shaped like the ones returned by list calls, a mix of top level and
+     * child resources spread over a few subscriptions and resource groups.
+     *
+     * @param count the number of distinct ids
+     * @return the ids
+     */
+    static String[] resourceIds(int count) {
+        String[] ids = new String[count];
+        for (int i = 0; i < count; i++) {
+            String vnet = String.format("/subscriptions/%08d-0000-0000-0000-000000000000/resourceGroups/javacsmrg%d"
+                    + "/providers/Microsoft.Network/virtualNetworks/vnet%d", i % 4, i % 50, i);
+            ids[i] = i % 2 == 0 ? vnet : vnet + "/subnets/subnet" + i;
+        }
+        return ids;
+    }
+
+    /**
+     * Builds the body of a list response from a recorded item, each copy gets a distinct name and id.
+     *
+     * @param resourceName the name of the recorded item under /payloads
+     * @param count the number of items in the page
+     * @return the page
+     */
+    static String page(String resourceName, int count) throws IOException {
+        String item = resource("/payloads/" + resourceName);
+        String name = extractName(item);
+        StringBuilder page = new StringBuilder("{\"value\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                page.append(',');
+            }
+            page.append(item.replace(name, name + i));
+        }
+        return page.append("],\"nextLink\":null}").toString();
+    }
+
+    private static String extractName(String item) {
+        String marker = "\"name\": \"";
+        int start = item.indexOf(marker) + marker.length();
+        return item.substring(start, item.indexOf('"', start));
+    }
+
+    private static String resource(String name) throws IOException {
+        try (InputStream stream = Payloads.class.getResourceAsStream(name)) {
+            if (stream == null) {
+                throw new IOException("Payload not found: " + name);
+            }
+            return new String(ByteStreams.toByteArray(stream), StandardCharsets.UTF_8);
+        }
+    }
+}
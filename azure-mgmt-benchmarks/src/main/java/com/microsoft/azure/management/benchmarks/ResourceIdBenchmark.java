@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.benchmarks;
+
+import com.microsoft.azure.management.resources.fluentcore.arm.ResourceId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of resource ids, the split based parser against the single pass parser.
+ * <p>
+ * With few distinct ids the parsed ids are served from the cache, with more distinct ids than the
+ * cache holds every id is parsed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResourceIdBenchmark {
+    @Param({"64", "100000"})
+    public int distinctIds;
+
+    private String[] ids;
+    private int next;
+
+    @Setup
+    public void setup() {
+        this.ids = Payloads.resourceIds(distinctIds);
+    }
+
+    private String nextId() {
+        String id = ids[next];
+        next = (next + 1) % ids.length;
+        return id;
+    }
+
+    @Benchmark
+    public void legacyParse(Blackhole blackhole) {
+        LegacyResourceId resourceId = LegacyResourceId.fromString(nextId());
+        blackhole.consume(resourceId.resourceGroupName());
+        blackhole.consume(resourceId.name());
+    }
+
+    @Benchmark
+    public void parse(Blackhole blackhole) {
+        ResourceId resourceId = ResourceId.fromString(nextId());
+        blackhole.consume(resourceId.resourceGroupName());
+        blackhole.consume(resourceId.name());
+    }
+
+    @Benchmark
+    public void legacyFullResourceType(Blackhole blackhole) {
+        LegacyResourceId resourceId = LegacyResourceId.fromString(nextId());
+        blackhole.consume(resourceId.fullResourceType());
+        blackhole.consume(resourceId.parent());
+    }
+
+    @Benchmark
+    public void fullResourceType(Blackhole blackhole) {
+        ResourceId resourceId = ResourceId.fromString(nextId());
+        blackhole.consume(resourceId.fullResourceType());
+        blackhole.consume(resourceId.parent());
+    }
+}
@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.benchmarks;
+
+import com.microsoft.azure.management.resources.fluentcore.arm.ResourceUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The resource id helpers called for every resource of a listing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResourceUtilsBenchmark {
+    @Param({"64", "100000"})
+    public int distinctIds;
+
+    private String[] ids;
+    private int next;
+
+    @Setup
+    public void setup() {
+        this.ids = Payloads.resourceIds(distinctIds);
+    }
+
+    private String nextId() {
+        String id = ids[next];
+        next = (next + 1) % ids.length;
+        return id;
+    }
+
+    @Benchmark
+    public String groupFromResourceId() {
+        return ResourceUtils.groupFromResourceId(nextId());
+    }
+
+    @Benchmark
+    public String nameFromResourceId() {
+        return ResourceUtils.nameFromResourceId(nextId());
+    }
+
+    @Benchmark
+    public String parentResourceIdFromResourceId() {
+        return ResourceUtils.parentResourceIdFromResourceId(nextId());
+    }
+
+    @Benchmark
+    public String relativePathFromResourceId() {
+        return ResourceUtils.relativePathFromResourceId(nextId());
+    }
+
+    @Benchmark
+    public String extractFromResourceId() {
+        return ResourceUtils.extractFromResourceId(nextId(), "virtualNetworks");
+    }
+}
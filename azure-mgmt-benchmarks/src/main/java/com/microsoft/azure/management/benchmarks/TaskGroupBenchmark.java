@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.benchmarks;
+
+import com.microsoft.azure.management.resources.fluentcore.dag.FunctionalTaskItem;
+import com.microsoft.azure.management.resources.fluentcore.dag.IndexableTaskItem;
+import com.microsoft.azure.management.resources.fluentcore.dag.TaskGroup;
+import com.microsoft.azure.management.resources.fluentcore.dag.TaskGroupExecutionPolicy;
+import com.microsoft.azure.management.resources.fluentcore.model.Indexable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import rx.Observable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building and invoking task groups whose tasks complete immediately, i.e. the overhead of the
+ * graph and of the scheduling alone.
+ * <p>
+ * FLAT is a root depending on all the other tasks, LAYERED arranges the tasks in layers of
+ * sqrt(nodes) tasks each depending on two tasks of the layer below.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskGroupBenchmark {
+    @Param({"10", "100", "1000", "10000"})
+    public int nodes;
+
+    @Param({"FLAT", "LAYERED"})
+    public String shape;
+
+    // 0 for no limit
+    @Param({"0", "16"})
+    public int maxConcurrency;
+
+    private static IndexableTaskItem newTask() {
+        return IndexableTaskItem.create(new FunctionalTaskItem() {
+            @Override
+            public Observable<Indexable> call(Context context) {
+                return context.voidObservable();
+            }
+        });
+    }
+
+    private TaskGroup buildGroup() {
+        IndexableTaskItem root = newTask();
+        if ("FLAT".equals(shape)) {
+            for (int i = 1; i < nodes; i++) {
+                root.taskGroup().addDependencyTaskGroup(newTask().taskGroup());
+            }
+            return root.taskGroup();
+        }
+        int width = Math.max(1, (int) Math.sqrt(nodes));
+        List<IndexableTaskItem> below = new ArrayList<>();
+        int created = 1;
+        while (created < nodes) {
+            List<IndexableTaskItem> layer = new ArrayList<>();
+            for (int i = 0; i < width && created < nodes; i++, created++) {
+                IndexableTaskItem task = newTask();
+                if (!below.isEmpty()) {
+                    task.taskGroup().addDependencyTaskGroup(below.get(i % below.size()).taskGroup());
+                    if (below.size() > 1) {
+                        task.taskGroup().addDependencyTaskGroup(below.get((i + 1) % below.size()).taskGroup());
+                    }
+                }
+                layer.add(task);
+            }
+            below = layer;
+        }
+        for (IndexableTaskItem task : below) {
+            root.taskGroup().addDependencyTaskGroup(task.taskGroup());
+        }
+        return root.taskGroup();
+    }
+
+    @Benchmark
+    public Indexable buildAndInvoke() {
+        TaskGroup taskGroup = buildGroup();
+        TaskGroup.InvocationContext context = taskGroup.newInvocationContext();
+        if (maxConcurrency > 0) {
+            context.withExecutionPolicy(new TaskGroupExecutionPolicy().withMaxConcurrency(maxConcurrency));
+        }
+        return taskGroup.invokeAsync(context).toBlocking().last();
+    }
+}
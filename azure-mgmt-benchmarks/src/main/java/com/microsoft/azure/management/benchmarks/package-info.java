@@ -0,0 +1,13 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License. See License.txt in the project root for
+// license information.
+
+/**
+ * This package contains the JMH benchmarks of the hot paths of the management libraries.
+ * The benchmarks run against in-memory and recorded payloads, or against the in-process
+ * {@code ArmEmulator} over the loopback interface; no calls are made to Azure.
+ * <p>
+ * Build with {@code mvn package -pl azure-mgmt-benchmarks -am} and run with
+ * {@code java -jar azure-mgmt-benchmarks/target/benchmarks.jar [regexp]}.
+ */
+package com.microsoft.azure.management.benchmarks;
@@ -15,11 +15,13 @@ import com.microsoft.azure.management.resources.fluentcore.arm.collection.Suppor
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsGettingByResourceGroup;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsGettingById;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsListingByResourceGroup;
+import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsStreamingListingByResourceGroup;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.HasManager;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsBatchCreation;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsStreamingListing;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 import com.microsoft.rest.ServiceCallback;
 import com.microsoft.rest.ServiceFuture;
@@ -34,7 +36,9 @@ import java.util.List;
 public interface CdnProfiles extends
         SupportsCreating<CdnProfile.DefinitionStages.Blank>,
         SupportsListing<CdnProfile>,
+        SupportsStreamingListing<CdnProfile>,
         SupportsListingByResourceGroup<CdnProfile>,
+        SupportsStreamingListingByResourceGroup<CdnProfile>,
         SupportsGettingByResourceGroup<CdnProfile>,
         SupportsGettingById<CdnProfile>,
         SupportsDeletingById,
@@ -0,0 +1,42 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.compute;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Fluent;
+
+/**
+ * The outcome of an operation on one virtual machine scale set instance.
+ */
+@Fluent
+@Beta(Beta.SinceVersion.V1_30_0)
+public interface VirtualMachineScaleSetInstanceOperationResult {
+    /**
+     * @return the instance ID
+     */
+    String instanceId();
+
+    /**
+     * @return the name of the operation, e.g. "restart"
+     */
+    String operationName();
+
+    /**
+     * @return true if the operation succeeded on the instance
+     */
+    boolean succeeded();
+
+    /**
+     * @return the error of the batch the instance was part of, null if the operation succeeded
+     */
+    Throwable error();
+
+    /**
+     * @return the output of the command for a run command operation that succeeded, null otherwise
+     */
+    RunCommandResult runCommandResult();
+}
@@ -0,0 +1,213 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.compute;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Fluent;
+import rx.Observable;
+
+import java.util.List;
+
+/**
+ * Operations on a set of virtual machine scale set instances.
+ * <p>
+ * The instance IDs are grouped into batches sent to the scale set level endpoints accepting a list of
+ * instance IDs, and up to a number of batches run concurrently. The asynchronous operations emit a result
+ * for each instance as soon as its batch completes; a failed batch reports its instances as failed without
+ * stopping the other batches.
+ */
+@Fluent
+@Beta(Beta.SinceVersion.V1_30_0)
+public interface VirtualMachineScaleSetInstanceOperations {
+    /**
+     * The default number of instance IDs in a batch.
+     */
+    int DEFAULT_BATCH_SIZE = 100;
+
+    /**
+     * The default number of batches running concurrently.
+     */
+    int DEFAULT_MAX_CONCURRENCY = 4;
+
+    /**
+     * Specifies the number of instance IDs in a batch.
+     *
+     * @param batchSize the number of instance IDs
+     * @return the operations
+     */
+    VirtualMachineScaleSetInstanceOperations withBatchSize(int batchSize);
+
+    /**
+     * Specifies the number of batches running concurrently, and of instances running a command concurrently.
+     *
+     * @param maxConcurrency the number of batches
+     * @return the operations
+     */
+    VirtualMachineScaleSetInstanceOperations withMaxConcurrency(int maxConcurrency);
+
+    /**
+     * @return the instance IDs the operations apply to
+     */
+    List<String> instanceIds();
+
+    /**
+     * Starts the instances.
+     *
+     * @return an observable emitting the result of each instance
+     */
+    Observable<VirtualMachineScaleSetInstanceOperationResult> startAsync();
+
+    /**
+     * Starts the instances.
+     *
+     * @return the result of each instance
+     */
+    List<VirtualMachineScaleSetInstanceOperationResult> start();
+
+    /**
+     * Powers off the instances; they are still charged for.
+     *
+     * @return an observable emitting the result of each instance
+     */
+    Observable<VirtualMachineScaleSetInstanceOperationResult> powerOffAsync();
+
+    /**
+     * Powers off the instances; they are still charged for.
+     *
+     * @return the result of each instance
+     */
+    List<VirtualMachineScaleSetInstanceOperationResult> powerOff();
+
+    /**
+     * Restarts the instances.
+     *
+     * @return an observable emitting the result of each instance
+     */
+    Observable<VirtualMachineScaleSetInstanceOperationResult> restartAsync();
+
+    /**
+     * Restarts the instances.
+     *
+     * @return the result of each instance
+     */
+    List<VirtualMachineScaleSetInstanceOperationResult> restart();
+
+    /**
+     * Shuts down the instances and releases their compute resources.
+     *
+     * @return an observable emitting the result of each instance
+     */
+    Observable<VirtualMachineScaleSetInstanceOperationResult> deallocateAsync();
+
+    /**
+     * Shuts down the instances and releases their compute resources.
+     *
+     * @return the result of each instance
+     */
+    List<VirtualMachineScaleSetInstanceOperationResult> deallocate();
+
+    /**
+     * Redeploys the instances to new nodes.
+     *
+     * @return an observable emitting the result of each instance
+     */
+    Observable<VirtualMachineScaleSetInstanceOperationResult> redeployAsync();
+
+    /**
+     * Redeploys the instances to new nodes.
+     *
+     * @return the result of each instance
+     */
+    List<VirtualMachineScaleSetInstanceOperationResult> redeploy();
+
+    /**
+     * Reimages the operating system disk of the instances.
+     *
+     * @return an observable emitting the result of each instance
+     */
+    Observable<VirtualMachineScaleSetInstanceOperationResult> reimageAsync();
+
+    /**
+     * Reimages the operating system disk of the instances.
+     *
+     * @return the result of each instance
+     */
+    List<VirtualMachineScaleSetInstanceOperationResult> reimage();
+
+    /**
+     * Reimages all the disks of the instances.
+     *
+     * @return an observable emitting the result of each instance
+     */
+    Observable<VirtualMachineScaleSetInstanceOperationResult> reimageAllAsync();
+
+    /**
+     * Reimages all the disks of the instances.
+     *
+     * @return the result of each instance
+     */
+    List<VirtualMachineScaleSetInstanceOperationResult> reimageAll();
+
+    /**
+     * Performs maintenance on the instances.
+     *
+     * @return an observable emitting the result of each instance
+     */
+    Observable<VirtualMachineScaleSetInstanceOperationResult> performMaintenanceAsync();
+
+    /**
+     * Performs maintenance on the instances.
+     *
+     * @return the result of each instance
+     */
+    List<VirtualMachineScaleSetInstanceOperationResult> performMaintenance();
+
+    /**
+     * Upgrades the instances to the latest scale set model.
+     *
+     * @return an observable emitting the result of each instance
+     */
+    Observable<VirtualMachineScaleSetInstanceOperationResult> updateAsync();
+
+    /**
+     * Upgrades the instances to the latest scale set model.
+     *
+     * @return the result of each instance
+     */
+    List<VirtualMachineScaleSetInstanceOperationResult> update();
+
+    /**
+     * Deletes the instances from the scale set.
+     *
+     * @return an observable emitting the result of each instance
+     */
+    Observable<VirtualMachineScaleSetInstanceOperationResult> deleteAsync();
+
+    /**
+     * Deletes the instances from the scale set.
+     *
+     * @return the result of each instance
+     */
+    List<VirtualMachineScaleSetInstanceOperationResult> delete();
+
+    /**
+     * Runs a command in each instance. There is no batch endpoint for commands, the instances are
+     * called individually with the maximum concurrency.
+     *
+     * @param inputCommand the command
+     * @return an observable emitting the result of each instance, with its command output
+     */
+    Observable<VirtualMachineScaleSetInstanceOperationResult> runCommandAsync(RunCommandInput inputCommand);
+
+    /**
+     * Runs a command in each instance.
+     *
+     * @param inputCommand the command
+     * @return the result of each instance, with its command output
+     */
+    List<VirtualMachineScaleSetInstanceOperationResult> runCommand(RunCommandInput inputCommand);
+}
@@ -88,4 +88,32 @@ public interface VirtualMachineScaleSetVMs extends
      */
     @Beta(Beta.SinceVersion.V1_4_0)
     void updateInstances(String... instanceIds);
+
+    /**
+     * Gets the operations on a set of instances, sent in batches of instance IDs.
+     *
+     * @param instanceIds instance IDs of the virtual machine scale set instances to operate on
+     * @return the operations on the instances
+     */
+    @Beta(Beta.SinceVersion.V1_30_0)
+    VirtualMachineScaleSetInstanceOperations instanceOperations(Collection<String> instanceIds);
+
+    /**
+     * Gets the operations on a set of instances, sent in batches of instance IDs.
+     *
+     * @param instanceIds instance IDs of the virtual machine scale set instances to operate on
+     * @return the operations on the instances
+     */
+    @Beta(Beta.SinceVersion.V1_30_0)
+    VirtualMachineScaleSetInstanceOperations instanceOperations(String... instanceIds);
+
+    /**
+     * Lists the virtual machine instances of the scale set, parsing each instance from the response
+     * as it is received rather than binding whole pages, which keeps large pages out of memory.
+     *
+     * @param withInstanceView true to include the instance view of each instance
+     * @return an observable emitting the instances as they are parsed
+     */
+    @Beta(Beta.SinceVersion.V1_30_0)
+    Observable<VirtualMachineScaleSetVM> listStreamingAsync(boolean withInstanceView);
 }
@@ -14,11 +14,13 @@ import com.microsoft.azure.management.resources.fluentcore.arm.collection.Suppor
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsGettingById;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsGettingByResourceGroup;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsListingByResourceGroup;
+import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsStreamingListingByResourceGroup;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.HasManager;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsBatchCreation;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsStreamingListing;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 import com.microsoft.rest.ServiceCallback;
 import com.microsoft.rest.ServiceFuture;
@@ -33,7 +35,9 @@ import java.util.List;
 @Fluent
 public interface VirtualMachines extends
         SupportsListing<VirtualMachine>,
+        SupportsStreamingListing<VirtualMachine>,
         SupportsListingByResourceGroup<VirtualMachine>,
+        SupportsStreamingListingByResourceGroup<VirtualMachine>,
         SupportsGettingByResourceGroup<VirtualMachine>,
         SupportsGettingById<VirtualMachine>,
         SupportsCreating<VirtualMachine.DefinitionStages.Blank>,
@@ -55,6 +55,11 @@ class AvailabilitySetImpl
         newProximityPlacementGroupType = null;
     }
 
+    @Override
+    protected String fullResourceType() {
+        return "Microsoft.Compute/availabilitySets";
+    }
+
     @Override
     public int updateDomainCount() {
         return Utils.toPrimitiveInt(this.inner().platformUpdateDomainCount());
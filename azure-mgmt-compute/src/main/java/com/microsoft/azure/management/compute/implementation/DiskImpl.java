@@ -53,6 +53,11 @@ class DiskImpl
         super(name, innerModel, computeManager);
     }
 
+    @Override
+    protected String fullResourceType() {
+        return "Microsoft.Compute/disks";
+    }
+
     @Override
     public DiskSkuTypes sku() {
         return DiskSkuTypes.fromDiskSku(this.inner().sku());
@@ -52,6 +52,11 @@ class SnapshotImpl
         super(name, innerModel, computeManager);
     }
 
+    @Override
+    protected String fullResourceType() {
+        return "Microsoft.Compute/snapshots";
+    }
+
     @Override
     public DiskSkuTypes sku() {
         if (this.inner().sku() == null || this.inner().sku().name() == null) {
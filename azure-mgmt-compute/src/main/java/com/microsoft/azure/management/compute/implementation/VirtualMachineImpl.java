@@ -204,6 +204,11 @@ class VirtualMachineImpl
         this.newProximityPlacementGroupType = null;
     }
 
+    @Override
+    protected String fullResourceType() {
+        return "Microsoft.Compute/virtualMachines";
+    }
+
     // Verbs
 
     @Override
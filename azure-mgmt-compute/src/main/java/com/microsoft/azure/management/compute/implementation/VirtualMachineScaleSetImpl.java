@@ -76,6 +76,7 @@ import com.microsoft.azure.management.resources.fluentcore.arm.models.implementa
 import com.microsoft.azure.management.resources.fluentcore.model.Creatable;
 import com.microsoft.azure.management.resources.fluentcore.utils.PagedListConverter;
 import com.microsoft.azure.management.resources.fluentcore.utils.ResourceNamer;
+import com.microsoft.azure.management.resources.fluentcore.utils.ResourceReferenceResolver;
 import com.microsoft.azure.management.resources.fluentcore.utils.SdkContext;
 import com.microsoft.azure.management.resources.fluentcore.utils.Utils;
 import com.microsoft.azure.management.storage.StorageAccount;
@@ -89,6 +90,7 @@ import rx.functions.Func1;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -189,6 +191,11 @@ public class VirtualMachineScaleSetImpl
         this.newProximityPlacementGroupType = null;
     }
 
+    @Override
+    protected String fullResourceType() {
+        return "Microsoft.Compute/virtualMachineScaleSets";
+    }
+
     @Override
     protected void initializeChildrenFromInner() {
         this.extensions = new HashMap<>();
@@ -1947,15 +1954,6 @@ public class VirtualMachineScaleSetImpl
             return;
         }
 
-        LoadBalancer loadBalancer1 = this.networkManager
-                .loadBalancers()
-                .getById(firstLoadBalancerId);
-        if (loadBalancer1.publicIPAddressIds() != null && loadBalancer1.publicIPAddressIds().size() > 0) {
-            this.primaryInternetFacingLoadBalancer = loadBalancer1;
-        } else {
-            this.primaryInternalLoadBalancer = loadBalancer1;
-        }
-
         String secondLoadBalancerId = null;
         for (SubResource subResource: ipConfig.loadBalancerBackendAddressPools()) {
             if (!subResource.id().toLowerCase().startsWith(firstLoadBalancerId.toLowerCase())) {
@@ -1975,13 +1973,22 @@ public class VirtualMachineScaleSetImpl
             }
         }
 
+        // Fetch both load balancers at once
+        Map<String, LoadBalancer> loadBalancers = ResourceReferenceResolver.of(this.networkManager.loadBalancers())
+                .resolve(Arrays.asList(firstLoadBalancerId, secondLoadBalancerId));
+
+        LoadBalancer loadBalancer1 = loadBalancers.get(firstLoadBalancerId);
+        if (loadBalancer1.publicIPAddressIds() != null && loadBalancer1.publicIPAddressIds().size() > 0) {
+            this.primaryInternetFacingLoadBalancer = loadBalancer1;
+        } else {
+            this.primaryInternalLoadBalancer = loadBalancer1;
+        }
+
         if (secondLoadBalancerId == null) {
             return;
         }
 
-        LoadBalancer loadBalancer2 = this.networkManager
-                .loadBalancers()
-                .getById(secondLoadBalancerId);
+        LoadBalancer loadBalancer2 = loadBalancers.get(secondLoadBalancerId);
         if (loadBalancer2.publicIPAddressIds() != null && loadBalancer2.publicIPAddressIds().size() > 0) {
             this.primaryInternetFacingLoadBalancer = loadBalancer2;
         } else {
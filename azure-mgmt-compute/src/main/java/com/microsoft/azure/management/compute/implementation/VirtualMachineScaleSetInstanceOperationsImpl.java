@@ -0,0 +1,352 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+package com.microsoft.azure.management.compute.implementation;
+
+import com.microsoft.azure.management.apigeneration.LangDefinition;
+import com.microsoft.azure.management.compute.RunCommandInput;
+import com.microsoft.azure.management.compute.RunCommandResult;
+import com.microsoft.azure.management.compute.VirtualMachineScaleSetInstanceOperationResult;
+import com.microsoft.azure.management.compute.VirtualMachineScaleSetInstanceOperations;
+import com.microsoft.azure.management.compute.VirtualMachineScaleSetReimageParameters;
+import rx.Observable;
+import rx.functions.Func0;
+import rx.functions.Func1;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Implementation for {@link VirtualMachineScaleSetInstanceOperations}.
+ */
+@LangDefinition
+class VirtualMachineScaleSetInstanceOperationsImpl implements VirtualMachineScaleSetInstanceOperations {
+    private final VirtualMachineScaleSetImpl scaleSet;
+    private final VirtualMachineScaleSetVMsInner vmsClient;
+    private final List<String> instanceIds;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+
+    VirtualMachineScaleSetInstanceOperationsImpl(VirtualMachineScaleSetImpl scaleSet,
+                                                 VirtualMachineScaleSetVMsInner vmsClient,
+                                                 Collection<String> instanceIds) {
+        this.scaleSet = scaleSet;
+        this.vmsClient = vmsClient;
+        // an instance in several batches would be operated on concurrently
+        this.instanceIds = Collections.unmodifiableList(new ArrayList<>(new LinkedHashSet<>(instanceIds)));
+    }
+
+    @Override
+    public VirtualMachineScaleSetInstanceOperationsImpl withBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    @Override
+    public VirtualMachineScaleSetInstanceOperationsImpl withMaxConcurrency(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be positive");
+        }
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    @Override
+    public List<String> instanceIds() {
+        return this.instanceIds;
+    }
+
+    @Override
+    public Observable<VirtualMachineScaleSetInstanceOperationResult> startAsync() {
+        return this.runInBatches("start", new Func1<List<String>, Observable<Void>>() {
+            @Override
+            public Observable<Void> call(List<String> batch) {
+                return client().startAsync(resourceGroupName(), scaleSetName(), batch);
+            }
+        });
+    }
+
+    @Override
+    public List<VirtualMachineScaleSetInstanceOperationResult> start() {
+        return this.startAsync().toList().toBlocking().single();
+    }
+
+    @Override
+    public Observable<VirtualMachineScaleSetInstanceOperationResult> powerOffAsync() {
+        return this.runInBatches("powerOff", new Func1<List<String>, Observable<Void>>() {
+            @Override
+            public Observable<Void> call(List<String> batch) {
+                return client().powerOffAsync(resourceGroupName(), scaleSetName(), null, batch);
+            }
+        });
+    }
+
+    @Override
+    public List<VirtualMachineScaleSetInstanceOperationResult> powerOff() {
+        return this.powerOffAsync().toList().toBlocking().single();
+    }
+
+    @Override
+    public Observable<VirtualMachineScaleSetInstanceOperationResult> restartAsync() {
+        return this.runInBatches("restart", new Func1<List<String>, Observable<Void>>() {
+            @Override
+            public Observable<Void> call(List<String> batch) {
+                return client().restartAsync(resourceGroupName(), scaleSetName(), batch);
+            }
+        });
+    }
+
+    @Override
+    public List<VirtualMachineScaleSetInstanceOperationResult> restart() {
+        return this.restartAsync().toList().toBlocking().single();
+    }
+
+    @Override
+    public Observable<VirtualMachineScaleSetInstanceOperationResult> deallocateAsync() {
+        return this.runInBatches("deallocate", new Func1<List<String>, Observable<Void>>() {
+            @Override
+            public Observable<Void> call(List<String> batch) {
+                return client().deallocateAsync(resourceGroupName(), scaleSetName(), batch);
+            }
+        });
+    }
+
+    @Override
+    public List<VirtualMachineScaleSetInstanceOperationResult> deallocate() {
+        return this.deallocateAsync().toList().toBlocking().single();
+    }
+
+    @Override
+    public Observable<VirtualMachineScaleSetInstanceOperationResult> redeployAsync() {
+        return this.runInBatches("redeploy", new Func1<List<String>, Observable<Void>>() {
+            @Override
+            public Observable<Void> call(List<String> batch) {
+                return client().redeployAsync(resourceGroupName(), scaleSetName(), batch);
+            }
+        });
+    }
+
+    @Override
+    public List<VirtualMachineScaleSetInstanceOperationResult> redeploy() {
+        return this.redeployAsync().toList().toBlocking().single();
+    }
+
+    @Override
+    public Observable<VirtualMachineScaleSetInstanceOperationResult> reimageAsync() {
+        return this.runInBatches("reimage", new Func1<List<String>, Observable<Void>>() {
+            @Override
+            public Observable<Void> call(List<String> batch) {
+                return client().reimageAsync(resourceGroupName(), scaleSetName(),
+                        new VirtualMachineScaleSetReimageParameters().withInstanceIds(batch));
+            }
+        });
+    }
+
+    @Override
+    public List<VirtualMachineScaleSetInstanceOperationResult> reimage() {
+        return this.reimageAsync().toList().toBlocking().single();
+    }
+
+    @Override
+    public Observable<VirtualMachineScaleSetInstanceOperationResult> reimageAllAsync() {
+        return this.runInBatches("reimageAll", new Func1<List<String>, Observable<Void>>() {
+            @Override
+            public Observable<Void> call(List<String> batch) {
+                return client().reimageAllAsync(resourceGroupName(), scaleSetName(), batch);
+            }
+        });
+    }
+
+    @Override
+    public List<VirtualMachineScaleSetInstanceOperationResult> reimageAll() {
+        return this.reimageAllAsync().toList().toBlocking().single();
+    }
+
+    @Override
+    public Observable<VirtualMachineScaleSetInstanceOperationResult> performMaintenanceAsync() {
+        return this.runInBatches("performMaintenance", new Func1<List<String>, Observable<Void>>() {
+            @Override
+            public Observable<Void> call(List<String> batch) {
+                return client().performMaintenanceAsync(resourceGroupName(), scaleSetName(), batch);
+            }
+        });
+    }
+
+    @Override
+    public List<VirtualMachineScaleSetInstanceOperationResult> performMaintenance() {
+        return this.performMaintenanceAsync().toList().toBlocking().single();
+    }
+
+    @Override
+    public Observable<VirtualMachineScaleSetInstanceOperationResult> updateAsync() {
+        return this.runInBatches("update", new Func1<List<String>, Observable<Void>>() {
+            @Override
+            public Observable<Void> call(List<String> batch) {
+                return client().updateInstancesAsync(resourceGroupName(), scaleSetName(), batch);
+            }
+        });
+    }
+
+    @Override
+    public List<VirtualMachineScaleSetInstanceOperationResult> update() {
+        return this.updateAsync().toList().toBlocking().single();
+    }
+
+    @Override
+    public Observable<VirtualMachineScaleSetInstanceOperationResult> deleteAsync() {
+        return this.runInBatches("delete", new Func1<List<String>, Observable<Void>>() {
+            @Override
+            public Observable<Void> call(List<String> batch) {
+                return client().deleteInstancesAsync(resourceGroupName(), scaleSetName(), batch);
+            }
+        });
+    }
+
+    @Override
+    public List<VirtualMachineScaleSetInstanceOperationResult> delete() {
+        return this.deleteAsync().toList().toBlocking().single();
+    }
+
+    @Override
+    public Observable<VirtualMachineScaleSetInstanceOperationResult> runCommandAsync(final RunCommandInput inputCommand) {
+        return Observable.from(this.instanceIds)
+                .flatMap(new Func1<String, Observable<VirtualMachineScaleSetInstanceOperationResult>>() {
+                    @Override
+                    public Observable<VirtualMachineScaleSetInstanceOperationResult> call(final String instanceId) {
+                        return vmsClient.runCommandAsync(resourceGroupName(), scaleSetName(), instanceId, inputCommand)
+                                .last()
+                                .map(new Func1<RunCommandResultInner, VirtualMachineScaleSetInstanceOperationResult>() {
+                                    @Override
+                                    public VirtualMachineScaleSetInstanceOperationResult call(RunCommandResultInner inner) {
+                                        return new Result(instanceId, "runCommand", null, new RunCommandResultImpl(inner));
+                                    }
+                                })
+                                .onErrorReturn(new Func1<Throwable, VirtualMachineScaleSetInstanceOperationResult>() {
+                                    @Override
+                                    public VirtualMachineScaleSetInstanceOperationResult call(Throwable throwable) {
+                                        return new Result(instanceId, "runCommand", throwable, null);
+                                    }
+                                });
+                    }
+                }, this.maxConcurrency);
+    }
+
+    @Override
+    public List<VirtualMachineScaleSetInstanceOperationResult> runCommand(RunCommandInput inputCommand) {
+        return this.runCommandAsync(inputCommand).toList().toBlocking().single();
+    }
+
+    /**
+     * Runs an operation on the instances, one call per batch of instance IDs with up to the maximum
+     * concurrency, reporting the outcome of each batch for each of its instances.
+     *
+     * @param operationName the name of the operation, reported in the results
+     * @param operation the call operating on a batch of instance IDs
+     * @return an observable emitting the result of each instance
+     */
+    Observable<VirtualMachineScaleSetInstanceOperationResult> runInBatches(final String operationName,
+                                                                          final Func1<List<String>, Observable<Void>> operation) {
+        List<List<String>> batches = new ArrayList<>();
+        for (int i = 0; i < this.instanceIds.size(); i += this.batchSize) {
+            batches.add(this.instanceIds.subList(i, Math.min(i + this.batchSize, this.instanceIds.size())));
+        }
+        return Observable.from(batches)
+                .flatMap(new Func1<List<String>, Observable<VirtualMachineScaleSetInstanceOperationResult>>() {
+                    @Override
+                    public Observable<VirtualMachineScaleSetInstanceOperationResult> call(final List<String> batch) {
+                        return Observable.defer(new Func0<Observable<Void>>() {
+                            @Override
+                            public Observable<Void> call() {
+                                // the batches are views of the instance IDs
+                                return operation.call(new ArrayList<>(batch));
+                            }
+                        })
+                                .lastOrDefault(null)
+                                .map(new Func1<Void, Throwable>() {
+                                    @Override
+                                    public Throwable call(Void aVoid) {
+                                        return null;
+                                    }
+                                })
+                                .onErrorReturn(new Func1<Throwable, Throwable>() {
+                                    @Override
+                                    public Throwable call(Throwable throwable) {
+                                        return throwable;
+                                    }
+                                })
+                                .flatMapIterable(new Func1<Throwable, Iterable<VirtualMachineScaleSetInstanceOperationResult>>() {
+                                    @Override
+                                    public Iterable<VirtualMachineScaleSetInstanceOperationResult> call(Throwable error) {
+                                        List<VirtualMachineScaleSetInstanceOperationResult> results = new ArrayList<>(batch.size());
+                                        for (String instanceId : batch) {
+                                            results.add(new Result(instanceId, operationName, error, null));
+                                        }
+                                        return results;
+                                    }
+                                });
+                    }
+                }, this.maxConcurrency);
+    }
+
+    private VirtualMachineScaleSetsInner client() {
+        return this.scaleSet.manager().virtualMachineScaleSets().inner();
+    }
+
+    private String resourceGroupName() {
+        return this.scaleSet.resourceGroupName();
+    }
+
+    private String scaleSetName() {
+        return this.scaleSet.name();
+    }
+
+    /**
+     * The outcome of an operation on one instance.
+     */
+    private static final class Result implements VirtualMachineScaleSetInstanceOperationResult {
+        private final String instanceId;
+        private final String operationName;
+        private final Throwable error;
+        private final RunCommandResult runCommandResult;
+
+        private Result(String instanceId, String operationName, Throwable error, RunCommandResult runCommandResult) {
+            this.instanceId = instanceId;
+            this.operationName = operationName;
+            this.error = error;
+            this.runCommandResult = runCommandResult;
+        }
+
+        @Override
+        public String instanceId() {
+            return this.instanceId;
+        }
+
+        @Override
+        public String operationName() {
+            return this.operationName;
+        }
+
+        @Override
+        public boolean succeeded() {
+            return this.error == null;
+        }
+
+        @Override
+        public Throwable error() {
+            return this.error;
+        }
+
+        @Override
+        public RunCommandResult runCommandResult() {
+            return this.runCommandResult;
+        }
+    }
+}
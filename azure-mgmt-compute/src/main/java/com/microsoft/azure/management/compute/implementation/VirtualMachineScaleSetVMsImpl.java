@@ -7,9 +7,13 @@ package com.microsoft.azure.management.compute.implementation;
 
 import com.microsoft.azure.PagedList;
 import com.microsoft.azure.management.apigeneration.LangDefinition;
+import com.microsoft.azure.management.compute.VirtualMachineScaleSetInstanceOperations;
 import com.microsoft.azure.management.compute.VirtualMachineScaleSetVM;
 import com.microsoft.azure.management.compute.VirtualMachineScaleSetVMs;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.implementation.ReadableWrappersImpl;
+import com.microsoft.azure.management.resources.fluentcore.utils.StreamingPageReader;
+import com.microsoft.rest.RestClient;
+import okhttp3.HttpUrl;
 import rx.Completable;
 import rx.Observable;
 import rx.functions.Func1;
@@ -29,6 +33,9 @@ class VirtualMachineScaleSetVMsImpl
         implements
         VirtualMachineScaleSetVMs {
 
+    // the version used by VirtualMachineScaleSetVMsInner.list
+    private static final String LIST_API_VERSION = "2019-03-01";
+
     private final VirtualMachineScaleSetImpl scaleSet;
     private final VirtualMachineScaleSetVMsInner client;
     private final ComputeManager computeManager;
@@ -127,4 +134,39 @@ class VirtualMachineScaleSetVMsImpl
     public void updateInstances(String... instanceIds) {
         this.updateInstancesAsync(instanceIds).await();
     }
+
+    @Override
+    public VirtualMachineScaleSetInstanceOperations instanceOperations(Collection<String> instanceIds) {
+        return new VirtualMachineScaleSetInstanceOperationsImpl(this.scaleSet, this.client, instanceIds);
+    }
+
+    @Override
+    public VirtualMachineScaleSetInstanceOperations instanceOperations(String... instanceIds) {
+        return this.instanceOperations(Arrays.asList(instanceIds));
+    }
+
+    @Override
+    public Observable<VirtualMachineScaleSetVM> listStreamingAsync(boolean withInstanceView) {
+        RestClient restClient = this.scaleSet.manager().inner().restClient();
+        HttpUrl.Builder url = restClient.retrofit().baseUrl().newBuilder()
+                .addPathSegment("subscriptions")
+                .addPathSegment(this.scaleSet.manager().subscriptionId())
+                .addPathSegment("resourceGroups")
+                .addPathSegment(this.scaleSet.resourceGroupName())
+                .addPathSegments("providers/Microsoft.Compute/virtualMachineScaleSets")
+                .addPathSegment(this.scaleSet.name())
+                .addPathSegment("virtualMachines")
+                .addQueryParameter("api-version", LIST_API_VERSION);
+        if (withInstanceView) {
+            url.addQueryParameter("$expand", "instanceView");
+        }
+        return new StreamingPageReader<>(restClient, VirtualMachineScaleSetVMInner.class)
+                .listAsync(url.build().toString())
+                .map(new Func1<VirtualMachineScaleSetVMInner, VirtualMachineScaleSetVM>() {
+                    @Override
+                    public VirtualMachineScaleSetVM call(VirtualMachineScaleSetVMInner inner) {
+                        return wrapModel(inner);
+                    }
+                });
+    }
 }
@@ -0,0 +1,162 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.compute.implementation;
+
+import com.microsoft.azure.management.compute.VirtualMachineScaleSetInstanceOperationResult;
+import org.junit.Assert;
+import org.junit.Test;
+import rx.Observable;
+import rx.functions.Func1;
+import rx.observers.AssertableSubscriber;
+import rx.subjects.PublishSubject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class VirtualMachineScaleSetInstanceOperationsTests {
+    private final List<List<String>> batches = Collections.synchronizedList(new ArrayList<List<String>>());
+
+    @Test
+    public void canSplitIntoBatches() {
+        VirtualMachineScaleSetInstanceOperationsImpl operations = operations("0", "1", "2", "3", "4", "5", "6")
+                .withBatchSize(3)
+                .withMaxConcurrency(1);
+
+        List<VirtualMachineScaleSetInstanceOperationResult> results = operations
+                .runInBatches("start", succeeding())
+                .toList().toBlocking().single();
+
+        Assert.assertEquals(Arrays.asList(
+                Arrays.asList("0", "1", "2"),
+                Arrays.asList("3", "4", "5"),
+                Collections.singletonList("6")), batches);
+        Assert.assertEquals(7, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            Assert.assertEquals(String.valueOf(i), results.get(i).instanceId());
+            Assert.assertEquals("start", results.get(i).operationName());
+            Assert.assertTrue(results.get(i).succeeded());
+            Assert.assertNull(results.get(i).error());
+            Assert.assertNull(results.get(i).runCommandResult());
+        }
+    }
+
+    @Test
+    public void canDedupeInstanceIds() {
+        VirtualMachineScaleSetInstanceOperationsImpl operations = operations("0", "1", "0", "2", "1", "3")
+                .withBatchSize(2);
+
+        Assert.assertEquals(Arrays.asList("0", "1", "2", "3"), operations.instanceIds());
+        List<VirtualMachineScaleSetInstanceOperationResult> results = operations
+                .runInBatches("restart", succeeding())
+                .toList().toBlocking().single();
+
+        Assert.assertEquals(2, batches.size());
+        Assert.assertEquals(4, byInstanceId(results).size());
+        Assert.assertEquals(4, results.size());
+    }
+
+    @Test
+    public void canReportFailedBatchForEachOfItsInstances() {
+        final IllegalStateException failure = new IllegalStateException("Conflict");
+        VirtualMachineScaleSetInstanceOperationsImpl operations = operations("0", "1", "2", "3", "4")
+                .withBatchSize(2);
+
+        Map<String, VirtualMachineScaleSetInstanceOperationResult> results = byInstanceId(operations
+                .runInBatches("deallocate", new Func1<List<String>, Observable<Void>>() {
+                    @Override
+                    public Observable<Void> call(List<String> batch) {
+                        batches.add(batch);
+                        if (batch.contains("2")) {
+                            return Observable.<Void>error(failure);
+                        }
+                        if (batch.contains("4")) {
+                            // failing before the call is made is reported the same way
+                            throw new IllegalArgumentException("Invalid instance");
+                        }
+                        return Observable.<Void>empty();
+                    }
+                })
+                .toList().toBlocking().single());
+
+        Assert.assertEquals(3, batches.size());
+        Assert.assertEquals(5, results.size());
+        Assert.assertTrue(results.get("0").succeeded());
+        Assert.assertTrue(results.get("1").succeeded());
+        Assert.assertFalse(results.get("2").succeeded());
+        Assert.assertSame(failure, results.get("2").error());
+        Assert.assertSame(failure, results.get("3").error());
+        Assert.assertTrue(results.get("4").error() instanceof IllegalArgumentException);
+        Assert.assertEquals("deallocate", results.get("3").operationName());
+    }
+
+    @Test
+    public void canLimitBatchesInFlight() {
+        final List<PublishSubject<Void>> calls = new ArrayList<>();
+        VirtualMachineScaleSetInstanceOperationsImpl operations = operations("0", "1", "2", "3", "4", "5")
+                .withBatchSize(2)
+                .withMaxConcurrency(2);
+
+        AssertableSubscriber<VirtualMachineScaleSetInstanceOperationResult> subscriber = operations
+                .runInBatches("update", new Func1<List<String>, Observable<Void>>() {
+                    @Override
+                    public Observable<Void> call(List<String> batch) {
+                        batches.add(batch);
+                        PublishSubject<Void> call = PublishSubject.create();
+                        calls.add(call);
+                        return call;
+                    }
+                })
+                .test();
+        Assert.assertEquals(2, calls.size());
+
+        calls.get(1).onCompleted();
+        Assert.assertEquals(3, calls.size());
+        subscriber.assertValueCount(2);
+
+        calls.get(0).onCompleted();
+        calls.get(2).onCompleted();
+        subscriber.assertValueCount(6).assertCompleted();
+    }
+
+    @Test
+    public void canRunWithoutInstances() {
+        operations().runInBatches("redeploy", succeeding()).test().assertNoValues().assertCompleted();
+        Assert.assertTrue(batches.isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotRunInEmptyBatches() {
+        operations("0").withBatchSize(0);
+    }
+
+    private static VirtualMachineScaleSetInstanceOperationsImpl operations(String... instanceIds) {
+        return new VirtualMachineScaleSetInstanceOperationsImpl(null, null, Arrays.asList(instanceIds));
+    }
+
+    private Func1<List<String>, Observable<Void>> succeeding() {
+        return new Func1<List<String>, Observable<Void>>() {
+            @Override
+            public Observable<Void> call(List<String> batch) {
+                batches.add(batch);
+                return Observable.<Void>just(null);
+            }
+        };
+    }
+
+    private static Map<String, VirtualMachineScaleSetInstanceOperationResult> byInstanceId(
+            List<VirtualMachineScaleSetInstanceOperationResult> results) {
+        Map<String, VirtualMachineScaleSetInstanceOperationResult> byInstanceId = new HashMap<>();
+        for (VirtualMachineScaleSetInstanceOperationResult result : results) {
+            byInstanceId.put(result.instanceId(), result);
+        }
+        return byInstanceId;
+    }
+}
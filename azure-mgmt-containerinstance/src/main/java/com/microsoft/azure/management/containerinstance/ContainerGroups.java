@@ -14,11 +14,13 @@ import com.microsoft.azure.management.resources.fluentcore.arm.collection.Suppor
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsGettingById;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsGettingByResourceGroup;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsListingByResourceGroup;
+import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsStreamingListingByResourceGroup;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.HasManager;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsBatchCreation;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsStreamingListing;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 import rx.Completable;
 import rx.Observable;
@@ -42,7 +44,9 @@ public interface ContainerGroups extends
         SupportsDeletingById,
         SupportsBatchDeletion,
         SupportsListingByResourceGroup<ContainerGroup>,
-        SupportsListing<ContainerGroup> {
+        SupportsStreamingListingByResourceGroup<ContainerGroup>,
+        SupportsListing<ContainerGroup>,
+        SupportsStreamingListing<ContainerGroup> {
 
     /**
      * Get the log content for the specified container instance within a container group.
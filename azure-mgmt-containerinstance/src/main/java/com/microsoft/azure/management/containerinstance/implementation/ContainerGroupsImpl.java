@@ -17,9 +17,11 @@ import com.microsoft.azure.management.containerinstance.Operation;
 import com.microsoft.azure.management.graphrbac.implementation.GraphRbacManager;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.implementation.TopLevelModifiableResourcesImpl;
 import com.microsoft.azure.management.resources.fluentcore.utils.PagedListConverter;
+import com.microsoft.azure.management.resources.fluentcore.utils.StreamingPagedIterable;
 import com.microsoft.azure.management.storage.implementation.StorageManager;
 import rx.Completable;
 import rx.Observable;
+import rx.functions.Func0;
 import rx.functions.Func1;
 
 import java.util.Collections;
@@ -43,6 +45,13 @@ public class ContainerGroupsImpl
 
     private final StorageManager storageManager;
     private final GraphRbacManager rbacManager;
+    // the listed container groups miss the instance view, each one is refreshed
+    private final PagedListConverter<ContainerGroupInner, ContainerGroup> refreshingConverter = new PagedListConverter<ContainerGroupInner, ContainerGroup>() {
+        @Override
+        public Observable<ContainerGroup> typeConvertAsync(ContainerGroupInner inner) {
+            return wrapModel(inner).refreshAsync();
+        }
+    };
 
     protected ContainerGroupsImpl(final ContainerInstanceManager manager, final StorageManager storageManager, final GraphRbacManager rbacManager) {
         super(manager.inner().containerGroups(), manager);
@@ -197,23 +206,16 @@ public class ContainerGroupsImpl
 
     @Override
     public final PagedList<ContainerGroup> list() {
-        final PagedListConverter<ContainerGroupInner, ContainerGroup> converter = new PagedListConverter<ContainerGroupInner, ContainerGroup>() {
-            @Override
-            public Observable<ContainerGroup> typeConvertAsync(ContainerGroupInner inner) {
-                return wrapModel(inner).refreshAsync();
-            }
-        };
-        return converter.convert(this.inner().list());
+        return refreshingConverter.convert(this.inner().list());
     }
 
     @Override
     public PagedList<ContainerGroup> listByResourceGroup(String resourceGroupName) {
-        final PagedListConverter<ContainerGroupInner, ContainerGroup> converter = new PagedListConverter<ContainerGroupInner, ContainerGroup>() {
-            @Override
-            public Observable<ContainerGroup> typeConvertAsync(ContainerGroupInner inner) {
-                return wrapModel(inner).refreshAsync();
-            }
-        };
-        return converter.convert(this.inner().listByResourceGroup(resourceGroupName));
+        return refreshingConverter.convert(this.inner().listByResourceGroup(resourceGroupName));
+    }
+
+    @Override
+    protected StreamingPagedIterable<ContainerGroupInner, ContainerGroup> wrapListStreaming(Func0<PagedList<ContainerGroupInner>> innerList) {
+        return refreshingConverter.convertStreaming(innerList);
     }
 }
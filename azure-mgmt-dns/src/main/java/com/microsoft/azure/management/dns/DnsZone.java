@@ -17,7 +17,11 @@ import com.microsoft.azure.management.resources.fluentcore.model.Appliable;
 import com.microsoft.azure.management.resources.fluentcore.model.Creatable;
 import com.microsoft.azure.management.resources.fluentcore.model.Refreshable;
 import com.microsoft.azure.management.resources.fluentcore.model.Updatable;
+import rx.Completable;
+import rx.Observable;
 
+import java.io.Reader;
+import java.io.Writer;
 import java.util.List;
 
 /**
@@ -149,6 +153,57 @@ public interface DnsZone extends
      */
     SoaRecordSet getSoaRecordSet();
 
+    /**
+     * Writes the record sets of this zone as an RFC 1035 zone file.
+     * <p>
+     * The record sets are written page by page as they are listed, the zone is not held in memory.
+     *
+     * @param writer the zone file
+     */
+    @Beta(Beta.SinceVersion.V1_30_0)
+    void exportZoneFile(Writer writer);
+
+    /**
+     * Writes the record sets of this zone as an RFC 1035 zone file.
+     * <p>
+     * The record sets are written page by page as they are listed, the zone is not held in memory.
+     *
+     * @param writer the zone file
+     * @return a representation of the deferred computation of this call
+     */
+    @Beta(Beta.SinceVersion.V1_30_0)
+    Completable exportZoneFileAsync(Writer writer);
+
+    /**
+     * Makes the record sets of this zone match an RFC 1035 zone file.
+     * <p>
+     * Only the record sets that differ from the file are written, in parallel, and only if they were
+     * not modified since they were read. The SOA record set and the name servers of the zone apex are
+     * managed by Azure DNS and left as is.
+     * The file is read in full before the zone is changed.
+     *
+     * @param reader the zone file
+     * @param deleteRecordSetsNotInFile true to delete the record sets of the zone that are not in the file
+     * @return the outcome of the import
+     */
+    @Beta(Beta.SinceVersion.V1_30_0)
+    ZoneFileImportResult importZoneFile(Reader reader, boolean deleteRecordSetsNotInFile);
+
+    /**
+     * Makes the record sets of this zone match an RFC 1035 zone file.
+     * <p>
+     * Only the record sets that differ from the file are written, in parallel, and only if they were
+     * not modified since they were read. The SOA record set and the name servers of the zone apex are
+     * managed by Azure DNS and left as is.
+     * The file is read in full before the zone is changed.
+     *
+     * @param reader the zone file
+     * @param deleteRecordSetsNotInFile true to delete the record sets of the zone that are not in the file
+     * @return an observable emitting the outcome of the import
+     */
+    @Beta(Beta.SinceVersion.V1_30_0)
+    Observable<ZoneFileImportResult> importZoneFileAsync(Reader reader, boolean deleteRecordSetsNotInFile);
+
     /**
      * The entirety of the DNS zone definition.
      */
@@ -0,0 +1,50 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+package com.microsoft.azure.management.dns;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Fluent;
+
+import java.util.Map;
+
+/**
+ * The outcome of the import of a zone file in a DNS zone.
+ */
+@Fluent
+@Beta(Beta.SinceVersion.V1_30_0)
+public interface ZoneFileImportResult {
+    /**
+     * @return the number of record sets of the file created in the zone
+     */
+    int recordSetsCreated();
+
+    /**
+     * @return the number of record sets of the zone updated to match the file
+     */
+    int recordSetsUpdated();
+
+    /**
+     * @return the number of record sets of the zone not in the file that were deleted
+     */
+    int recordSetsDeleted();
+
+    /**
+     * @return the number of record sets of the zone already matching the file
+     */
+    int recordSetsUnchanged();
+
+    /**
+     * @return the number of record sets managed by Azure DNS that were left as is, i.e. the SOA
+     * record set and the name servers of the zone apex
+     */
+    int recordSetsSkipped();
+
+    /**
+     * @return the errors of the record sets that could not be written, e.g. because they were modified
+     * since they were read, keyed by record type and name, e.g. "CNAME www"
+     */
+    Map<String, Throwable> failures();
+}
@@ -73,6 +73,12 @@ class DnsRecordSetImpl extends ExternalChildResourceImpl<DnsRecordSet,
         return RecordType.fromString(parts[parts.length - 1]);
     }
 
+    @Override
+    protected String fullResourceType() {
+        // each record type is a resource type of its own
+        return "Microsoft.Network/dnsZones/" + this.recordType().toString();
+    }
+
     @Override
     public long timeToLive() {
         return this.inner().tTL();
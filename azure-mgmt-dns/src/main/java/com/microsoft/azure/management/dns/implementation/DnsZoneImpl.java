@@ -5,6 +5,7 @@
  */
 package com.microsoft.azure.management.dns.implementation;
 
+import com.microsoft.azure.Page;
 import com.microsoft.azure.PagedList;
 import com.microsoft.azure.management.apigeneration.LangDefinition;
 import com.microsoft.azure.management.dns.ARecordSets;
@@ -21,15 +22,22 @@ import com.microsoft.azure.management.dns.SoaRecordSet;
 import com.microsoft.azure.management.dns.SrvRecordSets;
 import com.microsoft.azure.management.dns.SubResource;
 import com.microsoft.azure.management.dns.TxtRecordSets;
+import com.microsoft.azure.management.dns.ZoneFileImportResult;
 import com.microsoft.azure.management.dns.ZoneType;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.implementation.GroupableResourceImpl;
 import com.microsoft.azure.management.resources.fluentcore.utils.PagedListConverter;
 import com.microsoft.azure.management.resources.fluentcore.utils.Utils;
 import rx.Completable;
 import rx.Observable;
+import rx.exceptions.Exceptions;
+import rx.functions.Action0;
+import rx.functions.Action1;
 import rx.functions.Func0;
 import rx.functions.Func1;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -70,6 +78,11 @@ public class DnsZoneImpl
         }
     }
 
+    @Override
+    protected String fullResourceType() {
+        return "Microsoft.Network/dnsZones";
+    }
+
     @Override
     public long maxNumberOfRecordSets() {
         return Utils.toPrimitiveLong(this.inner().maxNumberOfRecordSets());
@@ -196,6 +209,61 @@ public class DnsZoneImpl
 
     // Setters
 
+    @Override
+    public void exportZoneFile(Writer writer) {
+        this.exportZoneFileAsync(writer).await();
+    }
+
+    @Override
+    public Completable exportZoneFileAsync(Writer writer) {
+        final ZoneFileWriter zoneFileWriter = new ZoneFileWriter(writer, this.name());
+        final Writer output = writer;
+        Completable writeOrigin = Completable.fromAction(new Action0() {
+            @Override
+            public void call() {
+                try {
+                    zoneFileWriter.writeOrigin();
+                } catch (IOException e) {
+                    throw Exceptions.propagate(e);
+                }
+            }
+        });
+        return writeOrigin.andThen(this.manager().inner().recordSets().listAllByDnsZoneAsync(this.resourceGroupName(), this.name())
+                .doOnNext(new Action1<Page<RecordSetInner>>() {
+                    @Override
+                    public void call(Page<RecordSetInner> page) {
+                        try {
+                            for (RecordSetInner recordSet : page.items()) {
+                                zoneFileWriter.write(recordSet);
+                            }
+                        } catch (IOException e) {
+                            throw Exceptions.propagate(e);
+                        }
+                    }
+                })
+                .doOnCompleted(new Action0() {
+                    @Override
+                    public void call() {
+                        try {
+                            output.flush();
+                        } catch (IOException e) {
+                            throw Exceptions.propagate(e);
+                        }
+                    }
+                })
+                .toCompletable());
+    }
+
+    @Override
+    public ZoneFileImportResult importZoneFile(Reader reader, boolean deleteRecordSetsNotInFile) {
+        return this.importZoneFileAsync(reader, deleteRecordSetsNotInFile).toBlocking().last();
+    }
+
+    @Override
+    public Observable<ZoneFileImportResult> importZoneFileAsync(Reader reader, boolean deleteRecordSetsNotInFile) {
+        return new ZoneFileImporter(this).importAsync(reader, deleteRecordSetsNotInFile);
+    }
+
     @Override
     public DnsRecordSetImpl defineARecordSet(String name) {
         return recordSets.defineARecordSet(name);
@@ -0,0 +1,239 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+package com.microsoft.azure.management.dns.implementation;
+
+import com.microsoft.azure.Page;
+import com.microsoft.azure.management.apigeneration.LangDefinition;
+import com.microsoft.azure.management.dns.RecordType;
+import com.microsoft.azure.management.dns.ZoneFileImportResult;
+import rx.Observable;
+import rx.functions.Action0;
+import rx.functions.Action1;
+import rx.functions.Action2;
+import rx.functions.Func0;
+import rx.functions.Func1;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Imports a zone file in a DNS zone by writing only the record sets that differ.
+ * <p>
+ * The record sets of the zone are listed once and compared with the file; new record sets are created
+ * with If-None-Match: *, changed ones are replaced and, optionally, record sets missing from the file are
+ * deleted, both with If-Match set to the ETag they were listed with, so that a record set modified in the
+ * meantime is reported as a failure instead of being overwritten. The writes are sent in parallel.
+ * Record sets of types unknown to the SDK are skipped.
+ */
+final class ZoneFileImporter {
+    private static final int MAX_CONCURRENCY = 16;
+
+    private final DnsZoneImpl dnsZone;
+    private final RecordSetsInner client;
+
+    ZoneFileImporter(DnsZoneImpl dnsZone) {
+        this.dnsZone = dnsZone;
+        this.client = dnsZone.manager().inner().recordSets();
+    }
+
+    /**
+     * Imports a zone file.
+     *
+     * @param reader the zone file
+     * @param deleteRecordSetsNotInFile true to delete the record sets of the zone that are not in the file
+     * @return an observable emitting the outcome of the import
+     */
+    Observable<ZoneFileImportResult> importAsync(final Reader reader, final boolean deleteRecordSetsNotInFile) {
+        final Observable<List<ZoneFileReader.RecordSet>> desiredRecordSets = Observable.fromCallable(
+                new Callable<List<ZoneFileReader.RecordSet>>() {
+                    @Override
+                    public List<ZoneFileReader.RecordSet> call() throws Exception {
+                        return new ZoneFileReader(reader, dnsZone.name()).readRecordSets();
+                    }
+                });
+        final Observable<Map<String, RecordSetInner>> currentRecordSets = client
+                .listAllByDnsZoneAsync(dnsZone.resourceGroupName(), dnsZone.name())
+                .collect(new Func0<Map<String, RecordSetInner>>() {
+                    @Override
+                    public Map<String, RecordSetInner> call() {
+                        return new HashMap<>();
+                    }
+                }, new Action2<Map<String, RecordSetInner>, Page<RecordSetInner>>() {
+                    @Override
+                    public void call(Map<String, RecordSetInner> recordSets, Page<RecordSetInner> page) {
+                        for (RecordSetInner recordSet : page.items()) {
+                            RecordType type = ZoneFileWriter.typeOf(recordSet);
+                            // a record set of a type unknown to the SDK is kept under its service type, never matching the file
+                            recordSets.put(type != null ? key(type, recordSet.name()) : recordSet.type() + " " + recordSet.name(), recordSet);
+                        }
+                    }
+                });
+
+        return desiredRecordSets.flatMap(new Func1<List<ZoneFileReader.RecordSet>, Observable<ZoneFileImportResult>>() {
+            @Override
+            public Observable<ZoneFileImportResult> call(final List<ZoneFileReader.RecordSet> desired) {
+                return currentRecordSets.flatMap(new Func1<Map<String, RecordSetInner>, Observable<ZoneFileImportResult>>() {
+                    @Override
+                    public Observable<ZoneFileImportResult> call(Map<String, RecordSetInner> current) {
+                        return apply(desired, current, deleteRecordSetsNotInFile);
+                    }
+                });
+            }
+        });
+    }
+
+    private Observable<ZoneFileImportResult> apply(List<ZoneFileReader.RecordSet> desired,
+                                                   Map<String, RecordSetInner> current,
+                                                   boolean deleteRecordSetsNotInFile) {
+        final ZoneFileImportResultImpl result = new ZoneFileImportResultImpl();
+        List<Observable<Void>> writes = new ArrayList<>();
+        for (ZoneFileReader.RecordSet recordSet : desired) {
+            String key = key(recordSet.type(), recordSet.name());
+            RecordSetInner existing = current.remove(key);
+            if (isManagedByAzure(recordSet.type(), recordSet.name())) {
+                result.skipped.incrementAndGet();
+            } else if (existing == null) {
+                writes.add(track(create(recordSet), key, result.created, result));
+            } else if (sameRecords(recordSet, existing)) {
+                result.unchanged.incrementAndGet();
+            } else {
+                writes.add(track(update(recordSet, existing), key, result.updated, result));
+            }
+        }
+        if (deleteRecordSetsNotInFile) {
+            for (Map.Entry<String, RecordSetInner> entry : current.entrySet()) {
+                RecordSetInner existing = entry.getValue();
+                RecordType type = ZoneFileWriter.typeOf(existing);
+                if (type == null || isManagedByAzure(type, existing.name())) {
+                    result.skipped.incrementAndGet();
+                } else {
+                    writes.add(track(delete(type, existing), entry.getKey(), result.deleted, result));
+                }
+            }
+        }
+        return Observable.merge(writes, MAX_CONCURRENCY)
+                .toCompletable()
+                .andThen(Observable.<ZoneFileImportResult>just(result));
+    }
+
+    private Observable<Void> create(ZoneFileReader.RecordSet recordSet) {
+        return client.createOrUpdateAsync(dnsZone.resourceGroupName(), dnsZone.name(), recordSet.name(),
+                recordSet.type(), recordSet.inner(), null/*IfMatch*/, "*"/*IfNoneMatch*/)
+                .map(new Func1<RecordSetInner, Void>() {
+                    @Override
+                    public Void call(RecordSetInner inner) {
+                        return null;
+                    }
+                });
+    }
+
+    private Observable<Void> update(ZoneFileReader.RecordSet recordSet, RecordSetInner existing) {
+        // zone files do not carry metadata, keep the one of the record set
+        recordSet.inner().withMetadata(existing.metadata());
+        return client.createOrUpdateAsync(dnsZone.resourceGroupName(), dnsZone.name(), recordSet.name(),
+                recordSet.type(), recordSet.inner(), existing.etag()/*IfMatch*/, null/*IfNoneMatch*/)
+                .map(new Func1<RecordSetInner, Void>() {
+                    @Override
+                    public Void call(RecordSetInner inner) {
+                        return null;
+                    }
+                });
+    }
+
+    private Observable<Void> delete(RecordType type, RecordSetInner existing) {
+        return client.deleteAsync(dnsZone.resourceGroupName(), dnsZone.name(), existing.name(), type,
+                existing.etag()/*IfMatch*/);
+    }
+
+    private static Observable<Void> track(Observable<Void> write, final String key, final AtomicInteger counter,
+                                          final ZoneFileImportResultImpl result) {
+        return write
+                .doOnCompleted(new Action0() {
+                    @Override
+                    public void call() {
+                        counter.incrementAndGet();
+                    }
+                })
+                .doOnError(new Action1<Throwable>() {
+                    @Override
+                    public void call(Throwable throwable) {
+                        result.failures.put(key, throwable);
+                    }
+                })
+                .onErrorResumeNext(Observable.<Void>empty());
+    }
+
+    static boolean sameRecords(ZoneFileReader.RecordSet recordSet, RecordSetInner existing) {
+        if (recordSet.inner().tTL() == null || !recordSet.inner().tTL().equals(existing.tTL())) {
+            return false;
+        }
+        List<String> desiredData = ZoneFileWriter.recordData(recordSet.type(), recordSet.inner());
+        List<String> existingData = ZoneFileWriter.recordData(recordSet.type(), existing);
+        Collections.sort(desiredData);
+        Collections.sort(existingData);
+        return desiredData.equals(existingData);
+    }
+
+    private static boolean isManagedByAzure(RecordType type, String name) {
+        return type == RecordType.SOA || (type == RecordType.NS && name.equals("@"));
+    }
+
+    private static String key(RecordType type, String name) {
+        return type + " " + name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The implementation of ZoneFileImportResult.
+     */
+    @LangDefinition
+    private static final class ZoneFileImportResultImpl implements ZoneFileImportResult {
+        private final AtomicInteger created = new AtomicInteger();
+        private final AtomicInteger updated = new AtomicInteger();
+        private final AtomicInteger deleted = new AtomicInteger();
+        private final AtomicInteger unchanged = new AtomicInteger();
+        private final AtomicInteger skipped = new AtomicInteger();
+        private final ConcurrentMap<String, Throwable> failures = new ConcurrentHashMap<>();
+
+        @Override
+        public int recordSetsCreated() {
+            return created.get();
+        }
+
+        @Override
+        public int recordSetsUpdated() {
+            return updated.get();
+        }
+
+        @Override
+        public int recordSetsDeleted() {
+            return deleted.get();
+        }
+
+        @Override
+        public int recordSetsUnchanged() {
+            return unchanged.get();
+        }
+
+        @Override
+        public int recordSetsSkipped() {
+            return skipped.get();
+        }
+
+        @Override
+        public Map<String, Throwable> failures() {
+            return Collections.unmodifiableMap(failures);
+        }
+    }
+}
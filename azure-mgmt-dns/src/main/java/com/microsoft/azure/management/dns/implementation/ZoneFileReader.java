@@ -0,0 +1,393 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+package com.microsoft.azure.management.dns.implementation;
+
+import com.microsoft.azure.management.dns.ARecord;
+import com.microsoft.azure.management.dns.AaaaRecord;
+import com.microsoft.azure.management.dns.CaaRecord;
+import com.microsoft.azure.management.dns.CnameRecord;
+import com.microsoft.azure.management.dns.MxRecord;
+import com.microsoft.azure.management.dns.NsRecord;
+import com.microsoft.azure.management.dns.PtrRecord;
+import com.microsoft.azure.management.dns.RecordType;
+import com.microsoft.azure.management.dns.SoaRecord;
+import com.microsoft.azure.management.dns.SrvRecord;
+import com.microsoft.azure.management.dns.TxtRecord;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads the record sets of a DNS zone from an RFC 1035 master (zone) file.
+ * <p>
+ * The whole file is read before the record sets are returned, all of them being held in memory. The records
+ * are grouped in record sets by name and type, the TTL of a record set being the TTL of its first record. $ORIGIN and $TTL directives, omitted owners,
+ * TTLs and classes, parentheses and quoted strings are supported; $INCLUDE is not. Names are returned
+ * relative to the zone, "@" for the zone apex.
+ */
+final class ZoneFileReader {
+    private static final long DEFAULT_TTL = 3600;
+
+    private final BufferedReader reader;
+    private final String zoneName;
+    private String origin;
+    private long defaultTtl = DEFAULT_TTL;
+    private String previousOwner;
+    private int lineNumber;
+
+    /**
+     * Creates ZoneFileReader.
+     *
+     * @param reader the zone file
+     * @param zoneName the name of the zone, used as the initial origin
+     */
+    ZoneFileReader(Reader reader, String zoneName) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        this.zoneName = absolute(zoneName);
+        this.origin = this.zoneName;
+    }
+
+    /**
+     * Reads the record sets of the file.
+     *
+     * @return the record sets, in the order of their first record
+     * @throws IOException if the file cannot be read
+     */
+    List<RecordSet> readRecordSets() throws IOException {
+        Map<String, RecordSet> recordSets = new LinkedHashMap<>();
+        List<String> entry;
+        while ((entry = nextEntry()) != null) {
+            readRecord(entry, recordSets);
+        }
+        return new ArrayList<>(recordSets.values());
+    }
+
+    /**
+     * A record set read from a zone file.
+     */
+    static final class RecordSet {
+        private final String name;
+        private final RecordType type;
+        private final RecordSetInner inner;
+
+        RecordSet(String name, RecordType type, RecordSetInner inner) {
+            this.name = name;
+            this.type = type;
+            this.inner = inner;
+        }
+
+        /**
+         * @return the name of the record set relative to the zone, "@" for the zone apex
+         */
+        String name() {
+            return this.name;
+        }
+
+        /**
+         * @return the type of the record set
+         */
+        RecordType type() {
+            return this.type;
+        }
+
+        /**
+         * @return the TTL and the records of the record set
+         */
+        RecordSetInner inner() {
+            return this.inner;
+        }
+    }
+
+    private void readRecord(List<String> entry, Map<String, RecordSet> recordSets) {
+        String first = entry.get(0);
+        if (first.equalsIgnoreCase("$ORIGIN")) {
+            this.origin = absolute(qualify(argument(entry, 1)));
+            return;
+        }
+        if (first.equalsIgnoreCase("$TTL")) {
+            this.defaultTtl = parseTtl(argument(entry, 1));
+            return;
+        }
+        if (first.startsWith("$")) {
+            throw error("unsupported directive " + first);
+        }
+
+        int index = 1;
+        String owner = first.isEmpty() ? this.previousOwner : qualify(first);
+        if (owner == null) {
+            throw error("record without owner name");
+        }
+        this.previousOwner = owner;
+        Long ttl = null;
+        RecordType type = null;
+        // the TTL and the class are optional and may come in any order
+        while (type == null) {
+            String token = argument(entry, index++);
+            if (ttl == null && Character.isDigit(token.charAt(0))) {
+                ttl = parseTtl(token);
+            } else if (token.equalsIgnoreCase("IN")) {
+                continue;
+            } else {
+                type = RecordType.fromString(token);
+                if (type == null) {
+                    throw error("unsupported record type " + token);
+                }
+            }
+        }
+
+        String name = relativeName(owner);
+        String key = type.toString() + " " + name.toLowerCase(Locale.ROOT);
+        RecordSet recordSet = recordSets.get(key);
+        if (recordSet == null) {
+            recordSet = new RecordSet(name, type, new RecordSetInner().withTTL(ttl != null ? ttl : this.defaultTtl));
+            recordSets.put(key, recordSet);
+        }
+        addRecord(recordSet, entry.subList(index, entry.size()));
+    }
+
+    private void addRecord(RecordSet set, List<String> data) {
+        RecordSetInner recordSet = set.inner();
+        switch (set.type()) {
+            case A:
+                if (recordSet.aRecords() == null) {
+                    recordSet.withARecords(new ArrayList<ARecord>());
+                }
+                recordSet.aRecords().add(new ARecord().withIpv4Address(argument(data, 0)));
+                break;
+            case AAAA:
+                if (recordSet.aaaaRecords() == null) {
+                    recordSet.withAaaaRecords(new ArrayList<AaaaRecord>());
+                }
+                recordSet.aaaaRecords().add(new AaaaRecord().withIpv6Address(argument(data, 0)));
+                break;
+            case CAA:
+                if (recordSet.caaRecords() == null) {
+                    recordSet.withCaaRecords(new ArrayList<CaaRecord>());
+                }
+                recordSet.caaRecords().add(new CaaRecord()
+                        .withFlags(parseInt(argument(data, 0)))
+                        .withTag(argument(data, 1))
+                        .withValue(argument(data, 2)));
+                break;
+            case CNAME:
+                if (recordSet.cnameRecord() != null) {
+                    throw error("more than one CNAME record for " + set.name());
+                }
+                recordSet.withCnameRecord(new CnameRecord().withCname(target(argument(data, 0))));
+                break;
+            case MX:
+                if (recordSet.mxRecords() == null) {
+                    recordSet.withMxRecords(new ArrayList<MxRecord>());
+                }
+                recordSet.mxRecords().add(new MxRecord()
+                        .withPreference(parseInt(argument(data, 0)))
+                        .withExchange(target(argument(data, 1))));
+                break;
+            case NS:
+                if (recordSet.nsRecords() == null) {
+                    recordSet.withNsRecords(new ArrayList<NsRecord>());
+                }
+                recordSet.nsRecords().add(new NsRecord().withNsdname(target(argument(data, 0))));
+                break;
+            case PTR:
+                if (recordSet.ptrRecords() == null) {
+                    recordSet.withPtrRecords(new ArrayList<PtrRecord>());
+                }
+                recordSet.ptrRecords().add(new PtrRecord().withPtrdname(target(argument(data, 0))));
+                break;
+            case SOA:
+                recordSet.withSoaRecord(new SoaRecord()
+                        .withHost(target(argument(data, 0)))
+                        .withEmail(target(argument(data, 1)))
+                        .withSerialNumber(Long.parseLong(argument(data, 2)))
+                        .withRefreshTime(parseTtl(argument(data, 3)))
+                        .withRetryTime(parseTtl(argument(data, 4)))
+                        .withExpireTime(parseTtl(argument(data, 5)))
+                        .withMinimumTtl(parseTtl(argument(data, 6))));
+                break;
+            case SRV:
+                if (recordSet.srvRecords() == null) {
+                    recordSet.withSrvRecords(new ArrayList<SrvRecord>());
+                }
+                recordSet.srvRecords().add(new SrvRecord()
+                        .withPriority(parseInt(argument(data, 0)))
+                        .withWeight(parseInt(argument(data, 1)))
+                        .withPort(parseInt(argument(data, 2)))
+                        .withTarget(target(argument(data, 3))));
+                break;
+            case TXT:
+                if (recordSet.txtRecords() == null) {
+                    recordSet.withTxtRecords(new ArrayList<TxtRecord>());
+                }
+                argument(data, 0);
+                recordSet.txtRecords().add(new TxtRecord().withValue(new ArrayList<>(data)));
+                break;
+            default:
+                throw error("unsupported record type " + set.type());
+        }
+    }
+
+    /**
+     * Reads the tokens of the next entry, joining the lines of parenthesized entries. The first token
+     * is empty when the entry has no owner name.
+     */
+    private List<String> nextEntry() throws IOException {
+        List<String> tokens = new ArrayList<>();
+        boolean started = false;
+        int depth = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (!started && !line.isEmpty() && Character.isWhitespace(line.charAt(0))) {
+                tokens.add("");
+            }
+            started = true;
+            depth = tokenize(line, tokens, depth);
+            if (depth < 0) {
+                throw error("unbalanced parentheses");
+            }
+            if (depth == 0) {
+                if (tokens.size() > 1 || (tokens.size() == 1 && !tokens.get(0).isEmpty())) {
+                    return tokens;
+                }
+                // a blank or comment line
+                tokens.clear();
+                started = false;
+            }
+        }
+        if (depth != 0) {
+            throw error("unbalanced parentheses");
+        }
+        return null;
+    }
+
+    private int tokenize(String line, List<String> tokens, int depth) {
+        StringBuilder token = null;
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '\\' && i + 1 < line.length()) {
+                    token.append(line.charAt(++i));
+                } else if (c == '"') {
+                    tokens.add(token.toString());
+                    token = null;
+                    quoted = false;
+                } else {
+                    token.append(c);
+                }
+            } else if (c == ';') {
+                break;
+            } else if (c == '"' || c == '(' || c == ')' || Character.isWhitespace(c)) {
+                if (token != null) {
+                    tokens.add(token.toString());
+                    token = null;
+                }
+                if (c == '"') {
+                    token = new StringBuilder();
+                    quoted = true;
+                } else if (c == '(') {
+                    depth++;
+                } else if (c == ')') {
+                    depth--;
+                }
+            } else {
+                if (token == null) {
+                    token = new StringBuilder();
+                }
+                token.append(c);
+            }
+        }
+        if (quoted) {
+            throw error("unterminated quoted string");
+        }
+        if (token != null) {
+            tokens.add(token.toString());
+        }
+        return depth;
+    }
+
+    private String relativeName(String owner) {
+        if (owner.equalsIgnoreCase(this.zoneName)) {
+            return "@";
+        }
+        String suffix = "." + this.zoneName;
+        if (owner.length() > suffix.length() && owner.toLowerCase(Locale.ROOT).endsWith(suffix.toLowerCase(Locale.ROOT))) {
+            return owner.substring(0, owner.length() - suffix.length());
+        }
+        throw error(owner + " is not in zone " + this.zoneName);
+    }
+
+    private String qualify(String name) {
+        if (name.equals("@")) {
+            return this.origin;
+        }
+        return name.endsWith(".") ? name : name + "." + this.origin;
+    }
+
+    private String target(String name) {
+        // record data names are stored fully qualified, without the root label
+        String qualified = qualify(name);
+        return qualified.substring(0, qualified.length() - 1);
+    }
+
+    private String argument(List<String> tokens, int index) {
+        if (index >= tokens.size()) {
+            throw error("missing field");
+        }
+        return tokens.get(index);
+    }
+
+    private int parseInt(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw error("invalid number " + value);
+        }
+    }
+
+    private long parseTtl(String value) {
+        // a number of seconds, or BIND units such as 1h30m
+        long total = 0;
+        long current = -1;
+        for (int i = 0; i < value.length(); i++) {
+            char c = Character.toLowerCase(value.charAt(i));
+            if (Character.isDigit(c)) {
+                current = (current < 0 ? 0 : current * 10) + (c - '0');
+                continue;
+            }
+            long unit;
+            switch (c) {
+                case 's': unit = 1; break;
+                case 'm': unit = 60; break;
+                case 'h': unit = 3600; break;
+                case 'd': unit = 86400; break;
+                case 'w': unit = 604800; break;
+                default: throw error("invalid TTL " + value);
+            }
+            if (current < 0) {
+                throw error("invalid TTL " + value);
+            }
+            total += current * unit;
+            current = -1;
+        }
+        return current < 0 ? total : total + current;
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("Zone file line " + lineNumber + ": " + message);
+    }
+
+    private static String absolute(String name) {
+        return name.endsWith(".") ? name : name + ".";
+    }
+}
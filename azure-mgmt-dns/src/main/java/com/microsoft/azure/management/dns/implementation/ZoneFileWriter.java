@@ -0,0 +1,187 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+package com.microsoft.azure.management.dns.implementation;
+
+import com.microsoft.azure.management.dns.ARecord;
+import com.microsoft.azure.management.dns.AaaaRecord;
+import com.microsoft.azure.management.dns.CaaRecord;
+import com.microsoft.azure.management.dns.MxRecord;
+import com.microsoft.azure.management.dns.NsRecord;
+import com.microsoft.azure.management.dns.PtrRecord;
+import com.microsoft.azure.management.dns.RecordType;
+import com.microsoft.azure.management.dns.SoaRecord;
+import com.microsoft.azure.management.dns.SrvRecord;
+import com.microsoft.azure.management.dns.TxtRecord;
+import com.microsoft.azure.management.resources.fluentcore.utils.Utils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes the record sets of a DNS zone as an RFC 1035 master (zone) file, one line per record, the
+ * names relative to the zone origin.
+ */
+final class ZoneFileWriter {
+    private static final String NEW_LINE = "\n";
+
+    private final Writer writer;
+    private final String zoneName;
+
+    /**
+     * Creates ZoneFileWriter.
+     *
+     * @param writer the zone file
+     * @param zoneName the name of the zone
+     */
+    ZoneFileWriter(Writer writer, String zoneName) {
+        this.writer = writer;
+        this.zoneName = zoneName;
+    }
+
+    /**
+     * Writes the $ORIGIN directive of the zone.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    void writeOrigin() throws IOException {
+        writer.write("$ORIGIN " + absolute(zoneName) + NEW_LINE);
+    }
+
+    /**
+     * Writes the records of a record set. A record set of a type unknown to the SDK is written as a
+     * comment.
+     *
+     * @param recordSet the record set, as returned by the service
+     * @throws IOException if the file cannot be written
+     */
+    void write(RecordSetInner recordSet) throws IOException {
+        RecordType type = typeOf(recordSet);
+        if (type == null) {
+            writer.write("; skipped " + recordSet.name() + " of unsupported type " + recordSet.type() + NEW_LINE);
+            return;
+        }
+        String prefix = recordSet.name() + " " + Utils.toPrimitiveLong(recordSet.tTL()) + " IN " + type + " ";
+        for (String data : recordData(type, recordSet)) {
+            writer.write(prefix + data + NEW_LINE);
+        }
+    }
+
+    /**
+     * Gets the type of a record set returned by the service, e.g. "Microsoft.Network/dnszones/A".
+     *
+     * @param recordSet the record set
+     * @return the record type, null if the type is unknown to the SDK
+     */
+    static RecordType typeOf(RecordSetInner recordSet) {
+        String type = recordSet.type();
+        return RecordType.fromString(type.substring(type.lastIndexOf('/') + 1));
+    }
+
+    /**
+     * Gets the data of the records of a record set, as written in a zone file.
+     *
+     * @param type the type of the record set
+     * @param recordSet the record set
+     * @return the data of each record, empty if the type is unknown to the SDK
+     */
+    static List<String> recordData(RecordType type, RecordSetInner recordSet) {
+        List<String> data = new ArrayList<>();
+        if (type == null) {
+            return data;
+        }
+        switch (type) {
+            case A:
+                if (recordSet.aRecords() != null) {
+                    for (ARecord record : recordSet.aRecords()) {
+                        data.add(record.ipv4Address());
+                    }
+                }
+                break;
+            case AAAA:
+                if (recordSet.aaaaRecords() != null) {
+                    for (AaaaRecord record : recordSet.aaaaRecords()) {
+                        data.add(record.ipv6Address());
+                    }
+                }
+                break;
+            case CAA:
+                if (recordSet.caaRecords() != null) {
+                    for (CaaRecord record : recordSet.caaRecords()) {
+                        data.add(record.flags() + " " + record.tag() + " " + quote(record.value()));
+                    }
+                }
+                break;
+            case CNAME:
+                if (recordSet.cnameRecord() != null) {
+                    data.add(absolute(recordSet.cnameRecord().cname()));
+                }
+                break;
+            case MX:
+                if (recordSet.mxRecords() != null) {
+                    for (MxRecord record : recordSet.mxRecords()) {
+                        data.add(record.preference() + " " + absolute(record.exchange()));
+                    }
+                }
+                break;
+            case NS:
+                if (recordSet.nsRecords() != null) {
+                    for (NsRecord record : recordSet.nsRecords()) {
+                        data.add(absolute(record.nsdname()));
+                    }
+                }
+                break;
+            case PTR:
+                if (recordSet.ptrRecords() != null) {
+                    for (PtrRecord record : recordSet.ptrRecords()) {
+                        data.add(absolute(record.ptrdname()));
+                    }
+                }
+                break;
+            case SOA:
+                SoaRecord soa = recordSet.soaRecord();
+                if (soa != null) {
+                    data.add(absolute(soa.host()) + " " + absolute(soa.email()) + " " + soa.serialNumber()
+                            + " " + soa.refreshTime() + " " + soa.retryTime() + " " + soa.expireTime()
+                            + " " + soa.minimumTtl());
+                }
+                break;
+            case SRV:
+                if (recordSet.srvRecords() != null) {
+                    for (SrvRecord record : recordSet.srvRecords()) {
+                        data.add(record.priority() + " " + record.weight() + " " + record.port() + " " + absolute(record.target()));
+                    }
+                }
+                break;
+            case TXT:
+                if (recordSet.txtRecords() != null) {
+                    for (TxtRecord record : recordSet.txtRecords()) {
+                        StringBuilder builder = new StringBuilder();
+                        for (String value : record.value()) {
+                            if (builder.length() > 0) {
+                                builder.append(' ');
+                            }
+                            builder.append(quote(value));
+                        }
+                        data.add(builder.toString());
+                    }
+                }
+                break;
+            default:
+                break;
+        }
+        return data;
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    private static String absolute(String name) {
+        return name.endsWith(".") ? name : name + ".";
+    }
+}
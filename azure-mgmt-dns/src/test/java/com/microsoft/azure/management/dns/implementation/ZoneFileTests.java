@@ -0,0 +1,230 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.dns.implementation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.microsoft.azure.management.dns.ARecord;
+import com.microsoft.azure.management.dns.RecordType;
+import com.microsoft.azure.management.dns.SoaRecord;
+import com.microsoft.azure.serializer.AzureJacksonAdapter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class ZoneFileTests {
+    private static final String ZONE = "example.com";
+
+    @Test
+    public void canReadParenthesesAndComments() throws IOException {
+        List<ZoneFileReader.RecordSet> recordSets = read(
+                "; the zone apex\n"
+                + "@ 3600 IN SOA ns1.example.com. hostmaster ( ; primary and contact\n"
+                + "        2018010101 ; serial\n"
+                + "        7200       ; refresh\n"
+                + "        900 1209600\n"
+                + "        300 )\n"
+                + "\n"
+                + "www IN A 10.0.0.1 ; the web server\n");
+        Assert.assertEquals(2, recordSets.size());
+
+        ZoneFileReader.RecordSet soa = recordSets.get(0);
+        Assert.assertEquals("@", soa.name());
+        Assert.assertEquals(RecordType.SOA, soa.type());
+        SoaRecord record = soa.inner().soaRecord();
+        Assert.assertEquals("ns1.example.com", record.host());
+        Assert.assertEquals("hostmaster.example.com", record.email());
+        Assert.assertEquals(2018010101L, (long) record.serialNumber());
+        Assert.assertEquals(7200L, (long) record.refreshTime());
+        Assert.assertEquals(900L, (long) record.retryTime());
+        Assert.assertEquals(1209600L, (long) record.expireTime());
+        Assert.assertEquals(300L, (long) record.minimumTtl());
+
+        Assert.assertEquals("www", recordSets.get(1).name());
+        Assert.assertEquals(Arrays.asList("10.0.0.1"), ipv4Addresses(recordSets.get(1)));
+    }
+
+    @Test
+    public void canReadQuotedStringsWithEscapes() throws IOException {
+        List<ZoneFileReader.RecordSet> recordSets = read(
+                "txt IN TXT \"say \\\"hi\\\"\" \"semi;colon (paren\" \"back\\\\slash\"\n"
+                + "txt IN TXT unquoted\n");
+        Assert.assertEquals(1, recordSets.size());
+        RecordSetInner txt = recordSets.get(0).inner();
+        Assert.assertEquals(2, txt.txtRecords().size());
+        Assert.assertEquals(Arrays.asList("say \"hi\"", "semi;colon (paren", "back\\slash"), txt.txtRecords().get(0).value());
+        Assert.assertEquals(Arrays.asList("unquoted"), txt.txtRecords().get(1).value());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotReadUnterminatedQuotedString() throws IOException {
+        read("txt IN TXT \"unterminated\n");
+    }
+
+    @Test
+    public void canReadOriginAndTtlDirectives() throws IOException {
+        List<ZoneFileReader.RecordSet> recordSets = read(
+                "www IN A 10.0.0.1\n"
+                + "$TTL 300\n"
+                + "$ORIGIN sub.example.com.\n"
+                + "www IN A 10.0.0.2\n"
+                + "@ IN MX 10 mail\n"
+                + "alias.example.com. IN CNAME www.example.com.\n");
+        Assert.assertEquals(4, recordSets.size());
+
+        Assert.assertEquals("www", recordSets.get(0).name());
+        Assert.assertEquals(3600L, (long) recordSets.get(0).inner().tTL());
+        Assert.assertEquals("www.sub", recordSets.get(1).name());
+        Assert.assertEquals(300L, (long) recordSets.get(1).inner().tTL());
+        Assert.assertEquals("sub", recordSets.get(2).name());
+        Assert.assertEquals("mail.sub.example.com", recordSets.get(2).inner().mxRecords().get(0).exchange());
+        Assert.assertEquals("alias", recordSets.get(3).name());
+        Assert.assertEquals("www.example.com", recordSets.get(3).inner().cnameRecord().cname());
+    }
+
+    @Test
+    public void canReadOmittedOwnerTtlAndClass() throws IOException {
+        List<ZoneFileReader.RecordSet> recordSets = read(
+                "$TTL 120\n"
+                + "www 600 IN A 10.0.0.1\n"
+                + "    A 10.0.0.2\n"
+                + "    IN 60 AAAA ::1\n"
+                + "mail MX 10 mx1\n"
+                + "     IN MX 20 mx2\n");
+        Assert.assertEquals(3, recordSets.size());
+
+        Assert.assertEquals("www", recordSets.get(0).name());
+        Assert.assertEquals(600L, (long) recordSets.get(0).inner().tTL());
+        Assert.assertEquals(Arrays.asList("10.0.0.1", "10.0.0.2"), ipv4Addresses(recordSets.get(0)));
+        Assert.assertEquals("www", recordSets.get(1).name());
+        Assert.assertEquals(RecordType.AAAA, recordSets.get(1).type());
+        Assert.assertEquals(60L, (long) recordSets.get(1).inner().tTL());
+        Assert.assertEquals("mail", recordSets.get(2).name());
+        Assert.assertEquals(120L, (long) recordSets.get(2).inner().tTL());
+        Assert.assertEquals(2, recordSets.get(2).inner().mxRecords().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotReadRecordWithoutOwner() throws IOException {
+        read("    IN A 10.0.0.1\n");
+    }
+
+    @Test
+    public void canReadBindTtlUnits() throws IOException {
+        List<ZoneFileReader.RecordSet> recordSets = read(
+                "$TTL 1h30m\n"
+                + "a IN A 10.0.0.1\n"
+                + "b 1D IN A 10.0.0.1\n"
+                + "c 2w IN A 10.0.0.1\n"
+                + "d 1m30 IN A 10.0.0.1\n"
+                + "e 45S IN A 10.0.0.1\n");
+        long[] ttls = {5400, 86400, 1209600, 90, 45};
+        Assert.assertEquals(ttls.length, recordSets.size());
+        for (int i = 0; i < ttls.length; i++) {
+            Assert.assertEquals(ttls[i], (long) recordSets.get(i).inner().tTL());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotReadInvalidTtl() throws IOException {
+        read("a 1x IN A 10.0.0.1\n");
+    }
+
+    @Test
+    public void canReadWrittenZoneFile() throws IOException {
+        List<ZoneFileReader.RecordSet> original = read(
+                "@ 3600 IN SOA ns1.example.com. hostmaster.example.com. 1 7200 900 1209600 300\n"
+                + "@ 172800 IN NS ns1.example.com.\n"
+                + "@ IN NS ns2.example.com.\n"
+                + "www 300 IN A 10.0.0.1\n"
+                + "www IN A 10.0.0.2\n"
+                + "www IN AAAA ::1\n"
+                + "@ IN MX 10 mail\n"
+                + "@ IN CAA 0 issue \"ca.example.net\"\n"
+                + "alias IN CNAME www\n"
+                + "_sip._tcp IN SRV 10 60 5060 sip.example.com.\n"
+                + "1 IN PTR host.example.com.\n"
+                + "txt IN TXT \"quoted \\\"value\\\"\" \"back\\\\slash\"\n");
+
+        StringWriter writer = new StringWriter();
+        ZoneFileWriter zoneFileWriter = new ZoneFileWriter(writer, ZONE);
+        zoneFileWriter.writeOrigin();
+        List<RecordSetInner> listed = new ArrayList<>();
+        for (ZoneFileReader.RecordSet recordSet : original) {
+            RecordSetInner inner = asListed(recordSet.name(), recordSet.type().toString(), recordSet.inner());
+            listed.add(inner);
+            zoneFileWriter.write(inner);
+        }
+
+        List<ZoneFileReader.RecordSet> written = read(writer.toString());
+        Assert.assertEquals(original.size(), written.size());
+        for (int i = 0; i < original.size(); i++) {
+            Assert.assertEquals(original.get(i).name(), written.get(i).name());
+            Assert.assertEquals(original.get(i).type(), written.get(i).type());
+            Assert.assertTrue(written.get(i).name(), ZoneFileImporter.sameRecords(written.get(i), listed.get(i)));
+        }
+    }
+
+    @Test
+    public void canSkipUnknownRecordTypes() throws IOException {
+        RecordSetInner unknown = asListed("secure", "DS", new RecordSetInner().withTTL(300L));
+        Assert.assertNull(ZoneFileWriter.typeOf(unknown));
+        Assert.assertTrue(ZoneFileWriter.recordData(null, unknown).isEmpty());
+
+        StringWriter writer = new StringWriter();
+        new ZoneFileWriter(writer, ZONE).write(unknown);
+        Assert.assertTrue(writer.toString().startsWith(";"));
+        Assert.assertTrue(read(writer.toString()).isEmpty());
+    }
+
+    @Test
+    public void canCompareRecordSets() throws IOException {
+        ZoneFileReader.RecordSet desired = read("www 300 IN A 10.0.0.1\nwww IN A 10.0.0.2\n").get(0);
+
+        // the order of the records does not matter
+        RecordSetInner reordered = asListed("www", "A", new RecordSetInner().withTTL(300L).withARecords(Arrays.asList(
+                new ARecord().withIpv4Address("10.0.0.2"), new ARecord().withIpv4Address("10.0.0.1"))));
+        Assert.assertTrue(ZoneFileImporter.sameRecords(desired, reordered));
+
+        RecordSetInner otherTtl = asListed("www", "A", new RecordSetInner().withTTL(600L).withARecords(Arrays.asList(
+                new ARecord().withIpv4Address("10.0.0.1"), new ARecord().withIpv4Address("10.0.0.2"))));
+        Assert.assertFalse(ZoneFileImporter.sameRecords(desired, otherTtl));
+
+        RecordSetInner otherRecords = asListed("www", "A", new RecordSetInner().withTTL(300L).withARecords(Arrays.asList(
+                new ARecord().withIpv4Address("10.0.0.1"))));
+        Assert.assertFalse(ZoneFileImporter.sameRecords(desired, otherRecords));
+    }
+
+    private static List<ZoneFileReader.RecordSet> read(String zoneFile) throws IOException {
+        return new ZoneFileReader(new StringReader(zoneFile), ZONE).readRecordSets();
+    }
+
+    private static List<String> ipv4Addresses(ZoneFileReader.RecordSet recordSet) {
+        List<String> addresses = new ArrayList<>();
+        for (ARecord record : recordSet.inner().aRecords()) {
+            addresses.add(record.ipv4Address());
+        }
+        return addresses;
+    }
+
+    /**
+     * @return the record set as listed by the service, with its read-only name and type
+     */
+    private static RecordSetInner asListed(String name, String type, RecordSetInner inner) throws IOException {
+        AzureJacksonAdapter adapter = new AzureJacksonAdapter();
+        ObjectNode json = (ObjectNode) new ObjectMapper().readTree(adapter.serialize(inner));
+        json.put("name", name);
+        json.put("type", "Microsoft.Network/dnszones/" + type);
+        return adapter.deserialize(json.toString(), RecordSetInner.class);
+    }
+}
@@ -0,0 +1,712 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.emulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An in-process emulator of Azure Resource Manager.
+ * <p>
+ * The emulator serves the resources it holds in memory over HTTP on the loopback interface. It emulates:
+ * <ul>
+ * <li>CRUD on any resource path, resources are created from the payload templates of their type</li>
+ * <li>long running PUTs polled through {@code Azure-AsyncOperation}, long running DELETEs and POST
+ * actions polled through {@code Location}</li>
+ * <li>{@code nextLink} paging of collections, including the subscription wide and generic listings</li>
+ * <li>throttling with 429 and {@code Retry-After}, and the remaining quota headers</li>
+ * </ul>
+ * A typical use is:
+ * <pre>{@code
+ * ArmEmulator emulator = new ArmEmulator().withOperationPolls(2).start();
+ * emulator.seed("/subscriptions/" + ArmEmulator.SUBSCRIPTION_ID + "/resourceGroups", "rg", 10000);
+ * RestClient restClient = new RestClient.Builder().withBaseUrl(emulator.baseUrl())...build();
+ * }</pre>
+ */
+public final class ArmEmulator implements Closeable {
+    /**
+     * The subscription used by the helpers of the emulator; any subscription id is accepted in requests.
+     */
+    public static final String SUBSCRIPTION_ID = "00000000-0000-0000-0000-000000000000";
+
+    /**
+     * The default number of items in a page.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    /**
+     * The default number of worker threads serving requests.
+     */
+    public static final int DEFAULT_THREADS = 16;
+
+    private static final String OPERATIONS_PATH = "/emulator/operations/";
+    // reported as the remaining quota when the emulator is not rate limited, high enough to never slow clients down
+    private static final int UNLIMITED_QUOTA = 11999;
+    private static final String DEFAULT_LOCATION = "westus";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ResourceStore store = new ResourceStore();
+    private final PayloadTemplates templates = new PayloadTemplates(mapper);
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+    private final AtomicLong operationIds = new AtomicLong();
+    private final AtomicLong requestIds = new AtomicLong();
+    private final ArmEmulatorStats stats = new ArmEmulatorStats();
+
+    private volatile int pageSize = DEFAULT_PAGE_SIZE;
+    private volatile int operationPolls = 1;
+    private volatile int retryAfterSeconds;
+    private volatile int throttleEveryNthRequest;
+
+    private final Object rateLock = new Object();
+    private int requestsPerSecond;
+    private double availableRequests;
+    private long lastRefillNanos;
+
+    private int threads = DEFAULT_THREADS;
+    private HttpServer server;
+    private ExecutorService executor;
+    private String baseUrl;
+
+    /**
+     * A long running operation being polled.
+     */
+    private static final class Operation {
+        private final boolean asyncOperation;
+        private final AtomicInteger remainingPolls;
+        private final JsonNode result;
+
+        private Operation(boolean asyncOperation, int polls, JsonNode result) {
+            this.asyncOperation = asyncOperation;
+            this.remainingPolls = new AtomicInteger(polls);
+            this.result = result;
+        }
+    }
+
+    /**
+     * Sets the maximum number of items in a page of a collection.
+     *
+     * @param pageSize the page size
+     * @return the emulator
+     */
+    public ArmEmulator withPageSize(int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize must be at least 1");
+        }
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    /**
+     * Sets the number of status polls after which a long running operation completes; zero makes
+     * all the operations synchronous.
+     *
+     * @param operationPolls the number of polls, 1 by default
+     * @return the emulator
+     */
+    public ArmEmulator withOperationPolls(int operationPolls) {
+        if (operationPolls < 0) {
+            throw new IllegalArgumentException("operationPolls cannot be negative");
+        }
+        this.operationPolls = operationPolls;
+        return this;
+    }
+
+    /**
+     * Sets the {@code Retry-After} returned with throttled requests and operation status polls.
+     *
+     * @param retryAfterSeconds the delay in seconds, 0 by default
+     * @return the emulator
+     */
+    public ArmEmulator withRetryAfter(int retryAfterSeconds) {
+        if (retryAfterSeconds < 0) {
+            throw new IllegalArgumentException("retryAfterSeconds cannot be negative");
+        }
+        this.retryAfterSeconds = retryAfterSeconds;
+        return this;
+    }
+
+    /**
+     * Throttles every n-th request with a 429, regardless of the rate.
+     *
+     * @param n the period of the throttled requests, 0 to disable
+     * @return the emulator
+     */
+    public ArmEmulator withThrottlingEveryNthRequest(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n cannot be negative");
+        }
+        this.throttleEveryNthRequest = n;
+        return this;
+    }
+
+    /**
+     * Throttles the requests above a rate with a 429, the remaining quota headers report the requests
+     * still available in the current second.
+     *
+     * @param requestsPerSecond the maximum rate, 0 for no limit
+     * @return the emulator
+     */
+    public ArmEmulator withRateLimit(int requestsPerSecond) {
+        if (requestsPerSecond < 0) {
+            throw new IllegalArgumentException("requestsPerSecond cannot be negative");
+        }
+        synchronized (rateLock) {
+            this.requestsPerSecond = requestsPerSecond;
+            this.availableRequests = requestsPerSecond;
+            this.lastRefillNanos = System.nanoTime();
+        }
+        return this;
+    }
+
+    /**
+     * Sets the number of worker threads serving requests; must be called before {@link #start()}.
+     *
+     * @param threads the number of threads
+     * @return the emulator
+     */
+    public ArmEmulator withThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1");
+        }
+        this.threads = threads;
+        return this;
+    }
+
+    /**
+     * Sets the payload new resources of a type start from.
+     *
+     * @param resourceType the resource type, e.g. Microsoft.Network/virtualNetworks
+     * @param json the payload
+     * @return the emulator
+     * @throws IOException if the payload is not a JSON object
+     */
+    public ArmEmulator withPayloadTemplate(String resourceType, String json) throws IOException {
+        JsonNode template = mapper.readTree(json);
+        if (template == null || !template.isObject()) {
+            throw new IOException("The template of " + resourceType + " is not a JSON object");
+        }
+        templates.put(resourceType, (ObjectNode) template);
+        return this;
+    }
+
+    /**
+     * Collects payload templates from the responses recorded in session records. The first payload
+     * found for each resource type is used.
+     *
+     * @param sessionRecordsDirectory the directory holding the session records, searched recursively
+     * @return the number of resource types found
+     * @throws IOException if a session record cannot be read
+     */
+    public int loadPayloadTemplates(File sessionRecordsDirectory) throws IOException {
+        return templates.load(sessionRecordsDirectory);
+    }
+
+    /**
+     * Starts serving requests.
+     *
+     * @return the emulator
+     * @throws IOException if the server cannot be started
+     */
+    public synchronized ArmEmulator start() throws IOException {
+        if (server != null) {
+            return this;
+        }
+        final AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "arm-emulator-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getByName("127.0.0.1"), 0), 1024);
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                ArmEmulator.this.handle(exchange);
+            }
+        });
+        server.setExecutor(executor);
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+        return this;
+    }
+
+    /**
+     * @return the base URL to give to the RestClient, ending with a slash
+     */
+    public String baseUrl() {
+        if (baseUrl == null) {
+            throw new IllegalStateException("The emulator is not started");
+        }
+        return baseUrl;
+    }
+
+    /**
+     * @return the counters of the requests served
+     */
+    public ArmEmulatorStats stats() {
+        return stats;
+    }
+
+    /**
+     * @return the number of resources held
+     */
+    public int resourceCount() {
+        return store.size();
+    }
+
+    /**
+     * Creates resources directly in the store, without going through HTTP.
+     *
+     * @param collectionPath the path of the collection, e.g. /subscriptions/{id}/resourceGroups/{name}/providers/Microsoft.Network/virtualNetworks
+     * @param namePrefix the prefix of the names, the index of the resource is appended
+     * @param count the number of resources
+     * @return the ids of the resources
+     */
+    public List<String> seed(String collectionPath, String namePrefix, int count) {
+        String collection = trimPath(collectionPath);
+        if (segmentsOf(collection).length % 2 == 0) {
+            throw new IllegalArgumentException(collectionPath + " is not a collection path");
+        }
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String id = collection + "/" + namePrefix + i;
+            store.put(id, newResource(id, segmentsOf(id), null, mapper.createObjectNode()));
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    /**
+     * Creates or replaces a resource directly in the store, without going through HTTP.
+     *
+     * @param id the id of the resource
+     * @param json the payload of the resource, merged into the template of its type
+     * @throws IOException if the payload is not a JSON object
+     */
+    public void put(String id, String json) throws IOException {
+        String path = trimPath(id);
+        store.put(path, newResource(path, segmentsOf(path), store.get(path), readObject(json)));
+    }
+
+    @Override
+    public synchronized void close() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+            executor = null;
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            long requestId = stats.requests.incrementAndGet();
+            String method = exchange.getRequestMethod().toUpperCase(Locale.ROOT);
+            boolean write = !"GET".equals(method) && !"HEAD".equals(method);
+            Headers headers = exchange.getResponseHeaders();
+            headers.set("x-ms-request-id", "emulator-" + requestIds.incrementAndGet());
+            int quota = acquire(requestId);
+            if (quota < 0) {
+                stats.throttledRequests.incrementAndGet();
+                headers.set("Retry-After", Integer.toString(retryAfterSeconds));
+                respondError(exchange, 429, "TooManyRequests", "The request is being throttled, try again after '"
+                        + retryAfterSeconds + "' seconds.");
+                return;
+            }
+            headers.set(write ? "x-ms-ratelimit-remaining-subscription-writes" : "x-ms-ratelimit-remaining-subscription-reads",
+                    Integer.toString(quota));
+            if (write) {
+                stats.writes.incrementAndGet();
+            }
+
+            URI uri = exchange.getRequestURI();
+            String path = trimPath(uri.getPath());
+            if (path.regionMatches(true, 0, OPERATIONS_PATH, 0, OPERATIONS_PATH.length())) {
+                pollOperation(exchange, path.substring(OPERATIONS_PATH.length()));
+                return;
+            }
+            String[] segments = segmentsOf(path);
+            if (segments.length == 0) {
+                respondError(exchange, 404, "NotFound", "No resource at " + path);
+            } else if (segments.length % 2 == 1) {
+                if ("GET".equals(method)) {
+                    list(exchange, path, uri.getRawQuery());
+                } else if ("POST".equals(method)) {
+                    action(exchange, path, segments);
+                } else {
+                    respondError(exchange, 405, "MethodNotAllowed", method + " is not supported on collection " + path);
+                }
+            } else if ("GET".equals(method) || "HEAD".equals(method)) {
+                get(exchange, path, segments);
+            } else if ("PUT".equals(method)) {
+                put(exchange, path, segments);
+            } else if ("PATCH".equals(method)) {
+                patch(exchange, path, segments);
+            } else if ("DELETE".equals(method)) {
+                delete(exchange, path, segments);
+            } else {
+                respondError(exchange, 405, "MethodNotAllowed", method + " is not supported on resource " + path);
+            }
+        } catch (Exception e) {
+            try {
+                respondError(exchange, 500, "InternalServerError", String.valueOf(e));
+            } catch (IOException | RuntimeException ignored) {
+                // the response has already been started, the connection is closed below
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Admits a request.
+     *
+     * @return the remaining quota, negative if the request is throttled
+     */
+    private int acquire(long requestId) {
+        int every = throttleEveryNthRequest;
+        if (every > 0 && requestId % every == 0) {
+            return -1;
+        }
+        synchronized (rateLock) {
+            if (requestsPerSecond == 0) {
+                return UNLIMITED_QUOTA;
+            }
+            long now = System.nanoTime();
+            availableRequests = Math.min(requestsPerSecond,
+                    availableRequests + (now - lastRefillNanos) * requestsPerSecond / (double) TimeUnit.SECONDS.toNanos(1));
+            lastRefillNanos = now;
+            if (availableRequests < 1) {
+                return -1;
+            }
+            availableRequests--;
+            return (int) availableRequests;
+        }
+    }
+
+    private void get(HttpExchange exchange, String path, String[] segments) throws IOException {
+        ObjectNode resource = store.get(path);
+        if (resource == null && segments.length == 2) {
+            resource = mapper.createObjectNode();
+            resource.put("id", path);
+            resource.put("subscriptionId", segments[1]);
+            resource.put("displayName", "Emulated subscription");
+            resource.put("state", "Enabled");
+        } else if (resource == null && segments.length == 4 && "providers".equalsIgnoreCase(segments[2])) {
+            resource = provider(path, segments[3]);
+        }
+        if (resource == null) {
+            respondNotFound(exchange, path, segments);
+        } else if ("HEAD".equalsIgnoreCase(exchange.getRequestMethod())) {
+            respond(exchange, 204, null);
+        } else {
+            respond(exchange, 200, resource);
+        }
+    }
+
+    private void put(HttpExchange exchange, String path, String[] segments) throws IOException {
+        if (isProviderResource(segments) && store.get(resourceGroupOf(segments)) == null) {
+            respondError(exchange, 404, "ResourceGroupNotFound", "Resource group '" + segments[3] + "' could not be found.");
+            return;
+        }
+        ObjectNode existing = store.get(path);
+        ObjectNode resource = newResource(path, segments, existing, readObject(exchange.getRequestBody()));
+        store.put(path, resource);
+        int status = existing == null ? 201 : 200;
+        if (isProviderResource(segments) && operationPolls > 0) {
+            String operationUrl = startOperation(true, null);
+            exchange.getResponseHeaders().set("Azure-AsyncOperation", operationUrl);
+            exchange.getResponseHeaders().set("Retry-After", Integer.toString(retryAfterSeconds));
+            ObjectNode pending = resource.deepCopy();
+            provisioningState(pending, existing == null ? "Creating" : "Updating");
+            respond(exchange, status, pending);
+        } else {
+            respond(exchange, status, resource);
+        }
+    }
+
+    private void patch(HttpExchange exchange, String path, String[] segments) throws IOException {
+        ObjectNode existing = store.get(path);
+        if (existing == null) {
+            respondNotFound(exchange, path, segments);
+            return;
+        }
+        ObjectNode resource = newResource(path, segments, existing, readObject(exchange.getRequestBody()));
+        store.put(path, resource);
+        respond(exchange, 200, resource);
+    }
+
+    private void delete(HttpExchange exchange, String path, String[] segments) throws IOException {
+        if (store.delete(path) == 0) {
+            respond(exchange, 204, null);
+        } else if ((isProviderResource(segments) || isResourceGroup(segments)) && operationPolls > 0) {
+            respondAccepted(exchange, startOperation(false, null));
+        } else {
+            respond(exchange, 200, null);
+        }
+    }
+
+    private void action(HttpExchange exchange, String path, String[] segments) throws IOException {
+        String parent = path.substring(0, path.lastIndexOf('/'));
+        String action = segments[segments.length - 1];
+        if (segments.length == 5 && "providers".equalsIgnoreCase(segments[2]) && "register".equalsIgnoreCase(action)) {
+            respond(exchange, 200, provider(parent, segments[3]));
+        } else if (store.get(parent) == null) {
+            respondNotFound(exchange, parent, segmentsOf(parent));
+        } else if (operationPolls > 0) {
+            respondAccepted(exchange, startOperation(false, mapper.createObjectNode()));
+        } else {
+            respond(exchange, 200, mapper.createObjectNode());
+        }
+    }
+
+    private void list(HttpExchange exchange, String path, String rawQuery) throws IOException {
+        Map<String, String> query = parseQuery(rawQuery);
+        ResourceStore.ListPage page = store.list(path, query.get("$skiptoken"), pageSize);
+        stats.pages.incrementAndGet();
+        ObjectNode result = mapper.createObjectNode();
+        ArrayNode value = result.putArray("value");
+        value.addAll(page.items);
+        if (page.lastKey != null) {
+            StringBuilder nextLink = new StringBuilder(baseUrl).append(path.substring(1)).append('?');
+            for (Map.Entry<String, String> parameter : query.entrySet()) {
+                if (!"$skiptoken".equals(parameter.getKey())) {
+                    nextLink.append(encode(parameter.getKey())).append('=').append(encode(parameter.getValue())).append('&');
+                }
+            }
+            nextLink.append("$skiptoken=").append(encode(page.lastKey));
+            result.put("nextLink", nextLink.toString());
+        }
+        respond(exchange, 200, result);
+    }
+
+    private void pollOperation(HttpExchange exchange, String operationId) throws IOException {
+        Operation operation = operations.get(operationId);
+        if (operation == null) {
+            respondError(exchange, 404, "OperationNotFound", "Operation " + operationId + " could not be found.");
+            return;
+        }
+        stats.operationPolls.incrementAndGet();
+        boolean completed = operation.remainingPolls.decrementAndGet() <= 0;
+        if (completed) {
+            operations.remove(operationId);
+        }
+        if (operation.asyncOperation) {
+            ObjectNode status = mapper.createObjectNode();
+            status.put("status", completed ? "Succeeded" : "InProgress");
+            if (!completed) {
+                exchange.getResponseHeaders().set("Retry-After", Integer.toString(retryAfterSeconds));
+            }
+            respond(exchange, 200, status);
+        } else if (!completed) {
+            respondAccepted(exchange, baseUrl + OPERATIONS_PATH.substring(1) + operationId);
+        } else if (operation.result == null) {
+            respond(exchange, 204, null);
+        } else {
+            respond(exchange, 200, operation.result);
+        }
+    }
+
+    private String startOperation(boolean asyncOperation, JsonNode result) {
+        String operationId = Long.toString(operationIds.incrementAndGet());
+        operations.put(operationId, new Operation(asyncOperation, operationPolls, result));
+        stats.operationsStarted.incrementAndGet();
+        return baseUrl + OPERATIONS_PATH.substring(1) + operationId;
+    }
+
+    private ObjectNode newResource(String path, String[] segments, ObjectNode existing, ObjectNode body) {
+        String type = typeOf(segments);
+        ObjectNode resource = existing != null ? existing.deepCopy() : templates.get(type);
+        if (resource == null) {
+            resource = mapper.createObjectNode();
+        }
+        Iterator<Map.Entry<String, JsonNode>> fields = body.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode current = resource.get(field.getKey());
+            if ("properties".equals(field.getKey()) && current != null && current.isObject() && field.getValue().isObject()) {
+                ((ObjectNode) current).setAll((ObjectNode) field.getValue());
+            } else {
+                resource.set(field.getKey(), field.getValue());
+            }
+        }
+        resource.put("id", path);
+        resource.put("name", segments[segments.length - 1]);
+        resource.put("type", type);
+        if (!resource.path("location").isTextual()) {
+            resource.put("location", DEFAULT_LOCATION);
+        }
+        provisioningState(resource, "Succeeded");
+        return resource;
+    }
+
+    private static void provisioningState(ObjectNode resource, String state) {
+        JsonNode properties = resource.get("properties");
+        if (properties == null || !properties.isObject()) {
+            properties = resource.putObject("properties");
+        }
+        ((ObjectNode) properties).put("provisioningState", state);
+    }
+
+    private ObjectNode provider(String path, String namespace) {
+        ObjectNode provider = mapper.createObjectNode();
+        provider.put("id", path);
+        provider.put("namespace", namespace);
+        provider.put("registrationState", "Registered");
+        provider.putArray("resourceTypes");
+        return provider;
+    }
+
+    private void respondNotFound(HttpExchange exchange, String path, String[] segments) throws IOException {
+        if (segments.length >= 4 && "resourcegroups".equalsIgnoreCase(segments[2]) && store.get(resourceGroupOf(segments)) == null) {
+            respondError(exchange, 404, "ResourceGroupNotFound", "Resource group '" + segments[3] + "' could not be found.");
+        } else {
+            respondError(exchange, 404, "ResourceNotFound", "The resource '" + path + "' was not found.");
+        }
+    }
+
+    private void respondAccepted(HttpExchange exchange, String location) throws IOException {
+        exchange.getResponseHeaders().set("Location", location);
+        exchange.getResponseHeaders().set("Retry-After", Integer.toString(retryAfterSeconds));
+        respond(exchange, 202, null);
+    }
+
+    private void respondError(HttpExchange exchange, int status, String code, String message) throws IOException {
+        ObjectNode error = mapper.createObjectNode();
+        ObjectNode details = error.putObject("error");
+        details.put("code", code);
+        details.put("message", message);
+        respond(exchange, status, error);
+    }
+
+    private void respond(HttpExchange exchange, int status, JsonNode body) throws IOException {
+        if (body == null || "HEAD".equalsIgnoreCase(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        byte[] bytes = mapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream stream = exchange.getResponseBody()) {
+            stream.write(bytes);
+        }
+    }
+
+    private ObjectNode readObject(InputStream stream) throws IOException {
+        JsonNode node = stream == null ? null : mapper.readTree(stream);
+        return node != null && node.isObject() ? (ObjectNode) node : mapper.createObjectNode();
+    }
+
+    private ObjectNode readObject(String json) throws IOException {
+        JsonNode node = json == null ? null : mapper.readTree(json);
+        if (node == null || !node.isObject()) {
+            throw new IOException("The payload is not a JSON object");
+        }
+        return (ObjectNode) node;
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) throws UnsupportedEncodingException {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String parameter : rawQuery.split("&")) {
+            int separator = parameter.indexOf('=');
+            if (separator < 0) {
+                query.put(URLDecoder.decode(parameter, "UTF-8"), "");
+            } else {
+                query.put(URLDecoder.decode(parameter.substring(0, separator), "UTF-8"),
+                        URLDecoder.decode(parameter.substring(separator + 1), "UTF-8"));
+            }
+        }
+        return query;
+    }
+
+    private static String encode(String value) throws UnsupportedEncodingException {
+        return URLEncoder.encode(value, "UTF-8");
+    }
+
+    private static String trimPath(String path) {
+        String trimmed = path.startsWith("/") ? path : "/" + path;
+        while (trimmed.length() > 1 && trimmed.endsWith("/")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1);
+        }
+        return trimmed;
+    }
+
+    private static String[] segmentsOf(String path) {
+        return path.length() <= 1 ? new String[0] : path.substring(1).split("/");
+    }
+
+    private static int providersIndex(String[] segments) {
+        // "providers" is a keyword only at an even position, otherwise it is the name of a resource
+        for (int i = 2; i < segments.length - 1; i += 2) {
+            if ("providers".equalsIgnoreCase(segments[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isProviderResource(String[] segments) {
+        return segments.length >= 8 && "resourcegroups".equalsIgnoreCase(segments[2]) && providersIndex(segments) == 4;
+    }
+
+    private static boolean isResourceGroup(String[] segments) {
+        return segments.length == 4 && "resourcegroups".equalsIgnoreCase(segments[2]);
+    }
+
+    private static String resourceGroupOf(String[] segments) {
+        return "/" + segments[0] + "/" + segments[1] + "/" + segments[2] + "/" + segments[3];
+    }
+
+    private static String typeOf(String[] segments) {
+        int providers = providersIndex(segments);
+        if (providers < 0) {
+            return "Microsoft.Resources/" + segments[segments.length - 2];
+        }
+        StringBuilder type = new StringBuilder(segments[providers + 1]);
+        for (int i = providers + 2; i < segments.length; i += 2) {
+            type.append('/').append(segments[i]);
+        }
+        return type.toString();
+    }
+}
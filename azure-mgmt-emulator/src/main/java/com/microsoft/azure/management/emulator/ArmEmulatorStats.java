@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.emulator;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The counters of the requests served by an {@link ArmEmulator}.
+ */
+public final class ArmEmulatorStats {
+    final AtomicLong requests = new AtomicLong();
+    final AtomicLong throttledRequests = new AtomicLong();
+    final AtomicLong pages = new AtomicLong();
+    final AtomicLong writes = new AtomicLong();
+    final AtomicLong operationsStarted = new AtomicLong();
+    final AtomicLong operationPolls = new AtomicLong();
+
+    ArmEmulatorStats() {
+    }
+
+    /**
+     * @return the number of requests received, throttled ones included
+     */
+    public long requests() {
+        return requests.get();
+    }
+
+    /**
+     * @return the number of requests answered with 429
+     */
+    public long throttledRequests() {
+        return throttledRequests.get();
+    }
+
+    /**
+     * @return the number of list pages served
+     */
+    public long pages() {
+        return pages.get();
+    }
+
+    /**
+     * @return the number of PUT, PATCH, DELETE and POST requests served
+     */
+    public long writes() {
+        return writes.get();
+    }
+
+    /**
+     * @return the number of long running operations started
+     */
+    public long operationsStarted() {
+        return operationsStarted.get();
+    }
+
+    /**
+     * @return the number of long running operation status polls served
+     */
+    public long operationPolls() {
+        return operationPolls.get();
+    }
+
+    /**
+     * Resets all the counters.
+     */
+    public void reset() {
+        requests.set(0);
+        throttledRequests.set(0);
+        pages.set(0);
+        writes.set(0);
+        operationsStarted.set(0);
+        operationPolls.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("requests=%d, throttled=%d, pages=%d, writes=%d, operations=%d, polls=%d",
+                requests(), throttledRequests(), pages(), writes(), operationsStarted(), operationPolls());
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.emulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The payloads new resources start from, by resource type.
+ * <p>
+ * Templates are taken from the responses recorded under {@code session-records}, so resources created
+ * through the emulator carry the same properties as the ones returned by the service.
+ */
+final class PayloadTemplates {
+    private final ConcurrentHashMap<String, ObjectNode> templates = new ConcurrentHashMap<>();
+    private final ObjectMapper mapper;
+
+    PayloadTemplates(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    void put(String resourceType, ObjectNode template) {
+        templates.put(resourceType.toLowerCase(Locale.ROOT), template);
+    }
+
+    /**
+     * @return a copy of the template of the type, null if there is none
+     */
+    ObjectNode get(String resourceType) {
+        ObjectNode template = templates.get(resourceType.toLowerCase(Locale.ROOT));
+        return template == null ? null : template.deepCopy();
+    }
+
+    int size() {
+        return templates.size();
+    }
+
+    /**
+     * Collects the first recorded payload of each resource type found in the session records under a directory.
+     *
+     * @param directory the directory, searched recursively
+     * @return the number of templates added
+     * @throws IOException if a session record cannot be read
+     */
+    int load(File directory) throws IOException {
+        int added = 0;
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return 0;
+        }
+        for (File file : files) {
+            if (file.isDirectory()) {
+                added += load(file);
+            } else if (file.getName().endsWith(".json")) {
+                added += loadRecords(mapper.readTree(file).path("networkCallRecords"));
+            }
+        }
+        return added;
+    }
+
+    private int loadRecords(JsonNode records) {
+        int added = 0;
+        for (JsonNode record : records) {
+            String method = record.path("Method").asText();
+            String statusCode = record.path("Response").path("StatusCode").asText();
+            String body = record.path("Response").path("Body").asText(null);
+            if (body == null
+                    || !("GET".equals(method) || "PUT".equals(method))
+                    || !("200".equals(statusCode) || "201".equals(statusCode))) {
+                continue;
+            }
+            JsonNode payload;
+            try {
+                payload = mapper.readTree(body);
+            } catch (IOException e) {
+                // not JSON, e.g. a blob or a certificate
+                continue;
+            }
+            if (payload != null && payload.path("value").isArray()) {
+                for (JsonNode item : payload.path("value")) {
+                    added += add(item);
+                }
+            } else {
+                added += add(payload);
+            }
+        }
+        return added;
+    }
+
+    private int add(JsonNode payload) {
+        if (payload == null || !payload.isObject()
+                || !payload.path("id").isTextual() || !payload.path("type").isTextual()) {
+            return 0;
+        }
+        String key = payload.path("type").asText().toLowerCase(Locale.ROOT);
+        return templates.putIfAbsent(key, (ObjectNode) payload) == null ? 1 : 0;
+    }
+}
@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.emulator;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * The in-memory resources of the emulator.
+ * <p>
+ * Resources are keyed by their lower cased id. Each resource is also indexed under the collections
+ * it is listed in, sorted by id, so a page is read from the position of the last item of the
+ * previous page instead of counting from the start.
+ */
+final class ResourceStore {
+    private final Map<String, ObjectNode> resources = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ConcurrentSkipListMap<String, Boolean>> collections = new ConcurrentHashMap<>();
+
+    /**
+     * A page of a collection.
+     */
+    static final class ListPage {
+        final List<ObjectNode> items;
+        final String lastKey;
+
+        private ListPage(List<ObjectNode> items, String lastKey) {
+            this.items = items;
+            this.lastKey = lastKey;
+        }
+    }
+
+    ObjectNode get(String id) {
+        return resources.get(key(id));
+    }
+
+    int size() {
+        return resources.size();
+    }
+
+    /**
+     * Stores a resource; the stored node must not be modified afterwards.
+     */
+    void put(String id, ObjectNode resource) {
+        String key = key(id);
+        if (resources.put(key, resource) == null) {
+            for (String collection : collectionsOf(key)) {
+                ConcurrentSkipListMap<String, Boolean> members = collections.get(collection);
+                if (members == null) {
+                    members = new ConcurrentSkipListMap<>();
+                    ConcurrentSkipListMap<String, Boolean> existing = collections.putIfAbsent(collection, members);
+                    if (existing != null) {
+                        members = existing;
+                    }
+                }
+                members.put(key, Boolean.TRUE);
+            }
+        }
+    }
+
+    /**
+     * Removes a resource and the resources nested under it.
+     *
+     * @return the number of resources removed
+     */
+    int delete(String id) {
+        String key = key(id);
+        String prefix = key + "/";
+        List<String> removed = new ArrayList<>();
+        if (resources.containsKey(key)) {
+            removed.add(key);
+        }
+        for (String candidate : resources.keySet()) {
+            if (candidate.startsWith(prefix)) {
+                removed.add(candidate);
+            }
+        }
+        int count = 0;
+        for (String removedKey : removed) {
+            if (resources.remove(removedKey) != null) {
+                count++;
+                for (String collection : collectionsOf(removedKey)) {
+                    ConcurrentSkipListMap<String, Boolean> members = collections.get(collection);
+                    if (members != null) {
+                        members.remove(removedKey);
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Reads a page of a collection.
+     *
+     * @param collectionPath the path of the collection
+     * @param afterKey the key of the last item of the previous page, null for the first page
+     * @param pageSize the maximum number of items in the page
+     * @return the page; its last key is null if there are no more items
+     */
+    ListPage list(String collectionPath, String afterKey, int pageSize) {
+        ConcurrentSkipListMap<String, Boolean> members = collections.get(key(collectionPath));
+        if (members == null) {
+            return new ListPage(Collections.<ObjectNode>emptyList(), null);
+        }
+        NavigableMap<String, Boolean> remaining = afterKey == null ? members : members.tailMap(afterKey, false);
+        List<ObjectNode> items = new ArrayList<>();
+        String lastKey = null;
+        for (String memberKey : remaining.keySet()) {
+            if (items.size() == pageSize) {
+                return new ListPage(items, lastKey);
+            }
+            ObjectNode resource = resources.get(memberKey);
+            if (resource != null) {
+                items.add(resource);
+                lastKey = memberKey;
+            }
+        }
+        return new ListPage(items, null);
+    }
+
+    static String key(String path) {
+        String key = path.toLowerCase(Locale.ROOT);
+        if (!key.startsWith("/")) {
+            key = "/" + key;
+        }
+        return key;
+    }
+
+    /**
+     * Gets the collections a resource is listed in: its parent collection and, for the top level
+     * resources of a resource group, the subscription wide listings by type and the generic listings.
+     */
+    private static List<String> collectionsOf(String key) {
+        String[] segments = key.substring(1).split("/");
+        List<String> result = new ArrayList<>();
+        result.add(key.substring(0, key.lastIndexOf('/')));
+        if (segments.length == 8 && "resourcegroups".equals(segments[2]) && "providers".equals(segments[4])) {
+            String subscription = "/subscriptions/" + segments[1];
+            result.add(subscription + "/providers/" + segments[5] + "/" + segments[6]);
+            result.add(subscription + "/resourcegroups/" + segments[3] + "/resources");
+            result.add(subscription + "/resources");
+        }
+        return result;
+    }
+}
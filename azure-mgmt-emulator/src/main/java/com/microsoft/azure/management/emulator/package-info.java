@@ -0,0 +1,13 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License. See License.txt in the project root for
+// license information.
+
+/**
+ * This package contains an in-process emulator of the Azure Resource Manager behaviors the management
+ * libraries depend on: long running operations, throttling, paging and resource CRUD. It is meant for
+ * tests and benchmarks that need many resources without a subscription.
+ * <p>
+ * Point a {@code RestClient} at {@link com.microsoft.azure.management.emulator.ArmEmulator#baseUrl()}
+ * to use it.
+ */
+package com.microsoft.azure.management.emulator;
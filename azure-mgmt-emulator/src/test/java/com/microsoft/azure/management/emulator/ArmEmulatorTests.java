@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.emulator;
+
+import com.microsoft.azure.AzureResponseBuilder;
+import com.microsoft.azure.management.resources.GenericResource;
+import com.microsoft.azure.management.resources.ResourceGroup;
+import com.microsoft.azure.management.resources.fluentcore.arm.Region;
+import com.microsoft.azure.management.resources.fluentcore.utils.ResourceManagerRateLimiter;
+import com.microsoft.azure.management.resources.fluentcore.utils.ResourceManagerThrottlingInterceptor;
+import com.microsoft.azure.management.resources.fluentcore.utils.StreamingPageReader;
+import com.microsoft.azure.management.resources.implementation.ResourceGroupInner;
+import com.microsoft.azure.management.resources.implementation.ResourceManager;
+import com.microsoft.azure.serializer.AzureJacksonAdapter;
+import com.microsoft.rest.RestClient;
+import com.microsoft.rest.credentials.TokenCredentials;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+public class ArmEmulatorTests {
+    private static final String RESOURCE_GROUPS = "/subscriptions/" + ArmEmulator.SUBSCRIPTION_ID + "/resourceGroups";
+
+    private ArmEmulator emulator;
+    private RestClient restClient;
+    private ResourceManager resourceManager;
+
+    @Before
+    public void setup() throws IOException {
+        emulator = new ArmEmulator()
+                .withPageSize(50)
+                .withOperationPolls(2)
+                .start();
+        restClient = new RestClient.Builder()
+                .withBaseUrl(emulator.baseUrl())
+                .withSerializerAdapter(new AzureJacksonAdapter())
+                .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
+                .withCredentials(new TokenCredentials("Bearer", "emulator"))
+                .withInterceptor(new ResourceManagerThrottlingInterceptor(new ResourceManagerRateLimiter(3600000, 3600000)))
+                .build();
+        resourceManager = ResourceManager.authenticate(restClient).withSubscription(ArmEmulator.SUBSCRIPTION_ID);
+    }
+
+    @After
+    public void cleanup() {
+        emulator.close();
+    }
+
+    @Test
+    public void canListSeededResourcesAcrossPages() {
+        emulator.seed(RESOURCE_GROUPS, "rg", 120);
+
+        List<ResourceGroup> resourceGroups = resourceManager.resourceGroups().list();
+
+        Assert.assertEquals(120, resourceGroups.size());
+        Assert.assertEquals(3, emulator.stats().pages());
+    }
+
+    @Test
+    public void canStreamListedPages() {
+        emulator.seed(RESOURCE_GROUPS, "rg", 120);
+
+        List<ResourceGroupInner> resourceGroups = new StreamingPageReader<>(restClient, ResourceGroupInner.class)
+                .listAsync(emulator.baseUrl() + RESOURCE_GROUPS.substring(1) + "?api-version=2019-05-01")
+                .toList().toBlocking().single();
+
+        Assert.assertEquals(120, resourceGroups.size());
+        Assert.assertEquals("rg0", resourceGroups.get(0).name());
+        Assert.assertEquals(3, emulator.stats().pages());
+    }
+
+    @Test
+    public void canPollLongRunningOperations() {
+        resourceManager.resourceGroups().define("rg1").withRegion(Region.US_WEST).create();
+        GenericResource resource = resourceManager.genericResources().define("vnet1")
+                .withRegion(Region.US_WEST)
+                .withExistingResourceGroup("rg1")
+                .withResourceType("virtualNetworks")
+                .withProviderNamespace("Microsoft.Network")
+                .withoutPlan()
+                .withApiVersion("2019-06-01")
+                .withProperties(Collections.singletonMap("addressSpace",
+                        Collections.singletonMap("addressPrefixes", Collections.singletonList("10.0.0.0/16"))))
+                .create();
+
+        Assert.assertEquals("Microsoft.Network/virtualNetworks", resource.type());
+        Assert.assertEquals(2, emulator.stats().operationPolls());
+
+        resourceManager.resourceGroups().deleteByName("rg1");
+
+        Assert.assertFalse(resourceManager.resourceGroups().contain("rg1"));
+        Assert.assertEquals(0, emulator.resourceCount());
+        Assert.assertEquals(4, emulator.stats().operationPolls());
+    }
+
+    @Test
+    public void canRetryThrottledRequests() {
+        emulator.seed(RESOURCE_GROUPS, "rg", 200);
+        emulator.withThrottlingEveryNthRequest(3);
+
+        List<ResourceGroup> resourceGroups = resourceManager.resourceGroups().list();
+
+        Assert.assertEquals(200, resourceGroups.size());
+        Assert.assertTrue(emulator.stats().throttledRequests() > 0);
+    }
+}
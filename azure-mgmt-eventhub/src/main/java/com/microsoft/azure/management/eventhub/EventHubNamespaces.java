@@ -16,11 +16,13 @@ import com.microsoft.azure.management.resources.fluentcore.arm.collection.Suppor
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsGettingById;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsGettingByResourceGroup;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsListingByResourceGroup;
+import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsStreamingListingByResourceGroup;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.HasManager;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsBatchCreation;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsStreamingListing;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 
 /**
@@ -31,7 +33,9 @@ import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 public interface EventHubNamespaces extends
         SupportsCreating<EventHubNamespace.DefinitionStages.Blank>,
         SupportsListing<EventHubNamespace>,
+        SupportsStreamingListing<EventHubNamespace>,
         SupportsListingByResourceGroup<EventHubNamespace>,
+        SupportsStreamingListingByResourceGroup<EventHubNamespace>,
         SupportsGettingByResourceGroup<EventHubNamespace>,
         SupportsGettingById<EventHubNamespace>,
         SupportsDeletingById,
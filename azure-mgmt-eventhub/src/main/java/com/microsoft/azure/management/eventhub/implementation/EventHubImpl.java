@@ -22,6 +22,7 @@ import com.microsoft.azure.management.resources.fluentcore.utils.SdkContext;
 import com.microsoft.azure.management.resources.fluentcore.utils.Utils;
 import com.microsoft.azure.management.storage.StorageAccount;
 import com.microsoft.azure.management.storage.StorageAccountKey;
+import com.microsoft.azure.management.storage.StorageAccountKeyCache;
 import com.microsoft.azure.management.storage.implementation.StorageManager;
 import com.microsoft.azure.storage.CloudStorageAccount;
 import com.microsoft.azure.storage.StorageException;
@@ -557,14 +558,13 @@ class EventHubImpl
 
         private Observable<Boolean> createContainerIfNotExistsAsync(final StorageAccount storageAccount,
                                                                     final String containerName) {
-            return getCloudStorageAsync(storageAccount)
-                    .flatMap(new Func1<CloudStorageAccount, Observable<Boolean>>() {
+            return getCloudBlobClientAsync(storageAccount)
+                    .flatMap(new Func1<CloudBlobClient, Observable<Boolean>>() {
                         @Override
-                        public Observable<Boolean> call(final CloudStorageAccount cloudStorageAccount) {
+                        public Observable<Boolean> call(final CloudBlobClient blobClient) {
                             return Observable.fromCallable(new Callable<Boolean>() {
                                 @Override
                                 public Boolean call() {
-                                    CloudBlobClient blobClient = cloudStorageAccount.createCloudBlobClient();
                                     try {
                                         return blobClient.getContainerReference(containerName).createIfNotExists();
                                     } catch (StorageException stgException) {
@@ -578,25 +578,27 @@ class EventHubImpl
                     });
         }
 
-        private Observable<CloudStorageAccount> getCloudStorageAsync(final StorageAccount storageAccount) {
-            return storageAccount.getKeysAsync()
-                    .flatMapIterable(new Func1<List<StorageAccountKey>, Iterable<StorageAccountKey>>() {
+        private Observable<CloudBlobClient> getCloudBlobClientAsync(final StorageAccount storageAccount) {
+            // the keys and the blob client are shared with the other users of the storage manager
+            final StorageAccountKeyCache keyCache = storageAccount.manager().storageAccountKeyCache();
+            return keyCache.getKeysAsync(storageAccount)
+                    .flatMap(new Func1<List<StorageAccountKey>, Observable<CloudBlobClient>>() {
                         @Override
-                        public Iterable<StorageAccountKey> call(List<StorageAccountKey> storageAccountKeys) {
-                            return storageAccountKeys;
-                        }
-                    })
-                    .last()
-                    .map(new Func1<StorageAccountKey, CloudStorageAccount>() {
-                        @Override
-                        public CloudStorageAccount call(StorageAccountKey storageAccountKey) {
-                            try {
-                            return CloudStorageAccount.parse(String.format("DefaultEndpointsProtocol=https;AccountName=%s;AccountKey=%s;EndpointSuffix=core.windows.net", storageAccount.name(), storageAccountKey.value()));
-                            } catch (URISyntaxException syntaxException) {
-                                throw Exceptions.propagate(syntaxException);
-                            } catch (InvalidKeyException keyException) {
-                                throw Exceptions.propagate(keyException);
-                            }
+                        public Observable<CloudBlobClient> call(List<StorageAccountKey> storageAccountKeys) {
+                            String keyName = storageAccountKeys.get(storageAccountKeys.size() - 1).keyName();
+                            return keyCache.getClientAsync(storageAccount, keyName, CloudBlobClient.class,
+                                    new Func1<String, CloudBlobClient>() {
+                                        @Override
+                                        public CloudBlobClient call(String connectionString) {
+                                            try {
+                                                return CloudStorageAccount.parse(connectionString).createCloudBlobClient();
+                                            } catch (URISyntaxException syntaxException) {
+                                                throw Exceptions.propagate(syntaxException);
+                                            } catch (InvalidKeyException keyException) {
+                                                throw Exceptions.propagate(keyException);
+                                            }
+                                        }
+                                    });
                         }
                     });
         }
@@ -47,6 +47,20 @@ public interface Vault extends
     @Beta(SinceVersion.V1_6_0)
     Secrets secrets();
 
+    /**
+     * @return a client-side cache of the secrets of the vault, shared by all the callers of this vault instance
+     */
+    @Beta(SinceVersion.V1_30_0)
+    @Method
+    VaultCache<Secret> secretCache();
+
+    /**
+     * @return a client-side cache of the keys of the vault, shared by all the callers of this vault instance
+     */
+    @Beta(SinceVersion.V1_30_0)
+    @Method
+    VaultCache<Key> keyCache();
+
     /**
      * @return the URI of the vault for performing operations on keys and secrets.
      */
@@ -0,0 +1,191 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.keyvault;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
+import com.microsoft.azure.management.apigeneration.Fluent;
+import com.microsoft.azure.management.apigeneration.Method;
+import com.microsoft.azure.management.resources.fluentcore.arm.models.HasId;
+import com.microsoft.azure.management.resources.fluentcore.arm.models.HasName;
+import org.joda.time.Period;
+import rx.Observable;
+
+/**
+ * A client-side cache of the keys or secrets of a Key Vault.
+ * <p>
+ * The latest version of an item is served from the cache for the time to live; after that, and for the
+ * stale-while-revalidate period, the cached value is still returned while a single refresh runs in the
+ * background. Items requested by version never change, so they are kept until evicted. The cache holds
+ * at most {@link #DEFAULT_MAX_SIZE} entries by default, evicting the least recently used ones.
+ *
+ * @param <T> the type of the cached items, {@link Secret} or {@link Key}
+ */
+@Beta(SinceVersion.V1_30_0)
+@Fluent(ContainerName = "/Microsoft.Azure.Management.Fluent.KeyVault")
+public interface VaultCache<T extends HasId & HasName> {
+    /**
+     * The default time the latest version of an item is served without checking with the vault.
+     */
+    Period DEFAULT_TIME_TO_LIVE = Period.minutes(5);
+
+    /**
+     * The default time past the time to live the stale value is served while being refreshed.
+     */
+    Period DEFAULT_STALE_WHILE_REVALIDATE = Period.minutes(5);
+
+    /**
+     * The default maximum number of entries in the cache.
+     */
+    int DEFAULT_MAX_SIZE = 1024;
+
+    /**
+     * The default maximum number of items fetched concurrently by a prefetch.
+     */
+    int DEFAULT_MAX_CONCURRENCY = 16;
+
+    /**
+     * Sets the time the latest version of an item is served without checking with the vault.
+     *
+     * @param timeToLive the time to live
+     * @return the cache
+     */
+    VaultCache<T> withTimeToLive(Period timeToLive);
+
+    /**
+     * Sets the time past the time to live the stale value is served while being refreshed in the background.
+     *
+     * @param staleWhileRevalidate the stale-while-revalidate period, zero to always wait for the vault
+     * @return the cache
+     */
+    VaultCache<T> withStaleWhileRevalidate(Period staleWhileRevalidate);
+
+    /**
+     * Sets the maximum number of entries in the cache.
+     *
+     * @param maxSize the maximum number of entries
+     * @return the cache
+     */
+    VaultCache<T> withMaxSize(int maxSize);
+
+    /**
+     * Sets the maximum number of items fetched concurrently by a prefetch.
+     *
+     * @param maxConcurrency the maximum number of concurrent fetches
+     * @return the cache
+     */
+    VaultCache<T> withMaxConcurrency(int maxConcurrency);
+
+    /**
+     * Gets the latest version of an item, from the cache when possible.
+     *
+     * @param name the name of the item
+     * @return the item
+     */
+    T get(String name);
+
+    /**
+     * Gets the latest version of an item, from the cache when possible.
+     *
+     * @param name the name of the item
+     * @return an observable emitting the item
+     */
+    Observable<T> getAsync(String name);
+
+    /**
+     * Gets a specific version of an item, from the cache when possible.
+     *
+     * @param name the name of the item
+     * @param version the version of the item
+     * @return the item
+     */
+    T get(String name, String version);
+
+    /**
+     * Gets a specific version of an item, from the cache when possible.
+     *
+     * @param name the name of the item
+     * @param version the version of the item
+     * @return an observable emitting the item
+     */
+    Observable<T> getAsync(String name, String version);
+
+    /**
+     * Loads the latest version of all the items whose name starts with the given prefix.
+     *
+     * @param prefix the name prefix, case insensitive; empty to load all the items
+     * @return the number of items loaded
+     */
+    int prefetch(String prefix);
+
+    /**
+     * Loads the latest version of all the items whose name starts with the given prefix.
+     *
+     * @param prefix the name prefix, case insensitive; empty to load all the items
+     * @return an observable emitting the loaded items
+     */
+    Observable<T> prefetchAsync(String prefix);
+
+    /**
+     * Removes an item, all its versions included, from the cache.
+     *
+     * @param name the name of the item
+     */
+    void invalidate(String name);
+
+    /**
+     * Removes all the items from the cache.
+     */
+    @Method
+    void invalidateAll();
+
+    /**
+     * @return the counters of the cache
+     */
+    @Method
+    Metrics metrics();
+
+    /**
+     * The counters of a vault cache.
+     */
+    interface Metrics {
+        /**
+         * @return the number of reads served from fresh entries
+         */
+        long hitCount();
+
+        /**
+         * @return the number of reads served from stale entries
+         */
+        long staleHitCount();
+
+        /**
+         * @return the number of reads that had to wait for the vault
+         */
+        long missCount();
+
+        /**
+         * @return the number of completed background refreshes
+         */
+        long refreshCount();
+
+        /**
+         * @return the number of failed background refreshes
+         */
+        long refreshFailureCount();
+
+        /**
+         * @return the number of entries evicted to honor the maximum size
+         */
+        long evictionCount();
+
+        /**
+         * @return the current number of entries
+         */
+        int size();
+    }
+}
@@ -144,7 +144,7 @@ class SecretsImpl
 
             @Override
             Secret wrapModel(SecretBundle o) {
-                return null;
+                return SecretsImpl.this.wrapModel(o);
             }
         }.toObservable();
     }
@@ -170,7 +170,7 @@ class SecretsImpl
 
             @Override
             Secret wrapModel(SecretBundle o) {
-                return null;
+                return SecretsImpl.this.wrapModel(o);
             }
         }.toObservable();
     }
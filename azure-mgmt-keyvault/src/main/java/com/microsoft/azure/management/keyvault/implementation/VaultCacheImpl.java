@@ -0,0 +1,449 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.keyvault.implementation;
+
+import com.microsoft.azure.ListOperationCallback;
+import com.microsoft.azure.keyvault.models.KeyItem;
+import com.microsoft.azure.keyvault.models.SecretItem;
+import com.microsoft.azure.management.apigeneration.LangDefinition;
+import com.microsoft.azure.management.keyvault.Key;
+import com.microsoft.azure.management.keyvault.Keys;
+import com.microsoft.azure.management.keyvault.Secret;
+import com.microsoft.azure.management.keyvault.Secrets;
+import com.microsoft.azure.management.keyvault.Vault;
+import com.microsoft.azure.management.keyvault.VaultCache;
+import com.microsoft.azure.management.resources.fluentcore.arm.models.HasId;
+import com.microsoft.azure.management.resources.fluentcore.arm.models.HasName;
+import org.joda.time.Period;
+import rx.Observable;
+import rx.functions.Action0;
+import rx.functions.Action1;
+import rx.functions.Func0;
+import rx.functions.Func1;
+import rx.functions.Func2;
+import rx.schedulers.Schedulers;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The implementation of VaultCache.
+ * <p>
+ * Entries are kept in an access ordered map guarded by the cache itself; the latest version of an item is
+ * keyed by its lower cased name, a specific version by the name followed by the version. Concurrent reads
+ * of an item missing from the cache share a single call to the vault.
+ *
+ * @param <T> the type of the cached items
+ */
+@LangDefinition
+final class VaultCacheImpl<T extends HasId & HasName> implements VaultCache<T> {
+    private final Func1<String, Observable<T>> latestLoader;
+    private final Func2<String, String, Observable<T>> versionLoader;
+    private final Func0<Observable<String>> nameLister;
+
+    private final LinkedHashMap<String, Entry<T>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Observable<T>> inFlight = new HashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong staleHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong refreshFailures = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private volatile long timeToLiveInMillis = DEFAULT_TIME_TO_LIVE.toStandardDuration().getMillis();
+    private volatile long staleWhileRevalidateInMillis = DEFAULT_STALE_WHILE_REVALIDATE.toStandardDuration().getMillis();
+    private volatile int maxSize = DEFAULT_MAX_SIZE;
+    private volatile int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+
+    VaultCacheImpl(Func1<String, Observable<T>> latestLoader,
+                   Func2<String, String, Observable<T>> versionLoader,
+                   Func0<Observable<String>> nameLister) {
+        this.latestLoader = latestLoader;
+        this.versionLoader = versionLoader;
+        this.nameLister = nameLister;
+    }
+
+    /**
+     * Creates a cache of the secrets of a vault.
+     *
+     * @param vault the vault
+     * @param secrets the secrets of the vault
+     * @return the cache
+     */
+    static VaultCacheImpl<Secret> forSecrets(final Vault vault, final Secrets secrets) {
+        return new VaultCacheImpl<>(new Func1<String, Observable<Secret>>() {
+            @Override
+            public Observable<Secret> call(String name) {
+                return secrets.getByNameAsync(name);
+            }
+        }, new Func2<String, String, Observable<Secret>>() {
+            @Override
+            public Observable<Secret> call(String name, String version) {
+                return secrets.getByNameAndVersionAsync(name, version);
+            }
+        }, new Func0<Observable<String>>() {
+            @Override
+            public Observable<String> call() {
+                return new KeyVaultFutures.ListCallbackObserver<SecretItem, String>() {
+                    @Override
+                    void list(ListOperationCallback<SecretItem> callback) {
+                        vault.client().listSecretsAsync(vault.vaultUri(), callback);
+                    }
+
+                    @Override
+                    Observable<String> typeConvertAsync(SecretItem secretItem) {
+                        return Observable.just(secretItem.identifier().name());
+                    }
+                }.toObservable();
+            }
+        });
+    }
+
+    /**
+     * Creates a cache of the keys of a vault.
+     *
+     * @param vault the vault
+     * @param keys the keys of the vault
+     * @return the cache
+     */
+    static VaultCacheImpl<Key> forKeys(final Vault vault, final Keys keys) {
+        return new VaultCacheImpl<>(new Func1<String, Observable<Key>>() {
+            @Override
+            public Observable<Key> call(String name) {
+                return keys.getByNameAsync(name);
+            }
+        }, new Func2<String, String, Observable<Key>>() {
+            @Override
+            public Observable<Key> call(String name, String version) {
+                return keys.getByNameAndVersionAsync(name, version);
+            }
+        }, new Func0<Observable<String>>() {
+            @Override
+            public Observable<String> call() {
+                // Keys.listAsync() fetches every key bundle, only the names are needed here
+                return new KeyVaultFutures.ListCallbackObserver<KeyItem, String>() {
+                    @Override
+                    void list(ListOperationCallback<KeyItem> callback) {
+                        vault.client().listKeysAsync(vault.vaultUri(), callback);
+                    }
+
+                    @Override
+                    Observable<String> typeConvertAsync(KeyItem keyItem) {
+                        return Observable.just(keyItem.identifier().name());
+                    }
+                }.toObservable();
+            }
+        });
+    }
+
+    @Override
+    public VaultCacheImpl<T> withTimeToLive(Period timeToLive) {
+        this.timeToLiveInMillis = timeToLive.toStandardDuration().getMillis();
+        return this;
+    }
+
+    @Override
+    public VaultCacheImpl<T> withStaleWhileRevalidate(Period staleWhileRevalidate) {
+        this.staleWhileRevalidateInMillis = staleWhileRevalidate.toStandardDuration().getMillis();
+        return this;
+    }
+
+    @Override
+    public VaultCacheImpl<T> withMaxSize(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be at least 1");
+        }
+        this.maxSize = maxSize;
+        synchronized (this) {
+            evictOverflow();
+        }
+        return this;
+    }
+
+    @Override
+    public VaultCacheImpl<T> withMaxConcurrency(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        }
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    @Override
+    public T get(String name) {
+        return getAsync(name).toBlocking().lastOrDefault(null);
+    }
+
+    @Override
+    public Observable<T> getAsync(final String name) {
+        return Observable.defer(new Func0<Observable<T>>() {
+            @Override
+            public Observable<T> call() {
+                final String key = latestKey(name);
+                Entry<T> entry;
+                boolean refresh = false;
+                synchronized (VaultCacheImpl.this) {
+                    entry = entries.get(key);
+                    if (entry != null) {
+                        long age = System.currentTimeMillis() - entry.loadedAtMillis;
+                        if (age < timeToLiveInMillis) {
+                            hits.incrementAndGet();
+                            return Observable.just(entry.value);
+                        } else if (age < timeToLiveInMillis + staleWhileRevalidateInMillis) {
+                            staleHits.incrementAndGet();
+                            if (!entry.refreshing) {
+                                entry.refreshing = true;
+                                refresh = true;
+                            }
+                        } else {
+                            entry = null;
+                        }
+                    }
+                }
+                if (entry != null) {
+                    if (refresh) {
+                        refreshInBackground(name, key);
+                    }
+                    return Observable.just(entry.value);
+                }
+                misses.incrementAndGet();
+                return load(key, latestLoader.call(name));
+            }
+        });
+    }
+
+    @Override
+    public T get(String name, String version) {
+        return getAsync(name, version).toBlocking().lastOrDefault(null);
+    }
+
+    @Override
+    public Observable<T> getAsync(final String name, final String version) {
+        if (version == null || version.isEmpty()) {
+            return getAsync(name);
+        }
+        return Observable.defer(new Func0<Observable<T>>() {
+            @Override
+            public Observable<T> call() {
+                String key = versionKey(name, version);
+                synchronized (VaultCacheImpl.this) {
+                    Entry<T> entry = entries.get(key);
+                    if (entry != null) {
+                        // a given version of an item never changes
+                        hits.incrementAndGet();
+                        return Observable.just(entry.value);
+                    }
+                }
+                misses.incrementAndGet();
+                return load(key, versionLoader.call(name, version));
+            }
+        });
+    }
+
+    @Override
+    public int prefetch(String prefix) {
+        return prefetchAsync(prefix).count().toBlocking().single();
+    }
+
+    @Override
+    public Observable<T> prefetchAsync(String prefix) {
+        final String lowerCasePrefix = prefix == null ? "" : prefix.toLowerCase(Locale.ROOT);
+        return nameLister.call()
+                .filter(new Func1<String, Boolean>() {
+                    @Override
+                    public Boolean call(String name) {
+                        return name != null && name.toLowerCase(Locale.ROOT).startsWith(lowerCasePrefix);
+                    }
+                })
+                .flatMap(new Func1<String, Observable<T>>() {
+                    @Override
+                    public Observable<T> call(String name) {
+                        return load(latestKey(name), latestLoader.call(name));
+                    }
+                }, maxConcurrency);
+    }
+
+    @Override
+    public void invalidate(String name) {
+        String key = latestKey(name);
+        String versionPrefix = key + "/";
+        synchronized (this) {
+            Iterator<String> keys = entries.keySet().iterator();
+            while (keys.hasNext()) {
+                String entryKey = keys.next();
+                if (entryKey.equals(key) || entryKey.startsWith(versionPrefix)) {
+                    keys.remove();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        synchronized (this) {
+            entries.clear();
+        }
+    }
+
+    @Override
+    public Metrics metrics() {
+        return new Metrics() {
+            @Override
+            public long hitCount() {
+                return hits.get();
+            }
+
+            @Override
+            public long staleHitCount() {
+                return staleHits.get();
+            }
+
+            @Override
+            public long missCount() {
+                return misses.get();
+            }
+
+            @Override
+            public long refreshCount() {
+                return refreshes.get();
+            }
+
+            @Override
+            public long refreshFailureCount() {
+                return refreshFailures.get();
+            }
+
+            @Override
+            public long evictionCount() {
+                return evictions.get();
+            }
+
+            @Override
+            public int size() {
+                synchronized (VaultCacheImpl.this) {
+                    return entries.size();
+                }
+            }
+        };
+    }
+
+    /**
+     * Loads an entry, joining the load already in flight for the same key if any.
+     */
+    private Observable<T> load(final String key, Observable<T> source) {
+        synchronized (this) {
+            Observable<T> pending = inFlight.get(key);
+            if (pending != null) {
+                return pending;
+            }
+            Observable<T> loading = source
+                    .doOnNext(new Action1<T>() {
+                        @Override
+                        public void call(T t) {
+                            put(key, t);
+                        }
+                    })
+                    .doOnTerminate(new Action0() {
+                        @Override
+                        public void call() {
+                            synchronized (VaultCacheImpl.this) {
+                                inFlight.remove(key);
+                            }
+                        }
+                    })
+                    .cache();
+            inFlight.put(key, loading);
+            return loading;
+        }
+    }
+
+    private void refreshInBackground(final String name, final String key) {
+        latestLoader.call(name)
+                .subscribeOn(Schedulers.io())
+                .subscribe(new Action1<T>() {
+                    @Override
+                    public void call(T t) {
+                        put(key, t);
+                        refreshes.incrementAndGet();
+                    }
+                }, new Action1<Throwable>() {
+                    @Override
+                    public void call(Throwable throwable) {
+                        // keep serving the stale value, the next read past the time to live retries
+                        refreshFailures.incrementAndGet();
+                        synchronized (VaultCacheImpl.this) {
+                            Entry<T> entry = entries.get(key);
+                            if (entry != null) {
+                                entry.refreshing = false;
+                            }
+                        }
+                    }
+                });
+    }
+
+    private synchronized void put(String key, T value) {
+        if (value == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        entries.put(key, new Entry<>(value, now));
+        if (key.indexOf('/') < 0) {
+            // the latest version is also that specific version
+            String version = versionOf(value);
+            if (version != null) {
+                entries.put(versionKey(value.name(), version), new Entry<>(value, now));
+            }
+        }
+        evictOverflow();
+    }
+
+    private void evictOverflow() {
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() > maxSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private static String latestKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static String versionKey(String name, String version) {
+        return latestKey(name) + "/" + version;
+    }
+
+    private static String versionOf(HasId item) {
+        // the id of a key or a secret is https://{vault}/{keys|secrets}/{name}/{version}
+        String id = item.id();
+        if (id == null) {
+            return null;
+        }
+        int index = id.lastIndexOf('/');
+        return index < 0 || index == id.length() - 1 ? null : id.substring(index + 1);
+    }
+
+    /**
+     * A cached item.
+     */
+    private static final class Entry<T> {
+        private final T value;
+        private final long loadedAtMillis;
+        private boolean refreshing;
+
+        private Entry(T value, long loadedAtMillis) {
+            this.value = value;
+            this.loadedAtMillis = loadedAtMillis;
+        }
+    }
+}
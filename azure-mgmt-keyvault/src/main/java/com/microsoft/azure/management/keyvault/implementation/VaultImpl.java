@@ -21,14 +21,17 @@ import com.microsoft.azure.management.keyvault.AccessPolicy;
 import com.microsoft.azure.management.keyvault.AccessPolicyEntry;
 import com.microsoft.azure.management.keyvault.CreateMode;
 import com.microsoft.azure.management.keyvault.IPRule;
+import com.microsoft.azure.management.keyvault.Key;
 import com.microsoft.azure.management.keyvault.Keys;
 import com.microsoft.azure.management.keyvault.NetworkRuleAction;
 import com.microsoft.azure.management.keyvault.NetworkRuleBypassOptions;
 import com.microsoft.azure.management.keyvault.NetworkRuleSet;
+import com.microsoft.azure.management.keyvault.Secret;
 import com.microsoft.azure.management.keyvault.Secrets;
 import com.microsoft.azure.management.keyvault.Sku;
 import com.microsoft.azure.management.keyvault.SkuName;
 import com.microsoft.azure.management.keyvault.Vault;
+import com.microsoft.azure.management.keyvault.VaultCache;
 import com.microsoft.azure.management.keyvault.VaultCreateOrUpdateParameters;
 import com.microsoft.azure.management.keyvault.VaultProperties;
 import com.microsoft.azure.management.keyvault.VirtualNetworkRule;
@@ -53,6 +56,8 @@ class VaultImpl extends GroupableResourceImpl<Vault, VaultInner, VaultImpl, KeyV
     private KeyVaultClient client;
     private Keys keys;
     private Secrets secrets;
+    private VaultCache<Secret> secretCache;
+    private VaultCache<Key> keyCache;
 
     VaultImpl(String key, VaultInner innerObject, KeyVaultManager manager, GraphRbacManager graphRbacManager) {
         super(key, innerObject, manager);
@@ -68,6 +73,11 @@ class VaultImpl extends GroupableResourceImpl<Vault, VaultInner, VaultImpl, KeyV
                 manager.inner().restClient().newBuilder().withBaseUrl("https://{vaultBaseUrl}").build());
     }
 
+    @Override
+    protected String fullResourceType() {
+        return "Microsoft.KeyVault/vaults";
+    }
+
     @Override
     public KeyVaultClient client() {
         return client;
@@ -89,6 +99,22 @@ class VaultImpl extends GroupableResourceImpl<Vault, VaultInner, VaultImpl, KeyV
         return secrets;
     }
 
+    @Override
+    public synchronized VaultCache<Secret> secretCache() {
+        if (secretCache == null) {
+            secretCache = VaultCacheImpl.forSecrets(this, secrets());
+        }
+        return secretCache;
+    }
+
+    @Override
+    public synchronized VaultCache<Key> keyCache() {
+        if (keyCache == null) {
+            keyCache = VaultCacheImpl.forKeys(this, keys());
+        }
+        return keyCache;
+    }
+
     @Override
     public String vaultUri() {
         if (inner().properties() == null) {
@@ -0,0 +1,284 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.keyvault.implementation;
+
+import com.microsoft.azure.management.keyvault.VaultCache;
+import com.microsoft.azure.management.resources.fluentcore.arm.models.HasId;
+import com.microsoft.azure.management.resources.fluentcore.arm.models.HasName;
+import org.joda.time.Period;
+import org.junit.Assert;
+import org.junit.Test;
+import rx.Observable;
+import rx.functions.Func0;
+import rx.functions.Func1;
+import rx.functions.Func2;
+import rx.observers.TestSubscriber;
+import rx.subjects.PublishSubject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class VaultCacheTests {
+    private static final String VAULT_URI = "https://vault.vault.azure.net";
+
+    @Test
+    public void canServeItemsWithinTimeToLive() throws Exception {
+        FakeVault vault = new FakeVault();
+        VaultCacheImpl<Item> cache = vault.cache()
+                .withTimeToLive(Period.millis(200))
+                .withStaleWhileRevalidate(Period.ZERO);
+
+        Assert.assertEquals("secret1-1", cache.get("secret1").version);
+        Assert.assertEquals("secret1-1", cache.get("SECRET1").version);
+        Assert.assertEquals(1, vault.loads("secret1"));
+
+        Thread.sleep(300);
+        Assert.assertEquals("secret1-2", cache.get("secret1").version);
+        Assert.assertEquals(2, vault.loads("secret1"));
+
+        VaultCache.Metrics metrics = cache.metrics();
+        Assert.assertEquals(1, metrics.hitCount());
+        Assert.assertEquals(2, metrics.missCount());
+        Assert.assertEquals(0, metrics.staleHitCount());
+    }
+
+    @Test
+    public void canServeStaleItemsWhileRefreshing() throws Exception {
+        FakeVault vault = new FakeVault();
+        VaultCacheImpl<Item> cache = vault.cache()
+                .withTimeToLive(Period.millis(200))
+                .withStaleWhileRevalidate(Period.minutes(5));
+
+        Assert.assertEquals("secret1-1", cache.get("secret1").version);
+        Thread.sleep(300);
+
+        // both reads get the stale value, only the first one starts a refresh
+        Assert.assertEquals("secret1-1", cache.get("secret1").version);
+        Assert.assertEquals("secret1-1", cache.get("secret1").version);
+        awaitRefreshes(cache, 1);
+        Assert.assertEquals(2, vault.loads("secret1"));
+        Assert.assertEquals("secret1-2", cache.get("secret1").version);
+
+        VaultCache.Metrics metrics = cache.metrics();
+        Assert.assertEquals(1, metrics.missCount());
+        Assert.assertTrue(metrics.staleHitCount() >= 1);
+        Assert.assertEquals(0, metrics.refreshFailureCount());
+    }
+
+    @Test
+    public void canKeepStaleItemsWhenRefreshFails() throws Exception {
+        FakeVault vault = new FakeVault();
+        VaultCacheImpl<Item> cache = vault.cache()
+                .withTimeToLive(Period.millis(200))
+                .withStaleWhileRevalidate(Period.minutes(5));
+
+        Assert.assertEquals("secret1-1", cache.get("secret1").version);
+        Thread.sleep(300);
+        vault.failing = true;
+        Assert.assertEquals("secret1-1", cache.get("secret1").version);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (cache.metrics().refreshFailureCount() < 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(1, cache.metrics().refreshFailureCount());
+
+        // the next read refreshes again
+        vault.failing = false;
+        Assert.assertEquals("secret1-1", cache.get("secret1").version);
+        awaitRefreshes(cache, 1);
+        Assert.assertEquals("secret1-3", cache.get("secret1").version);
+    }
+
+    @Test
+    public void canEvictLeastRecentlyUsedItems() {
+        FakeVault vault = new FakeVault();
+        vault.versioned = false;
+        VaultCacheImpl<Item> cache = vault.cache().withMaxSize(2);
+
+        cache.get("a");
+        cache.get("b");
+        cache.get("a");
+        cache.get("c");
+        Assert.assertEquals(2, cache.metrics().size());
+        Assert.assertEquals(1, cache.metrics().evictionCount());
+
+        // b was the least recently used
+        cache.get("a");
+        Assert.assertEquals(1, vault.loads("a"));
+        cache.get("b");
+        Assert.assertEquals(2, vault.loads("b"));
+        Assert.assertEquals(2, cache.metrics().evictionCount());
+    }
+
+    @Test
+    public void canServeVersionsOfLatestItems() {
+        FakeVault vault = new FakeVault();
+        VaultCacheImpl<Item> cache = vault.cache();
+
+        Item latest = cache.get("secret1");
+        Assert.assertSame(latest, cache.get("secret1", "secret1-1"));
+        Assert.assertEquals(1, vault.loads("secret1"));
+        Assert.assertEquals(0, vault.versionLoads.get());
+
+        Assert.assertEquals("secret1-0", cache.get("secret1", "secret1-0").version);
+        Assert.assertEquals("secret1-0", cache.get("secret1", "secret1-0").version);
+        Assert.assertEquals(1, vault.versionLoads.get());
+
+        // invalidating an item removes its versions too
+        cache.invalidate("SECRET1");
+        Assert.assertEquals(0, cache.metrics().size());
+    }
+
+    @Test
+    public void canShareLoadsInFlight() {
+        FakeVault vault = new FakeVault();
+        VaultCacheImpl<Item> cache = vault.cache();
+        vault.gate = PublishSubject.create();
+
+        TestSubscriber<Item> first = new TestSubscriber<>();
+        TestSubscriber<Item> second = new TestSubscriber<>();
+        cache.getAsync("secret1").subscribe(first);
+        cache.getAsync("secret1").subscribe(second);
+        Assert.assertEquals(1, vault.loads("secret1"));
+        first.assertNoValues();
+
+        vault.gate.onNext(true);
+        first.assertValueCount(1);
+        second.assertValueCount(1);
+        Assert.assertSame(first.getOnNextEvents().get(0), second.getOnNextEvents().get(0));
+        Assert.assertEquals(2, cache.metrics().missCount());
+
+        // a failed load is not shared with the next read
+        vault.gate = null;
+        vault.failing = true;
+        cache.invalidateAll();
+        TestSubscriber<Item> failed = new TestSubscriber<>();
+        cache.getAsync("secret1").subscribe(failed);
+        failed.assertError(IllegalStateException.class);
+        vault.failing = false;
+        Assert.assertEquals("secret1-3", cache.get("secret1").version);
+    }
+
+    @Test
+    public void canPrefetchItemsByPrefix() {
+        FakeVault vault = new FakeVault();
+        vault.names = Arrays.asList("app-one", "App-Two", "other");
+        VaultCacheImpl<Item> cache = vault.cache();
+
+        Assert.assertEquals(2, cache.prefetch("APP-"));
+        Assert.assertEquals(1, vault.loads("app-one"));
+        Assert.assertEquals(1, vault.loads("App-Two"));
+        Assert.assertEquals(0, vault.loads("other"));
+
+        cache.get("app-one");
+        cache.get("app-two");
+        Assert.assertEquals(2, cache.metrics().hitCount());
+        Assert.assertEquals(0, cache.metrics().missCount());
+        Assert.assertEquals(3, cache.prefetch(""));
+    }
+
+    private static void awaitRefreshes(VaultCache<?> cache, long count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (cache.metrics().refreshCount() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(count, cache.metrics().refreshCount());
+    }
+
+    /**
+     * An item of the fake vault, its versions are numbered by load.
+     */
+    private static final class Item implements HasId, HasName {
+        private final String name;
+        private final String version;
+        private final boolean versioned;
+
+        private Item(String name, String version, boolean versioned) {
+            this.name = name;
+            this.version = version;
+            this.versioned = versioned;
+        }
+
+        @Override
+        public String id() {
+            return versioned ? VAULT_URI + "/secrets/" + name + "/" + version : null;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+    }
+
+    /**
+     * A vault counting the loads of its items.
+     */
+    private static final class FakeVault {
+        private final ConcurrentMap<String, AtomicInteger> loads = new ConcurrentHashMap<>();
+        private final AtomicInteger versionLoads = new AtomicInteger();
+        private volatile boolean versioned = true;
+        private volatile boolean failing;
+        private volatile PublishSubject<Boolean> gate;
+        private List<String> names = Collections.emptyList();
+
+        private int loads(String name) {
+            AtomicInteger count = loads.get(name);
+            return count == null ? 0 : count.get();
+        }
+
+        private VaultCacheImpl<Item> cache() {
+            return new VaultCacheImpl<>(new Func1<String, Observable<Item>>() {
+                @Override
+                public Observable<Item> call(final String name) {
+                    return Observable.defer(new Func0<Observable<Item>>() {
+                        @Override
+                        public Observable<Item> call() {
+                            loads.putIfAbsent(name, new AtomicInteger());
+                            final int load = loads.get(name).incrementAndGet();
+                            if (failing) {
+                                return Observable.error(new IllegalStateException("vault unavailable"));
+                            }
+                            Item item = new Item(name, name + "-" + load, versioned);
+                            PublishSubject<Boolean> pending = gate;
+                            return pending == null ? Observable.just(item) : pending.first().map(constant(item));
+                        }
+                    });
+                }
+            }, new Func2<String, String, Observable<Item>>() {
+                @Override
+                public Observable<Item> call(final String name, final String version) {
+                    return Observable.defer(new Func0<Observable<Item>>() {
+                        @Override
+                        public Observable<Item> call() {
+                            versionLoads.incrementAndGet();
+                            return Observable.just(new Item(name, version, versioned));
+                        }
+                    });
+                }
+            }, new Func0<Observable<String>>() {
+                @Override
+                public Observable<String> call() {
+                    return Observable.from(new ArrayList<>(names));
+                }
+            });
+        }
+
+        private static Func1<Boolean, Item> constant(final Item item) {
+            return new Func1<Boolean, Item>() {
+                @Override
+                public Item call(Boolean ignored) {
+                    return item;
+                }
+            };
+        }
+    }
+}
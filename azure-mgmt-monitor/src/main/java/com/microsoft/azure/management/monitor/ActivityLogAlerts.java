@@ -13,11 +13,13 @@ import com.microsoft.azure.management.resources.fluentcore.arm.collection.Suppor
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsDeletingByResourceGroup;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsGettingById;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsListingByResourceGroup;
+import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsStreamingListingByResourceGroup;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.HasManager;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsBatchCreation;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsStreamingListing;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 
 /**
@@ -27,7 +29,9 @@ import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 public interface ActivityLogAlerts extends
         SupportsCreating<ActivityLogAlert.DefinitionStages.Blank>,
         SupportsListing<ActivityLogAlert>,
+        SupportsStreamingListing<ActivityLogAlert>,
         SupportsListingByResourceGroup<ActivityLogAlert>,
+        SupportsStreamingListingByResourceGroup<ActivityLogAlert>,
         SupportsGettingById<ActivityLogAlert>,
         SupportsDeletingById,
         SupportsDeletingByResourceGroup,
@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.monitor;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.LangDefinition;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The position of an {@link ActivityLogTail}: the timestamp of the latest event seen by a completed poll and the ids
+ * of the recent events already returned. A checkpoint is serializable so that a restarted process can resume tailing where it stopped.
+ */
+@Beta(Beta.SinceVersion.V1_30_0)
+@LangDefinition(ContainerName = "/Microsoft.Azure.Management.Monitor.Fluent.Models")
+public final class ActivityLogCheckpoint implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final long highWaterMarkInMillis;
+    private final long forgottenUpToInMillis;
+    private final LinkedHashMap<String, Long> recentEvents;
+
+    /**
+     * Creates ActivityLogCheckpoint.
+     *
+     * @param highWaterMarkInMillis the timestamp of the latest event seen, in milliseconds since the epoch
+     * @param recentEvents the ids of the recent events already returned mapped to their timestamps,
+     *                     in the order they were returned
+     */
+    public ActivityLogCheckpoint(long highWaterMarkInMillis, Map<String, Long> recentEvents) {
+        this(highWaterMarkInMillis, Long.MIN_VALUE, recentEvents);
+    }
+
+    /**
+     * Creates ActivityLogCheckpoint.
+     *
+     * @param highWaterMarkInMillis the timestamp of the latest event seen, in milliseconds since the epoch
+     * @param forgottenUpToInMillis the latest timestamp of the events whose ids are no longer tracked,
+     *                              Long.MIN_VALUE if none
+     * @param recentEvents the ids of the recent events already returned mapped to their timestamps,
+     *                     in the order they were returned
+     */
+    public ActivityLogCheckpoint(long highWaterMarkInMillis, long forgottenUpToInMillis, Map<String, Long> recentEvents) {
+        this.highWaterMarkInMillis = highWaterMarkInMillis;
+        this.forgottenUpToInMillis = forgottenUpToInMillis;
+        this.recentEvents = new LinkedHashMap<>(recentEvents);
+    }
+
+    /**
+     * @return the timestamp of the latest event seen
+     */
+    public DateTime highWaterMark() {
+        return new DateTime(this.highWaterMarkInMillis, DateTimeZone.UTC);
+    }
+
+    /**
+     * @return the timestamp of the latest event seen, in milliseconds since the epoch
+     */
+    public long highWaterMarkInMillis() {
+        return this.highWaterMarkInMillis;
+    }
+
+    /**
+     * @return the latest timestamp of the events whose ids are no longer tracked, in milliseconds since the
+     * epoch; the tail skips the events up to this time
+     */
+    public long forgottenUpToInMillis() {
+        return this.forgottenUpToInMillis;
+    }
+
+    /**
+     * @return the ids of the recent events already returned mapped to their timestamps, in the order they were returned
+     */
+    public Map<String, Long> recentEvents() {
+        return Collections.unmodifiableMap(this.recentEvents);
+    }
+}
@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.monitor;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.LangDefinition;
+import com.microsoft.azure.management.apigeneration.Method;
+import org.joda.time.Period;
+import rx.Observable;
+
+import java.util.List;
+
+/**
+ * An incremental reader of the Activity log returning each event once.
+ * <p>
+ * Each poll queries the events from the high-water mark, the timestamp of the latest event seen, minus a
+ * late arrival window, so events indexed late are still picked up. The events of the window already returned
+ * are recognized by their event data id and skipped. The high-water mark moves only when a poll has read all
+ * its pages, so a failed or unsubscribed poll is read again by the next one. Polls must not overlap.
+ */
+@Beta(Beta.SinceVersion.V1_30_0)
+@LangDefinition(ContainerName = "/Microsoft.Azure.Management.Monitor.Fluent")
+public interface ActivityLogTail {
+    /**
+     * The default late arrival window.
+     */
+    Period DEFAULT_LATE_ARRIVAL_WINDOW = Period.minutes(15);
+
+    /**
+     * The default maximum number of event ids tracked to skip events already returned.
+     */
+    int DEFAULT_MAX_TRACKED_EVENTS = 10000;
+
+    /**
+     * Gets the events that were not returned by previous polls.
+     *
+     * @return the new events
+     */
+    @Method
+    List<EventData> poll();
+
+    /**
+     * Gets the events that were not returned by previous polls.
+     *
+     * @return a representation of the deferred computation of the new events
+     */
+    @Method
+    Observable<EventData> pollAsync();
+
+    /**
+     * Polls repeatedly, the first poll is made on subscription.
+     *
+     * @param pollInterval the time between the start of two polls
+     * @return an observable emitting the new events until unsubscribed
+     */
+    @Method
+    Observable<EventData> follow(Period pollInterval);
+
+    /**
+     * @return a snapshot of the position of the tail, to resume from later
+     */
+    @Method
+    ActivityLogCheckpoint checkpoint();
+}
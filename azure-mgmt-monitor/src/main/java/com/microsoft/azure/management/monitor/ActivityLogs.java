@@ -7,6 +7,8 @@
 package com.microsoft.azure.management.monitor;
 
 import com.microsoft.azure.PagedList;
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
 import com.microsoft.azure.management.apigeneration.LangDefinition;
 import com.microsoft.azure.management.apigeneration.Method;
 import com.microsoft.azure.management.monitor.implementation.ActivityLogsInner;
@@ -14,6 +16,7 @@ import com.microsoft.azure.management.monitor.implementation.MonitorManager;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.HasManager;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 import org.joda.time.DateTime;
+import org.joda.time.Period;
 import rx.Observable;
 
 import java.util.List;
@@ -51,6 +54,15 @@ public interface ActivityLogs extends
     @Method
     ActivityLogsQueryDefinitionStages.WithEventDataStartTimeFilter defineQuery();
 
+    /**
+     * Begins a definition for a new incremental Activity log reader.
+     *
+     * @return the stage of starting point definition.
+     */
+    @Beta(SinceVersion.V1_30_0)
+    @Method
+    ActivityLogTailDefinitionStages.WithTailStartingPoint defineTail();
+
     /**
      * The entirety of a Activity Logs query definition.
      */
@@ -182,4 +194,127 @@ public interface ActivityLogs extends
             WithActivityLogsQueryExecute filterAtTenantLevel();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * The entirety of an Activity log tail definition.
+     */
+    @Beta(SinceVersion.V1_30_0)
+    interface ActivityLogTailDefinition extends
+            ActivityLogTailDefinitionStages.WithTailStartingPoint,
+            ActivityLogTailDefinitionStages.WithTailSelectFilter,
+            ActivityLogTailDefinitionStages.WithTailCreate {
+    }
+
+    /**
+     * Grouping of Activity log tail stages.
+     */
+    @Beta(SinceVersion.V1_30_0)
+    interface ActivityLogTailDefinitionStages {
+        /**
+         * The first stage of an Activity log tail definition, allowing to specify where to start.
+         */
+        interface WithTailStartingPoint {
+            /**
+             * Starts tailing from a point in time.
+             *
+             * @param startTime the timestamp of the earliest events to return.
+             * @return the stage of response properties definition.
+             */
+            WithTailSelectFilter startingFrom(DateTime startTime);
+
+            /**
+             * Resumes tailing from a checkpoint of a previous tail.
+             *
+             * @param checkpoint the checkpoint.
+             * @return the stage of response properties definition.
+             */
+            WithTailSelectFilter resumingFrom(ActivityLogCheckpoint checkpoint);
+        }
+
+        /**
+         * The stage of an Activity log tail definition allowing to specify the response properties.
+         */
+        interface WithTailSelectFilter {
+            /**
+             * Selects the properties returned for each event, the event data id and the event timestamp are
+             * always returned as the tail relies on them.
+             *
+             * @param responseProperties the properties of the events.
+             * @return the stage of optional filters definition and creation.
+             */
+            WithTailCreate withResponseProperties(EventDataPropertyName... responseProperties);
+
+            /**
+             * Returns all the properties of each event.
+             *
+             * @return the stage of optional filters definition and creation.
+             */
+            WithTailCreate withAllPropertiesInResponse();
+        }
+
+        /**
+         * The stage of an Activity log tail definition allowing to specify optional filters and create the tail.
+         */
+        interface WithTailCreate {
+            /**
+             * Filters events for a given resource group.
+             *
+             * @param resourceGroupName resource group name.
+             * @return the stage of optional filters definition and creation.
+             */
+            WithTailCreate filterByResourceGroup(String resourceGroupName);
+
+            /**
+             * Filters events for a given resource.
+             *
+             * @param resourceId resource id.
+             * @return the stage of optional filters definition and creation.
+             */
+            WithTailCreate filterByResource(String resourceId);
+
+            /**
+             * Filters events for a given resource provider.
+             *
+             * @param resourceProviderName resource provider name.
+             * @return the stage of optional filters definition and creation.
+             */
+            WithTailCreate filterByResourceProvider(String resourceProviderName);
+
+            /**
+             * Filters events generated at the Tenant level.
+             *
+             * @return the stage of optional filters definition and creation.
+             */
+            WithTailCreate filterAtTenantLevel();
+
+            /**
+             * Sets how far back from the high-water mark each poll looks for events indexed late,
+             * {@link ActivityLogTail#DEFAULT_LATE_ARRIVAL_WINDOW} by default.
+             *
+             * @param lateArrivalWindow the late arrival window.
+             * @return the stage of optional filters definition and creation.
+             */
+            WithTailCreate withLateArrivalWindow(Period lateArrivalWindow);
+
+            /**
+             * Sets the maximum number of event ids tracked to skip events already returned,
+             * {@link ActivityLogTail#DEFAULT_MAX_TRACKED_EVENTS} by default. When more events fall in the
+             * late arrival window, the ids of the oldest ones are dropped once a poll has returned all its
+             * events, and the events up to their timestamp are skipped from then on rather than returned
+             * twice; a poll still returns all the events it reads, however many.
+             *
+             * @param maxTrackedEvents the maximum number of event ids tracked.
+             * @return the stage of optional filters definition and creation.
+             */
+            WithTailCreate withMaxTrackedEvents(int maxTrackedEvents);
+
+            /**
+             * Creates the tail, no call is made until it is polled.
+             *
+             * @return the Activity log tail.
+             */
+            @Method
+            ActivityLogTail create();
+        }
+    }
+}
@@ -13,11 +13,13 @@ import com.microsoft.azure.management.resources.fluentcore.arm.collection.Suppor
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsDeletingByResourceGroup;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsGettingById;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsListingByResourceGroup;
+import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsStreamingListingByResourceGroup;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.HasManager;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsBatchCreation;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsStreamingListing;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 
 
@@ -29,7 +31,9 @@ import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 public interface AutoscaleSettings extends
         SupportsCreating<AutoscaleSetting.DefinitionStages.Blank>,
         SupportsListing<AutoscaleSetting>,
+        SupportsStreamingListing<AutoscaleSetting>,
         SupportsListingByResourceGroup<AutoscaleSetting>,
+        SupportsStreamingListingByResourceGroup<AutoscaleSetting>,
         SupportsGettingById<AutoscaleSetting>,
         SupportsBatchCreation<AutoscaleSetting>,
         SupportsDeletingById,
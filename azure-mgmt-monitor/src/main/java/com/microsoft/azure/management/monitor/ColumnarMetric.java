@@ -0,0 +1,60 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.monitor;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.LangDefinition;
+import com.microsoft.azure.management.apigeneration.LangMethodDefinition;
+
+import java.util.List;
+
+/**
+ * A metric of a {@link ColumnarMetricCollection}.
+ */
+@Beta(Beta.SinceVersion.V1_30_0)
+@LangDefinition(ContainerName = "/Microsoft.Azure.Management.Monitor.Fluent.Models")
+public interface ColumnarMetric {
+    /**
+     * Get the metric Id.
+     *
+     * @return the id value
+     */
+    @LangMethodDefinition(AsType = LangMethodDefinition.LangMethodType.Property)
+    String id();
+
+    /**
+     * Get the resource type of the metric resource.
+     *
+     * @return the type value
+     */
+    @LangMethodDefinition(AsType = LangMethodDefinition.LangMethodType.Property)
+    String type();
+
+    /**
+     * Get the name and the display name of the metric.
+     *
+     * @return the name value
+     */
+    @LangMethodDefinition(AsType = LangMethodDefinition.LangMethodType.Property)
+    LocalizableString name();
+
+    /**
+     * Get the unit of the metric.
+     *
+     * @return the unit value
+     */
+    @LangMethodDefinition(AsType = LangMethodDefinition.LangMethodType.Property)
+    Unit unit();
+
+    /**
+     * Get the time series returned when a data query is performed.
+     *
+     * @return the timeseries value
+     */
+    @LangMethodDefinition(AsType = LangMethodDefinition.LangMethodType.Property)
+    List<ColumnarTimeSeries> timeseries();
+}
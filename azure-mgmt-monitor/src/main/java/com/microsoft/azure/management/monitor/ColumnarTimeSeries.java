@@ -0,0 +1,62 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.monitor;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.LangDefinition;
+import com.microsoft.azure.management.apigeneration.LangMethodDefinition;
+
+import java.util.List;
+
+/**
+ * A time series of a {@link ColumnarMetric}, stored as one column of timestamps and one column per aggregation.
+ * <p>
+ * The value of point i is at index i of every column. A value the service did not return for a point is
+ * {@link Double#NaN} in its column, a column is null when the service returned no value of the aggregation at all.
+ * <p>
+ * The columns are returned as stored, without a copy, so that large results are read without allocating.
+ * Callers must not modify them; copy a column before changing it.
+ */
+@Beta(Beta.SinceVersion.V1_30_0)
+@LangDefinition(ContainerName = "/Microsoft.Azure.Management.Monitor.Fluent.Models")
+public interface ColumnarTimeSeries {
+    /**
+     * Get the metadata values returned if $filter was specified in the call.
+     *
+     * @return the metadata values
+     */
+    @LangMethodDefinition(AsType = LangMethodDefinition.LangMethodType.Property)
+    List<MetadataValue> metadataValues();
+
+    /**
+     * @return the number of points in the time series
+     */
+    int size();
+
+    /**
+     * @return the timestamps of the points, in milliseconds since the epoch; the column itself, not to be modified
+     */
+    long[] timestamps();
+
+    /**
+     * Gets the values of an aggregation.
+     *
+     * @param aggregation the aggregation type
+     * @return the values, NaN where a point has no value, or null if no point has a value; the column itself,
+     * not to be modified
+     */
+    double[] values(AggregationType aggregation);
+
+    /**
+     * Checks whether a point has a value of an aggregation.
+     *
+     * @param aggregation the aggregation type
+     * @param index the index of the point
+     * @return true if the point has a value
+     */
+    boolean hasValue(AggregationType aggregation, int index);
+}
@@ -6,6 +6,8 @@
 
 package com.microsoft.azure.management.monitor;
 
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
 import com.microsoft.azure.management.apigeneration.LangDefinition;
 import com.microsoft.azure.management.apigeneration.LangMethodDefinition;
 import com.microsoft.azure.management.apigeneration.Method;
@@ -249,6 +251,24 @@ public interface MetricDefinition extends
              */
             @Method
             Observable<MetricCollection> executeAsync();
+
+            /**
+             * Executes the query, returning the values of each time series as primitive columns.
+             *
+             * @return the columnar metric collection received after query execution.
+             */
+            @Beta(SinceVersion.V1_30_0)
+            @Method
+            ColumnarMetricCollection executeColumnar();
+
+            /**
+             * Executes the query, returning the values of each time series as primitive columns.
+             *
+             * @return a representation of the deferred computation of the columnar Metric collection query call
+             */
+            @Beta(SinceVersion.V1_30_0)
+            @Method
+            Observable<ColumnarMetricCollection> executeColumnarAsync();
         }
     }
 }
@@ -0,0 +1,182 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.monitor;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.LangDefinition;
+import com.microsoft.azure.management.apigeneration.Method;
+import org.joda.time.DateTime;
+import org.joda.time.Period;
+import rx.Observable;
+
+import java.util.List;
+
+/**
+ * A metrics query over many resources and metric names for a time range of any length.
+ * <p>
+ * The range is split into windows holding at most {@link #DEFAULT_MAX_DATA_POINTS_PER_CALL} points per time series,
+ * the metric names are batched {@link #MAX_METRIC_NAMES_PER_CALL} per call, and the calls run concurrently up to
+ * a limit. Throttled calls are retried after the delay requested by the service, holding back the other calls
+ * in the meantime. The windows of each resource and metric are merged back into a single time ordered series.
+ */
+@Beta(Beta.SinceVersion.V1_30_0)
+@LangDefinition(ContainerName = "/Microsoft.Azure.Management.Monitor.Fluent")
+public interface MetricsBatchQuery {
+    /**
+     * The maximum number of metric names sent in a single call.
+     */
+    int MAX_METRIC_NAMES_PER_CALL = 20;
+
+    /**
+     * The default maximum number of points per time series requested in a single call.
+     */
+    int DEFAULT_MAX_DATA_POINTS_PER_CALL = 1440;
+
+    /**
+     * The default maximum number of calls in flight.
+     */
+    int DEFAULT_MAX_CONCURRENCY = 16;
+
+    /**
+     * The entirety of a metrics batch query definition.
+     */
+    interface Definition extends
+            DefinitionStages.WithResources,
+            DefinitionStages.WithMetricNames,
+            DefinitionStages.WithStartTime,
+            DefinitionStages.WithEndTime,
+            DefinitionStages.WithExecute {
+    }
+
+    /**
+     * Grouping of metrics batch query stages.
+     */
+    interface DefinitionStages {
+        /**
+         * The first stage of a metrics batch query, allowing to specify the resources.
+         */
+        interface WithResources {
+            /**
+             * Specifies the resources to query.
+             *
+             * @param resourceIds the ids of the resources
+             * @return the stage of metric names definition
+             */
+            WithMetricNames forResources(List<String> resourceIds);
+        }
+
+        /**
+         * The stage of a metrics batch query allowing to specify the metric names.
+         */
+        interface WithMetricNames {
+            /**
+             * Specifies the metrics to query on every resource.
+             *
+             * @param metricNames the names of the metrics
+             * @return the stage of start time definition
+             */
+            WithStartTime withMetricNames(List<String> metricNames);
+        }
+
+        /**
+         * The stage of a metrics batch query allowing to specify the start time.
+         */
+        interface WithStartTime {
+            /**
+             * Sets the start of the time range.
+             *
+             * @param startTime the start time, inclusive
+             * @return the stage of end time definition
+             */
+            WithEndTime startingFrom(DateTime startTime);
+        }
+
+        /**
+         * The stage of a metrics batch query allowing to specify the end time.
+         */
+        interface WithEndTime {
+            /**
+             * Sets the end of the time range.
+             *
+             * @param endTime the end time, exclusive
+             * @return the stage of optional parameters definition and query execution
+             */
+            WithExecute endsBefore(DateTime endTime);
+        }
+
+        /**
+         * The stage of a metrics batch query allowing to specify optional parameters and execute the query.
+         */
+        interface WithExecute {
+            /**
+             * Sets the interval of the points, PT1M by default.
+             *
+             * @param interval the interval
+             * @return the stage of optional parameters definition and query execution
+             */
+            WithExecute withInterval(Period interval);
+
+            /**
+             * Sets the list of aggregation types to retrieve.
+             *
+             * @param aggregation the list of aggregation types (comma separated) to retrieve
+             * @return the stage of optional parameters definition and query execution
+             */
+            WithExecute withAggregation(String aggregation);
+
+            /**
+             * Sets the metric namespace of the metric names.
+             *
+             * @param metricNamespace the metric namespace
+             * @return the stage of optional parameters definition and query execution
+             */
+            WithExecute withMetricNamespace(String metricNamespace);
+
+            /**
+             * Sets the **$filter** that is used to reduce the set of metric data returned.
+             *
+             * @param odataFilter the **$filter** to reduce the set of the returned metric data
+             * @return the stage of optional parameters definition and query execution
+             */
+            WithExecute withOdataFilter(String odataFilter);
+
+            /**
+             * Sets the maximum number of calls in flight, {@link MetricsBatchQuery#DEFAULT_MAX_CONCURRENCY} by default.
+             *
+             * @param maxConcurrency the maximum number of calls in flight
+             * @return the stage of optional parameters definition and query execution
+             */
+            WithExecute withMaxConcurrency(int maxConcurrency);
+
+            /**
+             * Sets the maximum number of points per time series requested in a single call,
+             * {@link MetricsBatchQuery#DEFAULT_MAX_DATA_POINTS_PER_CALL} by default.
+             *
+             * @param maxDataPointsPerCall the maximum number of points per call
+             * @return the stage of optional parameters definition and query execution
+             */
+            WithExecute withMaxDataPointsPerCall(int maxDataPointsPerCall);
+
+            /**
+             * Executes the query.
+             *
+             * @return the metric series, grouped by resource in the order the resources were specified
+             */
+            @Method
+            List<ResourceMetricSeries> execute();
+
+            /**
+             * Executes the query.
+             *
+             * @return an observable emitting the metric series, grouped by resource in the order the resources
+             * were specified; a series is emitted once all the windows of its resource have been retrieved
+             */
+            @Method
+            Observable<ResourceMetricSeries> executeAsync();
+        }
+    }
+}
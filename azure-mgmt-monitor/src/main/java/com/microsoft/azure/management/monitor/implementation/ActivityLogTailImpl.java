@@ -0,0 +1,306 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.monitor.implementation;
+
+import com.microsoft.azure.Page;
+import com.microsoft.azure.management.apigeneration.LangDefinition;
+import com.microsoft.azure.management.monitor.ActivityLogCheckpoint;
+import com.microsoft.azure.management.monitor.ActivityLogTail;
+import com.microsoft.azure.management.monitor.ActivityLogs;
+import com.microsoft.azure.management.monitor.EventData;
+import com.microsoft.azure.management.monitor.EventDataPropertyName;
+import org.apache.commons.lang3.StringUtils;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.Period;
+import org.joda.time.format.ISODateTimeFormat;
+import rx.Observable;
+import rx.functions.Action0;
+import rx.functions.Func0;
+import rx.functions.Func1;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation for {@link ActivityLogTail}.
+ */
+@LangDefinition
+class ActivityLogTailImpl
+    implements ActivityLogTail,
+        ActivityLogs.ActivityLogTailDefinition {
+
+    private final MonitorManager myManager;
+    private final TreeSet<String> responsePropertySelector = new TreeSet<>();
+    private String filterString = "";
+    private boolean filterForTenant;
+    private Period lateArrivalWindow = DEFAULT_LATE_ARRIVAL_WINDOW;
+    private int maxTrackedEvents = DEFAULT_MAX_TRACKED_EVENTS;
+
+    // The earliest timestamp to query, set only when starting from a point in time
+    private long lowerBoundInMillis = Long.MIN_VALUE;
+    // Raised only when a poll completes, so that a failed poll is read again from the same point
+    private long highWaterMarkInMillis;
+    // The latest timestamp of the events no longer tracked, set when more events than tracked fall in the window
+    private long forgottenUpToInMillis = Long.MIN_VALUE;
+    // The ids of the events returned within the late arrival window, in the order they were returned
+    private LinkedHashMap<String, Long> recentEvents = new LinkedHashMap<>();
+
+    ActivityLogTailImpl(final MonitorManager monitorManager) {
+        this.myManager = monitorManager;
+    }
+
+    @Override
+    public ActivityLogTailImpl startingFrom(DateTime startTime) {
+        this.lowerBoundInMillis = startTime.getMillis();
+        this.highWaterMarkInMillis = startTime.getMillis();
+        return this;
+    }
+
+    @Override
+    public ActivityLogTailImpl resumingFrom(ActivityLogCheckpoint checkpoint) {
+        this.highWaterMarkInMillis = checkpoint.highWaterMarkInMillis();
+        this.forgottenUpToInMillis = checkpoint.forgottenUpToInMillis();
+        this.recentEvents = new LinkedHashMap<>(checkpoint.recentEvents());
+        return this;
+    }
+
+    @Override
+    public ActivityLogTailImpl withResponseProperties(EventDataPropertyName... responseProperties) {
+        this.responsePropertySelector.clear();
+        for (EventDataPropertyName responseProperty : responseProperties) {
+            this.responsePropertySelector.add(responseProperty.toString());
+        }
+        // the tail needs both to find the new events
+        this.responsePropertySelector.add(EventDataPropertyName.EVENTDATAID.toString());
+        this.responsePropertySelector.add(EventDataPropertyName.EVENTTIMESTAMP.toString());
+        return this;
+    }
+
+    @Override
+    public ActivityLogTailImpl withAllPropertiesInResponse() {
+        this.responsePropertySelector.clear();
+        return this;
+    }
+
+    @Override
+    public ActivityLogTailImpl filterByResourceGroup(String resourceGroupName) {
+        this.filterString = String.format(" and resourceGroupName eq '%s'", resourceGroupName);
+        return this;
+    }
+
+    @Override
+    public ActivityLogTailImpl filterByResource(String resourceId) {
+        this.filterString = String.format(" and resourceUri eq '%s'", resourceId);
+        return this;
+    }
+
+    @Override
+    public ActivityLogTailImpl filterByResourceProvider(String resourceProviderName) {
+        this.filterString = String.format(" and resourceProvider eq '%s'", resourceProviderName);
+        return this;
+    }
+
+    @Override
+    public ActivityLogTailImpl filterAtTenantLevel() {
+        this.filterForTenant = true;
+        return this;
+    }
+
+    @Override
+    public ActivityLogTailImpl withLateArrivalWindow(Period lateArrivalWindow) {
+        this.lateArrivalWindow = lateArrivalWindow;
+        return this;
+    }
+
+    @Override
+    public ActivityLogTailImpl withMaxTrackedEvents(int maxTrackedEvents) {
+        if (maxTrackedEvents < 1) {
+            throw new IllegalArgumentException("maxTrackedEvents must be at least 1");
+        }
+        this.maxTrackedEvents = maxTrackedEvents;
+        return this;
+    }
+
+    @Override
+    public ActivityLogTailImpl create() {
+        return this;
+    }
+
+    @Override
+    public List<EventData> poll() {
+        return this.pollAsync().toList().toBlocking().single();
+    }
+
+    @Override
+    public Observable<EventData> pollAsync() {
+        return Observable.defer(new Func0<Observable<EventData>>() {
+            @Override
+            public Observable<EventData> call() {
+                final Poll poll = new Poll();
+                String filter = beginPoll(DateTime.now());
+                Observable<Page<EventDataInner>> pages = filterForTenant
+                        ? myManager.inner().tenantActivityLogs().listAsync(filter, createPropertyFilter())
+                        : myManager.inner().activityLogs().listAsync(filter, createPropertyFilter());
+                return pages.concatMapIterable(new Func1<Page<EventDataInner>, Iterable<EventDataInner>>() {
+                    @Override
+                    public Iterable<EventDataInner> call(Page<EventDataInner> page) {
+                        return page.items();
+                    }
+                }).filter(new Func1<EventDataInner, Boolean>() {
+                    @Override
+                    public Boolean call(EventDataInner eventDataInner) {
+                        return accept(eventDataInner, poll);
+                    }
+                }).map(new Func1<EventDataInner, EventData>() {
+                    @Override
+                    public EventData call(EventDataInner eventDataInner) {
+                        return new EventDataImpl(eventDataInner);
+                    }
+                }).doOnCompleted(new Action0() {
+                    @Override
+                    public void call() {
+                        completePoll(poll);
+                    }
+                });
+            }
+        });
+    }
+
+    @Override
+    public Observable<EventData> follow(Period pollInterval) {
+        return Observable.interval(0, pollInterval.toStandardDuration().getMillis(), TimeUnit.MILLISECONDS)
+                .onBackpressureDrop()
+                .concatMap(new Func1<Long, Observable<EventData>>() {
+                    @Override
+                    public Observable<EventData> call(Long tick) {
+                        return pollAsync();
+                    }
+                });
+    }
+
+    @Override
+    public synchronized ActivityLogCheckpoint checkpoint() {
+        return new ActivityLogCheckpoint(this.highWaterMarkInMillis, this.forgottenUpToInMillis, this.recentEvents);
+    }
+
+    /**
+     * Forgets the events that can no longer be returned and builds the filter of a poll.
+     *
+     * @param now the time of the poll
+     * @return the filter of the poll
+     */
+    private synchronized String beginPoll(DateTime now) {
+        long fromInMillis = Math.max(this.lowerBoundInMillis,
+                this.highWaterMarkInMillis - this.lateArrivalWindow.toStandardDuration().getMillis());
+        if (this.forgottenUpToInMillis != Long.MIN_VALUE) {
+            fromInMillis = Math.max(fromInMillis, this.forgottenUpToInMillis + 1);
+        }
+        Iterator<Map.Entry<String, Long>> iterator = this.recentEvents.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getValue() < fromInMillis) {
+                iterator.remove();
+            }
+        }
+        String filter = String.format("eventTimestamp ge '%s' and eventTimestamp le '%s'",
+                new DateTime(fromInMillis, DateTimeZone.UTC).toString(ISODateTimeFormat.dateTime()),
+                now.withZone(DateTimeZone.UTC).toString(ISODateTimeFormat.dateTime()));
+        if (this.filterForTenant) {
+            return filter + this.filterString + " and eventChannels eq 'Admin, Operation'";
+        }
+        return filter + this.filterString;
+    }
+
+    /**
+     * Records an event of a poll.
+     *
+     * @param eventDataInner the event
+     * @param poll the poll returning the event
+     * @return true if the event was not returned before
+     */
+    private synchronized boolean accept(EventDataInner eventDataInner, Poll poll) {
+        String eventDataId = eventDataInner.eventDataId();
+        long timestamp = eventDataInner.eventTimestamp() == null
+                ? this.highWaterMarkInMillis
+                : eventDataInner.eventTimestamp().getMillis();
+        poll.latestTimestampInMillis = Math.max(poll.latestTimestampInMillis, timestamp);
+        if (eventDataId != null) {
+            if (this.recentEvents.containsKey(eventDataId)) {
+                return false;
+            }
+            if (timestamp <= this.forgottenUpToInMillis) {
+                // the ids of this range were dropped, the event may have been returned already
+                return false;
+            }
+            // the ids are only forgotten once the poll completes: the events come newest first, forgetting
+            // the oldest ids seen so far would skip the older events of the pages not read yet
+            this.recentEvents.put(eventDataId, timestamp);
+        }
+        return true;
+    }
+
+    /**
+     * Moves the high-water mark past the events of a poll that read all its pages, and forgets the oldest
+     * ids if more than the maximum are tracked.
+     *
+     * @param poll the completed poll
+     */
+    private synchronized void completePoll(Poll poll) {
+        this.highWaterMarkInMillis = Math.max(this.highWaterMarkInMillis, poll.latestTimestampInMillis);
+        if (this.recentEvents.size() > this.maxTrackedEvents) {
+            forgetOldestEvents();
+        }
+    }
+
+    /**
+     * Drops the oldest quarter of the tracked ids, and with them the time range they cover: events of that
+     * range are skipped from now on instead of being returned again.
+     * <p>
+     * Called when a poll has read all its pages, the range then only holds events already returned, apart
+     * from those indexed later still, for which the late arrival window is in effect shortened.
+     */
+    private void forgetOldestEvents() {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(this.recentEvents.entrySet());
+        Collections.sort(entries, new Comparator<Map.Entry<String, Long>>() {
+            @Override
+            public int compare(Map.Entry<String, Long> left, Map.Entry<String, Long> right) {
+                return left.getValue().compareTo(right.getValue());
+            }
+        });
+        int toForget = Math.min(entries.size() - 1,
+                Math.max(1, this.recentEvents.size() - this.maxTrackedEvents * 3 / 4));
+        this.forgottenUpToInMillis = Math.max(this.forgottenUpToInMillis, entries.get(toForget - 1).getValue());
+        Iterator<Map.Entry<String, Long>> iterator = this.recentEvents.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getValue() <= this.forgottenUpToInMillis) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private String createPropertyFilter() {
+        String propertyFilter = StringUtils.join(this.responsePropertySelector, ',');
+        if (propertyFilter != null && propertyFilter.trim().isEmpty()) {
+            propertyFilter = null;
+        }
+        return propertyFilter;
+    }
+
+    /**
+     * The state of a single poll.
+     */
+    private static final class Poll {
+        private long latestTimestampInMillis = Long.MIN_VALUE;
+    }
+}
@@ -94,6 +94,11 @@ class ActivityLogsImpl
         return this;
     }
 
+    @Override
+    public ActivityLogTailDefinitionStages.WithTailStartingPoint defineTail() {
+        return new ActivityLogTailImpl(this.myManager);
+    }
+
     @Override
     public ActivityLogsImpl startingFrom(DateTime startTime) {
         this.queryStartTime = startTime;
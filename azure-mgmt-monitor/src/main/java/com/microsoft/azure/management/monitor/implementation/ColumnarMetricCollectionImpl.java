@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.monitor.implementation;
+
+import com.microsoft.azure.management.apigeneration.LangDefinition;
+import com.microsoft.azure.management.monitor.ColumnarMetric;
+import com.microsoft.azure.management.monitor.ColumnarMetricCollection;
+import org.joda.time.Period;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Implementation for ColumnarMetricCollection.
+ */
+@LangDefinition
+final class ColumnarMetricCollectionImpl implements ColumnarMetricCollection {
+    private final String namespace;
+    private final String resourceRegion;
+    private final Double cost;
+    private final String timespan;
+    private final Period interval;
+    private final List<ColumnarMetric> metrics;
+
+    ColumnarMetricCollectionImpl(String namespace, String resourceRegion, Double cost, String timespan,
+                                 Period interval, List<ColumnarMetric> metrics) {
+        this.namespace = namespace;
+        this.resourceRegion = resourceRegion;
+        this.cost = cost;
+        this.timespan = timespan;
+        this.interval = interval;
+        this.metrics = Collections.unmodifiableList(metrics);
+    }
+
+    @Override
+    public String namespace() {
+        return this.namespace;
+    }
+
+    @Override
+    public String resourceRegion() {
+        return this.resourceRegion;
+    }
+
+    @Override
+    public Double cost() {
+        return this.cost;
+    }
+
+    @Override
+    public String timespan() {
+        return this.timespan;
+    }
+
+    @Override
+    public Period interval() {
+        return this.interval;
+    }
+
+    @Override
+    public List<ColumnarMetric> metrics() {
+        return this.metrics;
+    }
+}
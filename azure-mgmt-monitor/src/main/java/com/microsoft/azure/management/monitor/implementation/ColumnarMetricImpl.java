@@ -0,0 +1,61 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.monitor.implementation;
+
+import com.microsoft.azure.management.apigeneration.LangDefinition;
+import com.microsoft.azure.management.monitor.ColumnarMetric;
+import com.microsoft.azure.management.monitor.ColumnarTimeSeries;
+import com.microsoft.azure.management.monitor.LocalizableString;
+import com.microsoft.azure.management.monitor.Unit;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Implementation for ColumnarMetric.
+ */
+@LangDefinition
+final class ColumnarMetricImpl implements ColumnarMetric {
+    private final String id;
+    private final String type;
+    private final LocalizableString name;
+    private final Unit unit;
+    private final List<ColumnarTimeSeries> timeseries;
+
+    ColumnarMetricImpl(String id, String type, LocalizableStringInner name, Unit unit, List<ColumnarTimeSeries> timeseries) {
+        this.id = id;
+        this.type = type;
+        this.name = name == null ? null : new LocalizableStringImpl(name);
+        this.unit = unit;
+        this.timeseries = Collections.unmodifiableList(timeseries);
+    }
+
+    @Override
+    public String id() {
+        return this.id;
+    }
+
+    @Override
+    public String type() {
+        return this.type;
+    }
+
+    @Override
+    public LocalizableString name() {
+        return this.name;
+    }
+
+    @Override
+    public Unit unit() {
+        return this.unit;
+    }
+
+    @Override
+    public List<ColumnarTimeSeries> timeseries() {
+        return this.timeseries;
+    }
+}
@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.monitor.implementation;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.google.common.reflect.TypeToken;
+import com.microsoft.azure.management.monitor.ColumnarMetricCollection;
+import com.microsoft.azure.management.monitor.ErrorResponseException;
+import com.microsoft.azure.management.monitor.ResultType;
+import okhttp3.ResponseBody;
+import org.joda.time.Period;
+import retrofit2.Response;
+import retrofit2.http.GET;
+import retrofit2.http.Header;
+import retrofit2.http.Headers;
+import retrofit2.http.Path;
+import retrofit2.http.Query;
+import retrofit2.http.Streaming;
+import rx.Observable;
+import rx.exceptions.Exceptions;
+import rx.functions.Func1;
+
+import java.io.IOException;
+
+/**
+ * Queries metric values and parses the response body as it is read into a {@link ColumnarMetricCollection},
+ * bypassing the deserialization into {@link ResponseInner}.
+ */
+final class ColumnarMetricsClient {
+    private static final String API_VERSION = "2018-01-01";
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final MonitorManagementClientImpl client;
+    private final ColumnarMetricsService service;
+
+    /**
+     * The Retrofit service for the metrics list operation, returning the body unbuffered.
+     */
+    interface ColumnarMetricsService {
+        @Headers({ "Content-Type: application/json; charset=utf-8", "x-ms-logging-context: com.microsoft.azure.management.monitor.Metrics listColumnar" })
+        @GET("{resourceUri}/providers/microsoft.insights/metrics")
+        @Streaming
+        Observable<Response<ResponseBody>> list(@Path(value = "resourceUri", encoded = true) String resourceUri, @Query("timespan") String timespan, @Query("interval") Period interval, @Query("metricnames") String metricnames, @Query("aggregation") String aggregation, @Query("top") Integer top, @Query("orderby") String orderby, @Query("$filter") String filter, @Query("resultType") ResultType resultType, @Query("api-version") String apiVersion, @Query("metricnamespace") String metricnamespace, @Header("accept-language") String acceptLanguage, @Header("User-Agent") String userAgent);
+    }
+
+    ColumnarMetricsClient(MonitorManagementClientImpl client) {
+        this.client = client;
+        this.service = client.retrofit().create(ColumnarMetricsService.class);
+    }
+
+    /**
+     * Lists the metric values for a resource as columns.
+     *
+     * @param resourceUri the identifier of the resource
+     * @param timespan the timespan of the query, formatted as 'startDateTime_ISO/endDateTime_ISO'
+     * @param interval the interval of the query
+     * @param metricnames the names of the metrics to retrieve
+     * @param aggregation the list of aggregation types (comma separated) to retrieve
+     * @param top the maximum number of records to retrieve
+     * @param orderby the aggregation to use for sorting results
+     * @param filter the $filter used to reduce the set of metric data returned
+     * @param resultType the result type
+     * @param metricnamespace the metric namespace to query metric definitions for
+     * @return an observable emitting the columnar metric collection
+     */
+    Observable<ColumnarMetricCollection> listAsync(String resourceUri, String timespan, Period interval, String metricnames,
+                                                   String aggregation, Integer top, String orderby, String filter,
+                                                   ResultType resultType, String metricnamespace) {
+        if (resourceUri == null) {
+            throw new IllegalArgumentException("Parameter resourceUri is required and cannot be null.");
+        }
+        return service.list(resourceUri, timespan, interval, metricnames, aggregation, top, orderby, filter, resultType,
+                API_VERSION, metricnamespace, client.acceptLanguage(), client.userAgent())
+                .map(new Func1<Response<ResponseBody>, ColumnarMetricCollection>() {
+                    @Override
+                    public ColumnarMetricCollection call(Response<ResponseBody> response) {
+                        try {
+                            return parse(response);
+                        } catch (Throwable t) {
+                            throw Exceptions.propagate(t);
+                        }
+                    }
+                });
+    }
+
+    private ColumnarMetricCollection parse(Response<ResponseBody> response) throws ErrorResponseException, IOException {
+        if (response.code() != 200) {
+            // Let the regular response builder raise the service error
+            client.restClient().responseBuilderFactory().<ResponseInner, ErrorResponseException>newInstance(client.serializerAdapter())
+                    .register(200, new TypeToken<ResponseInner>() { }.getType())
+                    .registerError(ErrorResponseException.class)
+                    .build(response);
+            throw new IOException("Unexpected status code " + response.code() + " listing metrics");
+        }
+        try (ResponseBody body = response.body()) {
+            return new ColumnarMetricsParser(JSON_FACTORY).parse(body.byteStream());
+        }
+    }
+}
@@ -0,0 +1,257 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.monitor.implementation;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.microsoft.azure.management.monitor.AggregationType;
+import com.microsoft.azure.management.monitor.ColumnarMetric;
+import com.microsoft.azure.management.monitor.ColumnarMetricCollection;
+import com.microsoft.azure.management.monitor.ColumnarTimeSeries;
+import com.microsoft.azure.management.monitor.MetadataValue;
+import com.microsoft.azure.management.monitor.Unit;
+import org.joda.time.Period;
+import org.joda.time.format.DateTimeFormatter;
+import org.joda.time.format.ISODateTimeFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses the response of a metrics query straight into columns, with no intermediate
+ * {@link ResponseInner}, {@link com.microsoft.azure.management.monitor.MetricValue} or DateTime objects.
+ */
+final class ColumnarMetricsParser {
+    private static final DateTimeFormatter TIMESTAMP_PARSER = ISODateTimeFormat.dateTimeParser().withOffsetParsed();
+
+    private final JsonFactory jsonFactory;
+
+    ColumnarMetricsParser(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    ColumnarMetricCollection parse(InputStream body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+            String namespace = null;
+            String resourceRegion = null;
+            Double cost = null;
+            String timespan = null;
+            Period interval = null;
+            List<ColumnarMetric> metrics = new ArrayList<>();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                switch (field) {
+                    case "namespace":
+                        namespace = parser.getText();
+                        break;
+                    case "resourceregion":
+                        resourceRegion = parser.getText();
+                        break;
+                    case "cost":
+                        cost = parser.getValueAsDouble();
+                        break;
+                    case "timespan":
+                        timespan = parser.getText();
+                        break;
+                    case "interval":
+                        interval = Period.parse(parser.getText());
+                        break;
+                    case "value":
+                        expect(parser, token, JsonToken.START_ARRAY);
+                        while (parser.nextToken() == JsonToken.START_OBJECT) {
+                            metrics.add(parseMetric(parser));
+                        }
+                        break;
+                    default:
+                        parser.skipChildren();
+                        break;
+                }
+            }
+            return new ColumnarMetricCollectionImpl(namespace, resourceRegion, cost, timespan, interval, metrics);
+        }
+    }
+
+    private static ColumnarMetric parseMetric(JsonParser parser) throws IOException {
+        String id = null;
+        String type = null;
+        LocalizableStringInner name = null;
+        Unit unit = null;
+        List<ColumnarTimeSeries> timeseries = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "id":
+                    id = parser.getText();
+                    break;
+                case "type":
+                    type = parser.getText();
+                    break;
+                case "name":
+                    name = parseLocalizableString(parser);
+                    break;
+                case "unit":
+                    unit = Unit.fromString(parser.getText());
+                    break;
+                case "timeseries":
+                    expect(parser, token, JsonToken.START_ARRAY);
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        timeseries.add(parseTimeSeries(parser));
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        return new ColumnarMetricImpl(id, type, name, unit, timeseries);
+    }
+
+    private static ColumnarTimeSeries parseTimeSeries(JsonParser parser) throws IOException {
+        ColumnarTimeSeriesImpl timeSeries = new ColumnarTimeSeriesImpl();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "metadatavalues":
+                    expect(parser, token, JsonToken.START_ARRAY);
+                    List<MetadataValue> metadataValues = new ArrayList<>();
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        metadataValues.add(parseMetadataValue(parser));
+                    }
+                    timeSeries.setMetadataValues(metadataValues);
+                    break;
+                case "data":
+                    expect(parser, token, JsonToken.START_ARRAY);
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        parsePoint(parser, timeSeries);
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        return timeSeries.complete();
+    }
+
+    private static void parsePoint(JsonParser parser, ColumnarTimeSeriesImpl timeSeries) throws IOException {
+        // "timeStamp" is required and comes first in the service responses, the values seen before it are held here
+        boolean added = false;
+        AggregationType[] pendingTypes = null;
+        double[] pendingValues = null;
+        int pending = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            if ("timeStamp".equals(field)) {
+                timeSeries.addPoint(TIMESTAMP_PARSER.parseMillis(parser.getText()));
+                added = true;
+                for (int i = 0; i < pending; i++) {
+                    timeSeries.setValue(pendingTypes[i], pendingValues[i]);
+                }
+                continue;
+            }
+            AggregationType aggregation = aggregationOf(field);
+            if (aggregation == null) {
+                parser.skipChildren();
+            } else if (added) {
+                timeSeries.setValue(aggregation, parser.getValueAsDouble());
+            } else {
+                if (pendingTypes == null) {
+                    pendingTypes = new AggregationType[AggregationType.values().length];
+                    pendingValues = new double[pendingTypes.length];
+                }
+                pendingTypes[pending] = aggregation;
+                pendingValues[pending++] = parser.getValueAsDouble();
+            }
+        }
+        if (!added) {
+            throw new IOException("Metric value without timeStamp at " + parser.getCurrentLocation());
+        }
+    }
+
+    private static AggregationType aggregationOf(String field) {
+        switch (field) {
+            case "average":
+                return AggregationType.AVERAGE;
+            case "minimum":
+                return AggregationType.MINIMUM;
+            case "maximum":
+                return AggregationType.MAXIMUM;
+            case "total":
+                return AggregationType.TOTAL;
+            case "count":
+                return AggregationType.COUNT;
+            default:
+                return null;
+        }
+    }
+
+    private static MetadataValue parseMetadataValue(JsonParser parser) throws IOException {
+        MetadataValue metadataValue = new MetadataValue();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            if ("name".equals(field)) {
+                metadataValue.withName(parseLocalizableString(parser));
+            } else if ("value".equals(field)) {
+                metadataValue.withValue(parser.getText());
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return metadataValue;
+    }
+
+    private static LocalizableStringInner parseLocalizableString(JsonParser parser) throws IOException {
+        expect(parser, parser.getCurrentToken(), JsonToken.START_OBJECT);
+        LocalizableStringInner localizableString = new LocalizableStringInner();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            if ("value".equals(field)) {
+                localizableString.withValue(parser.getText());
+            } else if ("localizedValue".equals(field)) {
+                localizableString.withLocalizedValue(parser.getText());
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return localizableString;
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException(String.format("Unexpected %s in metrics response at %s, expected %s",
+                    actual, parser.getCurrentLocation(), expected));
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.monitor.implementation;
+
+import com.microsoft.azure.management.apigeneration.LangDefinition;
+import com.microsoft.azure.management.monitor.AggregationType;
+import com.microsoft.azure.management.monitor.ColumnarTimeSeries;
+import com.microsoft.azure.management.monitor.MetadataValue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation for ColumnarTimeSeries, also the builder filling the columns while the response is parsed.
+ */
+@LangDefinition
+final class ColumnarTimeSeriesImpl implements ColumnarTimeSeries {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private List<MetadataValue> metadataValues = Collections.emptyList();
+    private final Map<AggregationType, double[]> columns = new EnumMap<>(AggregationType.class);
+    private long[] timestamps = new long[INITIAL_CAPACITY];
+    private int size;
+
+    @Override
+    public List<MetadataValue> metadataValues() {
+        return this.metadataValues;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public long[] timestamps() {
+        return this.timestamps;
+    }
+
+    @Override
+    public double[] values(AggregationType aggregation) {
+        return this.columns.get(aggregation);
+    }
+
+    @Override
+    public boolean hasValue(AggregationType aggregation, int index) {
+        double[] column = this.columns.get(aggregation);
+        return column != null && !Double.isNaN(column[index]);
+    }
+
+    void setMetadataValues(List<MetadataValue> metadataValues) {
+        this.metadataValues = Collections.unmodifiableList(metadataValues);
+    }
+
+    /**
+     * Appends a point, its values are set with {@link #setValue(AggregationType, double)}.
+     *
+     * @param timestamp the timestamp of the point in milliseconds since the epoch
+     */
+    void addPoint(long timestamp) {
+        if (this.size == this.timestamps.length) {
+            int capacity = Math.max(INITIAL_CAPACITY, this.size * 2);
+            this.timestamps = Arrays.copyOf(this.timestamps, capacity);
+            for (Map.Entry<AggregationType, double[]> column : this.columns.entrySet()) {
+                column.setValue(grow(column.getValue(), capacity));
+            }
+        }
+        this.timestamps[this.size++] = timestamp;
+    }
+
+    /**
+     * Sets a value of the last point.
+     *
+     * @param aggregation the aggregation type
+     * @param value the value
+     */
+    void setValue(AggregationType aggregation, double value) {
+        double[] column = this.columns.get(aggregation);
+        if (column == null) {
+            column = grow(new double[0], this.timestamps.length);
+            this.columns.put(aggregation, column);
+        }
+        column[this.size - 1] = value;
+    }
+
+    /**
+     * Appends the points of another time series that come after the last point of this one.
+     *
+     * @param other the time series to append
+     */
+    void append(ColumnarTimeSeries other) {
+        long[] otherTimestamps = other.timestamps();
+        for (int i = 0; i < other.size(); i++) {
+            if (this.size > 0 && otherTimestamps[i] <= this.timestamps[this.size - 1]) {
+                // Adjacent windows may both return the point at their boundary
+                continue;
+            }
+            this.addPoint(otherTimestamps[i]);
+            for (AggregationType aggregation : AggregationType.values()) {
+                double[] column = other.values(aggregation);
+                if (column != null && !Double.isNaN(column[i])) {
+                    this.setValue(aggregation, column[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Trims the columns to the number of points.
+     *
+     * @return the time series
+     */
+    ColumnarTimeSeriesImpl complete() {
+        if (this.timestamps.length != this.size) {
+            this.timestamps = Arrays.copyOf(this.timestamps, this.size);
+            for (Map.Entry<AggregationType, double[]> column : this.columns.entrySet()) {
+                column.setValue(Arrays.copyOf(column.getValue(), this.size));
+            }
+        }
+        return this;
+    }
+
+    private static double[] grow(double[] column, int capacity) {
+        double[] grown = Arrays.copyOf(column, capacity);
+        Arrays.fill(grown, column.length, capacity, Double.NaN);
+        return grown;
+    }
+}
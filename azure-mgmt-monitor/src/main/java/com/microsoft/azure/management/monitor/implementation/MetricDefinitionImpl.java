@@ -8,6 +8,7 @@ package com.microsoft.azure.management.monitor.implementation;
 import com.microsoft.azure.management.apigeneration.LangDefinition;
 import com.microsoft.azure.management.apigeneration.LangMethodDefinition;
 import com.microsoft.azure.management.monitor.AggregationType;
+import com.microsoft.azure.management.monitor.ColumnarMetricCollection;
 import com.microsoft.azure.management.monitor.LocalizableString;
 import com.microsoft.azure.management.monitor.MetricAvailability;
 import com.microsoft.azure.management.monitor.MetricCollection;
@@ -184,6 +185,25 @@ class MetricDefinitionImpl
         return this;
     }
 
+    @Override
+    public ColumnarMetricCollection executeColumnar() {
+        return this.executeColumnarAsync().toBlocking().last();
+    }
+
+    @Override
+    public Observable<ColumnarMetricCollection> executeColumnarAsync() {
+        return this.manager().columnarMetricsClient().listAsync(this.inner.resourceId(),
+                this.queryTimespan(),
+                this.interval,
+                this.inner.name().value(),
+                this.aggreagation,
+                this.top,
+                this.orderBy,
+                this.odataFilter,
+                this.resultType,
+                this.namespaceFilter);
+    }
+
     @Override
     public MetricCollection execute() {
         return this.executeAsync().toBlocking().last();
@@ -192,9 +212,7 @@ class MetricDefinitionImpl
     @Override
     public Observable<MetricCollection> executeAsync() {
         return this.manager().inner().metrics().listAsync(this.inner.resourceId(),
-                String.format("%s/%s",
-                        this.queryStartTime.withZone(DateTimeZone.UTC).toString(ISODateTimeFormat.dateTime()),
-                        this.queryEndTime.withZone(DateTimeZone.UTC).toString(ISODateTimeFormat.dateTime())),
+                this.queryTimespan(),
                 this.interval,
                 this.inner.name().value(),
                 this.aggreagation,
@@ -209,4 +227,10 @@ class MetricDefinitionImpl
                     }
                 });
     }
+
+    private String queryTimespan() {
+        return String.format("%s/%s",
+                this.queryStartTime.withZone(DateTimeZone.UTC).toString(ISODateTimeFormat.dateTime()),
+                this.queryEndTime.withZone(DateTimeZone.UTC).toString(ISODateTimeFormat.dateTime()));
+    }
 }
@@ -0,0 +1,349 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.monitor.implementation;
+
+import com.microsoft.azure.management.apigeneration.LangDefinition;
+import com.microsoft.azure.management.monitor.ColumnarMetric;
+import com.microsoft.azure.management.monitor.ColumnarMetricCollection;
+import com.microsoft.azure.management.monitor.ColumnarTimeSeries;
+import com.microsoft.azure.management.monitor.MetadataValue;
+import com.microsoft.azure.management.monitor.MetricsBatchQuery;
+import com.microsoft.azure.management.monitor.ResourceMetricSeries;
+import com.microsoft.azure.management.resources.fluentcore.utils.SdkContext;
+import com.microsoft.rest.RestException;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.Period;
+import org.joda.time.format.ISODateTimeFormat;
+import rx.Observable;
+import rx.functions.Func0;
+import rx.functions.Func1;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation for MetricsBatchQuery.
+ */
+@LangDefinition
+class MetricsBatchQueryImpl
+        implements
+            MetricsBatchQuery,
+            MetricsBatchQuery.Definition {
+    private static final Period DEFAULT_INTERVAL = Period.minutes(1);
+    private static final int MAX_RETRIES = 5;
+    private static final long DEFAULT_RETRY_DELAY_IN_MILLIS = 1000;
+
+    private final MonitorManager manager;
+    private List<String> resourceIds;
+    private List<String> metricNames;
+    private DateTime startTime;
+    private DateTime endTime;
+    private Period interval = DEFAULT_INTERVAL;
+    private String aggregation;
+    private String metricNamespace;
+    private String odataFilter;
+    private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+    private int maxDataPointsPerCall = DEFAULT_MAX_DATA_POINTS_PER_CALL;
+
+    MetricsBatchQueryImpl(MonitorManager manager) {
+        this.manager = manager;
+    }
+
+    @Override
+    public MetricsBatchQueryImpl forResources(List<String> resourceIds) {
+        this.resourceIds = new ArrayList<>(resourceIds);
+        return this;
+    }
+
+    @Override
+    public MetricsBatchQueryImpl withMetricNames(List<String> metricNames) {
+        if (metricNames.isEmpty()) {
+            throw new IllegalArgumentException("At least one metric name is required");
+        }
+        this.metricNames = new ArrayList<>(metricNames);
+        return this;
+    }
+
+    @Override
+    public MetricsBatchQueryImpl startingFrom(DateTime startTime) {
+        this.startTime = startTime;
+        return this;
+    }
+
+    @Override
+    public MetricsBatchQueryImpl endsBefore(DateTime endTime) {
+        if (!endTime.isAfter(this.startTime)) {
+            throw new IllegalArgumentException("The end time must be after the start time");
+        }
+        this.endTime = endTime;
+        return this;
+    }
+
+    @Override
+    public MetricsBatchQueryImpl withInterval(Period interval) {
+        this.interval = interval;
+        return this;
+    }
+
+    @Override
+    public MetricsBatchQueryImpl withAggregation(String aggregation) {
+        this.aggregation = aggregation;
+        return this;
+    }
+
+    @Override
+    public MetricsBatchQueryImpl withMetricNamespace(String metricNamespace) {
+        this.metricNamespace = metricNamespace;
+        return this;
+    }
+
+    @Override
+    public MetricsBatchQueryImpl withOdataFilter(String odataFilter) {
+        this.odataFilter = odataFilter;
+        return this;
+    }
+
+    @Override
+    public MetricsBatchQueryImpl withMaxConcurrency(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        }
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    @Override
+    public MetricsBatchQueryImpl withMaxDataPointsPerCall(int maxDataPointsPerCall) {
+        if (maxDataPointsPerCall < 1) {
+            throw new IllegalArgumentException("maxDataPointsPerCall must be at least 1");
+        }
+        this.maxDataPointsPerCall = maxDataPointsPerCall;
+        return this;
+    }
+
+    @Override
+    public List<ResourceMetricSeries> execute() {
+        return this.executeAsync().toList().toBlocking().single();
+    }
+
+    @Override
+    public Observable<ResourceMetricSeries> executeAsync() {
+        final List<String> timespans = this.splitTimeRange();
+        final List<String> metricNameBatches = this.batchMetricNames();
+        final MetricsCallLimiter limiter = new MetricsCallLimiter(this.maxConcurrency);
+        // The series of a resource are emitted together once all its calls complete, the calls of the
+        // resources following it may already be in flight
+        return Observable.from(this.resourceIds)
+                .concatMapEager(new Func1<String, Observable<ResourceMetricSeries>>() {
+                    @Override
+                    public Observable<ResourceMetricSeries> call(final String resourceId) {
+                        return Observable.from(metricNameBatches)
+                                .concatMapEager(new Func1<String, Observable<ResourceMetricSeries>>() {
+                                    @Override
+                                    public Observable<ResourceMetricSeries> call(String metricNames) {
+                                        return queryAsync(resourceId, metricNames, timespans, limiter);
+                                    }
+                                });
+                    }
+                }, this.maxConcurrency, this.maxConcurrency);
+    }
+
+    private Observable<ResourceMetricSeries> queryAsync(final String resourceId,
+                                                        final String metricNames,
+                                                        List<String> timespans,
+                                                        final MetricsCallLimiter limiter) {
+        final ColumnarMetricsClient client = this.manager.columnarMetricsClient();
+        return Observable.from(timespans)
+                .concatMapEager(new Func1<String, Observable<ColumnarMetricCollection>>() {
+                    @Override
+                    public Observable<ColumnarMetricCollection> call(final String timespan) {
+                        return limiter.limit(new Func0<Observable<ColumnarMetricCollection>>() {
+                            @Override
+                            public Observable<ColumnarMetricCollection> call() {
+                                return client.listAsync(resourceId, timespan, interval, metricNames, aggregation,
+                                        null, null, odataFilter, null, metricNamespace);
+                            }
+                        }).retryWhen(retryThrottled(limiter));
+                    }
+                })
+                .toList()
+                .flatMapIterable(new Func1<List<ColumnarMetricCollection>, Iterable<ResourceMetricSeries>>() {
+                    @Override
+                    public Iterable<ResourceMetricSeries> call(List<ColumnarMetricCollection> windows) {
+                        return merge(resourceId, windows);
+                    }
+                });
+    }
+
+    private static Func1<Observable<? extends Throwable>, Observable<?>> retryThrottled(final MetricsCallLimiter limiter) {
+        return new Func1<Observable<? extends Throwable>, Observable<?>>() {
+            @Override
+            public Observable<?> call(Observable<? extends Throwable> errors) {
+                return errors.flatMap(new Func1<Throwable, Observable<Integer>>() {
+                    private int attempt;
+
+                    @Override
+                    public Observable<Integer> call(Throwable throwable) {
+                        attempt++;
+                        long delay = throttlingDelayInMillis(throwable, attempt);
+                        if (delay < 0) {
+                            return Observable.error(throwable);
+                        }
+                        // Hold back the other calls too, they would most likely be throttled as well
+                        limiter.pause(delay);
+                        return SdkContext.delayedEmitAsync(attempt, (int) delay);
+                    }
+                });
+            }
+        };
+    }
+
+    /**
+     * Gets the delay before retrying a throttled call.
+     *
+     * @param throwable the error of the call
+     * @param attempt the number of the retry
+     * @return the delay in milliseconds, or -1 if the call should not be retried
+     */
+    private static long throttlingDelayInMillis(Throwable throwable, int attempt) {
+        if (attempt > MAX_RETRIES || !(throwable instanceof RestException)) {
+            return -1;
+        }
+        RestException exception = (RestException) throwable;
+        if (exception.response() == null
+                || (exception.response().code() != 429 && exception.response().code() != 503)) {
+            return -1;
+        }
+        String retryAfter = exception.response().headers().get("Retry-After");
+        if (retryAfter != null) {
+            try {
+                return Long.parseLong(retryAfter.trim()) * 1000;
+            } catch (NumberFormatException e) {
+                // fall back to exponential delay
+            }
+        }
+        return DEFAULT_RETRY_DELAY_IN_MILLIS << (attempt - 1);
+    }
+
+    /**
+     * Splits the time range into windows of at most maxDataPointsPerCall intervals.
+     *
+     * @return the timespans of the windows
+     */
+    List<String> splitTimeRange() {
+        if (this.resourceIds == null || this.metricNames == null || this.startTime == null || this.endTime == null) {
+            throw new IllegalStateException("The resources, metric names and time range are required");
+        }
+        long windowInMillis = this.interval.toStandardDuration().getMillis() * this.maxDataPointsPerCall;
+        List<String> timespans = new ArrayList<>();
+        DateTime windowStart = this.startTime;
+        while (windowStart.isBefore(this.endTime)) {
+            DateTime windowEnd = windowStart.plus(windowInMillis);
+            if (windowEnd.isAfter(this.endTime)) {
+                windowEnd = this.endTime;
+            }
+            timespans.add(String.format("%s/%s",
+                    windowStart.withZone(DateTimeZone.UTC).toString(ISODateTimeFormat.dateTime()),
+                    windowEnd.withZone(DateTimeZone.UTC).toString(ISODateTimeFormat.dateTime())));
+            windowStart = windowEnd;
+        }
+        return timespans;
+    }
+
+    List<String> batchMetricNames() {
+        List<String> batches = new ArrayList<>();
+        for (int i = 0; i < this.metricNames.size(); i += MAX_METRIC_NAMES_PER_CALL) {
+            StringBuilder batch = new StringBuilder();
+            for (String metricName : this.metricNames.subList(i, Math.min(i + MAX_METRIC_NAMES_PER_CALL, this.metricNames.size()))) {
+                if (batch.length() > 0) {
+                    batch.append(',');
+                }
+                batch.append(metricName);
+            }
+            batches.add(batch.toString());
+        }
+        return batches;
+    }
+
+    /**
+     * Merges the results of the windows of a resource, in time order, into one series per metric and time series.
+     *
+     * @param resourceId the resource id
+     * @param windows the results of the windows
+     * @return the merged series
+     */
+    private static List<ResourceMetricSeries> merge(String resourceId, List<ColumnarMetricCollection> windows) {
+        Map<String, MergedMetric> metrics = new LinkedHashMap<>();
+        for (ColumnarMetricCollection window : windows) {
+            for (ColumnarMetric metric : window.metrics()) {
+                String key = metric.name() == null ? metric.id() : metric.name().value();
+                MergedMetric merged = metrics.get(key);
+                if (merged == null) {
+                    merged = new MergedMetric(metric);
+                    metrics.put(key, merged);
+                }
+                merged.append(metric);
+            }
+        }
+        List<ResourceMetricSeries> series = new ArrayList<>(metrics.size());
+        for (MergedMetric merged : metrics.values()) {
+            series.add(new ResourceMetricSeriesImpl(resourceId, merged.toMetric()));
+        }
+        return series;
+    }
+
+    /**
+     * The time series of a metric accumulated across windows.
+     */
+    private static final class MergedMetric {
+        private final ColumnarMetric first;
+        private final Map<String, ColumnarTimeSeriesImpl> timeseries = new LinkedHashMap<>();
+
+        private MergedMetric(ColumnarMetric first) {
+            this.first = first;
+        }
+
+        private void append(ColumnarMetric metric) {
+            for (ColumnarTimeSeries series : metric.timeseries()) {
+                String key = keyOf(series.metadataValues());
+                ColumnarTimeSeriesImpl merged = this.timeseries.get(key);
+                if (merged == null) {
+                    merged = new ColumnarTimeSeriesImpl();
+                    merged.setMetadataValues(series.metadataValues());
+                    this.timeseries.put(key, merged);
+                }
+                merged.append(series);
+            }
+        }
+
+        private ColumnarMetric toMetric() {
+            List<ColumnarTimeSeries> completed = new ArrayList<>(this.timeseries.size());
+            for (ColumnarTimeSeriesImpl series : this.timeseries.values()) {
+                completed.add(series.complete());
+            }
+            return new ColumnarMetricImpl(first.id(),
+                    first.type(),
+                    first.name() == null ? null : first.name().inner(),
+                    first.unit(),
+                    completed);
+        }
+
+        private static String keyOf(List<MetadataValue> metadataValues) {
+            StringBuilder key = new StringBuilder();
+            for (MetadataValue metadataValue : metadataValues) {
+                key.append(metadataValue.name() == null ? null : metadataValue.name().value())
+                        .append('=')
+                        .append(metadataValue.value())
+                        .append('\n');
+            }
+            return key.toString();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.monitor.implementation;
+
+import rx.Observable;
+import rx.Subscriber;
+import rx.functions.Action0;
+import rx.functions.Func0;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Limits the number of service calls in flight, starting the waiting calls in the order they were queued.
+ * <p>
+ * When the service throttles a call, {@link #pause(long)} holds back the calls started until the requested
+ * delay has elapsed.
+ */
+final class MetricsCallLimiter {
+    private final int maxConcurrency;
+    private final Queue<Action0> waiters = new ArrayDeque<>();
+    private int running;
+    private long resumeAtMillis;
+
+    MetricsCallLimiter(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Wraps a call so that it is made only once a slot is free.
+     *
+     * @param call the factory creating the call
+     * @param <T> the type of the call result
+     * @return the limited call
+     */
+    <T> Observable<T> limit(final Func0<Observable<T>> call) {
+        return Observable.create(new Observable.OnSubscribe<T>() {
+            @Override
+            public void call(final Subscriber<? super T> subscriber) {
+                Action0 start = new Action0() {
+                    @Override
+                    public void call() {
+                        final AtomicBoolean released = new AtomicBoolean();
+                        Action0 release = new Action0() {
+                            @Override
+                            public void call() {
+                                if (released.compareAndSet(false, true)) {
+                                    release();
+                                }
+                            }
+                        };
+                        if (subscriber.isUnsubscribed()) {
+                            release.call();
+                            return;
+                        }
+                        Observable<T> observable = Observable.defer(call);
+                        long pause = pauseInMillis();
+                        if (pause > 0) {
+                            observable = observable.delaySubscription(pause, TimeUnit.MILLISECONDS);
+                        }
+                        observable
+                                .doOnTerminate(release)
+                                .doOnUnsubscribe(release)
+                                .subscribe(subscriber);
+                    }
+                };
+                synchronized (MetricsCallLimiter.this) {
+                    waiters.add(start);
+                }
+                drain();
+            }
+        });
+    }
+
+    /**
+     * Holds back the calls started in the given time from now.
+     *
+     * @param delayInMillis the delay requested by the service
+     */
+    synchronized void pause(long delayInMillis) {
+        this.resumeAtMillis = Math.max(this.resumeAtMillis, System.currentTimeMillis() + delayInMillis);
+    }
+
+    private synchronized long pauseInMillis() {
+        return this.resumeAtMillis - System.currentTimeMillis();
+    }
+
+    private void release() {
+        synchronized (this) {
+            running--;
+        }
+        drain();
+    }
+
+    private void drain() {
+        List<Action0> admitted = new ArrayList<>();
+        synchronized (this) {
+            while (running < maxConcurrency && !waiters.isEmpty()) {
+                running++;
+                admitted.add(waiters.poll());
+            }
+        }
+        for (Action0 start : admitted) {
+            start.call();
+        }
+    }
+}
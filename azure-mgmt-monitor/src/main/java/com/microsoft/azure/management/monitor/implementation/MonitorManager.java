@@ -17,6 +17,7 @@ import com.microsoft.azure.management.monitor.AlertRules;
 import com.microsoft.azure.management.monitor.AutoscaleSettings;
 import com.microsoft.azure.management.monitor.DiagnosticSettings;
 import com.microsoft.azure.management.monitor.MetricDefinitions;
+import com.microsoft.azure.management.monitor.MetricsBatchQuery;
 import com.microsoft.azure.management.resources.fluentcore.arm.AzureConfigurable;
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.AzureConfigurableImpl;
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.Manager;
@@ -36,6 +37,8 @@ public final class MonitorManager extends Manager<MonitorManager, MonitorManagem
     private ActionGroups actionGroups;
     private AlertRules alerts;
     private AutoscaleSettings autoscaleSettings;
+    // Clients
+    private ColumnarMetricsClient columnarMetricsClient;
 
     /**
     * Get a Configurable instance that can be used to create MonitorManager with optional configuration.
@@ -149,6 +152,27 @@ public final class MonitorManager extends Manager<MonitorManager, MonitorManagem
         return this.autoscaleSettings;
     }
 
+    /**
+     * Starts the definition of a metrics query over many resources, split into as many calls as the time range
+     * and the number of metric names require.
+     *
+     * @return the first stage of the metrics batch query definition
+     */
+    @Beta(SinceVersion.V1_30_0)
+    public MetricsBatchQuery.DefinitionStages.WithResources defineMetricsBatchQuery() {
+        return new MetricsBatchQueryImpl(this);
+    }
+
+    /**
+     * @return the client querying metric values as columns
+     */
+    ColumnarMetricsClient columnarMetricsClient() {
+        if (this.columnarMetricsClient == null) {
+            this.columnarMetricsClient = new ColumnarMetricsClient(this.inner());
+        }
+        return this.columnarMetricsClient;
+    }
+
     /**
     * The implementation for Configurable interface.
     */
@@ -0,0 +1,35 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.monitor.implementation;
+
+import com.microsoft.azure.management.apigeneration.LangDefinition;
+import com.microsoft.azure.management.monitor.ColumnarMetric;
+import com.microsoft.azure.management.monitor.ResourceMetricSeries;
+
+/**
+ * Implementation for ResourceMetricSeries.
+ */
+@LangDefinition
+final class ResourceMetricSeriesImpl implements ResourceMetricSeries {
+    private final String resourceId;
+    private final ColumnarMetric metric;
+
+    ResourceMetricSeriesImpl(String resourceId, ColumnarMetric metric) {
+        this.resourceId = resourceId;
+        this.metric = metric;
+    }
+
+    @Override
+    public String resourceId() {
+        return this.resourceId;
+    }
+
+    @Override
+    public ColumnarMetric metric() {
+        return this.metric;
+    }
+}
@@ -0,0 +1,248 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.monitor;
+
+import com.microsoft.azure.AzureResponseBuilder;
+import com.microsoft.azure.management.monitor.implementation.MonitorManager;
+import com.microsoft.azure.serializer.AzureJacksonAdapter;
+import com.microsoft.rest.RestClient;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.Period;
+import org.joda.time.format.ISODateTimeFormat;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+
+public class ActivityLogTailTests {
+    private static final String FAILURE = "!";
+    private static final String NEXT_LINK = "https://management.azure.com/next?page=2";
+
+    private final Deque<String> responses = new ArrayDeque<>();
+    private final List<String> filters = new ArrayList<>();
+    private MonitorManager manager;
+    private DateTime base;
+
+    @Before
+    public void setup() {
+        RestClient restClient = new RestClient.Builder()
+                .withBaseUrl("https://management.azure.com/")
+                .withSerializerAdapter(new AzureJacksonAdapter())
+                .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
+                .withInterceptor(new FakeActivityLogInterceptor())
+                .build();
+        manager = MonitorManager.authenticate(restClient, "00000000-0000-0000-0000-000000000000");
+        base = DateTime.now(DateTimeZone.UTC).minusHours(2).withMillisOfSecond(0);
+    }
+
+    @Test
+    public void canSkipEventsAlreadyReturned() {
+        ActivityLogTail tail = manager.activityLogs().defineTail()
+                .startingFrom(base)
+                .withAllPropertiesInResponse()
+                .create();
+
+        responses.add(page(null, event("e3", 30), event("e2", 20), event("e1", 10)));
+        Assert.assertEquals(Arrays.asList("e3", "e2", "e1"), ids(tail.poll()));
+        Assert.assertTrue(filters.get(0).startsWith("eventTimestamp ge '" + iso(0) + "'"));
+
+        responses.add(page(null, event("e4", 40), event("e3", 30), event("e2", 20)));
+        Assert.assertEquals(Arrays.asList("e4"), ids(tail.poll()));
+        // the high-water mark minus the default late arrival window of 15 minutes
+        Assert.assertTrue(filters.get(1).startsWith("eventTimestamp ge '" + iso(15) + "'"));
+        Assert.assertEquals(base.plusMinutes(40).getMillis(), tail.checkpoint().highWaterMarkInMillis());
+    }
+
+    @Test
+    public void canPruneEventsOutsideWindow() {
+        ActivityLogTail tail = manager.activityLogs().defineTail()
+                .startingFrom(base)
+                .withAllPropertiesInResponse()
+                .withLateArrivalWindow(Period.minutes(10))
+                .create();
+
+        responses.add(page(null, event("e2", 30), event("e1", 5)));
+        tail.poll();
+        Assert.assertEquals(new HashSet<>(Arrays.asList("e1", "e2")), tail.checkpoint().recentEvents().keySet());
+
+        responses.add(page(null));
+        Assert.assertTrue(tail.poll().isEmpty());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("e2")), tail.checkpoint().recentEvents().keySet());
+        Assert.assertTrue(filters.get(1).startsWith("eventTimestamp ge '" + iso(20) + "'"));
+    }
+
+    @Test
+    public void canResumeFromCheckpoint() throws Exception {
+        ActivityLogTail tail = manager.activityLogs().defineTail()
+                .startingFrom(base)
+                .withAllPropertiesInResponse()
+                .create();
+        responses.add(page(null, event("e2", 30), event("e1", 25)));
+        tail.poll();
+
+        ActivityLogCheckpoint checkpoint = roundTrip(tail.checkpoint());
+        Assert.assertEquals(base.plusMinutes(30).getMillis(), checkpoint.highWaterMarkInMillis());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("e1", "e2")), checkpoint.recentEvents().keySet());
+
+        ActivityLogTail resumed = manager.activityLogs().defineTail()
+                .resumingFrom(checkpoint)
+                .withAllPropertiesInResponse()
+                .create();
+        responses.add(page(null, event("e3", 35), event("e2", 30), event("e1", 25)));
+        Assert.assertEquals(Arrays.asList("e3"), ids(resumed.poll()));
+        Assert.assertTrue(filters.get(1).startsWith("eventTimestamp ge '" + iso(15) + "'"));
+    }
+
+    @Test
+    public void canReadFailedPollAgain() {
+        ActivityLogTail tail = manager.activityLogs().defineTail()
+                .startingFrom(base)
+                .withAllPropertiesInResponse()
+                .create();
+
+        // the newest events come first, the older ones are on the page that fails
+        responses.add(page(NEXT_LINK, event("e3", 50)));
+        responses.add(FAILURE);
+        try {
+            tail.poll();
+            Assert.fail();
+        } catch (RuntimeException e) {
+            // expected
+        }
+        Assert.assertEquals(base.getMillis(), tail.checkpoint().highWaterMarkInMillis());
+
+        responses.add(page(null, event("e3", 50), event("e2", 20)));
+        Assert.assertEquals(Arrays.asList("e2"), ids(tail.poll()));
+        Assert.assertTrue(filters.get(filters.size() - 1).startsWith("eventTimestamp ge '" + iso(0) + "'"));
+        Assert.assertEquals(base.plusMinutes(50).getMillis(), tail.checkpoint().highWaterMarkInMillis());
+    }
+
+    @Test
+    public void canSkipRatherThanRepeatWhenTrackingOverflows() {
+        ActivityLogTail tail = manager.activityLogs().defineTail()
+                .startingFrom(base)
+                .withAllPropertiesInResponse()
+                .withLateArrivalWindow(Period.hours(2))
+                .withMaxTrackedEvents(4)
+                .create();
+        String[] events = new String[] {event("e6", 60), event("e5", 50), event("e4", 40),
+            event("e3", 30), event("e2", 20), event("e1", 10)};
+
+        responses.add(page(null, events));
+        // every event of the poll is returned, the oldest ids are forgotten once it completes
+        List<String> first = ids(tail.poll());
+        Assert.assertEquals(Arrays.asList("e6", "e5", "e4", "e3", "e2", "e1"), first);
+        Assert.assertEquals(new HashSet<>(Arrays.asList("e4", "e5", "e6")), tail.checkpoint().recentEvents().keySet());
+
+        responses.add(page(null, events));
+        Assert.assertTrue(tail.poll().isEmpty());
+        // the forgotten range is no longer queried
+        long forgottenUpTo = tail.checkpoint().forgottenUpToInMillis();
+        Assert.assertEquals(base.plusMinutes(30).getMillis(), forgottenUpTo);
+        Assert.assertTrue(filters.get(1).startsWith("eventTimestamp ge '"
+                + new DateTime(forgottenUpTo + 1, DateTimeZone.UTC).toString(ISODateTimeFormat.dateTime()) + "'"));
+    }
+
+    @Test
+    public void canReturnAllEventsOfPagesWhenTrackingOverflows() {
+        ActivityLogTail tail = manager.activityLogs().defineTail()
+                .startingFrom(base)
+                .withAllPropertiesInResponse()
+                .withLateArrivalWindow(Period.hours(2))
+                .withMaxTrackedEvents(2)
+                .create();
+
+        responses.add(page(NEXT_LINK, event("e5", 50), event("e4", 40), event("e3", 30)));
+        responses.add(page(null, event("e2", 20), event("e1", 10)));
+        Assert.assertEquals(Arrays.asList("e5", "e4", "e3", "e2", "e1"), ids(tail.poll()));
+
+        // only the events returned before are skipped
+        responses.add(page(null, event("e6", 60), event("e5", 50), event("e4", 40)));
+        Assert.assertEquals(Arrays.asList("e6"), ids(tail.poll()));
+    }
+
+    private String iso(int minutesAfterBase) {
+        return base.plusMinutes(minutesAfterBase).toString(ISODateTimeFormat.dateTime());
+    }
+
+    private String event(String id, int minutesAfterBase) {
+        return "{\"eventDataId\":\"" + id + "\",\"eventTimestamp\":\"" + iso(minutesAfterBase) + "\"}";
+    }
+
+    private static String page(String nextLink, String... events) {
+        StringBuilder page = new StringBuilder("{\"value\":[");
+        for (int i = 0; i < events.length; i++) {
+            page.append(i == 0 ? "" : ",").append(events[i]);
+        }
+        page.append(']');
+        if (nextLink != null) {
+            page.append(",\"nextLink\":\"").append(nextLink).append('"');
+        }
+        return page.append('}').toString();
+    }
+
+    private static List<String> ids(List<EventData> events) {
+        List<String> ids = new ArrayList<>();
+        for (EventData event : events) {
+            ids.add(event.eventDataId());
+        }
+        return ids;
+    }
+
+    private static ActivityLogCheckpoint roundTrip(ActivityLogCheckpoint checkpoint) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(checkpoint);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (ActivityLogCheckpoint) in.readObject();
+        }
+    }
+
+    /**
+     * Answers the Activity log requests with the queued pages.
+     */
+    private class FakeActivityLogInterceptor implements Interceptor {
+        @Override
+        public Response intercept(Chain chain) throws IOException {
+            Request request = chain.request();
+            String filter = request.url().queryParameter("$filter");
+            if (filter != null) {
+                filters.add(filter);
+            }
+            String body = responses.poll();
+            boolean failed = body == null || FAILURE.equals(body);
+            return new Response.Builder()
+                    .request(request)
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(failed ? 400 : 200)
+                    .message(failed ? "Bad Request" : "OK")
+                    .body(ResponseBody.create(MediaType.parse("application/json"), failed
+                            ? "{\"error\":{\"code\":\"BadRequest\",\"message\":\"page unavailable\"}}"
+                            : body))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.monitor.implementation;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.microsoft.azure.AzureResponseBuilder;
+import com.microsoft.azure.management.monitor.AggregationType;
+import com.microsoft.azure.management.monitor.ColumnarMetric;
+import com.microsoft.azure.management.monitor.ColumnarMetricCollection;
+import com.microsoft.azure.management.monitor.ColumnarTimeSeries;
+import com.microsoft.azure.management.monitor.ErrorResponseException;
+import com.microsoft.azure.management.monitor.Unit;
+import com.microsoft.azure.serializer.AzureJacksonAdapter;
+import com.microsoft.rest.RestClient;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.joda.time.DateTime;
+import org.joda.time.Period;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+public class ColumnarMetricsParserTests {
+    private static final String T0 = "2018-06-01T10:00:00Z";
+    private static final String T1 = "2018-06-01T10:01:00Z";
+    private static final String T2 = "2018-06-01T10:02:00+02:00";
+
+    @Test
+    public void canParseColumns() throws IOException {
+        ColumnarMetricCollection collection = parse("{\"cost\":3,\"timespan\":\"" + T0 + "/" + T2 + "\",\"interval\":\"PT1M\","
+                + "\"namespace\":\"Microsoft.Storage/storageAccounts\",\"resourceregion\":\"westus\",\"value\":[{"
+                + "\"id\":\"/subscriptions/123/providers/microsoft.insights/metrics/Transactions\",\"type\":\"Microsoft.Insights/metrics\","
+                + "\"name\":{\"value\":\"Transactions\",\"localizedValue\":\"Transactions\"},\"unit\":\"Count\",\"timeseries\":[{"
+                + "\"metadatavalues\":[{\"name\":{\"value\":\"apiname\",\"localizedValue\":\"API name\"},\"value\":\"GetBlob\"}],"
+                + "\"data\":["
+                + "{\"timeStamp\":\"" + T0 + "\",\"average\":1.5,\"total\":3},"
+                + "{\"timeStamp\":\"" + T1 + "\",\"average\":2,\"minimum\":1,\"total\":null},"
+                + "{\"timeStamp\":\"" + T2 + "\",\"unknown\":{\"nested\":[1]},\"average\":4}]}]}]}");
+
+        Assert.assertEquals(3.0, collection.cost(), 0);
+        Assert.assertEquals(Period.minutes(1), collection.interval());
+        Assert.assertEquals("westus", collection.resourceRegion());
+        Assert.assertEquals(1, collection.metrics().size());
+
+        ColumnarMetric metric = collection.metrics().get(0);
+        Assert.assertEquals("Transactions", metric.name().value());
+        Assert.assertEquals(Unit.COUNT, metric.unit());
+
+        ColumnarTimeSeries series = metric.timeseries().get(0);
+        Assert.assertEquals(3, series.size());
+        Assert.assertArrayEquals(new long[] {millis(T0), millis(T1), millis(T2)}, series.timestamps());
+        Assert.assertArrayEquals(new double[] {1.5, 2, 4}, series.values(AggregationType.AVERAGE), 0);
+
+        // a missing or null value is NaN, an aggregation never returned has no column
+        double[] totals = series.values(AggregationType.TOTAL);
+        Assert.assertEquals(3, totals[0], 0);
+        Assert.assertTrue(Double.isNaN(totals[1]));
+        Assert.assertFalse(series.hasValue(AggregationType.TOTAL, 2));
+        Assert.assertTrue(series.hasValue(AggregationType.MINIMUM, 1));
+        Assert.assertFalse(series.hasValue(AggregationType.MINIMUM, 0));
+        Assert.assertNull(series.values(AggregationType.COUNT));
+        Assert.assertFalse(series.hasValue(AggregationType.COUNT, 0));
+
+        Assert.assertEquals(1, series.metadataValues().size());
+        Assert.assertEquals("apiname", series.metadataValues().get(0).name().value());
+        Assert.assertEquals("GetBlob", series.metadataValues().get(0).value());
+    }
+
+    @Test
+    public void canParseValuesBeforeTimeStamp() throws IOException {
+        ColumnarTimeSeries series = parseSeries("{\"average\":1.5,\"count\":2,\"timeStamp\":\"" + T0 + "\",\"total\":3},"
+                + "{\"maximum\":7,\"timeStamp\":\"" + T1 + "\"}");
+
+        Assert.assertArrayEquals(new long[] {millis(T0), millis(T1)}, series.timestamps());
+        Assert.assertEquals(1.5, series.values(AggregationType.AVERAGE)[0], 0);
+        Assert.assertEquals(2, series.values(AggregationType.COUNT)[0], 0);
+        Assert.assertEquals(3, series.values(AggregationType.TOTAL)[0], 0);
+        Assert.assertTrue(Double.isNaN(series.values(AggregationType.MAXIMUM)[0]));
+        Assert.assertEquals(7, series.values(AggregationType.MAXIMUM)[1], 0);
+        Assert.assertTrue(Double.isNaN(series.values(AggregationType.AVERAGE)[1]));
+    }
+
+    @Test
+    public void canParseMoreThanInitialCapacity() throws IOException {
+        StringBuilder points = new StringBuilder();
+        DateTime start = new DateTime(millis(T0));
+        for (int i = 0; i < 100; i++) {
+            points.append(i == 0 ? "" : ",").append("{\"timeStamp\":\"").append(start.plusMinutes(i)).append('"');
+            if (i % 2 == 0) {
+                points.append(",\"average\":").append(i);
+            }
+            points.append('}');
+        }
+
+        ColumnarTimeSeries series = parseSeries(points.toString());
+        Assert.assertEquals(100, series.size());
+        Assert.assertEquals(100, series.timestamps().length);
+        Assert.assertEquals(start.plusMinutes(99).getMillis(), series.timestamps()[99]);
+        Assert.assertEquals(98, series.values(AggregationType.AVERAGE)[98], 0);
+        Assert.assertFalse(series.hasValue(AggregationType.AVERAGE, 99));
+    }
+
+    @Test(expected = IOException.class)
+    public void cannotParseValueWithoutTimeStamp() throws IOException {
+        parseSeries("{\"average\":1.5}");
+    }
+
+    @Test(expected = IOException.class)
+    public void cannotParseUnexpectedResponse() throws IOException {
+        parse("[{\"value\":[]}]");
+    }
+
+    @Test
+    public void canRaiseServiceErrors() {
+        RestClient restClient = new RestClient.Builder()
+                .withBaseUrl("https://management.azure.com/")
+                .withSerializerAdapter(new AzureJacksonAdapter())
+                .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
+                .withInterceptor(new Interceptor() {
+                    @Override
+                    public Response intercept(Chain chain) {
+                        return new Response.Builder()
+                                .request(chain.request())
+                                .protocol(Protocol.HTTP_1_1)
+                                .code(400)
+                                .message("Bad Request")
+                                .body(ResponseBody.create(MediaType.parse("application/json"),
+                                        "{\"code\":\"BadRequest\",\"message\":\"Metric: Foo does not exist\"}"))
+                                .build();
+                    }
+                })
+                .build();
+        MonitorManager manager = MonitorManager.authenticate(restClient, "00000000-0000-0000-0000-000000000000");
+        try {
+            manager.columnarMetricsClient().listAsync("subscriptions/123/resourceGroups/rg/providers/Microsoft.Storage/storageAccounts/sa",
+                    T0 + "/" + T1, null, "Foo", null, null, null, null, null, null).toBlocking().single();
+            Assert.fail();
+        } catch (ErrorResponseException e) {
+            Assert.assertEquals(400, e.response().code());
+            Assert.assertEquals("BadRequest", e.body().code());
+        }
+    }
+
+    private static ColumnarMetricCollection parse(String json) throws IOException {
+        return new ColumnarMetricsParser(new JsonFactory()).parse(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static ColumnarTimeSeries parseSeries(String points) throws IOException {
+        return parse("{\"value\":[{\"timeseries\":[{\"data\":[" + points + "]}]}]}").metrics().get(0).timeseries().get(0);
+    }
+
+    private static long millis(String timestamp) {
+        return DateTime.parse(timestamp).getMillis();
+    }
+}
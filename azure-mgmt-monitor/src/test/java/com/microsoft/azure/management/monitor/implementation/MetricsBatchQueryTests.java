@@ -0,0 +1,219 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.monitor.implementation;
+
+import com.microsoft.azure.AzureResponseBuilder;
+import com.microsoft.azure.management.monitor.AggregationType;
+import com.microsoft.azure.management.monitor.ColumnarTimeSeries;
+import com.microsoft.azure.management.monitor.ResourceMetricSeries;
+import com.microsoft.azure.serializer.AzureJacksonAdapter;
+import com.microsoft.rest.RestClient;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.Period;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class MetricsBatchQueryTests {
+    private static final String RESOURCE_A = "subscriptions/123/resourceGroups/rg/providers/Microsoft.Storage/storageAccounts/a";
+    private static final String RESOURCE_B = "subscriptions/123/resourceGroups/rg/providers/Microsoft.Storage/storageAccounts/b";
+    private static final DateTime START = new DateTime(2018, 6, 1, 10, 0, DateTimeZone.UTC);
+
+    private final List<String> calls = Collections.synchronizedList(new ArrayList<String>());
+    private final AtomicInteger throttledCalls = new AtomicInteger();
+
+    @Test
+    public void canSplitTimeRange() {
+        List<String> timespans = query(START.plusMinutes(150))
+                .withMaxDataPointsPerCall(60)
+                .splitTimeRange();
+
+        Assert.assertEquals(Arrays.asList(
+                "2018-06-01T10:00:00.000Z/2018-06-01T11:00:00.000Z",
+                "2018-06-01T11:00:00.000Z/2018-06-01T12:00:00.000Z",
+                "2018-06-01T12:00:00.000Z/2018-06-01T12:30:00.000Z"), timespans);
+    }
+
+    @Test
+    public void canSplitTimeRangeByInterval() {
+        // 5 minutes intervals hold 60 points in 5 hours, times in other zones are converted to UTC
+        List<String> timespans = query(START.plusHours(5))
+                .startingFrom(START.withZone(DateTimeZone.forOffsetHours(2)))
+                .withInterval(Period.minutes(5))
+                .withMaxDataPointsPerCall(60)
+                .splitTimeRange();
+
+        Assert.assertEquals(Collections.singletonList("2018-06-01T10:00:00.000Z/2018-06-01T15:00:00.000Z"), timespans);
+        Assert.assertEquals(1, query(START.plusMinutes(1)).splitTimeRange().size());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void cannotSplitWithoutTimeRange() {
+        new MetricsBatchQueryImpl(null)
+                .forResources(Collections.singletonList(RESOURCE_A))
+                .withMetricNames(metricNames(1))
+                .splitTimeRange();
+    }
+
+    @Test
+    public void canBatchMetricNames() {
+        List<String> batches = query(START.plusMinutes(1)).withMetricNames(metricNames(45)).batchMetricNames();
+
+        Assert.assertEquals(3, batches.size());
+        Assert.assertEquals(20, batches.get(0).split(",").length);
+        Assert.assertTrue(batches.get(0).startsWith("m0,m1,"));
+        Assert.assertTrue(batches.get(1).startsWith("m20,"));
+        Assert.assertEquals("m40,m41,m42,m43,m44", batches.get(2));
+        Assert.assertEquals(Collections.singletonList("m0"),
+                query(START.plusMinutes(1)).withMetricNames(metricNames(1)).batchMetricNames());
+    }
+
+    @Test
+    public void canAppendWithoutBoundaryDuplicates() {
+        ColumnarTimeSeriesImpl first = series(new long[] {0, 60000}, new double[] {1, 2});
+        ColumnarTimeSeriesImpl second = series(new long[] {60000, 120000, 180000}, new double[] {20, 30, Double.NaN});
+
+        ColumnarTimeSeriesImpl merged = new ColumnarTimeSeriesImpl();
+        merged.append(first);
+        merged.append(second);
+        // windows retried or received out of order never move the series back in time
+        merged.append(first);
+        merged.complete();
+
+        Assert.assertArrayEquals(new long[] {0, 60000, 120000, 180000}, merged.timestamps());
+        Assert.assertArrayEquals(new double[] {1, 2, 30, Double.NaN}, merged.values(AggregationType.AVERAGE), 0);
+        Assert.assertFalse(merged.hasValue(AggregationType.AVERAGE, 3));
+        Assert.assertNull(merged.values(AggregationType.TOTAL));
+    }
+
+    @Test
+    public void canQueryInBatches() {
+        List<ResourceMetricSeries> results = query(START.plusMinutes(4))
+                .forResources(Arrays.asList(RESOURCE_A, RESOURCE_B))
+                .withMetricNames(metricNames(25))
+                .withMaxDataPointsPerCall(2)
+                .withMaxConcurrency(3)
+                .execute();
+
+        // 2 resources, 2 batches of metric names and 2 windows
+        Assert.assertEquals(8, calls.size());
+        Assert.assertEquals(50, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            ResourceMetricSeries result = results.get(i);
+            Assert.assertEquals(i < 25 ? RESOURCE_A : RESOURCE_B, result.resourceId());
+            Assert.assertEquals("m" + (i % 25), result.metric().name().value());
+            Assert.assertEquals(1, result.metric().timeseries().size());
+
+            ColumnarTimeSeries series = result.metric().timeseries().get(0);
+            Assert.assertArrayEquals(new long[] {
+                    START.getMillis(), START.plusMinutes(2).getMillis(), START.plusMinutes(4).getMillis()},
+                    series.timestamps());
+            // the boundary point is taken from the earlier window
+            Assert.assertArrayEquals(new double[] {0, 1, 201}, series.values(AggregationType.AVERAGE), 0);
+        }
+    }
+
+    @Test
+    public void canRetryThrottledCalls() {
+        throttledCalls.set(2);
+
+        List<ResourceMetricSeries> results = query(START.plusMinutes(2)).execute();
+
+        Assert.assertEquals(3, calls.size());
+        Assert.assertEquals(1, results.size());
+        Assert.assertEquals(2, results.get(0).metric().timeseries().get(0).size());
+    }
+
+    private MetricsBatchQueryImpl query(DateTime end) {
+        MetricsBatchQueryImpl query = new MetricsBatchQueryImpl(manager());
+        query.forResources(Collections.singletonList(RESOURCE_A))
+                .withMetricNames(metricNames(1))
+                .startingFrom(START)
+                .endsBefore(end);
+        return query;
+    }
+
+    private static List<String> metricNames(int count) {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            names.add("m" + i);
+        }
+        return names;
+    }
+
+    private static ColumnarTimeSeriesImpl series(long[] timestamps, double[] averages) {
+        ColumnarTimeSeriesImpl series = new ColumnarTimeSeriesImpl();
+        for (int i = 0; i < timestamps.length; i++) {
+            series.addPoint(timestamps[i]);
+            if (!Double.isNaN(averages[i])) {
+                series.setValue(AggregationType.AVERAGE, averages[i]);
+            }
+        }
+        return series.complete();
+    }
+
+    private MonitorManager manager() {
+        RestClient restClient = new RestClient.Builder()
+                .withBaseUrl("https://management.azure.com/")
+                .withSerializerAdapter(new AzureJacksonAdapter())
+                .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
+                .withInterceptor(new Interceptor() {
+                    @Override
+                    public Response intercept(Chain chain) {
+                        String metricNames = chain.request().url().queryParameter("metricnames");
+                        String timespan = chain.request().url().queryParameter("timespan");
+                        calls.add(metricNames + " " + timespan);
+                        Response.Builder builder = new Response.Builder()
+                                .request(chain.request())
+                                .protocol(Protocol.HTTP_1_1);
+                        if (throttledCalls.getAndDecrement() > 0) {
+                            return builder.code(429)
+                                    .message("Too Many Requests")
+                                    .header("Retry-After", "0")
+                                    .body(ResponseBody.create(MediaType.parse("application/json"),
+                                            "{\"code\":\"TooManyRequests\",\"message\":\"Throttled\"}"))
+                                    .build();
+                        }
+                        return builder.code(200)
+                                .message("OK")
+                                .body(ResponseBody.create(MediaType.parse("application/json"), metrics(metricNames, timespan)))
+                                .build();
+                    }
+                })
+                .build();
+        return MonitorManager.authenticate(restClient, "00000000-0000-0000-0000-000000000000");
+    }
+
+    /**
+     * Returns a point at both ends of the window for each metric, valued from the window start.
+     */
+    private static String metrics(String metricNames, String timespan) {
+        String[] window = timespan.split("/");
+        int startMinute = (int) ((DateTime.parse(window[0]).getMillis() - START.getMillis()) / 60000);
+        StringBuilder json = new StringBuilder("{\"timespan\":\"").append(timespan).append("\",\"value\":[");
+        String[] names = metricNames.split(",");
+        for (int i = 0; i < names.length; i++) {
+            json.append(i == 0 ? "" : ",")
+                    .append("{\"name\":{\"value\":\"").append(names[i]).append("\"},\"timeseries\":[{\"data\":[")
+                    .append("{\"timeStamp\":\"").append(window[0]).append("\",\"average\":").append(startMinute * 100).append("},")
+                    .append("{\"timeStamp\":\"").append(window[1]).append("\",\"average\":").append(startMinute * 100 + 1).append("}")
+                    .append("]}]}");
+        }
+        return json.append("]}").toString();
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.monitor.implementation;
+
+import org.junit.Assert;
+import org.junit.Test;
+import rx.Observable;
+import rx.functions.Func0;
+import rx.observers.AssertableSubscriber;
+import rx.subjects.PublishSubject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class MetricsCallLimiterTests {
+    private final List<Integer> started = Collections.synchronizedList(new ArrayList<Integer>());
+
+    @Test
+    public void canStartCallsInQueueOrder() {
+        MetricsCallLimiter limiter = new MetricsCallLimiter(2);
+        List<PublishSubject<Integer>> results = new ArrayList<>();
+        List<AssertableSubscriber<Integer>> subscribers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            PublishSubject<Integer> result = PublishSubject.create();
+            results.add(result);
+            subscribers.add(limiter.limit(call(i, result)).test());
+        }
+        Assert.assertEquals(Arrays.asList(0, 1), started);
+
+        // a completed call lets the longest waiting one start
+        results.get(1).onNext(1);
+        results.get(1).onCompleted();
+        Assert.assertEquals(Arrays.asList(0, 1, 2), started);
+
+        // so does a failed call
+        results.get(0).onError(new IllegalStateException());
+        Assert.assertEquals(Arrays.asList(0, 1, 2, 3), started);
+
+        // and an unsubscribed one, waiting calls unsubscribed before they start are never made
+        subscribers.get(4).unsubscribe();
+        subscribers.get(2).unsubscribe();
+        Assert.assertEquals(Arrays.asList(0, 1, 2, 3), started);
+
+        subscribers.get(1).assertValue(1).assertCompleted();
+        subscribers.get(0).assertError(IllegalStateException.class);
+        subscribers.get(3).assertNoTerminalEvent();
+        results.get(3).onCompleted();
+        subscribers.get(3).assertCompleted();
+    }
+
+    @Test
+    public void canPauseCallsStartedAfterThrottling() {
+        MetricsCallLimiter limiter = new MetricsCallLimiter(4);
+        limiter.limit(call(0, Observable.just(0))).test().assertValue(0);
+
+        limiter.pause(300);
+        long pausedAt = System.currentTimeMillis();
+        AssertableSubscriber<Integer> paused = limiter.limit(call(1, Observable.just(1))).test();
+        Assert.assertEquals(Collections.singletonList(0), started);
+
+        paused.awaitTerminalEvent(5, TimeUnit.SECONDS);
+        paused.assertValue(1);
+        Assert.assertTrue(System.currentTimeMillis() - pausedAt >= 250);
+
+        // a shorter pause does not cut a longer one short
+        limiter.pause(300);
+        limiter.pause(10);
+        pausedAt = System.currentTimeMillis();
+        limiter.limit(call(2, Observable.just(2))).test().awaitTerminalEvent(5, TimeUnit.SECONDS);
+        Assert.assertTrue(System.currentTimeMillis() - pausedAt >= 250);
+        Assert.assertEquals(Arrays.asList(0, 1, 2), started);
+    }
+
+    private <T> Func0<Observable<T>> call(final int index, final Observable<T> result) {
+        return new Func0<Observable<T>>() {
+            @Override
+            public Observable<T> call() {
+                started.add(index);
+                return result;
+            }
+        };
+    }
+}
@@ -14,11 +14,13 @@ import com.microsoft.azure.management.resources.fluentcore.arm.collection.Suppor
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsGettingByResourceGroup;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsGettingById;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsListingByResourceGroup;
+import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsStreamingListingByResourceGroup;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.HasManager;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsBatchCreation;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsStreamingListing;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 
 
@@ -30,7 +32,9 @@ import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 public interface DdosProtectionPlans extends
         SupportsCreating<DdosProtectionPlan.DefinitionStages.Blank>,
         SupportsListing<DdosProtectionPlan>,
+        SupportsStreamingListing<DdosProtectionPlan>,
         SupportsListingByResourceGroup<DdosProtectionPlan>,
+        SupportsStreamingListingByResourceGroup<DdosProtectionPlan>,
         SupportsGettingByResourceGroup<DdosProtectionPlan>,
         SupportsGettingById<DdosProtectionPlan>,
         SupportsDeletingById,
@@ -14,11 +14,13 @@ import com.microsoft.azure.management.resources.fluentcore.arm.collection.Suppor
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsGettingById;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsGettingByResourceGroup;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsListingByResourceGroup;
+import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsStreamingListingByResourceGroup;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.HasManager;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsBatchCreation;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsStreamingListing;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 
 /**
@@ -28,9 +30,11 @@ import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 @Beta
 public interface NetworkWatchers extends
         SupportsListing<NetworkWatcher>,
+        SupportsStreamingListing<NetworkWatcher>,
         SupportsCreating<NetworkWatcher.DefinitionStages.Blank>,
         SupportsDeletingById,
         SupportsListingByResourceGroup<NetworkWatcher>,
+        SupportsStreamingListingByResourceGroup<NetworkWatcher>,
         SupportsGettingByResourceGroup<NetworkWatcher>,
         SupportsGettingById<NetworkWatcher>,
         SupportsDeletingByResourceGroup,
@@ -13,11 +13,13 @@ import com.microsoft.azure.management.resources.fluentcore.arm.collection.Suppor
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsGettingByResourceGroup;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsGettingById;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsListingByResourceGroup;
+import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsStreamingListingByResourceGroup;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.HasManager;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsBatchCreation;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsStreamingListing;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 
 
@@ -27,9 +29,11 @@ import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 @Fluent()
 public interface PublicIPAddresses extends
     SupportsListing<PublicIPAddress>,
+    SupportsStreamingListing<PublicIPAddress>,
     SupportsCreating<PublicIPAddress.DefinitionStages.Blank>,
     SupportsDeletingById,
     SupportsListingByResourceGroup<PublicIPAddress>,
+    SupportsStreamingListingByResourceGroup<PublicIPAddress>,
     SupportsGettingByResourceGroup<PublicIPAddress>,
     SupportsGettingById<PublicIPAddress>,
     SupportsDeletingByResourceGroup,
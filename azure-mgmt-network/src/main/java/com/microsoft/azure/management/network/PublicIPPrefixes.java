@@ -14,11 +14,13 @@ import com.microsoft.azure.management.resources.fluentcore.arm.collection.Suppor
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsGettingById;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsGettingByResourceGroup;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsListingByResourceGroup;
+import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsStreamingListingByResourceGroup;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.HasManager;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsBatchCreation;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsStreamingListing;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 
 /**
@@ -26,9 +28,11 @@ import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
  */
 public interface PublicIPPrefixes extends
         SupportsListing<PublicIPPrefix>,
+        SupportsStreamingListing<PublicIPPrefix>,
         SupportsCreating<PublicIPPrefix.DefinitionStages.Blank>,
         SupportsDeletingById,
         SupportsListingByResourceGroup<PublicIPPrefix>,
+        SupportsStreamingListingByResourceGroup<PublicIPPrefix>,
         SupportsGettingByResourceGroup<PublicIPPrefix>,
         SupportsGettingById<PublicIPPrefix>,
         SupportsDeletingByResourceGroup,
@@ -13,7 +13,6 @@ import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
 
-import com.microsoft.azure.CloudException;
 import com.microsoft.azure.SubResource;
 import com.microsoft.azure.management.apigeneration.LangDefinition;
 import com.microsoft.azure.management.network.LoadBalancerBackend;
@@ -23,6 +22,7 @@ import com.microsoft.azure.management.network.NetworkInterface;
 import com.microsoft.azure.management.network.model.HasNetworkInterfaces;
 import com.microsoft.azure.management.resources.fluentcore.arm.ResourceUtils;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.implementation.ChildResourceImpl;
+import com.microsoft.azure.management.resources.fluentcore.utils.ResourceReferenceResolver;
 
 /**
  *  Implementation for LoadBalancerBackend.
@@ -84,16 +84,13 @@ class LoadBalancerBackendImpl
         Set<String> vmIds = new HashSet<>();
         Map<String, String> nicConfigs = this.backendNicIPConfigurationNames();
         if (nicConfigs != null) {
-            for (String nicId : nicConfigs.keySet()) {
-                try {
-                    NetworkInterface nic = this.parent().manager().networkInterfaces().getById(nicId);
-                    if (nic == null || nic.virtualMachineId() == null) {
-                        continue;
-                    } else {
-                        vmIds.add(nic.virtualMachineId());
-                    }
-                } catch (CloudException | IllegalArgumentException e) {
-                    continue;
+            // NICs that cannot be fetched are skipped
+            Map<String, NetworkInterface> nics = ResourceReferenceResolver.of(this.parent().manager().networkInterfaces())
+                    .withErrorsAsMissing()
+                    .resolve(nicConfigs.keySet());
+            for (NetworkInterface nic : nics.values()) {
+                if (nic != null && nic.virtualMachineId() != null) {
+                    vmIds.add(nic.virtualMachineId());
                 }
             }
         }
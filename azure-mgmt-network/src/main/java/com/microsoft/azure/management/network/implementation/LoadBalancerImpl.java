@@ -75,6 +75,11 @@ class LoadBalancerImpl
         super(name, innerModel, networkManager);
     }
 
+    @Override
+    protected String fullResourceType() {
+        return "Microsoft.Network/loadBalancers";
+    }
+
     // Verbs
 
     @Override
@@ -54,6 +54,11 @@ class NetworkImpl
         super(name, innerModel, networkManager);
     }
 
+    @Override
+    protected String fullResourceType() {
+        return "Microsoft.Network/virtualNetworks";
+    }
+
     @Override
     protected void initializeChildrenFromInner() {
         // Initialize subnets
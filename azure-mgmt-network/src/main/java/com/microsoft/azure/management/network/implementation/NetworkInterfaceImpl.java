@@ -79,6 +79,11 @@ class NetworkInterfaceImpl
         initializeChildrenFromInner();
     }
 
+    @Override
+    protected String fullResourceType() {
+        return "Microsoft.Network/networkInterfaces";
+    }
+
     // Verbs
 
     @Override
@@ -38,6 +38,7 @@ import com.microsoft.azure.management.resources.fluentcore.arm.ResourceUtils;
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.AzureConfigurableImpl;
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.Manager;
 import com.microsoft.azure.management.resources.fluentcore.utils.ProviderRegistrationInterceptor;
+import com.microsoft.azure.management.resources.fluentcore.utils.ResourceReferenceResolver;
 import com.microsoft.azure.management.resources.fluentcore.utils.ResourceManagerThrottlingInterceptor;
 import com.microsoft.azure.serializer.AzureJacksonAdapter;
 import com.microsoft.rest.RestClient;
@@ -45,7 +46,6 @@ import com.microsoft.rest.RestClient;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -346,18 +346,19 @@ public final class NetworkManager extends Manager<NetworkManager, NetworkManagem
 
     // Internal utility function
     List<Subnet> listAssociatedSubnets(List<SubnetInner> subnetRefs) {
-        final Map<String, Network> networks = new HashMap<>();
         final List<Subnet> subnets = new ArrayList<>();
 
         if (subnetRefs != null) {
+            final List<String> networkIds = new ArrayList<>();
             for (SubnetInner subnetRef : subnetRefs) {
-                String networkId = ResourceUtils.parentResourceIdFromResourceId(subnetRef.id());
-                Network network = networks.get(networkId.toLowerCase());
+                networkIds.add(ResourceUtils.parentResourceIdFromResourceId(subnetRef.id()));
+            }
+            final Map<String, Network> networks = ResourceReferenceResolver.of(this.networks()).resolve(networkIds);
+            for (SubnetInner subnetRef : subnetRefs) {
+                Network network = networks.get(ResourceUtils.parentResourceIdFromResourceId(subnetRef.id()));
                 if (network == null) {
-                    network = this.networks().getById(networkId);
-                    networks.put(networkId.toLowerCase(), network);
+                    continue;
                 }
-
                 String subnetName = ResourceUtils.nameFromResourceId(subnetRef.id());
                 subnets.add(network.subnets().get(subnetName));
             }
@@ -368,18 +369,20 @@ public final class NetworkManager extends Manager<NetworkManager, NetworkManagem
 
     // Internal utility function
     Collection<ApplicationGatewayBackend> listAssociatedApplicationGatewayBackends(List<ApplicationGatewayBackendAddressPool> backendRefs) {
-        final Map<String, ApplicationGateway> appGateways = new HashMap<>();
         final List<ApplicationGatewayBackend> backends = new ArrayList<>();
 
         if (backendRefs != null) {
+            final List<String> appGatewayIds = new ArrayList<>();
             for (ApplicationGatewayBackendAddressPool backendRef : backendRefs) {
-                String appGatewayId = ResourceUtils.parentResourceIdFromResourceId(backendRef.id());
-                ApplicationGateway appGateway = appGateways.get(appGatewayId.toLowerCase());
+                appGatewayIds.add(ResourceUtils.parentResourceIdFromResourceId(backendRef.id()));
+            }
+            final Map<String, ApplicationGateway> appGateways =
+                    ResourceReferenceResolver.of(this.applicationGateways()).resolve(appGatewayIds);
+            for (ApplicationGatewayBackendAddressPool backendRef : backendRefs) {
+                ApplicationGateway appGateway = appGateways.get(ResourceUtils.parentResourceIdFromResourceId(backendRef.id()));
                 if (appGateway == null) {
-                    appGateway = this.applicationGateways().getById(appGatewayId);
-                    appGateways.put(appGatewayId.toLowerCase(), appGateway);
+                    continue;
                 }
-
                 String backendName = ResourceUtils.nameFromResourceId(backendRef.id());
                 backends.add(appGateway.backends().get(backendName));
             }
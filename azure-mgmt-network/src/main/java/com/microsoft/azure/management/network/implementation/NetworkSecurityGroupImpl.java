@@ -45,6 +45,11 @@ class NetworkSecurityGroupImpl
         super(name, innerModel, networkManager);
     }
 
+    @Override
+    protected String fullResourceType() {
+        return "Microsoft.Network/networkSecurityGroups";
+    }
+
     @Override
     protected void initializeChildrenFromInner() {
         this.rules = new TreeMap<>();
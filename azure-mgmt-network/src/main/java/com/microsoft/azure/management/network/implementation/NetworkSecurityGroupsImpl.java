@@ -10,8 +10,10 @@ import com.microsoft.azure.management.network.NetworkInterface;
 import com.microsoft.azure.management.network.NetworkSecurityGroup;
 import com.microsoft.azure.management.network.NetworkSecurityGroups;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.implementation.TopLevelModifiableResourcesImpl;
+import com.microsoft.azure.management.resources.fluentcore.utils.ResourceReferenceResolver;
 import rx.Completable;
 
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -38,8 +40,9 @@ class NetworkSecurityGroupsImpl
         if (nsg != null) {
             Set<String> nicIds = nsg.networkInterfaceIds();
             if (nicIds != null) {
-                for (String nicRef : nsg.networkInterfaceIds()) {
-                    NetworkInterface nic = this.manager().networkInterfaces().getById(nicRef);
+                Map<String, NetworkInterface> nics =
+                        ResourceReferenceResolver.of(this.manager().networkInterfaces()).resolve(nicIds);
+                for (NetworkInterface nic : nics.values()) {
                     if (nic == null) {
                         continue;
                     } else if (!nsg.id().equalsIgnoreCase(nic.networkSecurityGroupId())) {
@@ -21,12 +21,12 @@ import com.microsoft.azure.management.network.Subnet;
 import com.microsoft.azure.management.resources.fluentcore.arm.ResourceUtils;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.HasManager;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.implementation.ChildResourceImpl;
+import com.microsoft.azure.management.resources.fluentcore.utils.ResourceReferenceResolver;
 import com.microsoft.azure.management.resources.fluentcore.utils.Utils;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -133,14 +133,17 @@ abstract class NicIPConfigurationBaseImpl<ParentImplT extends ParentT, ParentT e
         if (backendRefs == null) {
             return Collections.unmodifiableList(new ArrayList<LoadBalancerBackend>());
         }
-        final Map<String, LoadBalancer> loadBalancers = new HashMap<>();
+        final List<String> loadBalancerIds = new ArrayList<>();
+        for (BackendAddressPoolInner backendRef : backendRefs) {
+            loadBalancerIds.add(ResourceUtils.parentResourceIdFromResourceId(backendRef.id()));
+        }
+        final Map<String, LoadBalancer> loadBalancers =
+                ResourceReferenceResolver.of(this.networkManager.loadBalancers()).resolve(loadBalancerIds);
         final List<LoadBalancerBackend> backends = new ArrayList<>();
         for (BackendAddressPoolInner backendRef : backendRefs) {
-            String loadBalancerId = ResourceUtils.parentResourceIdFromResourceId(backendRef.id());
-            LoadBalancer loadBalancer = loadBalancers.get(loadBalancerId.toLowerCase());
+            LoadBalancer loadBalancer = loadBalancers.get(ResourceUtils.parentResourceIdFromResourceId(backendRef.id()));
             if (loadBalancer == null) {
-                loadBalancer = this.networkManager.loadBalancers().getById(loadBalancerId);
-                loadBalancers.put(loadBalancerId.toLowerCase(), loadBalancer);
+                continue;
             }
             String backendName = ResourceUtils.nameFromResourceId(backendRef.id());
             backends.add(loadBalancer.backends().get(backendName));
@@ -154,14 +157,17 @@ abstract class NicIPConfigurationBaseImpl<ParentImplT extends ParentT, ParentT e
         if (inboundNatPoolRefs == null) {
             return Collections.unmodifiableList(new ArrayList<LoadBalancerInboundNatRule>());
         }
-        final Map<String, LoadBalancer> loadBalancers = new HashMap<>();
+        final List<String> loadBalancerIds = new ArrayList<>();
+        for (InboundNatRuleInner ref : inboundNatPoolRefs) {
+            loadBalancerIds.add(ResourceUtils.parentResourceIdFromResourceId(ref.id()));
+        }
+        final Map<String, LoadBalancer> loadBalancers =
+                ResourceReferenceResolver.of(this.networkManager.loadBalancers()).resolve(loadBalancerIds);
         final List<LoadBalancerInboundNatRule> rules = new ArrayList<>();
         for (InboundNatRuleInner ref : inboundNatPoolRefs) {
-            String loadBalancerId = ResourceUtils.parentResourceIdFromResourceId(ref.id());
-            LoadBalancer loadBalancer = loadBalancers.get(loadBalancerId.toLowerCase());
+            LoadBalancer loadBalancer = loadBalancers.get(ResourceUtils.parentResourceIdFromResourceId(ref.id()));
             if (loadBalancer == null) {
-                loadBalancer = this.networkManager.loadBalancers().getById(loadBalancerId);
-                loadBalancers.put(loadBalancerId.toLowerCase(), loadBalancer);
+                continue;
             }
             String ruleName = ResourceUtils.nameFromResourceId(ref.id());
             rules.add(loadBalancer.inboundNatRules().get(ruleName));
@@ -55,6 +55,11 @@ class PublicIPAddressImpl
         super(name, innerModel, networkManager);
     }
 
+    @Override
+    protected String fullResourceType() {
+        return "Microsoft.Network/publicIPAddresses";
+    }
+
     // Verbs
 
     @Override
@@ -18,6 +18,7 @@ import com.microsoft.azure.management.network.Subnet;
 import com.microsoft.azure.management.resources.fluentcore.arm.Region;
 import com.microsoft.azure.management.resources.fluentcore.arm.ResourceUtils;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.implementation.ChildResourceImpl;
+import com.microsoft.azure.management.resources.fluentcore.utils.ResourceReferenceResolver;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -26,7 +27,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.TreeMap;
 import java.util.TreeSet;
 
 /**
@@ -214,30 +214,28 @@ class SubnetImpl
     @Override
     public Collection<NicIPConfiguration> listNetworkInterfaceIPConfigurations() {
         Collection<NicIPConfiguration> ipConfigs = new ArrayList<>();
-        Map<String, NetworkInterface> nics = new TreeMap<>();
         List<IPConfiguration> ipConfigRefs = this.inner().ipConfigurations();
         if (ipConfigRefs == null) {
             return ipConfigs;
         }
 
+        // Fetch the NICs of all the references at once
+        List<String> nicIds = new ArrayList<>();
+        for (IPConfiguration ipConfigRef : ipConfigRefs) {
+            nicIds.add(ResourceUtils.parentResourceIdFromResourceId(ipConfigRef.id()));
+        }
+        Map<String, NetworkInterface> nics =
+                ResourceReferenceResolver.of(this.parent().manager().networkInterfaces()).resolve(nicIds);
+
         for (IPConfiguration ipConfigRef : ipConfigRefs) {
             String nicID = ResourceUtils.parentResourceIdFromResourceId(ipConfigRef.id());
             String ipConfigName = ResourceUtils.nameFromResourceId(ipConfigRef.id());
-            // Check if NIC already cached
-            NetworkInterface nic = nics.get(nicID.toLowerCase());
-            if (nic == null) {
-                //  NIC not previously found, so ask Azure for it
-                nic = this.parent().manager().networkInterfaces().getById(nicID);
-            }
-
+            NetworkInterface nic = nics.get(nicID);
             if (nic == null) {
                 // NIC doesn't exist so ignore this bad reference
                 continue;
             }
 
-            // Cache the NIC
-            nics.put(nic.id().toLowerCase(), nic);
-
             // Get the IP config
             NicIPConfiguration ipConfig = nic.ipConfigurations().get(ipConfigName);
             if (ipConfig == null) {
@@ -17,11 +17,13 @@ import com.microsoft.azure.management.resources.fluentcore.arm.collection.Suppor
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsGettingByResourceGroup;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsGettingById;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsListingByResourceGroup;
+import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsStreamingListingByResourceGroup;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.HasManager;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsBatchCreation;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsStreamingListing;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 import rx.Observable;
 
@@ -32,7 +34,9 @@ import rx.Observable;
 public interface RedisCaches extends
         SupportsCreating<RedisCache.DefinitionStages.Blank>,
         SupportsListing<RedisCache>,
+        SupportsStreamingListing<RedisCache>,
         SupportsListingByResourceGroup<RedisCache>,
+        SupportsStreamingListingByResourceGroup<RedisCache>,
         SupportsGettingByResourceGroup<RedisCache>,
         SupportsGettingById<RedisCache>,
         SupportsDeletingById,
@@ -80,6 +80,11 @@ class RedisCacheImpl
         this.patchScheduleAdded = false;
     }
 
+    @Override
+    protected String fullResourceType() {
+        return "Microsoft.Cache/Redis";
+    }
+
     @Override
     public Map<String, RedisFirewallRule> firewallRules() {
         return this.firewallRules.rulesAsMap();
@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Fluent;
+import com.microsoft.azure.management.resources.fluentcore.arm.ProviderApiVersions;
+import org.joda.time.Period;
+import rx.Completable;
+import rx.Observable;
+
+/**
+ * A client-side cache of the resource providers of a subscription, used to find the api version to
+ * request a resource with from its ID.
+ * <p>
+ * Providers are fetched on first use and kept for a time to live; concurrent lookups of a provider that
+ * is not cached share a single request. The cache can be warmed up with all the providers of the
+ * subscription with a single list request.
+ */
+@Fluent
+@Beta(Beta.SinceVersion.V1_30_0)
+public interface ProviderMetadataCache {
+    /**
+     * The default time a provider is kept.
+     */
+    Period DEFAULT_TIME_TO_LIVE = Period.hours(1);
+
+    /**
+     * Sets the time a provider is kept.
+     *
+     * @param timeToLive the time to live
+     * @return the cache
+     */
+    ProviderMetadataCache withTimeToLive(Period timeToLive);
+
+    /**
+     * Gets the api versions of a provider.
+     *
+     * @param resourceProviderNamespace the namespace of the provider
+     * @return the api versions of the provider types
+     */
+    ProviderApiVersions getApiVersions(String resourceProviderNamespace);
+
+    /**
+     * Gets the api versions of a provider.
+     *
+     * @param resourceProviderNamespace the namespace of the provider
+     * @return an observable emitting the api versions of the provider types
+     */
+    Observable<ProviderApiVersions> getApiVersionsAsync(String resourceProviderNamespace);
+
+    /**
+     * Gets the default api version to request a resource with.
+     *
+     * @param resourceId the resource ID
+     * @return the api version
+     */
+    String defaultApiVersion(String resourceId);
+
+    /**
+     * Gets the default api version to request a resource with.
+     *
+     * @param resourceId the resource ID
+     * @return an observable emitting the api version
+     */
+    Observable<String> defaultApiVersionAsync(String resourceId);
+
+    /**
+     * Caches all the providers of the subscription.
+     */
+    void warmUp();
+
+    /**
+     * Caches all the providers of the subscription.
+     *
+     * @return a representation of the deferred computation of this call
+     */
+    Completable warmUpAsync();
+
+    /**
+     * Removes a provider from the cache.
+     *
+     * @param resourceProviderNamespace the namespace of the provider
+     */
+    void invalidate(String resourceProviderNamespace);
+
+    /**
+     * Removes all the providers from the cache.
+     */
+    void invalidateAll();
+}
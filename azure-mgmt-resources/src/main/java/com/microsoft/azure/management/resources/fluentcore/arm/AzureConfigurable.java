@@ -7,6 +7,8 @@
 package com.microsoft.azure.management.resources.fluentcore.arm;
 
 import com.microsoft.azure.credentials.AzureTokenCredentials;
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.resources.fluentcore.utils.LongRunningOperationPoller;
 import com.microsoft.rest.LogLevel;
 import okhttp3.Authenticator;
 import okhttp3.ConnectionPool;
@@ -47,6 +49,16 @@ public interface AzureConfigurable<T extends AzureConfigurable<T>> {
      */
     T withAuxiliaryCredentials(AzureTokenCredentials... tokens);
 
+    /**
+     * Paces the polls of long running operations with a poller, which can be shared by several clients
+     * so that the polls of their operations in the same subscription are coalesced.
+     *
+     * @param poller the poller
+     * @return the configurable object itself
+     */
+    @Beta(Beta.SinceVersion.V1_30_0)
+    T withLongRunningOperationPoller(LongRunningOperationPoller poller);
+
     /**
      * Specify the user agent header.
      *
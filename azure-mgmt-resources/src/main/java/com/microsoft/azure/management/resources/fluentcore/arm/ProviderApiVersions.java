@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.arm;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.resources.Provider;
+import com.microsoft.azure.management.resources.ProviderResourceType;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The default api versions of the resource types of a resource provider, indexed by resource type.
+ * <p>
+ * The lookup follows {@link ResourceUtils#defaultApiVersion(String, Provider)}: the type of the resource
+ * is matched against the types of the provider, then against the child types containing it, then the
+ * parent resource is looked up, and the first api version of the provider is used as a last resort.
+ * Exact matches are indexed when the index is created, child matches the first time a type is looked up.
+ */
+@Beta(Beta.SinceVersion.V1_30_0)
+public final class ProviderApiVersions {
+    // marks a type with no child match, the map does not accept null values
+    private static final String NO_MATCH = "";
+
+    private final Provider provider;
+    private final Map<String, String> exactMatches = new HashMap<>();
+    private final ConcurrentMap<String, String> childMatches = new ConcurrentHashMap<>();
+    private final String fallback;
+
+    private ProviderApiVersions(Provider provider) {
+        this.provider = provider;
+        String first = null;
+        for (ProviderResourceType resourceType : provider.resourceTypes()) {
+            String apiVersion = firstApiVersion(resourceType);
+            if (apiVersion == null) {
+                continue;
+            }
+            String type = resourceType.resourceType().toLowerCase(Locale.ROOT);
+            if (!exactMatches.containsKey(type)) {
+                exactMatches.put(type, apiVersion);
+            }
+            if (first == null) {
+                first = apiVersion;
+            }
+        }
+        this.fallback = first;
+    }
+
+    /**
+     * Indexes the resource types of a provider.
+     *
+     * @param provider the provider
+     * @return the index
+     */
+    public static ProviderApiVersions of(Provider provider) {
+        return new ProviderApiVersions(provider);
+    }
+
+    /**
+     * @return the indexed provider
+     */
+    public Provider provider() {
+        return this.provider;
+    }
+
+    /**
+     * Gets the default api version to make a REST request to a resource with.
+     *
+     * @param id the resource ID
+     * @return the default api version
+     */
+    public String defaultApiVersion(String id) {
+        return defaultApiVersion(ResourceId.fromString(id));
+    }
+
+    /**
+     * Gets the default api version to make a REST request to a resource with.
+     *
+     * @param resourceId the parsed resource ID
+     * @return the default api version
+     */
+    public String defaultApiVersion(ResourceId resourceId) {
+        for (ResourceId current = resourceId; current != null; current = current.parent()) {
+            String type = current.resourceType().toLowerCase(Locale.ROOT);
+            String apiVersion = exactMatches.get(type);
+            if (apiVersion != null) {
+                return apiVersion;
+            }
+            apiVersion = childMatch(type);
+            if (apiVersion != null) {
+                return apiVersion;
+            }
+        }
+        // not guaranteed to work
+        return this.fallback;
+    }
+
+    private String childMatch(String type) {
+        String apiVersion = childMatches.get(type);
+        if (apiVersion == null) {
+            apiVersion = NO_MATCH;
+            // child resource, e.g. sites/config
+            for (ProviderResourceType resourceType : provider.resourceTypes()) {
+                String candidate = firstApiVersion(resourceType);
+                if (candidate != null && resourceType.resourceType().toLowerCase(Locale.ROOT).contains("/" + type)) {
+                    apiVersion = candidate;
+                    break;
+                }
+            }
+            childMatches.put(type, apiVersion);
+        }
+        return apiVersion.isEmpty() ? null : apiVersion;
+    }
+
+    private static String firstApiVersion(ProviderResourceType resourceType) {
+        List<String> apiVersions = resourceType.apiVersions();
+        return apiVersions == null || apiVersions.isEmpty() ? null : apiVersions.get(0);
+    }
+}
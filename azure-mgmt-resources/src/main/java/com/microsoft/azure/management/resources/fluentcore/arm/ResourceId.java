@@ -8,114 +8,225 @@ package com.microsoft.azure.management.resources.fluentcore.arm;
 
 import com.microsoft.azure.management.apigeneration.LangDefinition;
 import java.security.InvalidParameterException;
-import org.apache.commons.lang3.StringUtils;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Instantiate itself from a resource id, and give easy access to resource information like subscription, resourceGroup,
  * resource name.
+ * <p>
+ * The id is parsed in a single pass that only records the boundaries of the segments, the segments
+ * themselves are materialized when they are first read. The 4096 most recently used parsed ids are kept
+ * in a cache shared by all the managers, so the same id showing up in many listings is parsed only once.
  */
 @LangDefinition
 public final class ResourceId {
+    // Maximum number of parsed ids kept in the shared cache, the least recently used one is evicted first
+    private static final int CACHE_SIZE = 4096;
+    // Maximum number of distinct subscription, resource group and provider segments interned
+    private static final int INTERNED_SEGMENTS_SIZE = 16384;
 
-    private String subscriptionId = null;
-    private String resourceGroupName = null;
-    private String name = null;
-    private String providerNamespace = null;
-    private String resourceType = null;
-    private String id = null;
-    private String parentId = null;
+    private static final Map<String, ResourceId> CACHE =
+            new LinkedHashMap<String, ResourceId>(CACHE_SIZE * 4 / 3 + 1, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, ResourceId> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            };
+    private static final ConcurrentHashMap<String, String> INTERNED_SEGMENTS = new ConcurrentHashMap<>();
+
+    private final String id;
+    // Boundaries of the segments in the id, -1 when the segment is absent
+    private final int start;
+    private final int subscriptionIdStart;
+    private final int subscriptionIdEnd;
+    private final int resourceGroupNameStart;
+    private final int resourceGroupNameEnd;
+    private final int providerNamespaceStart;
+    private final int providerNamespaceEnd;
+    private final int resourceTypeStart;
+    private final int resourceTypeEnd;
+    private final int nameStart;
+    private final int nameEnd;
+    private final int segmentCount;
+
+    // Fields materialized on first read
+    private String subscriptionId;
+    private String resourceGroupName;
+    private String providerNamespace;
+    private String resourceType;
+    private String name;
+    private String fullResourceType;
+    private ResourceId parent;
 
     private static String badIdErrorText(String id) {
         return String.format("The specified ID `%s` is not a valid Azure resource ID.", id);
     }
 
     private ResourceId(final String id) {
+        this.id = id;
         if (id == null) {
             // Protect against NPEs from null IDs, preserving legacy behavior for null IDs
+            this.start = -1;
+            this.subscriptionIdStart = -1;
+            this.subscriptionIdEnd = -1;
+            this.resourceGroupNameStart = -1;
+            this.resourceGroupNameEnd = -1;
+            this.providerNamespaceStart = -1;
+            this.providerNamespaceEnd = -1;
+            this.resourceTypeStart = -1;
+            this.resourceTypeEnd = -1;
+            this.nameStart = -1;
+            this.nameEnd = -1;
+            this.segmentCount = 0;
             return;
-        } else {
-            // Skip the first '/' if any, and then split using '/'
-            String[] splits = (id.startsWith("/")) ? id.substring(1).split("/") : id.split("/");
-            if (splits.length % 2 == 1) {
-                throw new InvalidParameterException(badIdErrorText(id));
-            }
+        }
 
-            // Save the ID itself
-            this.id = id;
+        // Format of id:
+        // /subscriptions/<subscriptionId>/resourceGroups/<resourceGroupName>/providers/<providerNamespace>(/<parentResourceType>/<parentName>)*/<resourceType>/<name>
+        //  0             1                2              3                   4         5                                                        N-2            N-1
 
-            // Format of id:
-            // /subscriptions/<subscriptionId>/resourceGroups/<resourceGroupName>/providers/<providerNamespace>(/<parentResourceType>/<parentName>)*/<resourceType>/<name>
-            //  0             1                2              3                   4         5                                                        N-2            N-1
+        // Skip the first '/' if any, and ignore trailing '/'s as splitting on '/' would
+        int begin = id.startsWith("/") ? 1 : 0;
+        int end = id.length();
+        while (end > begin && id.charAt(end - 1) == '/') {
+            end--;
+        }
+        if (end == begin) {
+            throw new InvalidParameterException(badIdErrorText(id));
+        }
 
-            // Extract resource type and name
-            if (splits.length < 2) {
-                throw new InvalidParameterException(badIdErrorText(id));
-            } else {
-                this.name = splits[splits.length - 1];
-                this.resourceType = splits[splits.length - 2];
+        int[] fixed = {-1, -1, -1, -1, -1, -1};
+        int previousStart = -1;
+        int previousEnd = -1;
+        int lastStart = -1;
+        int lastEnd = -1;
+        int count = 0;
+        int segmentStart = begin;
+        for (int i = begin; i <= end; i++) {
+            if (i < end && id.charAt(i) != '/') {
+                continue;
             }
-
-            // Extract parent ID
-            if (splits.length < 10) {
-                this.parentId = null;
-            } else {
-                String[] parentSplits = new String[splits.length - 2];
-                System.arraycopy(splits, 0, parentSplits, 0, splits.length - 2);
-                this.parentId = "/" + StringUtils.join(parentSplits, "/");
+            switch (count) {
+            case 0:
+                // Ensure "subscriptions"
+                ensureSegment(id, segmentStart, i, "subscriptions");
+                break;
+            case 1:
+                // Subscription ID
+                fixed[0] = segmentStart;
+                fixed[1] = i;
+                break;
+            case 2:
+                // Ensure "resourceGroups"
+                ensureSegment(id, segmentStart, i, "resourceGroups");
+                break;
+            case 3:
+                // Resource group name
+                fixed[2] = segmentStart;
+                fixed[3] = i;
+                break;
+            case 4:
+                // Ensure "providers"
+                ensureSegment(id, segmentStart, i, "providers");
+                break;
+            case 5:
+                // Provider namespace
+                fixed[4] = segmentStart;
+                fixed[5] = i;
+                break;
+            default:
+                break;
             }
+            previousStart = lastStart;
+            previousEnd = lastEnd;
+            lastStart = segmentStart;
+            lastEnd = i;
+            count++;
+            segmentStart = i + 1;
+        }
+        if (count % 2 == 1 || count < 2) {
+            throw new InvalidParameterException(badIdErrorText(id));
+        }
 
-            for (int i = 0; i < splits.length && i < 6; i++) {
-                switch (i) {
-                case 0:
-                    // Ensure "subscriptions"
-                    if (!splits[i].equalsIgnoreCase("subscriptions")) {
-                        throw new InvalidParameterException(badIdErrorText(id));
-                    }
-                    break;
-                case 1:
-                    // Extract subscription ID
-                    this.subscriptionId = splits[i];
-                    break;
-                case 2:
-                    // Ensure "resourceGroups"
-                    if (!splits[i].equalsIgnoreCase("resourceGroups")) {
-                        throw new InvalidParameterException(badIdErrorText(id));
-                    }
-                    break;
-                case 3:
-                    // Extract resource group name
-                    this.resourceGroupName = splits[i];
-                    break;
-                case 4:
-                    // Ensure "providers"
-                    if (!splits[i].equalsIgnoreCase("providers")) {
-                        throw new InvalidParameterException(badIdErrorText(id));
-                    }
-                    break;
-                case 5:
-                    // Extract provider namespace
-                    this.providerNamespace = splits[i];
-                    break;
-                default:
-                    break;
-                }
-            }
+        this.start = begin;
+        this.subscriptionIdStart = fixed[0];
+        this.subscriptionIdEnd = fixed[1];
+        this.resourceGroupNameStart = fixed[2];
+        this.resourceGroupNameEnd = fixed[3];
+        this.providerNamespaceStart = fixed[4];
+        this.providerNamespaceEnd = fixed[5];
+        this.resourceTypeStart = previousStart;
+        this.resourceTypeEnd = previousEnd;
+        this.nameStart = lastStart;
+        this.nameEnd = lastEnd;
+        this.segmentCount = count;
+    }
+
+    private static void ensureSegment(String id, int segmentStart, int segmentEnd, String expected) {
+        if (segmentEnd - segmentStart != expected.length()
+                || !id.regionMatches(true, segmentStart, expected, 0, expected.length())) {
+            throw new InvalidParameterException(badIdErrorText(id));
         }
     }
 
+    private static String intern(String segment) {
+        String interned = INTERNED_SEGMENTS.putIfAbsent(segment, segment);
+        if (interned != null) {
+            return interned;
+        }
+        if (INTERNED_SEGMENTS.size() > INTERNED_SEGMENTS_SIZE) {
+            // The segments are only interned to share them between ids, start over rather than grow unbounded
+            INTERNED_SEGMENTS.clear();
+        }
+        return segment;
+    }
+
+    private String segment(int segmentStart, int segmentEnd, boolean intern) {
+        if (segmentStart < 0) {
+            return null;
+        }
+        String segment = id.substring(segmentStart, segmentEnd);
+        return intern ? intern(segment) : segment;
+    }
+
     /**
      * Returns parsed ResourceId object for a given resource id.
      * @param id of the resource
      * @return ResourceId object
      */
     public static ResourceId fromString(String id) {
-        return new ResourceId(id);
+        if (id == null) {
+            return new ResourceId(null);
+        }
+        ResourceId resourceId;
+        // an access ordered map is modified by reads too
+        synchronized (CACHE) {
+            resourceId = CACHE.get(id);
+        }
+        if (resourceId != null) {
+            return resourceId;
+        }
+        // parsed outside of the lock, an id that does not parse is not cached
+        resourceId = new ResourceId(id);
+        synchronized (CACHE) {
+            ResourceId cached = CACHE.get(id);
+            if (cached != null) {
+                return cached;
+            }
+            CACHE.put(id, resourceId);
+        }
+        return resourceId;
     }
 
     /**
      * @return subscriptionId of the resource.
      */
     public String subscriptionId() {
+        if (this.subscriptionId == null) {
+            this.subscriptionId = segment(subscriptionIdStart, subscriptionIdEnd, true);
+        }
         return this.subscriptionId;
     }
 
@@ -123,6 +234,9 @@ public final class ResourceId {
      * @return resourceGroupName of the resource.
      */
     public String resourceGroupName() {
+        if (this.resourceGroupName == null) {
+            this.resourceGroupName = segment(resourceGroupNameStart, resourceGroupNameEnd, true);
+        }
         return this.resourceGroupName;
     }
 
@@ -130,6 +244,9 @@ public final class ResourceId {
      * @return name of the resource.
      */
     public String name() {
+        if (this.name == null) {
+            this.name = segment(nameStart, nameEnd, false);
+        }
         return this.name;
     }
 
@@ -137,17 +254,22 @@ public final class ResourceId {
      * @return parent resource id of the resource if any, otherwise null.
      */
     public ResourceId parent() {
-        if (this.id == null || this.parentId == null) {
+        if (this.id == null || this.segmentCount < 10) {
             return null;
-        } else {
-            return fromString(this.parentId);
         }
+        if (this.parent == null) {
+            this.parent = fromString("/" + id.substring(start, resourceTypeStart - 1));
+        }
+        return this.parent;
     }
 
     /**
      * @return name of the provider.
      */
     public String providerNamespace() {
+        if (this.providerNamespace == null) {
+            this.providerNamespace = segment(providerNamespaceStart, providerNamespaceEnd, true);
+        }
         return this.providerNamespace;
     }
 
@@ -155,6 +277,9 @@ public final class ResourceId {
      * @return type of the resource.
      */
     public String resourceType() {
+        if (this.resourceType == null) {
+            this.resourceType = segment(resourceTypeStart, resourceTypeEnd, true);
+        }
         return this.resourceType;
     }
 
@@ -162,11 +287,27 @@ public final class ResourceId {
      * @return full type of the resource.
      */
     public String fullResourceType() {
-        if (this.parentId == null) {
-            return this.providerNamespace + "/" + this.resourceType;
-        } else {
-            return this.parent().fullResourceType() + "/" + this.resourceType;
+        if (this.fullResourceType == null) {
+            if (this.segmentCount < 10) {
+                this.fullResourceType = this.providerNamespace() + "/" + this.resourceType();
+            } else {
+                // The provider namespace followed by the type segments of the ancestors and of the resource itself,
+                // i.e. the segments 6, 8, ..., N-2
+                StringBuilder builder = new StringBuilder(this.providerNamespace());
+                int segment = 6;
+                int segmentStart = this.providerNamespaceEnd + 1;
+                while (segment < this.segmentCount - 1) {
+                    int segmentEnd = id.indexOf('/', segmentStart);
+                    if (segment % 2 == 0) {
+                        builder.append('/').append(id, segmentStart, segmentEnd);
+                    }
+                    segmentStart = segmentEnd + 1;
+                    segment++;
+                }
+                this.fullResourceType = builder.toString();
+            }
         }
+        return this.fullResourceType;
     }
 
     /**
@@ -7,8 +7,15 @@
 package com.microsoft.azure.management.resources.fluentcore.arm;
 
 import com.microsoft.azure.management.resources.Provider;
-import com.microsoft.azure.management.resources.ProviderResourceType;
-
+import com.microsoft.azure.management.resources.fluentcore.arm.implementation.ManagerBase;
+import com.microsoft.azure.management.resources.fluentcore.arm.models.HasId;
+import com.microsoft.azure.management.resources.fluentcore.arm.models.HasManager;
+import com.microsoft.azure.management.resources.fluentcore.utils.ResourceManagerRateLimiter;
+import com.microsoft.azure.management.resources.implementation.ResourceManager;
+
+import java.security.InvalidParameterException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -16,6 +23,9 @@ import java.util.regex.Pattern;
  * Utility methods for Azure resource IDs.
  */
 public final class ResourceUtils {
+    // The patterns used by extractFromResourceId, by identifier; the set of identifiers is small and fixed in code
+    private static final ConcurrentMap<String, Pattern> EXTRACT_PATTERNS = new ConcurrentHashMap<>();
+
     private ResourceUtils() { }
 
     /**
@@ -36,6 +46,43 @@ public final class ResourceUtils {
         return (id != null) ? ResourceId.fromString(id).subscriptionId() : null;
     }
 
+    /**
+     * Gets the subscription of a fluent resource, from its manager or else from its ID.
+     *
+     * @param resource the resource
+     * @return the subscription ID, null if the resource does not know it
+     */
+    public static String subscriptionIdOf(Object resource) {
+        if (resource instanceof HasManager && ((HasManager<?>) resource).manager() instanceof ManagerBase) {
+            return ((ManagerBase) ((HasManager<?>) resource).manager()).subscriptionId();
+        }
+        if (resource instanceof HasId) {
+            try {
+                return subscriptionFromResourceId(((HasId) resource).id());
+            } catch (InvalidParameterException e) {
+                // not an Azure Resource Manager resource ID
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the rate limiter of the client a fluent resource sends its requests with.
+     *
+     * @param resource the resource
+     * @return the rate limiter, null if the resource has no manager or its client does not throttle requests
+     */
+    public static ResourceManagerRateLimiter rateLimiterOf(Object resource) {
+        if (resource instanceof HasManager && ((HasManager<?>) resource).manager() instanceof ManagerBase) {
+            ResourceManager resourceManager = ((ManagerBase) ((HasManager<?>) resource).manager()).resourceManager();
+            if (resourceManager != null) {
+                return ResourceManagerRateLimiter.of(resourceManager.inner().restClient());
+            }
+        }
+        return null;
+    }
+
     /**
      * Extract resource provider from a resource ID string.
      * @param id the resource ID string
@@ -125,10 +172,17 @@ public final class ResourceUtils {
         if (id == null || identifier == null) {
             return id;
         }
-        Pattern pattern = Pattern.compile(identifier + "/[-\\w._]+");
+        Pattern pattern = EXTRACT_PATTERNS.get(identifier);
+        if (pattern == null) {
+            pattern = Pattern.compile(identifier + "/[-\\w._]+");
+            EXTRACT_PATTERNS.putIfAbsent(identifier, pattern);
+        }
         Matcher matcher = pattern.matcher(id);
         if (matcher.find()) {
-            return matcher.group().split("/")[1];
+            // The second '/' separated part of the match
+            int valueStart = id.indexOf('/', matcher.start()) + 1;
+            int valueEnd = id.indexOf('/', valueStart);
+            return id.substring(valueStart, valueEnd < 0 || valueEnd > matcher.end() ? matcher.end() : valueEnd);
         } else {
             return null;
         }
@@ -152,27 +206,7 @@ public final class ResourceUtils {
      * @return the default api version to use
      */
     public static String defaultApiVersion(String id, Provider provider) {
-        String resourceType = resourceTypeFromResourceId(id).toLowerCase();
-        // Exact match
-        for (ProviderResourceType prt : provider.resourceTypes()) {
-            if (prt.resourceType().equalsIgnoreCase(resourceType)) {
-                return prt.apiVersions().get(0);
-            }
-        }
-        // child resource, e.g. sites/config
-        for (ProviderResourceType prt : provider.resourceTypes()) {
-            if (prt.resourceType().toLowerCase().contains("/" + resourceType)) {
-                return prt.apiVersions().get(0);
-            }
-        }
-        // look for parent
-        String parentId = parentResourceIdFromResourceId(id);
-        if (parentId != null) {
-            return defaultApiVersion(parentId, provider);
-        } else {
-            // Fallback: use a random one, not guaranteed to work
-            return provider.resourceTypes().get(0).apiVersions().get(0);
-        }
+        return ProviderApiVersions.of(provider).defaultApiVersion(id);
     }
 
     /**
@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+package com.microsoft.azure.management.resources.fluentcore.arm.collection;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.resources.fluentcore.arm.collection.implementation.ExternalChildResourceCollectionImpl;
+import com.microsoft.azure.management.resources.fluentcore.arm.models.implementation.ExternalChildResourceImpl;
+
+/**
+ * The policy controlling how {@link ExternalChildResourceCollectionImpl#commitAsync()} sends the pending
+ * operations of the child resources.
+ * <p>
+ * Without a policy all the deletes, creates and updates are sent at once. A policy can cap the number of
+ * operations in flight, run the deletes, then the creates, then the updates, and report the outcome of
+ * each child. When a child operation is throttled, the number of operations in flight is halved and the
+ * operation is retried after the delay requested by the service; it then grows back by one with each run
+ * of successful operations, up to the cap.
+ * <p>
+ * The policy also applies to collections whose children are sent as "post run" tasks of their parent's
+ * TaskGroup, e.g. DNS record sets; the children then run as the TaskGroup schedules them, so they are
+ * bounded and reported the same way but not run one phase after the other.
+ * (Internal use only)
+ */
+@Beta(Beta.SinceVersion.V1_30_0)
+public final class ExternalChildResourceCommitPolicy {
+    /**
+     * The default number of retries of a throttled child operation.
+     */
+    public static final int DEFAULT_MAX_THROTTLED_RETRIES = 3;
+
+    private int maxConcurrency = Integer.MAX_VALUE;
+    private boolean phasesInOrder;
+    private int maxThrottledRetries = DEFAULT_MAX_THROTTLED_RETRIES;
+    private ProgressListener progressListener;
+
+    /**
+     * Receives the outcome of each child operation.
+     */
+    public interface ProgressListener {
+        /**
+         * Called when the operation on a child resource completed.
+         *
+         * @param childName the name of the child resource
+         * @param operation the operation
+         * @param error the error if the operation failed, null otherwise
+         * @param completed the number of child operations completed so far
+         * @param total the number of child operations in the commit
+         */
+        void onChildCommitted(String childName, ExternalChildResourceImpl.PendingOperation operation, Throwable error,
+                              int completed, int total);
+    }
+
+    /**
+     * Sets the maximum number of child operations in flight.
+     *
+     * @param maxConcurrency the maximum number of operations
+     * @return the policy
+     */
+    public ExternalChildResourceCommitPolicy withMaxConcurrency(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        }
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    /**
+     * Runs the deletes first, then the creates, then the updates, e.g. to free names or quota before
+     * creating children.
+     *
+     * @return the policy
+     */
+    public ExternalChildResourceCommitPolicy withPhasesInOrder() {
+        this.phasesInOrder = true;
+        return this;
+    }
+
+    /**
+     * Sets the number of times a throttled child operation is retried.
+     *
+     * @param maxThrottledRetries the number of retries, 0 to fail throttled operations
+     * @return the policy
+     */
+    public ExternalChildResourceCommitPolicy withMaxThrottledRetries(int maxThrottledRetries) {
+        if (maxThrottledRetries < 0) {
+            throw new IllegalArgumentException("maxThrottledRetries cannot be negative");
+        }
+        this.maxThrottledRetries = maxThrottledRetries;
+        return this;
+    }
+
+    /**
+     * Sets the listener receiving the outcome of each child operation.
+     *
+     * @param progressListener the listener
+     * @return the policy
+     */
+    public ExternalChildResourceCommitPolicy withProgressListener(ProgressListener progressListener) {
+        this.progressListener = progressListener;
+        return this;
+    }
+
+    /**
+     * @return the maximum number of child operations in flight
+     */
+    public int maxConcurrency() {
+        return this.maxConcurrency;
+    }
+
+    /**
+     * @return true if the deletes, creates and updates run one phase after the other
+     */
+    public boolean phasesInOrder() {
+        return this.phasesInOrder;
+    }
+
+    /**
+     * @return the number of times a throttled child operation is retried
+     */
+    public int maxThrottledRetries() {
+        return this.maxThrottledRetries;
+    }
+
+    /**
+     * @return the listener receiving the outcome of each child operation, null if none
+     */
+    public ProgressListener progressListener() {
+        return this.progressListener;
+    }
+}
@@ -0,0 +1,45 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.arm.collection;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
+import com.microsoft.azure.management.apigeneration.LangDefinition;
+import com.microsoft.azure.management.apigeneration.LangDefinition.MethodConversion;
+import rx.functions.Func1;
+
+/**
+ * Provides streaming access to the Azure resources of a specific type in a specific resource group,
+ * keeping only the page being enumerated in memory.
+ * <p>
+ * (Note this interface is not intended to be implemented by user code.)
+ *
+ * @param <T> the type of the resources listed.
+ */
+@Beta(SinceVersion.V1_30_0)
+@LangDefinition(ContainerName = "CollectionActions", MethodConversionType = MethodConversion.OnlyMethod)
+public interface SupportsStreamingListingByResourceGroup<T> {
+    /**
+     * Lists resources of the specified type in the specified resource group, fetching the pages as they
+     * are enumerated and dropping them once consumed.
+     *
+     * @param resourceGroupName the name of the resource group to list the resources from
+     * @return the resources
+     */
+    Iterable<T> listByResourceGroupStreaming(String resourceGroupName);
+
+    /**
+     * Lists a projection of the resources of the specified type in the specified resource group, fetching
+     * the pages as they are enumerated and dropping them once consumed.
+     *
+     * @param resourceGroupName the name of the resource group to list the resources from
+     * @param projection the function selecting the data to keep from each resource
+     * @param <R> the type of the projection
+     * @return the projected resources
+     */
+    <R> Iterable<R> listByResourceGroupStreaming(String resourceGroupName, Func1<? super T, ? extends R> projection);
+}
@@ -0,0 +1,185 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+package com.microsoft.azure.management.resources.fluentcore.arm.collection.implementation;
+
+import com.microsoft.azure.CloudException;
+import rx.Observable;
+import rx.Subscriber;
+import rx.functions.Action0;
+import rx.functions.Action1;
+import rx.functions.Func0;
+import rx.functions.Func1;
+import rx.functions.Func2;
+import rx.schedulers.Schedulers;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Limits the number of operations in flight, halving the limit when an operation is throttled and
+ * growing it back by one after each run of as many successful operations as the limit.
+ */
+final class AdaptiveConcurrencyLimiter {
+    private static final int DEFAULT_RETRY_AFTER_IN_SECONDS = 5;
+
+    private final int maxLimit;
+    private final int maxThrottledRetries;
+    private final Queue<Subscriber<? super Object>> waiting = new ArrayDeque<>();
+    private int limit;
+    private int inFlight;
+    private int successesSinceIncrease;
+
+    /**
+     * Creates AdaptiveConcurrencyLimiter.
+     *
+     * @param maxLimit the maximum number of operations in flight
+     * @param maxThrottledRetries the number of times a throttled operation is retried
+     */
+    AdaptiveConcurrencyLimiter(int maxLimit, int maxThrottledRetries) {
+        this.maxLimit = maxLimit;
+        this.limit = maxLimit;
+        this.maxThrottledRetries = maxThrottledRetries;
+    }
+
+    /**
+     * @return the current limit
+     */
+    synchronized int limit() {
+        return this.limit;
+    }
+
+    /**
+     * Runs an operation once a slot is available, retrying it while it is throttled.
+     *
+     * @param operation the factory of the operation
+     * @param <T> the type of the operation result
+     * @return the operation
+     */
+    <T> Observable<T> run(final Func0<Observable<T>> operation) {
+        return acquire()
+                .flatMap(new Func1<Object, Observable<T>>() {
+                    @Override
+                    public Observable<T> call(Object permit) {
+                        final AtomicBoolean released = new AtomicBoolean();
+                        return operation.call()
+                                .doOnError(new Action1<Throwable>() {
+                                    @Override
+                                    public void call(Throwable throwable) {
+                                        if (released.compareAndSet(false, true)) {
+                                            release(isThrottled(throwable));
+                                        }
+                                    }
+                                })
+                                .doAfterTerminate(new Action0() {
+                                    @Override
+                                    public void call() {
+                                        if (released.compareAndSet(false, true)) {
+                                            release(false);
+                                        }
+                                    }
+                                })
+                                .doOnUnsubscribe(new Action0() {
+                                    @Override
+                                    public void call() {
+                                        if (released.compareAndSet(false, true)) {
+                                            release(false);
+                                        }
+                                    }
+                                });
+                    }
+                })
+                .retryWhen(new Func1<Observable<? extends Throwable>, Observable<?>>() {
+                    @Override
+                    public Observable<?> call(Observable<? extends Throwable> errors) {
+                        return errors.zipWith(Observable.range(1, Integer.MAX_VALUE), new Func2<Throwable, Integer, Observable<Long>>() {
+                            @Override
+                            public Observable<Long> call(Throwable throwable, Integer attempt) {
+                                if (!isThrottled(throwable) || attempt > maxThrottledRetries) {
+                                    return Observable.error(throwable);
+                                }
+                                return Observable.timer(retryAfterInSeconds(throwable), TimeUnit.SECONDS, Schedulers.computation());
+                            }
+                        }).flatMap(new Func1<Observable<Long>, Observable<Long>>() {
+                            @Override
+                            public Observable<Long> call(Observable<Long> delay) {
+                                return delay;
+                            }
+                        });
+                    }
+                });
+    }
+
+    private Observable<Object> acquire() {
+        return Observable.create(new Observable.OnSubscribe<Object>() {
+            @Override
+            public void call(Subscriber<? super Object> subscriber) {
+                boolean granted;
+                synchronized (AdaptiveConcurrencyLimiter.this) {
+                    granted = inFlight < limit;
+                    if (granted) {
+                        inFlight++;
+                    } else {
+                        waiting.add(subscriber);
+                    }
+                }
+                if (granted) {
+                    grant(subscriber);
+                }
+            }
+        });
+    }
+
+    private void release(boolean throttled) {
+        Subscriber<? super Object> next = null;
+        synchronized (this) {
+            inFlight--;
+            if (throttled) {
+                limit = Math.max(1, limit / 2);
+                successesSinceIncrease = 0;
+            } else if (limit < maxLimit && ++successesSinceIncrease >= limit) {
+                limit++;
+                successesSinceIncrease = 0;
+            }
+            if (inFlight < limit && !waiting.isEmpty()) {
+                inFlight++;
+                next = waiting.poll();
+            }
+        }
+        if (next != null) {
+            grant(next);
+        }
+    }
+
+    private void grant(Subscriber<? super Object> subscriber) {
+        if (subscriber.isUnsubscribed()) {
+            // the slot goes to the next waiting operation
+            release(false);
+            return;
+        }
+        subscriber.onNext(Boolean.TRUE);
+        subscriber.onCompleted();
+    }
+
+    private static boolean isThrottled(Throwable throwable) {
+        return throwable instanceof CloudException
+                && ((CloudException) throwable).response() != null
+                && ((CloudException) throwable).response().code() == 429;
+    }
+
+    private static long retryAfterInSeconds(Throwable throwable) {
+        String retryAfter = ((CloudException) throwable).response().headers().get("Retry-After");
+        if (retryAfter != null) {
+            try {
+                return Math.max(0, Long.parseLong(retryAfter.trim()));
+            } catch (NumberFormatException e) {
+                // an HTTP date, fall back to the default delay
+            }
+        }
+        return DEFAULT_RETRY_AFTER_IN_SECONDS;
+    }
+}
@@ -5,9 +5,11 @@
  */
 package com.microsoft.azure.management.resources.fluentcore.arm.collection.implementation;
 
+import com.microsoft.azure.management.resources.fluentcore.arm.collection.ExternalChildResourceCommitPolicy;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.ExternalChildResource;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.implementation.ExternalChildResourceImpl;
 import com.microsoft.azure.management.resources.fluentcore.dag.TaskGroup;
+import com.microsoft.azure.management.resources.fluentcore.utils.SdkContext;
 import rx.Observable;
 import rx.exceptions.CompositeException;
 import rx.functions.Action0;
@@ -19,10 +21,13 @@ import rx.subjects.PublishSubject;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Base class for cached {@link ExternalChildResourcesCachedImpl} and non-cached {@link ExternalChildResourcesNonCachedImpl}
@@ -60,6 +65,14 @@ public abstract class ExternalChildResourceCollectionImpl<
      * performed via explicit call to {@link this#commitAsync()}.
      */
     private boolean isPostRunMode;
+    /**
+     * The policy controlling how the pending operations are sent, null to use the SdkContext default policy, if any.
+     */
+    private ExternalChildResourceCommitPolicy commitPolicy;
+    /**
+     * Applies the commit policy to the operations of the children invoked as "post run" tasks of the parent.
+     */
+    private final PostRunOperationRunner postRunOperationRunner = new PostRunOperationRunner();
 
     /**
      * Used to construct error string, this is user friendly name of the child resource (e.g. Subnet, Extension).
@@ -95,6 +108,17 @@ public abstract class ExternalChildResourceCollectionImpl<
        this.isPostRunMode = false;
     }
 
+    /**
+     * Sets the policy controlling how the pending operations are sent, by {@link this#commitAsync()} or as
+     * "post run" tasks of the parent. In "post run" mode the children run as their TaskGroup schedules them,
+     * so the policy bounds their operations and reports their outcome but does not run them in phases.
+     *
+     * @param commitPolicy the policy, null to use the SdkContext default policy, if any
+     */
+    public void withCommitPolicy(ExternalChildResourceCommitPolicy commitPolicy) {
+        this.commitPolicy = commitPolicy;
+    }
+
     /**
      * Clear the child collection.
      */
@@ -115,8 +139,10 @@ public abstract class ExternalChildResourceCollectionImpl<
             if (!childResource.taskGroup().dependsOn(this.parentTaskGroup)) {
                 this.parentTaskGroup.addPostRunDependentTaskGroup(childResource.taskGroup());
             }
+            childResource.setPendingOperationRunner(this.postRunOperationRunner);
             return childResource;
         } else {
+            childResource.setPendingOperationRunner(null);
             return childResource;
         }
     }
@@ -128,6 +154,9 @@ public abstract class ExternalChildResourceCollectionImpl<
      * committed resource followed by one call to 'onCompleted' or one call to 'onError' with a
      * {@link CompositeException } containing the list of exceptions where each exception describes the reason
      * for failure of a resource commit.
+     * <p/>
+     * The operations are sent as set by the commit policy, see {@link this#withCommitPolicy(ExternalChildResourceCommitPolicy)};
+     * without a policy they are all sent at once.
      *
      * @return the observable stream
      */
@@ -139,9 +168,18 @@ public abstract class ExternalChildResourceCollectionImpl<
         final ExternalChildResourceCollectionImpl<FluentModelTImpl, FluentModelT, InnerModelT, ParentImplT, ParentT> self = this;
         List<FluentModelTImpl> items = new ArrayList<>();
         for (FluentModelTImpl item : this.childCollection.values()) {
-            items.add(item);
+            if (item.pendingOperation() != ExternalChildResourceImpl.PendingOperation.None) {
+                items.add(item);
+            }
         }
 
+        final ExternalChildResourceCommitPolicy policy = commitPolicy();
+        final int total = items.size();
+        final AtomicInteger completed = new AtomicInteger();
+        final AdaptiveConcurrencyLimiter limiter = policy == null
+                ? null
+                : new AdaptiveConcurrencyLimiter(Math.max(1, Math.min(policy.maxConcurrency(), total)), policy.maxThrottledRetries());
+
         final List<Throwable> exceptionsList = Collections.synchronizedList(new ArrayList<Throwable>());
         Observable<FluentModelTImpl> deleteStream = Observable.from(items)
                 .filter(new Func1<FluentModelTImpl, Boolean>() {
@@ -152,7 +190,12 @@ public abstract class ExternalChildResourceCollectionImpl<
                 }).flatMap(new Func1<FluentModelTImpl, Observable<FluentModelTImpl>>() {
                     @Override
                     public Observable<FluentModelTImpl> call(final FluentModelTImpl childResource) {
-                        return childResource.deleteResourceAsync()
+                        return run(limiter, new Func0<Observable<Void>>() {
+                                    @Override
+                                    public Observable<Void> call() {
+                                        return childResource.deleteResourceAsync();
+                                    }
+                                })
                                 .map(new Func1<Void, FluentModelTImpl>() {
                                     @Override
                                     public FluentModelTImpl call(Void response) {
@@ -163,12 +206,16 @@ public abstract class ExternalChildResourceCollectionImpl<
                                     public void call(FluentModelTImpl childResource) {
                                         childResource.setPendingOperation(ExternalChildResourceImpl.PendingOperation.None);
                                         self.childCollection.remove(childResource.name());
+                                        reportProgress(policy, childResource.name(),
+                                                ExternalChildResourceImpl.PendingOperation.ToBeRemoved, null, completed, total);
                                     }
                                 })
                                 .onErrorResumeNext(new Func1<Throwable, Observable<FluentModelTImpl>>() {
                                     @Override
                                     public Observable<FluentModelTImpl> call(Throwable throwable) {
                                         exceptionsList.add(throwable);
+                                        reportProgress(policy, childResource.name(),
+                                                ExternalChildResourceImpl.PendingOperation.ToBeRemoved, throwable, completed, total);
                                         return Observable.empty();
                                     }
                                 });
@@ -184,7 +231,12 @@ public abstract class ExternalChildResourceCollectionImpl<
                 }).flatMap(new Func1<FluentModelTImpl, Observable<FluentModelTImpl>>() {
                     @Override
                     public Observable<FluentModelTImpl> call(final FluentModelTImpl childResource) {
-                        return childResource.createResourceAsync()
+                        return run(limiter, new Func0<Observable<FluentModelT>>() {
+                                    @Override
+                                    public Observable<FluentModelT> call() {
+                                        return childResource.createResourceAsync();
+                                    }
+                                })
                                 .map(new Func1<FluentModelT, FluentModelTImpl>() {
                                     @Override
                                     public FluentModelTImpl call(FluentModelT fluentModelT) {
@@ -195,6 +247,8 @@ public abstract class ExternalChildResourceCollectionImpl<
                                     @Override
                                     public void call(FluentModelTImpl fluentModelT) {
                                         childResource.setPendingOperation(ExternalChildResourceImpl.PendingOperation.None);
+                                        reportProgress(policy, childResource.name(),
+                                                ExternalChildResourceImpl.PendingOperation.ToBeCreated, null, completed, total);
                                     }
                                 })
                                 .onErrorResumeNext(new Func1<Throwable, Observable<? extends FluentModelTImpl>>() {
@@ -202,6 +256,8 @@ public abstract class ExternalChildResourceCollectionImpl<
                                     public Observable<FluentModelTImpl> call(Throwable throwable) {
                                         self.childCollection.remove(childResource.name());
                                         exceptionsList.add(throwable);
+                                        reportProgress(policy, childResource.name(),
+                                                ExternalChildResourceImpl.PendingOperation.ToBeCreated, throwable, completed, total);
                                         return Observable.empty();
                                     }
                                 });
@@ -217,7 +273,12 @@ public abstract class ExternalChildResourceCollectionImpl<
                 }).flatMap(new Func1<FluentModelTImpl, Observable<FluentModelTImpl>>() {
                     @Override
                     public Observable<FluentModelTImpl> call(final FluentModelTImpl childResource) {
-                        return childResource.updateResourceAsync()
+                        return run(limiter, new Func0<Observable<FluentModelT>>() {
+                                    @Override
+                                    public Observable<FluentModelT> call() {
+                                        return childResource.updateResourceAsync();
+                                    }
+                                })
                                 .map(new Func1<FluentModelT, FluentModelTImpl>() {
                                     @Override
                                     public FluentModelTImpl call(FluentModelT e) {
@@ -228,12 +289,16 @@ public abstract class ExternalChildResourceCollectionImpl<
                                     @Override
                                     public void call(FluentModelTImpl childResource) {
                                         childResource.setPendingOperation(ExternalChildResourceImpl.PendingOperation.None);
+                                        reportProgress(policy, childResource.name(),
+                                                ExternalChildResourceImpl.PendingOperation.ToBeUpdated, null, completed, total);
                                     }
                                 })
                                 .onErrorResumeNext(new Func1<Throwable, Observable<? extends FluentModelTImpl>>() {
                                     @Override
                                     public Observable<FluentModelTImpl> call(Throwable throwable) {
                                         exceptionsList.add(throwable);
+                                        reportProgress(policy, childResource.name(),
+                                                ExternalChildResourceImpl.PendingOperation.ToBeUpdated, throwable, completed, total);
                                         return Observable.empty();
                                     }
                                 });
@@ -241,9 +306,9 @@ public abstract class ExternalChildResourceCollectionImpl<
                 });
 
         final PublishSubject<FluentModelTImpl> aggregatedErrorStream = PublishSubject.create();
-        Observable<FluentModelTImpl> operationsStream = Observable.merge(deleteStream,
-                createStream,
-                updateStream).doOnTerminate(new Action0() {
+        Observable<FluentModelTImpl> operationsStream = (policy != null && policy.phasesInOrder()
+                ? Observable.concat(deleteStream, createStream, updateStream)
+                : Observable.merge(deleteStream, createStream, updateStream)).doOnTerminate(new Action0() {
             @Override
             public void call() {
                 if (clearAfterCommit()) {
@@ -261,6 +326,104 @@ public abstract class ExternalChildResourceCollectionImpl<
         return stream;
     }
 
+    private ExternalChildResourceCommitPolicy commitPolicy() {
+        if (this.commitPolicy != null) {
+            return this.commitPolicy;
+        }
+        return SdkContext.getExternalChildResourceCommitPolicy();
+    }
+
+    private int pendingOperationCount() {
+        int count = 0;
+        for (FluentModelTImpl child : this.childCollection.values()) {
+            if (child.pendingOperation() != ExternalChildResourceImpl.PendingOperation.None) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static <T> Observable<T> run(AdaptiveConcurrencyLimiter limiter, Func0<Observable<T>> operation) {
+        if (limiter == null) {
+            return operation.call();
+        }
+        return limiter.run(operation);
+    }
+
+    private static void reportProgress(ExternalChildResourceCommitPolicy policy,
+                                       String childName,
+                                       ExternalChildResourceImpl.PendingOperation operation,
+                                       Throwable error,
+                                       AtomicInteger completed,
+                                       int total) {
+        int count = completed.incrementAndGet();
+        if (policy != null && policy.progressListener() != null) {
+            policy.progressListener().onChildCommitted(childName, operation, error, count, total);
+        }
+    }
+
+    /**
+     * Runs the operations of the children invoked as "post run" tasks of the parent through the limiter and
+     * the progress listener of the commit policy. The children invoked during one invocation of the parent
+     * form a commit; a child invoked again starts a new one.
+     */
+    private final class PostRunOperationRunner implements ExternalChildResourceImpl.PendingOperationRunner {
+        private ExternalChildResourceCommitPolicy policy;
+        private AdaptiveConcurrencyLimiter limiter;
+        private Set<String> started = new HashSet<>();
+        private AtomicInteger completed = new AtomicInteger();
+        private int total;
+
+        @Override
+        public <T> Observable<T> run(final String childName,
+                                     final ExternalChildResourceImpl.PendingOperation operation,
+                                     final Func0<Observable<T>> work) {
+            return Observable.defer(new Func0<Observable<T>>() {
+                @Override
+                public Observable<T> call() {
+                    final ExternalChildResourceCommitPolicy currentPolicy = commitPolicy();
+                    if (currentPolicy == null) {
+                        return work.call();
+                    }
+                    final AdaptiveConcurrencyLimiter currentLimiter;
+                    final AtomicInteger currentCompleted;
+                    final int currentTotal;
+                    synchronized (PostRunOperationRunner.this) {
+                        if (policy != currentPolicy || !started.add(childName)) {
+                            startCommit(currentPolicy);
+                            started.add(childName);
+                        }
+                        currentLimiter = limiter;
+                        currentCompleted = completed;
+                        currentTotal = total;
+                    }
+                    return currentLimiter.run(work)
+                            .doOnCompleted(new Action0() {
+                                @Override
+                                public void call() {
+                                    reportProgress(currentPolicy, childName, operation, null, currentCompleted, currentTotal);
+                                }
+                            })
+                            .doOnError(new Action1<Throwable>() {
+                                @Override
+                                public void call(Throwable throwable) {
+                                    reportProgress(currentPolicy, childName, operation, throwable, currentCompleted, currentTotal);
+                                }
+                            });
+                }
+            });
+        }
+
+        private void startCommit(ExternalChildResourceCommitPolicy commitPolicy) {
+            this.policy = commitPolicy;
+            this.total = Math.max(1, pendingOperationCount());
+            this.limiter = new AdaptiveConcurrencyLimiter(Math.min(commitPolicy.maxConcurrency(), this.total),
+                    commitPolicy.maxThrottledRetries());
+            this.started = new HashSet<>();
+            this.completed = new AtomicInteger();
+        }
+    }
+
     /**
      * Commits the changes in the external child resource childCollection.
      * <p/>
@@ -8,8 +8,10 @@ package com.microsoft.azure.management.resources.fluentcore.arm.collection.imple
 import com.microsoft.azure.Page;
 import com.microsoft.azure.PagedList;
 import com.microsoft.azure.management.resources.fluentcore.utils.PagedListConverter;
+import com.microsoft.azure.management.resources.fluentcore.utils.StreamingPagedIterable;
 import com.microsoft.azure.management.resources.implementation.PageImpl;
 import rx.Observable;
+import rx.functions.Func0;
 import rx.functions.Func1;
 
 import java.util.List;
@@ -47,6 +49,33 @@ public abstract class ReadableWrappersImpl<
         return wrapList(ReadableWrappersImpl.convertToPagedList(list));
     }
 
+    /**
+     * Wraps the items of an inner list a page at a time, keeping only the page being enumerated in memory.
+     * <p>
+     * Collections overriding {@link #wrapList(PagedList)} with their own converter override this method
+     * with the same converter, so that both listings filter and convert the items alike.
+     *
+     * @param innerList the factory of the inner list, invoked once per enumeration
+     * @return the wrapped items
+     */
+    protected StreamingPagedIterable<InnerT, T> wrapListStreaming(Func0<PagedList<InnerT>> innerList) {
+        return converter.convertStreaming(innerList);
+    }
+
+    /**
+     * Wraps and projects the items of an inner list a page at a time, keeping only the page being enumerated
+     * in memory.
+     *
+     * @param innerList the factory of the inner list, invoked once per enumeration
+     * @param projection the function applied to each wrapped item
+     * @param <R> the type of the projection
+     * @return the projected items
+     */
+    protected <R> Iterable<R> wrapListStreaming(Func0<PagedList<InnerT>> innerList,
+                                                Func1<? super T, ? extends R> projection) {
+        return wrapListStreaming(innerList).map(projection);
+    }
+
     /**
      * Converts the List to PagedList.
      * @param list list to be converted in to paged list
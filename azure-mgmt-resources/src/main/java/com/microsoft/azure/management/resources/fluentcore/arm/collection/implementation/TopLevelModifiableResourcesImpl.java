@@ -13,6 +13,7 @@ import com.microsoft.azure.management.resources.fluentcore.arm.collection.Suppor
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsGettingById;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsGettingByResourceGroup;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsListingByResourceGroup;
+import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsStreamingListingByResourceGroup;
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.ManagerBase;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.GroupableResource;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.HasManager;
@@ -20,10 +21,13 @@ import com.microsoft.azure.management.resources.fluentcore.collection.InnerSuppo
 import com.microsoft.azure.management.resources.fluentcore.collection.InnerSupportsGet;
 import com.microsoft.azure.management.resources.fluentcore.collection.InnerSupportsListing;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsStreamingListing;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 import com.microsoft.azure.management.resources.fluentcore.utils.RXMapper;
 import rx.Completable;
 import rx.Observable;
+import rx.functions.Func0;
+import rx.functions.Func1;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -53,6 +57,8 @@ public abstract class TopLevelModifiableResourcesImpl<
         HasInner<InnerCollectionT>,
         SupportsListing<T>,
         SupportsListingByResourceGroup<T>,
+        SupportsStreamingListing<T>,
+        SupportsStreamingListingByResourceGroup<T>,
         SupportsBatchDeletion {
 
     protected TopLevelModifiableResourcesImpl(InnerCollectionT innerCollection, ManagerT manager) {
@@ -122,4 +128,42 @@ public abstract class TopLevelModifiableResourcesImpl<
     public PagedList<T> listByResourceGroup(String resourceGroupName) {
         return wrapList(inner().listByResourceGroup(resourceGroupName));
     }
+
+    @Override
+    public Iterable<T> listStreaming() {
+        return wrapListStreaming(innerListFactory());
+    }
+
+    @Override
+    public <R> Iterable<R> listStreaming(Func1<? super T, ? extends R> projection) {
+        return wrapListStreaming(innerListFactory(), projection);
+    }
+
+    @Override
+    public Iterable<T> listByResourceGroupStreaming(String resourceGroupName) {
+        return wrapListStreaming(innerListByResourceGroupFactory(resourceGroupName));
+    }
+
+    @Override
+    public <R> Iterable<R> listByResourceGroupStreaming(String resourceGroupName, Func1<? super T, ? extends R> projection) {
+        return wrapListStreaming(innerListByResourceGroupFactory(resourceGroupName), projection);
+    }
+
+    private Func0<PagedList<InnerT>> innerListFactory() {
+        return new Func0<PagedList<InnerT>>() {
+            @Override
+            public PagedList<InnerT> call() {
+                return inner().list();
+            }
+        };
+    }
+
+    private Func0<PagedList<InnerT>> innerListByResourceGroupFactory(final String resourceGroupName) {
+        return new Func0<PagedList<InnerT>>() {
+            @Override
+            public PagedList<InnerT> call() {
+                return inner().listByResourceGroup(resourceGroupName);
+            }
+        };
+    }
 }
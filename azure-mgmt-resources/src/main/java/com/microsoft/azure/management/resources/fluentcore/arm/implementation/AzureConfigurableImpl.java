@@ -11,6 +11,8 @@ import com.microsoft.azure.AzureResponseBuilder;
 import com.microsoft.azure.credentials.AzureTokenCredentials;
 import com.microsoft.azure.management.resources.fluentcore.arm.AzureConfigurable;
 import com.microsoft.azure.management.resources.fluentcore.utils.AuxiliaryCredentialsInterceptor;
+import com.microsoft.azure.management.resources.fluentcore.utils.LongRunningOperationPoller;
+import com.microsoft.azure.management.resources.fluentcore.utils.LongRunningOperationPollingInterceptor;
 import com.microsoft.azure.management.resources.fluentcore.utils.ProviderRegistrationInterceptor;
 import com.microsoft.azure.management.resources.fluentcore.utils.ResourceManagerThrottlingInterceptor;
 import com.microsoft.azure.serializer.AzureJacksonAdapter;
@@ -68,6 +70,13 @@ public class AzureConfigurableImpl<T extends AzureConfigurable<T>>
         return (T) this;
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public T withLongRunningOperationPoller(LongRunningOperationPoller poller) {
+        this.restClientBuilder = this.restClientBuilder.withInterceptor(new LongRunningOperationPollingInterceptor(poller));
+        return (T) this;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public T withUserAgent(String userAgent) {
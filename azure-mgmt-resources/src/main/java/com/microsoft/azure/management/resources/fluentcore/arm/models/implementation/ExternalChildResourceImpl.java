@@ -9,6 +9,7 @@ import com.microsoft.azure.management.resources.fluentcore.arm.models.ExternalCh
 import com.microsoft.azure.management.resources.fluentcore.dag.FunctionalTaskItem;
 import com.microsoft.azure.management.resources.fluentcore.dag.IndexableTaskItem;
 import com.microsoft.azure.management.resources.fluentcore.dag.TaskGroup;
+import com.microsoft.azure.management.resources.fluentcore.dag.TaskGroupExecutionPolicy;
 import com.microsoft.azure.management.resources.fluentcore.model.Appliable;
 import com.microsoft.azure.management.resources.fluentcore.model.Creatable;
 import com.microsoft.azure.management.resources.fluentcore.model.Executable;
@@ -20,6 +21,7 @@ import com.microsoft.rest.ServiceFuture;
 import rx.Completable;
 import rx.Observable;
 import rx.functions.Action1;
+import rx.functions.Func0;
 import rx.functions.Func1;
 
 import java.util.Objects;
@@ -64,6 +66,10 @@ public abstract class ExternalChildResourceImpl<FluentModelT extends Indexable,
      * TaskItem in the graph to perform action on this external child resource.
      */
     private final ExternalChildActionTaskItem childAction;
+    /**
+     * Runs the pending operation when this child is invoked as a task of its parent's TaskGroup, null to run it directly.
+     */
+    private PendingOperationRunner pendingOperationRunner;
 
     /**
      * Creates an instance of external child resource in-memory.
@@ -118,6 +124,15 @@ public abstract class ExternalChildResourceImpl<FluentModelT extends Indexable,
         this.pendingOperation = pendingOperation;
     }
 
+    /**
+     * Sets the runner of the pending operation when this child is invoked as a task of its parent's TaskGroup.
+     *
+     * @param pendingOperationRunner the runner, null to run the operation directly
+     */
+    public void setPendingOperationRunner(PendingOperationRunner pendingOperationRunner) {
+        this.pendingOperationRunner = pendingOperationRunner;
+    }
+
     /**
      * Mark that there is no action pending on this child resource and clear
      * any cached result, i.e. the output produced by the invocation of last
@@ -128,6 +143,17 @@ public abstract class ExternalChildResourceImpl<FluentModelT extends Indexable,
         this.childAction.clear();
     }
 
+    /**
+     * Gets the full Azure Resource Manager type of this child resource, e.g. "Microsoft.Network/dnsZones/A".
+     * The type must not depend on whether the child exists yet, so that creates and updates of children
+     * of a type are bounded together by a {@link TaskGroupExecutionPolicy}.
+     *
+     * @return the resource type, null to type the tasks of this child by its class name
+     */
+    protected String fullResourceType() {
+        return null;
+    }
+
     /**
      * @return the task group associated with this external child resource.
      */
@@ -388,11 +414,36 @@ public abstract class ExternalChildResourceImpl<FluentModelT extends Indexable,
         ToBeRemoved
     }
 
+    /**
+     * Runs the pending operations of the child resources invoked as tasks of their parent's TaskGroup,
+     * e.g. to bound them as the collection they belong to does on commit.
+     * (Internal use only)
+     */
+    public interface PendingOperationRunner {
+        /**
+         * Runs the pending operation of a child resource.
+         *
+         * @param childName the name of the child resource
+         * @param operation the pending operation
+         * @param work the factory of the observable performing the operation
+         * @param <T> the type of the operation result
+         * @return the observable performing the operation
+         */
+        <T> Observable<T> run(String childName, PendingOperation operation, Func0<Observable<T>> work);
+    }
+
+    private <T> Observable<T> runPendingOperation(PendingOperation operation, Func0<Observable<T>> work) {
+        if (this.pendingOperationRunner == null) {
+            return work.call();
+        }
+        return this.pendingOperationRunner.run(this.name, operation, work);
+    }
+
     /**
      * A TaskItem in the graph, when invoked performs actions (create, update or delete) on an
      * external child resource it composes.
      */
-    private class ExternalChildActionTaskItem extends IndexableTaskItem {
+    private class ExternalChildActionTaskItem extends IndexableTaskItem implements TaskGroupExecutionPolicy.HasTaskType {
         /**
          * The composed external child resource.
          */
@@ -418,6 +469,13 @@ public abstract class ExternalChildResourceImpl<FluentModelT extends Indexable,
             this.externalChild = externalChild;
         }
 
+        @Override
+        public String taskType() {
+            // lets a TaskGroupExecutionPolicy bound the children of a type in post run mode, e.g. DNS record sets
+            String resourceType = this.externalChild.fullResourceType();
+            return resourceType != null ? resourceType : this.externalChild.getClass().getSimpleName();
+        }
+
         @Override
         public void beforeGroupInvoke() {
             this.externalChild.beforeGroupCreateOrUpdate();
@@ -427,7 +485,12 @@ public abstract class ExternalChildResourceImpl<FluentModelT extends Indexable,
         public Observable<Indexable> invokeTaskAsync(TaskGroup.InvocationContext context) {
             switch (this.externalChild.pendingOperation()) {
                 case ToBeCreated:
-                    return this.externalChild.createResourceAsync()
+                    return this.externalChild.runPendingOperation(PendingOperation.ToBeCreated, new Func0<Observable<FluentModelT>>() {
+                                @Override
+                                public Observable<FluentModelT> call() {
+                                    return externalChild.createResourceAsync();
+                                }
+                            })
                             .doOnNext(new Action1<FluentModelT>() {
                                 @Override
                                 public void call(FluentModelT createdExternalChild) {
@@ -441,7 +504,12 @@ public abstract class ExternalChildResourceImpl<FluentModelT extends Indexable,
                                 }
                             });
                 case ToBeUpdated:
-                    return this.externalChild.updateResourceAsync()
+                    return this.externalChild.runPendingOperation(PendingOperation.ToBeUpdated, new Func0<Observable<FluentModelT>>() {
+                                @Override
+                                public Observable<FluentModelT> call() {
+                                    return externalChild.updateResourceAsync();
+                                }
+                            })
                             .doOnNext(new Action1<FluentModelT>() {
                                 @Override
                                 public void call(FluentModelT createdExternalChild) {
@@ -464,7 +532,12 @@ public abstract class ExternalChildResourceImpl<FluentModelT extends Indexable,
                     //      }
                     //  }).andThen(voidObservable());
                     //
-                    return this.externalChild.deleteResourceAsync()
+                    return this.externalChild.runPendingOperation(PendingOperation.ToBeRemoved, new Func0<Observable<Void>>() {
+                                @Override
+                                public Observable<Void> call() {
+                                    return externalChild.deleteResourceAsync();
+                                }
+                            })
                             .doOnNext(new Action1<Void>() {
                                 @Override
                                 public void call(Void aVoid) {
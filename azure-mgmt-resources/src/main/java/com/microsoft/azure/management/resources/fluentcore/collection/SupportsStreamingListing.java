@@ -0,0 +1,43 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.collection;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
+import com.microsoft.azure.management.apigeneration.LangDefinition;
+import com.microsoft.azure.management.apigeneration.LangDefinition.MethodConversion;
+import rx.functions.Func1;
+
+/**
+ * Provides streaming access to the Azure resources of a specific type in a subscription, keeping
+ * only the page being enumerated in memory.
+ * <p>
+ * (Note: this interface is not intended to be implemented by user code)
+ *
+ * @param <T> the fluent type of the resource
+ */
+@Beta(SinceVersion.V1_30_0)
+@LangDefinition(ContainerName = "CollectionActions", MethodConversionType = MethodConversion.OnlyMethod)
+public interface SupportsStreamingListing<T> {
+    /**
+     * Lists all the resources of the specified type in the currently selected subscription, fetching
+     * the pages as they are enumerated and dropping them once consumed.
+     *
+     * @return the resources
+     */
+    Iterable<T> listStreaming();
+
+    /**
+     * Lists a projection of all the resources of the specified type in the currently selected subscription,
+     * fetching the pages as they are enumerated and dropping them once consumed.
+     *
+     * @param projection the function selecting the data to keep from each resource
+     * @param <R> the type of the projection
+     * @return the projected resources
+     */
+    <R> Iterable<R> listStreaming(Func1<? super T, ? extends R> projection);
+}
@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.dag;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Expected durations of tasks by task type, used to find the critical path of a {@link TaskGroup}.
+ * <p>
+ * Durations can be declared up front; for task types without a declared duration the average of
+ * the durations observed so far is used.
+ */
+@Beta(Beta.SinceVersion.V1_30_0)
+public final class TaskDurations {
+    private static final TaskDurations SHARED = new TaskDurations();
+    private static final long DEFAULT_DURATION_IN_MILLIS = 10000;
+    // weight of the latest observation in the moving average
+    private static final double SMOOTHING = 0.2;
+
+    private final ConcurrentMap<String, Long> declared = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Double> observed = new ConcurrentHashMap<>();
+    private volatile long defaultDurationInMillis = DEFAULT_DURATION_IN_MILLIS;
+
+    /**
+     * @return the durations shared by all task group invocations that do not specify their own
+     */
+    public static TaskDurations shared() {
+        return SHARED;
+    }
+
+    /**
+     * Declares the expected duration of a task type.
+     *
+     * @param taskType the task type, as reported by {@link TaskGroupExecutionPolicy#taskTypeOf(TaskItem)}
+     * @param durationInMillis the expected duration in milliseconds
+     * @return the durations
+     */
+    public TaskDurations withDeclaredDuration(String taskType, long durationInMillis) {
+        this.declared.put(taskType, durationInMillis);
+        return this;
+    }
+
+    /**
+     * Sets the duration assumed for task types with neither a declared nor an observed duration.
+     *
+     * @param durationInMillis the duration in milliseconds
+     * @return the durations
+     */
+    public TaskDurations withDefaultDuration(long durationInMillis) {
+        this.defaultDurationInMillis = durationInMillis;
+        return this;
+    }
+
+    /**
+     * Gets the expected duration of a task type.
+     *
+     * @param taskType the task type
+     * @return the expected duration in milliseconds
+     */
+    public long expectedDurationInMillis(String taskType) {
+        Long declaredDuration = declared.get(taskType);
+        if (declaredDuration != null) {
+            return declaredDuration;
+        }
+        Double average = observed.get(taskType);
+        if (average != null) {
+            return Math.round(average);
+        }
+        return defaultDurationInMillis;
+    }
+
+    /**
+     * Records an observed duration of a task type.
+     *
+     * @param taskType the task type
+     * @param durationInMillis the observed duration in milliseconds
+     */
+    public void record(String taskType, long durationInMillis) {
+        while (true) {
+            Double current = observed.get(taskType);
+            if (current == null) {
+                if (observed.putIfAbsent(taskType, (double) durationInMillis) == null) {
+                    return;
+                }
+            } else {
+                double updated = current + SMOOTHING * (durationInMillis - current);
+                if (observed.replace(taskType, current, updated)) {
+                    return;
+                }
+            }
+        }
+    }
+}
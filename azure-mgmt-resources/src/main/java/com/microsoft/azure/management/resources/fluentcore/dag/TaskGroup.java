@@ -7,6 +7,7 @@
 package com.microsoft.azure.management.resources.fluentcore.dag;
 
 import com.microsoft.azure.management.resources.fluentcore.model.Indexable;
+import com.microsoft.azure.management.resources.fluentcore.utils.SdkContext;
 import rx.Completable;
 import rx.Observable;
 import rx.functions.Func0;
@@ -70,6 +71,10 @@ public class TaskGroup
      * for post run.
      */
     protected ProxyTaskGroupWrapper proxyTaskGroupWrapper;
+    /**
+     * The scheduler admitting the tasks of the current invocation according to its execution policy.
+     */
+    private TaskGroupScheduler scheduler;
 
     /**
      * Creates TaskGroup.
@@ -277,6 +282,7 @@ public class TaskGroup
             return Observable.error(new IllegalStateException("invokeInternAsync(cxt) can be called only from root TaskGroup"));
         }
         this.taskGroupTerminateOnErrorStrategy = context.terminateOnErrorStrategy();
+        this.scheduler = new TaskGroupScheduler(this, context.executionPolicy(), context.executionTimeline());
         if (shouldRunBeforeGroupInvoke) {
             // Prepare tasks and queue the ready tasks (terminal tasks with no dependencies)
             //
@@ -347,19 +353,22 @@ public class TaskGroup
      * @return an observable that emits the result of tasks in the order they finishes.
      */
     private Observable<Indexable> invokeReadyTasksAsync(final InvocationContext context) {
-        TaskGroupEntry<TaskItem> readyTaskEntry = super.getNext();
-        final List<Observable<Indexable>> observables = new ArrayList<>();
-        // Enumerate the ready tasks (those with dependencies resolved) and kickoff them concurrently
+        // Enumerate the ready tasks (those with dependencies resolved) and kickoff them concurrently,
+        // the ones on the longest remaining path to the root first
         //
-        while (readyTaskEntry != null) {
-            final TaskGroupEntry<TaskItem> currentEntry = readyTaskEntry;
+        final List<TaskGroupEntry<TaskItem>> readyTaskEntries = new ArrayList<>();
+        for (TaskGroupEntry<TaskItem> readyTaskEntry = super.getNext(); readyTaskEntry != null; readyTaskEntry = super.getNext()) {
+            readyTaskEntries.add(readyTaskEntry);
+        }
+        this.scheduler.prioritize(readyTaskEntries);
+        final List<Observable<Indexable>> observables = new ArrayList<>();
+        for (TaskGroupEntry<TaskItem> currentEntry : readyTaskEntries) {
             final TaskItem currentTaskItem = currentEntry.data();
             if (currentTaskItem instanceof ProxyTaskItem) {
                 observables.add(invokeAfterPostRunAsync(currentEntry, context));
             } else {
                 observables.add(invokeTaskAsync(currentEntry, context));
             }
-            readyTaskEntry = super.getNext();
         }
         return Observable.mergeDelayError(observables);
     }
@@ -390,9 +399,16 @@ public class TaskGroup
                 } else {
                     // Any cached result will be ignored for root resource
                     //
-                    boolean ignoreCachedResult = isRootEntry(entry) || (entry.proxy() != null && isRootEntry(entry.proxy()));
+                    final boolean ignoreCachedResult = isRootEntry(entry) || (entry.proxy() != null && isRootEntry(entry.proxy()));
 
-                    Observable<Indexable> taskObservable = entry.invokeTaskAsync(ignoreCachedResult, context);
+                    // The task is created only once the execution policy admits it
+                    //
+                    Observable<Indexable> taskObservable = scheduler.admit(entry, new Func0<Observable<Indexable>>() {
+                        @Override
+                        public Observable<Indexable> call() {
+                            return entry.invokeTaskAsync(ignoreCachedResult, context);
+                        }
+                    });
                     Func1<Indexable, Observable<Indexable>> onResult = new Func1<Indexable, Observable<Indexable>>() {
                         @Override
                         public Observable<Indexable> call(final Indexable taskResult) {
@@ -582,6 +598,8 @@ public class TaskGroup
         private final Map<String, Object> properties;
         private final TaskGroup taskGroup;
         private TaskGroupTerminateOnErrorStrategy terminateOnErrorStrategy;
+        private TaskGroupExecutionPolicy executionPolicy;
+        private final TaskGroupExecutionTimeline executionTimeline = new TaskGroupExecutionTimeline();
 
         /**
          * Creates InvocationContext instance.
@@ -624,6 +642,38 @@ public class TaskGroup
             return this.terminateOnErrorStrategy;
         }
 
+        /**
+         * Sets the policy controlling how many tasks are invoked concurrently and in which order.
+         *
+         * @param policy the execution policy
+         * @return the context
+         */
+        public InvocationContext withExecutionPolicy(TaskGroupExecutionPolicy policy) {
+            if (this.executionPolicy != null) {
+                throw new IllegalStateException("Execution policy is already set, it is immutable for a specific context");
+            }
+            this.executionPolicy = policy;
+            return this;
+        }
+
+        /**
+         * @return the execution policy to use during the current invocation of the TaskGroup.
+         */
+        public TaskGroupExecutionPolicy executionPolicy() {
+            if (this.executionPolicy == null) {
+                TaskGroupExecutionPolicy defaultPolicy = SdkContext.getTaskGroupExecutionPolicy();
+                return defaultPolicy != null ? defaultPolicy : new TaskGroupExecutionPolicy();
+            }
+            return this.executionPolicy;
+        }
+
+        /**
+         * @return the timeline recording when each task of the invocation became ready, started and completed.
+         */
+        public TaskGroupExecutionTimeline executionTimeline() {
+            return this.executionTimeline;
+        }
+
         /**
          * Put a key-value in the context.
          *
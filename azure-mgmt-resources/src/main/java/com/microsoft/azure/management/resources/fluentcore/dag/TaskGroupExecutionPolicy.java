@@ -0,0 +1,181 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.dag;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The policy controlling how the ready tasks of a {@link TaskGroup} are scheduled during an invocation.
+ * <p>
+ * By default all tasks whose dependencies are resolved are invoked at once. A policy can cap the
+ * number of tasks running at the same time, overall, per task type and per resource provider namespace,
+ * and when tasks have to wait for a slot the ones on the longest remaining path to the root of the group
+ * go first. Task types and namespaces are compared ignoring case, as Azure Resource Manager does.
+ */
+@Beta(Beta.SinceVersion.V1_30_0)
+public final class TaskGroupExecutionPolicy {
+    private int maxConcurrency = Integer.MAX_VALUE;
+    private final Map<String, Integer> maxConcurrencyPerTaskType = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final Map<String, Integer> maxConcurrencyPerProviderNamespace = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private boolean prioritizeCriticalPath = true;
+    private TaskDurations taskDurations = TaskDurations.shared();
+
+    /**
+     * A task item that reports its type, e.g. the Azure Resource Manager type of the resource it creates
+     * or updates. Tasks not implementing this interface are typed by their class name.
+     */
+    public interface HasTaskType {
+        /**
+         * @return the type of the task
+         */
+        String taskType();
+    }
+
+    /**
+     * Sets the maximum number of tasks in the group invoked at the same time.
+     *
+     * @param maxConcurrency the maximum number of tasks in flight
+     * @return the policy
+     */
+    public TaskGroupExecutionPolicy withMaxConcurrency(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        }
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of tasks of a given type invoked at the same time.
+     *
+     * @param taskType the task type, as reported by {@link #taskTypeOf(TaskItem)}
+     * @param maxConcurrency the maximum number of tasks of the type in flight
+     * @return the policy
+     */
+    public TaskGroupExecutionPolicy withMaxConcurrency(String taskType, int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        }
+        this.maxConcurrencyPerTaskType.put(taskType, maxConcurrency);
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of tasks invoked at the same time whose type belongs to a resource provider
+     * namespace, e.g. "Microsoft.Compute" for the tasks of type "Microsoft.Compute/virtualMachines" and
+     * "Microsoft.Compute/disks".
+     *
+     * @param providerNamespace the resource provider namespace
+     * @param maxConcurrency the maximum number of tasks of the namespace in flight
+     * @return the policy
+     */
+    public TaskGroupExecutionPolicy withMaxConcurrencyPerProviderNamespace(String providerNamespace, int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        }
+        this.maxConcurrencyPerProviderNamespace.put(providerNamespace, maxConcurrency);
+        return this;
+    }
+
+    /**
+     * Disables critical path priority, waiting tasks are then started in the order they became ready.
+     *
+     * @return the policy
+     */
+    public TaskGroupExecutionPolicy withoutCriticalPathPriority() {
+        this.prioritizeCriticalPath = false;
+        return this;
+    }
+
+    /**
+     * Sets the expected task durations used to weigh the critical path, by default
+     * {@link TaskDurations#shared()}.
+     *
+     * @param taskDurations the expected task durations
+     * @return the policy
+     */
+    public TaskGroupExecutionPolicy withTaskDurations(TaskDurations taskDurations) {
+        if (taskDurations == null) {
+            throw new IllegalArgumentException("taskDurations cannot be null");
+        }
+        this.taskDurations = taskDurations;
+        return this;
+    }
+
+    /**
+     * @return the maximum number of tasks in flight
+     */
+    public int maxConcurrency() {
+        return this.maxConcurrency;
+    }
+
+    /**
+     * @return the maximum number of tasks in flight per task type
+     */
+    public Map<String, Integer> maxConcurrencyPerTaskType() {
+        return Collections.unmodifiableMap(this.maxConcurrencyPerTaskType);
+    }
+
+    /**
+     * @return the maximum number of tasks in flight per resource provider namespace
+     */
+    public Map<String, Integer> maxConcurrencyPerProviderNamespace() {
+        return Collections.unmodifiableMap(this.maxConcurrencyPerProviderNamespace);
+    }
+
+    /**
+     * @return true if ready tasks on the longest remaining path are started first
+     */
+    public boolean prioritizeCriticalPath() {
+        return this.prioritizeCriticalPath;
+    }
+
+    /**
+     * @return the expected task durations used to weigh the critical path
+     */
+    public TaskDurations taskDurations() {
+        return this.taskDurations;
+    }
+
+    /**
+     * @return true if the policy limits concurrency in any way
+     */
+    boolean isBounded() {
+        return this.maxConcurrency != Integer.MAX_VALUE
+                || !this.maxConcurrencyPerTaskType.isEmpty()
+                || !this.maxConcurrencyPerProviderNamespace.isEmpty();
+    }
+
+    /**
+     * Gets the type of a task item used to apply per type limits.
+     *
+     * @param taskItem the task item
+     * @return the task type
+     */
+    public static String taskTypeOf(TaskItem taskItem) {
+        if (taskItem instanceof HasTaskType) {
+            return ((HasTaskType) taskItem).taskType();
+        }
+        return taskItem.getClass().getSimpleName();
+    }
+
+    /**
+     * Gets the resource provider namespace of a task type, e.g. "Microsoft.Compute" for
+     * "Microsoft.Compute/virtualMachines".
+     *
+     * @param taskType the task type
+     * @return the namespace, null if the task type is not an Azure Resource Manager type
+     */
+    static String providerNamespaceOf(String taskType) {
+        int index = taskType == null ? -1 : taskType.indexOf('/');
+        return index > 0 ? taskType.substring(0, index) : null;
+    }
+}
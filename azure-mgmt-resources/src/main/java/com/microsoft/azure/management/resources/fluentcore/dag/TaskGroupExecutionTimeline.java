@@ -0,0 +1,167 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.dag;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import org.joda.time.DateTime;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The timeline of a single {@link TaskGroup} invocation, recording when each task became ready,
+ * started and completed, and which of its dependencies it was waiting for last.
+ */
+@Beta(Beta.SinceVersion.V1_30_0)
+public final class TaskGroupExecutionTimeline {
+    private final Map<String, TaskExecutionRecord> recordsByKey = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<TaskExecutionRecord> records = new ConcurrentLinkedQueue<>();
+
+    TaskGroupExecutionTimeline() {
+    }
+
+    /**
+     * @return the records of the tasks, in the order they became ready
+     */
+    public List<TaskExecutionRecord> records() {
+        return Collections.unmodifiableList(new ArrayList<>(records));
+    }
+
+    /**
+     * Gets the record of a task.
+     *
+     * @param key the task key
+     * @return the record, null if the task has not become ready yet
+     */
+    public TaskExecutionRecord record(String key) {
+        return recordsByKey.get(key);
+    }
+
+    /**
+     * Gets the chain of tasks that determined the completion time of the invocation: starting from the
+     * last completed task, each task is preceded by the dependency it was waiting for last.
+     *
+     * @return the records on the critical path, first task first
+     */
+    public List<TaskExecutionRecord> criticalPath() {
+        TaskExecutionRecord last = null;
+        for (TaskExecutionRecord record : records) {
+            if (record.completedTime() != null
+                    && (last == null || record.completedTime().isAfter(last.completedTime()))) {
+                last = record;
+            }
+        }
+        LinkedList<TaskExecutionRecord> path = new LinkedList<>();
+        for (TaskExecutionRecord current = last; current != null; current = recordsByKey.get(current.blockingDependencyKey())) {
+            path.addFirst(current);
+            if (current.blockingDependencyKey() == null) {
+                break;
+            }
+        }
+        return path;
+    }
+
+    TaskExecutionRecord onQueued(String key, String taskType, Iterable<String> dependencyKeys) {
+        String blockingDependencyKey = null;
+        DateTime blockingCompletedTime = null;
+        for (String dependencyKey : dependencyKeys) {
+            TaskExecutionRecord dependency = recordsByKey.get(dependencyKey);
+            if (dependency != null && dependency.completedTime() != null
+                    && (blockingCompletedTime == null || dependency.completedTime().isAfter(blockingCompletedTime))) {
+                blockingDependencyKey = dependencyKey;
+                blockingCompletedTime = dependency.completedTime();
+            }
+        }
+        TaskExecutionRecord record = new TaskExecutionRecord(key, taskType, blockingDependencyKey);
+        recordsByKey.put(key, record);
+        records.add(record);
+        return record;
+    }
+
+    /**
+     * The timestamps of a task in a task group invocation.
+     */
+    public static final class TaskExecutionRecord {
+        private final String key;
+        private final String taskType;
+        private final String blockingDependencyKey;
+        private final DateTime queuedTime;
+        private volatile DateTime startedTime;
+        private volatile DateTime completedTime;
+        private volatile boolean faulted;
+
+        private TaskExecutionRecord(String key, String taskType, String blockingDependencyKey) {
+            this.key = key;
+            this.taskType = taskType;
+            this.blockingDependencyKey = blockingDependencyKey;
+            this.queuedTime = DateTime.now();
+        }
+
+        /**
+         * @return the task key
+         */
+        public String key() {
+            return key;
+        }
+
+        /**
+         * @return the task type
+         */
+        public String taskType() {
+            return taskType;
+        }
+
+        /**
+         * @return the key of the dependency that completed last before this task became ready, null if none
+         */
+        public String blockingDependencyKey() {
+            return blockingDependencyKey;
+        }
+
+        /**
+         * @return the time the task became ready
+         */
+        public DateTime queuedTime() {
+            return queuedTime;
+        }
+
+        /**
+         * @return the time the task was started, null if not started yet
+         */
+        public DateTime startedTime() {
+            return startedTime;
+        }
+
+        /**
+         * @return the time the task completed, null if not completed yet
+         */
+        public DateTime completedTime() {
+            return completedTime;
+        }
+
+        /**
+         * @return true if the task completed with an error
+         */
+        public boolean isFaulted() {
+            return faulted;
+        }
+
+        void onStarted() {
+            this.startedTime = DateTime.now();
+        }
+
+        void onCompleted(boolean faulted) {
+            this.faulted = faulted;
+            this.completedTime = DateTime.now();
+        }
+    }
+}
@@ -0,0 +1,302 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.dag;
+
+import com.microsoft.azure.management.resources.fluentcore.model.Indexable;
+import rx.Completable;
+import rx.Observable;
+import rx.Subscriber;
+import rx.functions.Action0;
+import rx.functions.Action1;
+import rx.functions.Func0;
+import rx.schedulers.Schedulers;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Schedules the tasks of a single {@link TaskGroup} invocation according to a {@link TaskGroupExecutionPolicy}
+ * and records them in the invocation's {@link TaskGroupExecutionTimeline}.
+ * <p>
+ * A task holds its slot only while its own work runs, the slot is released before the tasks that
+ * become ready on its completion are scheduled.
+ */
+final class TaskGroupScheduler {
+    private final TaskGroup taskGroup;
+    private final TaskGroupExecutionPolicy policy;
+    private final TaskGroupExecutionTimeline timeline;
+    private final PriorityQueue<Waiter> waiters = new PriorityQueue<>();
+    private final Map<String, Integer> runningPerType = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final Map<String, Integer> runningPerNamespace = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final Map<String, Long> criticalPathLengths = new HashMap<>();
+    private int running;
+    private long sequence;
+
+    TaskGroupScheduler(TaskGroup taskGroup, TaskGroupExecutionPolicy policy, TaskGroupExecutionTimeline timeline) {
+        this.taskGroup = taskGroup;
+        this.policy = policy;
+        this.timeline = timeline;
+    }
+
+    /**
+     * Orders ready entries so that the ones on the longest remaining path are dispatched first.
+     *
+     * @param entries the ready entries
+     */
+    void prioritize(List<TaskGroupEntry<TaskItem>> entries) {
+        if (!policy.prioritizeCriticalPath() || entries.size() < 2) {
+            return;
+        }
+        final Map<String, Long> lengths = new HashMap<>();
+        synchronized (this) {
+            for (TaskGroupEntry<TaskItem> entry : entries) {
+                lengths.put(entry.key(), criticalPathLength(entry.key()));
+            }
+        }
+        Collections.sort(entries, new Comparator<TaskGroupEntry<TaskItem>>() {
+            @Override
+            public int compare(TaskGroupEntry<TaskItem> left, TaskGroupEntry<TaskItem> right) {
+                return lengths.get(right.key()).compareTo(lengths.get(left.key()));
+            }
+        });
+    }
+
+    /**
+     * Wraps the work of a task so that it is created and started only once the policy admits it.
+     *
+     * @param entry the entry holding the task
+     * @param work the factory creating the work of the task
+     * @return the admitted work
+     */
+    Observable<Indexable> admit(final TaskGroupEntry<TaskItem> entry, final Func0<Observable<Indexable>> work) {
+        return Observable.create(new Observable.OnSubscribe<Indexable>() {
+            @Override
+            public void call(final Subscriber<? super Indexable> subscriber) {
+                final String taskType = TaskGroupExecutionPolicy.taskTypeOf(entry.data());
+                final TaskGroupExecutionTimeline.TaskExecutionRecord record =
+                        timeline.onQueued(entry.key(), taskType, entry.dependencyKeys());
+                Action0 start = new Action0() {
+                    @Override
+                    public void call() {
+                        if (subscriber.isUnsubscribed()) {
+                            // cancelled while waiting, the work is never created
+                            if (policy.isBounded()) {
+                                release(taskType, true);
+                            }
+                            return;
+                        }
+                        startTask(entry, taskType, record, work, subscriber);
+                    }
+                };
+                if (!policy.isBounded()) {
+                    start.call();
+                    return;
+                }
+                synchronized (TaskGroupScheduler.this) {
+                    long priority = policy.prioritizeCriticalPath() ? criticalPathLength(entry.key()) : 0;
+                    waiters.add(new Waiter(taskType, priority, sequence++, subscriber, start));
+                }
+                drain();
+            }
+        });
+    }
+
+    private void startTask(TaskGroupEntry<TaskItem> entry,
+                           final String taskType,
+                           final TaskGroupExecutionTimeline.TaskExecutionRecord record,
+                           Func0<Observable<Indexable>> work,
+                           Subscriber<? super Indexable> subscriber) {
+        // a task with a cached result completes immediately, it says nothing about how long the task takes
+        final boolean recordDuration = entry.data().result() == null;
+        final AtomicBoolean faulted = new AtomicBoolean();
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        final AtomicBoolean completed = new AtomicBoolean();
+        final Action0 complete = new Action0() {
+            @Override
+            public void call() {
+                if (completed.compareAndSet(false, true)) {
+                    record.onCompleted(faulted.get());
+                    // a cancelled task did not run to its end, its duration is not one of the task type
+                    if (recordDuration && !faulted.get() && !cancelled.get()) {
+                        policy.taskDurations().record(taskType,
+                                record.completedTime().getMillis() - record.startedTime().getMillis());
+                    }
+                    if (policy.isBounded()) {
+                        release(taskType, cancelled.get());
+                    }
+                }
+            }
+        };
+        record.onStarted();
+        Observable.defer(work)
+                .doOnError(new Action1<Throwable>() {
+                    @Override
+                    public void call(Throwable throwable) {
+                        faulted.set(true);
+                    }
+                })
+                .doOnTerminate(complete)
+                .doOnUnsubscribe(new Action0() {
+                    @Override
+                    public void call() {
+                        // runs after the terminal event of a task that ran to its end, which is recorded by then
+                        cancelled.set(!completed.get());
+                        complete.call();
+                    }
+                })
+                .subscribe(subscriber);
+    }
+
+    private void release(String taskType, boolean cancelled) {
+        synchronized (this) {
+            running--;
+            runningPerType.put(taskType, runningPerType.get(taskType) - 1);
+            String namespace = TaskGroupExecutionPolicy.providerNamespaceOf(taskType);
+            if (namespace != null) {
+                runningPerNamespace.put(namespace, runningPerNamespace.get(namespace) - 1);
+            }
+        }
+        if (cancelled) {
+            // the invocation is likely being unsubscribed as a whole, drain once the waiting tasks are
+            // unsubscribed too rather than starting them in between
+            Completable.fromAction(new Action0() {
+                @Override
+                public void call() {
+                    drain();
+                }
+            }).subscribeOn(Schedulers.computation()).subscribe();
+        } else {
+            drain();
+        }
+    }
+
+    /**
+     * Starts as many waiting tasks as the policy allows, highest priority first.
+     */
+    private void drain() {
+        List<Waiter> admitted = new ArrayList<>();
+        synchronized (this) {
+            List<Waiter> skipped = new ArrayList<>();
+            while (running < policy.maxConcurrency() && !waiters.isEmpty()) {
+                Waiter waiter = waiters.poll();
+                if (waiter.subscriber.isUnsubscribed()) {
+                    // cancelled while waiting, it takes no slot
+                    continue;
+                }
+                int typeRunning = count(runningPerType, waiter.taskType);
+                int namespaceRunning = count(runningPerNamespace, waiter.namespace);
+                if (atLimit(policy.maxConcurrencyPerTaskType(), waiter.taskType, typeRunning)
+                        || atLimit(policy.maxConcurrencyPerProviderNamespace(), waiter.namespace, namespaceRunning)) {
+                    skipped.add(waiter);
+                    continue;
+                }
+                running++;
+                runningPerType.put(waiter.taskType, typeRunning + 1);
+                if (waiter.namespace != null) {
+                    runningPerNamespace.put(waiter.namespace, namespaceRunning + 1);
+                }
+                admitted.add(waiter);
+            }
+            waiters.addAll(skipped);
+        }
+        for (Waiter waiter : admitted) {
+            waiter.start.call();
+        }
+    }
+
+    private static int count(Map<String, Integer> running, String key) {
+        Integer count = key == null ? null : running.get(key);
+        return count == null ? 0 : count;
+    }
+
+    private static boolean atLimit(Map<String, Integer> limits, String key, int running) {
+        Integer limit = key == null ? null : limits.get(key);
+        return limit != null && running >= limit;
+    }
+
+    /**
+     * Gets the expected time from the start of the task with the given key to the completion of the root,
+     * following the longest chain of dependents.
+     * <p>
+     * The lengths are computed with an explicit stack, a dependent before the tasks it depends on, so that
+     * long chains of tasks do not exhaust the call stack.
+     *
+     * @param key the task key
+     * @return the critical path length in milliseconds
+     */
+    private long criticalPathLength(String key) {
+        Long length = criticalPathLengths.get(key);
+        if (length != null) {
+            return length;
+        }
+        Deque<String> pending = new ArrayDeque<>();
+        pending.push(key);
+        while (!pending.isEmpty()) {
+            String current = pending.peek();
+            if (criticalPathLengths.containsKey(current)) {
+                pending.pop();
+                continue;
+            }
+            TaskGroupEntry<TaskItem> entry = taskGroup.getNode(current);
+            long longest = 0;
+            boolean resolved = true;
+            for (String dependentKey : entry.dependentKeys()) {
+                Long dependentLength = criticalPathLengths.get(dependentKey);
+                if (dependentLength == null) {
+                    pending.push(dependentKey);
+                    resolved = false;
+                } else {
+                    longest = Math.max(longest, dependentLength);
+                }
+            }
+            if (resolved) {
+                pending.pop();
+                criticalPathLengths.put(current, longest + policy.taskDurations()
+                        .expectedDurationInMillis(TaskGroupExecutionPolicy.taskTypeOf(entry.data())));
+            }
+        }
+        return criticalPathLengths.get(key);
+    }
+
+    /**
+     * A task waiting to be admitted.
+     */
+    private static final class Waiter implements Comparable<Waiter> {
+        private final String taskType;
+        private final String namespace;
+        private final long priority;
+        private final long sequence;
+        private final Subscriber<?> subscriber;
+        private final Action0 start;
+
+        private Waiter(String taskType, long priority, long sequence, Subscriber<?> subscriber, Action0 start) {
+            this.taskType = taskType;
+            this.namespace = TaskGroupExecutionPolicy.providerNamespaceOf(taskType);
+            this.priority = priority;
+            this.sequence = sequence;
+            this.subscriber = subscriber;
+            this.start = start;
+        }
+
+        @Override
+        public int compareTo(Waiter other) {
+            if (this.priority != other.priority) {
+                return this.priority > other.priority ? -1 : 1;
+            }
+            return this.sequence < other.sequence ? -1 : (this.sequence == other.sequence ? 0 : 1);
+        }
+    }
+}
@@ -78,6 +78,17 @@ public abstract class CreatableUpdatableImpl<
         return this.name;
     }
 
+    /**
+     * Gets the full Azure Resource Manager type of this model, e.g. "Microsoft.Compute/virtualMachines",
+     * used to type the task creating or updating it. The type must not depend on whether the model exists
+     * yet, so that creates and updates of a type are bounded together by a TaskGroupExecutionPolicy.
+     *
+     * @return the resource type, null to type the task of this model by its class name
+     */
+    protected String fullResourceType() {
+        return null;
+    }
+
     @Override
     public TaskGroup taskGroup() {
         return this.taskGroup;
@@ -6,9 +6,12 @@
 
 package com.microsoft.azure.management.resources.fluentcore.model.implementation;
 
+import com.microsoft.azure.management.resources.fluentcore.arm.ResourceUtils;
 import com.microsoft.azure.management.resources.fluentcore.dag.TaskGroup;
+import com.microsoft.azure.management.resources.fluentcore.dag.TaskGroupExecutionPolicy;
 import com.microsoft.azure.management.resources.fluentcore.dag.TaskItem;
 import com.microsoft.azure.management.resources.fluentcore.model.Indexable;
+import com.microsoft.azure.management.resources.fluentcore.utils.ResourceManagerRateLimiter;
 import com.microsoft.azure.management.resources.fluentcore.utils.SdkContext;
 import rx.Completable;
 import rx.Observable;
@@ -21,7 +24,7 @@ import rx.functions.Func1;
  *
  * @param <ResourceT> the type of the resource that this task creates or update
  */
-public class CreateUpdateTask<ResourceT extends Indexable> implements TaskItem {
+public class CreateUpdateTask<ResourceT extends Indexable> implements TaskItem, TaskGroupExecutionPolicy.HasTaskType {
     /**
      * the underlying instance that can create and update the resource.
      */
@@ -46,6 +49,14 @@ public class CreateUpdateTask<ResourceT extends Indexable> implements TaskItem {
         return resource;
     }
 
+    @Override
+    public String taskType() {
+        String resourceType = this.resourceCreatorUpdater instanceof CreatableUpdatableImpl
+                ? ((CreatableUpdatableImpl<?, ?, ?>) this.resourceCreatorUpdater).fullResourceType()
+                : null;
+        return resourceType != null ? resourceType : this.resourceCreatorUpdater.getClass().getSimpleName();
+    }
+
     @Override
     public void beforeGroupInvoke() {
         this.resourceCreatorUpdater.beforeGroupCreateOrUpdate();
@@ -54,7 +65,7 @@ public class CreateUpdateTask<ResourceT extends Indexable> implements TaskItem {
     @Override
     public Observable<Indexable> invokeAsync(TaskGroup.InvocationContext context) {
         if (this.resourceCreatorUpdater.isInCreateMode()) {
-            return this.resourceCreatorUpdater.createResourceAsync()
+            return paced(this.resourceCreatorUpdater.createResourceAsync())
                     .subscribeOn(SdkContext.getRxScheduler())
                     .doOnNext(new Action1<ResourceT>() {
                         @Override
@@ -68,7 +79,7 @@ public class CreateUpdateTask<ResourceT extends Indexable> implements TaskItem {
                         }
                     });
         } else {
-            return this.resourceCreatorUpdater.updateResourceAsync()
+            return paced(this.resourceCreatorUpdater.updateResourceAsync())
                     .subscribeOn(SdkContext.getRxScheduler())
                     .doOnNext(new Action1<ResourceT>() {
                         @Override
@@ -85,6 +96,20 @@ public class CreateUpdateTask<ResourceT extends Indexable> implements TaskItem {
         }
     }
 
+    /**
+     * Delays the create or update request until a write permit of the client sending it is due.
+     *
+     * @param request the observable sending the request
+     * @return the paced request
+     */
+    private Observable<ResourceT> paced(Observable<ResourceT> request) {
+        ResourceManagerRateLimiter rateLimiter = ResourceUtils.rateLimiterOf(this.resourceCreatorUpdater);
+        if (rateLimiter == null) {
+            return request;
+        }
+        return rateLimiter.pace(ResourceUtils.subscriptionIdOf(this.resourceCreatorUpdater), true, request);
+    }
+
     @Override
     public Completable invokeAfterPostRunAsync(boolean isGroupFaulted) {
         return this.resourceCreatorUpdater.afterPostRunAsync(isGroupFaulted);
@@ -61,6 +61,16 @@ public abstract class ExecutableImpl<FluentModelT extends Indexable>
         return this.taskGroup;
     }
 
+    /**
+     * Gets the full Azure Resource Manager type of the resource this model acts on, used to type the
+     * task executing it.
+     *
+     * @return the resource type, null to type the task of this model by its class name
+     */
+    protected String fullResourceType() {
+        return null;
+    }
+
     /**
      * Add a dependency task item for this executable.
      *
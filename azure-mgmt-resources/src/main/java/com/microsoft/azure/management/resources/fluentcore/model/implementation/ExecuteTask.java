@@ -7,6 +7,7 @@
 package com.microsoft.azure.management.resources.fluentcore.model.implementation;
 
 import com.microsoft.azure.management.resources.fluentcore.dag.TaskGroup;
+import com.microsoft.azure.management.resources.fluentcore.dag.TaskGroupExecutionPolicy;
 import com.microsoft.azure.management.resources.fluentcore.dag.TaskItem;
 import com.microsoft.azure.management.resources.fluentcore.model.Indexable;
 import com.microsoft.azure.management.resources.fluentcore.utils.SdkContext;
@@ -21,7 +22,7 @@ import rx.functions.Func1;
  *
  * @param <ResultT> the type of the result that this task produces upon execution
  */
-public class ExecuteTask<ResultT extends Indexable> implements TaskItem {
+public class ExecuteTask<ResultT extends Indexable> implements TaskItem, TaskGroupExecutionPolicy.HasTaskType {
     /**
      * the underlying instance that can execute the task.
      */
@@ -45,6 +46,14 @@ public class ExecuteTask<ResultT extends Indexable> implements TaskItem {
         return this.result;
     }
 
+    @Override
+    public String taskType() {
+        String resourceType = this.executor instanceof ExecutableImpl
+                ? ((ExecutableImpl<?>) this.executor).fullResourceType()
+                : null;
+        return resourceType != null ? resourceType : this.executor.getClass().getSimpleName();
+    }
+
     @Override
     public void beforeGroupInvoke() {
         executor.beforeGroupExecute();
@@ -57,6 +66,7 @@ public class ExecuteTask<ResultT extends Indexable> implements TaskItem {
 
     @Override
     public Observable<Indexable> invokeAsync(TaskGroup.InvocationContext context) {
+        // the work may read or write, its requests are paced by the interceptor that knows their method
         return this.executor.executeWorkAsync()
                 .subscribeOn(SdkContext.getRxScheduler())
                 .doOnNext(new Action1<ResultT>() {
@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.utils;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import org.joda.time.Period;
+import rx.Observable;
+import rx.functions.Action0;
+import rx.functions.Action1;
+import rx.functions.Func0;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A cache of values loaded asynchronously, each kept for a time to live.
+ * <p>
+ * A value being loaded never expires, so that concurrent lookups share its load; the time to live
+ * starts when the load emits the value. A load failing or completing without a value is removed so
+ * that the next lookup retries.
+ * (Internal use only)
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+@Beta(Beta.SinceVersion.V1_30_0)
+public final class ExpiringCache<K, V> {
+    private final ConcurrentMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private volatile long timeToLiveInMillis;
+
+    /**
+     * A value, loaded or being loaded.
+     *
+     * @param <V> the type of the value
+     */
+    private static final class Entry<V> {
+        private volatile Observable<V> value;
+        private volatile long expiresAtMillis = Long.MAX_VALUE;
+        private volatile boolean loaded;
+    }
+
+    /**
+     * Creates ExpiringCache.
+     *
+     * @param timeToLive the time a value is kept
+     */
+    public ExpiringCache(Period timeToLive) {
+        withTimeToLive(timeToLive);
+    }
+
+    /**
+     * Sets the time a value is kept, applying to the values loaded from now on.
+     *
+     * @param timeToLive the time to live
+     * @return the cache
+     */
+    public ExpiringCache<K, V> withTimeToLive(Period timeToLive) {
+        this.timeToLiveInMillis = timeToLive.toStandardDuration().getMillis();
+        return this;
+    }
+
+    /**
+     * Gets a value, loading it if it is missing or expired.
+     *
+     * @param key the key of the value
+     * @param loader the factory of the observable loading the value
+     * @return an observable emitting the value
+     */
+    public Observable<V> get(final K key, Func0<Observable<V>> loader) {
+        while (true) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && entry.expiresAtMillis > System.currentTimeMillis()) {
+                return entry.value;
+            }
+            final Entry<V> created = new Entry<>();
+            created.value = loader.call()
+                    .doOnNext(new Action1<V>() {
+                        @Override
+                        public void call(V value) {
+                            created.loaded = true;
+                            created.expiresAtMillis = System.currentTimeMillis() + timeToLiveInMillis;
+                        }
+                    })
+                    .doOnCompleted(new Action0() {
+                        @Override
+                        public void call() {
+                            if (!created.loaded) {
+                                entries.remove(key, created);
+                            }
+                        }
+                    })
+                    .doOnError(new Action1<Throwable>() {
+                        @Override
+                        public void call(Throwable throwable) {
+                            entries.remove(key, created);
+                        }
+                    })
+                    .cache();
+            boolean published = entry == null
+                    ? entries.putIfAbsent(key, created) == null
+                    : entries.replace(key, entry, created);
+            if (published) {
+                return created.value;
+            }
+        }
+    }
+
+    /**
+     * Adds a value already loaded, replacing the current one.
+     *
+     * @param key the key of the value
+     * @param value the value
+     */
+    public void put(K key, V value) {
+        Entry<V> entry = new Entry<>();
+        entry.value = Observable.just(value);
+        entry.expiresAtMillis = System.currentTimeMillis() + timeToLiveInMillis;
+        entries.put(key, entry);
+    }
+
+    /**
+     * Removes a value.
+     *
+     * @param key the key of the value
+     */
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Removes all the values.
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+}
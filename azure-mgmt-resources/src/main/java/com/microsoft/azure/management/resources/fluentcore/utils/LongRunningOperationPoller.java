@@ -0,0 +1,330 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.utils;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.resources.fluentcore.dag.TaskDurations;
+import rx.Scheduler;
+import rx.schedulers.Schedulers;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A poll scheduler shared by the long running operations of any number of clients.
+ * <p>
+ * The poller decides when each operation is polled next. An operation is first polled around the time
+ * operations of the same type typically take to complete, then with an exponential backoff; the
+ * {@code Retry-After} requested by the service is always honored. The polls of a subscription are
+ * booked on a single timer wheel with one second slots, and a poll is moved by up to a quarter of its
+ * delay to a slot that already holds polls of the same subscription, so that operations started
+ * around the same time are polled together instead of at scattered times.
+ * <p>
+ * The poller is plugged into the HTTP pipeline by {@link LongRunningOperationPollingInterceptor}, which
+ * passes the decided delay to the polling loop of the client through the {@code Retry-After} header.
+ */
+@Beta(Beta.SinceVersion.V1_30_0)
+public final class LongRunningOperationPoller {
+    /**
+     * The default minimum delay between two polls of an operation.
+     */
+    public static final int DEFAULT_MIN_DELAY_IN_SECONDS = 1;
+
+    /**
+     * The default maximum delay between two polls of an operation.
+     */
+    public static final int DEFAULT_MAX_DELAY_IN_SECONDS = 60;
+
+    // the wheel covers the longest delay plus the coalescing window
+    private static final int WHEEL_SIZE = 512;
+    private static final int MAX_DELAY_IN_SECONDS = 300;
+    private static final int MAX_BACKOFF_EXPONENT = 10;
+
+    private final Scheduler clock;
+    private final ConcurrentMap<String, Operation> operations = new ConcurrentHashMap<>();
+    private final Slot[] wheel = new Slot[WHEEL_SIZE];
+    private final AtomicLong polls = new AtomicLong();
+    private final AtomicLong completedOperations = new AtomicLong();
+    private final AtomicLong coalescedPolls = new AtomicLong();
+    private volatile int minDelayInSeconds = DEFAULT_MIN_DELAY_IN_SECONDS;
+    private volatile int maxDelayInSeconds = DEFAULT_MAX_DELAY_IN_SECONDS;
+    private volatile TaskDurations durations = new TaskDurations();
+    private long lastSweepMillis;
+
+    /**
+     * An operation being polled.
+     */
+    private static final class Operation {
+        private final String operationType;
+        private final String subscriptionId;
+        private final Collection<String> pollUrls;
+        private final long startMillis;
+        private volatile long lastSeenMillis;
+        private int overduePolls;
+
+        private Operation(String operationType, String subscriptionId, Collection<String> pollUrls, long startMillis) {
+            this.operationType = operationType;
+            this.subscriptionId = subscriptionId;
+            this.pollUrls = pollUrls;
+            this.startMillis = startMillis;
+            this.lastSeenMillis = startMillis;
+        }
+    }
+
+    /**
+     * The polls booked in one second of the wheel.
+     */
+    private static final class Slot {
+        private long tick = -1;
+        private final Map<String, Integer> pollsPerSubscription = new HashMap<>();
+    }
+
+    /**
+     * Creates a poller.
+     */
+    public LongRunningOperationPoller() {
+        this(Schedulers.immediate());
+    }
+
+    /**
+     * Creates a poller timing the operations with the clock of a scheduler.
+     *
+     * @param clock the scheduler providing the current time
+     */
+    public LongRunningOperationPoller(Scheduler clock) {
+        this.clock = clock;
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = new Slot();
+        }
+    }
+
+    /**
+     * Sets the minimum delay between two polls of an operation.
+     *
+     * @param seconds the delay in seconds
+     * @return the poller
+     */
+    public LongRunningOperationPoller withMinimumDelay(int seconds) {
+        if (seconds < 0 || seconds > maxDelayInSeconds) {
+            throw new IllegalArgumentException("The minimum delay must be between 0 and the maximum delay");
+        }
+        this.minDelayInSeconds = seconds;
+        return this;
+    }
+
+    /**
+     * Sets the maximum delay between two polls of an operation, unless the service requests a longer one.
+     *
+     * @param seconds the delay in seconds, at most 300
+     * @return the poller
+     */
+    public LongRunningOperationPoller withMaximumDelay(int seconds) {
+        if (seconds < minDelayInSeconds || seconds > MAX_DELAY_IN_SECONDS) {
+            throw new IllegalArgumentException("The maximum delay must be between the minimum delay and " + MAX_DELAY_IN_SECONDS);
+        }
+        this.maxDelayInSeconds = seconds;
+        return this;
+    }
+
+    /**
+     * Sets the typical completion times of the operation types; they are updated as operations complete.
+     *
+     * @param durations the completion times by operation type, e.g. "PUT Microsoft.Compute/virtualMachines"
+     * @return the poller
+     */
+    public LongRunningOperationPoller withDurations(TaskDurations durations) {
+        if (durations == null) {
+            throw new IllegalArgumentException("durations cannot be null");
+        }
+        this.durations = durations;
+        return this;
+    }
+
+    /**
+     * @return the typical completion times of the operation types
+     */
+    public TaskDurations durations() {
+        return this.durations;
+    }
+
+    /**
+     * Registers an operation the service has just accepted.
+     *
+     * @param operationType the type of the operation, the method and the resource type
+     * @param subscriptionId the subscription of the operation, null for tenant level operations
+     * @param pollUrls the URLs the operation is polled at
+     * @param retryAfterSeconds the delay requested by the service, 0 if none
+     * @return the delay before the first poll, in seconds
+     */
+    public int onStarted(String operationType, String subscriptionId, Collection<String> pollUrls, int retryAfterSeconds) {
+        long now = clock.now();
+        sweep(now);
+        Operation operation = new Operation(operationType, subscriptionId, pollUrls, now);
+        for (String pollUrl : pollUrls) {
+            operations.put(pollUrl, operation);
+        }
+        return nextDelay(operation, retryAfterSeconds, now);
+    }
+
+    /**
+     * @param url a request URL
+     * @return true if the URL is the poll URL of an operation in progress
+     */
+    public boolean isPolling(String url) {
+        return operations.containsKey(url);
+    }
+
+    /**
+     * Records a poll of an operation.
+     *
+     * @param pollUrl the polled URL
+     * @param completed true if the operation reached a terminal state
+     * @param succeeded true if the operation completed successfully
+     * @param retryAfterSeconds the delay requested by the service, 0 if none
+     * @return the delay before the next poll in seconds, 0 if the operation completed
+     */
+    public int onPolled(String pollUrl, boolean completed, boolean succeeded, int retryAfterSeconds) {
+        Operation operation = operations.get(pollUrl);
+        if (operation == null) {
+            return retryAfterSeconds;
+        }
+        polls.incrementAndGet();
+        long now = clock.now();
+        operation.lastSeenMillis = now;
+        if (!completed) {
+            return nextDelay(operation, retryAfterSeconds, now);
+        }
+        for (String url : operation.pollUrls) {
+            operations.remove(url, operation);
+        }
+        completedOperations.incrementAndGet();
+        if (succeeded) {
+            durations.record(operation.operationType, now - operation.startMillis);
+        }
+        return 0;
+    }
+
+    /**
+     * @return the number of operations being polled
+     */
+    public int activeOperationCount() {
+        int count = 0;
+        for (Map.Entry<String, Operation> entry : operations.entrySet()) {
+            // an operation is registered under each of its poll URLs, count it once
+            if (entry.getValue().pollUrls.iterator().next().equals(entry.getKey())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return the number of polls observed
+     */
+    public long pollCount() {
+        return polls.get();
+    }
+
+    /**
+     * @return the number of operations observed to complete
+     */
+    public long completedOperationCount() {
+        return completedOperations.get();
+    }
+
+    /**
+     * @return the number of polls moved to a slot already holding polls of the same subscription
+     */
+    public long coalescedPollCount() {
+        return coalescedPolls.get();
+    }
+
+    private int nextDelay(Operation operation, int retryAfterSeconds, long now) {
+        long expectedMillis = durations.expectedDurationInMillis(operation.operationType);
+        long elapsedMillis = now - operation.startMillis;
+        long idealMillis;
+        synchronized (operation) {
+            if (elapsedMillis < expectedMillis) {
+                // not expected to be done yet, check back around the typical completion time
+                idealMillis = expectedMillis - elapsedMillis;
+            } else {
+                idealMillis = TimeUnit.SECONDS.toMillis(Math.max(1, minDelayInSeconds))
+                        << Math.min(operation.overduePolls, MAX_BACKOFF_EXPONENT);
+                operation.overduePolls++;
+            }
+        }
+        long delaySeconds = (Math.max(idealMillis, 0) + 999) / 1000;
+        delaySeconds = Math.max(minDelayInSeconds, Math.min(maxDelayInSeconds, delaySeconds));
+        if (retryAfterSeconds > delaySeconds) {
+            // the service knows best, and may ask for more than the maximum delay
+            return retryAfterSeconds;
+        }
+        return book(operation.subscriptionId, (int) delaySeconds, now);
+    }
+
+    /**
+     * Books a poll on the wheel, moving it later into a slot already polling the subscription if there
+     * is one within a quarter of the delay.
+     *
+     * @return the booked delay in seconds
+     */
+    private synchronized int book(String subscriptionId, int delaySeconds, long now) {
+        String key = subscriptionId == null ? "" : subscriptionId.toLowerCase();
+        long currentTick = now / 1000;
+        int window = delaySeconds / 4;
+        int booked = delaySeconds;
+        for (int offset = 0; offset <= window; offset++) {
+            Slot slot = slot(currentTick + delaySeconds + offset);
+            if (slot.pollsPerSubscription.containsKey(key)) {
+                booked = delaySeconds + offset;
+                if (offset > 0) {
+                    coalescedPolls.incrementAndGet();
+                }
+                break;
+            }
+        }
+        Slot slot = slot(currentTick + booked);
+        Integer count = slot.pollsPerSubscription.get(key);
+        slot.pollsPerSubscription.put(key, count == null ? 1 : count + 1);
+        return booked;
+    }
+
+    private Slot slot(long tick) {
+        Slot slot = wheel[(int) (tick % WHEEL_SIZE)];
+        if (slot.tick != tick) {
+            // the slot was last used one or more turns of the wheel ago
+            slot.tick = tick;
+            slot.pollsPerSubscription.clear();
+        }
+        return slot;
+    }
+
+    /**
+     * Forgets the operations that stopped being polled, e.g. because their subscriber unsubscribed.
+     */
+    private void sweep(long now) {
+        long staleAfterMillis = TimeUnit.SECONDS.toMillis(3L * MAX_DELAY_IN_SECONDS);
+        synchronized (this) {
+            if (now - lastSweepMillis < staleAfterMillis) {
+                return;
+            }
+            lastSweepMillis = now;
+        }
+        Iterator<Operation> iterator = operations.values().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().lastSeenMillis > staleAfterMillis) {
+                iterator.remove();
+            }
+        }
+    }
+}
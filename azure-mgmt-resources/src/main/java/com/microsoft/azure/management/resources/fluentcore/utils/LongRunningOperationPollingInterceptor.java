@@ -0,0 +1,171 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.utils;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.resources.fluentcore.arm.ResourceUtils;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An interceptor pacing the polls of long running operations with a shared {@link LongRunningOperationPoller}.
+ * <p>
+ * The interceptor registers the operations accepted by Azure Resource Manager, recognizes their polls, and
+ * replaces the {@code Retry-After} header of these responses with the delay decided by the poller, which the
+ * polling loop of the client waits before polling again.
+ */
+@Beta(Beta.SinceVersion.V1_30_0)
+public class LongRunningOperationPollingInterceptor implements Interceptor {
+    private static final String ASYNC_OPERATION_HEADER = "Azure-AsyncOperation";
+    private static final String LOCATION_HEADER = "Location";
+    private static final String RETRY_AFTER_HEADER = "Retry-After";
+    private static final Pattern STATUS = Pattern.compile("\"status\"\\s*:\\s*\"([^\"]*)\"", Pattern.CASE_INSENSITIVE);
+    // the status is at the start of the operation resource, there is no need to read large bodies
+    private static final long MAX_BODY_BYTES_TO_SCAN = 8 * 1024;
+
+    private final LongRunningOperationPoller poller;
+
+    /**
+     * Creates an interceptor.
+     *
+     * @param poller the poller, shared by the clients whose polls are to be coalesced
+     */
+    public LongRunningOperationPollingInterceptor(LongRunningOperationPoller poller) {
+        this.poller = poller;
+    }
+
+    /**
+     * @return the poller used by this interceptor
+     */
+    public LongRunningOperationPoller poller() {
+        return poller;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+        String url = request.url().toString();
+        if ("GET".equalsIgnoreCase(request.method())) {
+            return poller.isPolling(url) ? onPolled(url, request, response) : response;
+        }
+        if (!response.isSuccessful()) {
+            return response;
+        }
+        List<String> pollUrls = new ArrayList<>(2);
+        addPollUrl(pollUrls, response.header(ASYNC_OPERATION_HEADER));
+        if (response.code() == 202 || !pollUrls.isEmpty()) {
+            addPollUrl(pollUrls, response.header(LOCATION_HEADER));
+        }
+        if (pollUrls.isEmpty()) {
+            return response;
+        }
+        String path = request.url().encodedPath();
+        int delay = poller.onStarted(
+                request.method().toUpperCase() + " " + operationTypeOf(path),
+                ResourceUtils.extractFromResourceId(path, "subscriptions"),
+                pollUrls,
+                retryAfter(response));
+        return withRetryAfter(response, delay);
+    }
+
+    private Response onPolled(String url, Request request, Response response) throws IOException {
+        boolean completed;
+        boolean succeeded;
+        if (!response.isSuccessful()) {
+            completed = true;
+            succeeded = false;
+        } else if (response.code() == 202) {
+            completed = false;
+            succeeded = false;
+        } else {
+            // an Azure-AsyncOperation resource, or the final response of a Location poll
+            Matcher matcher = STATUS.matcher(response.peekBody(MAX_BODY_BYTES_TO_SCAN).string());
+            String status = matcher.find() ? matcher.group(1) : null;
+            boolean isOperationResource = status != null && request.url().encodedPath().contains("perations/");
+            if (isOperationResource) {
+                completed = !"InProgress".equalsIgnoreCase(status)
+                        && !"Accepted".equalsIgnoreCase(status)
+                        && !"Running".equalsIgnoreCase(status);
+                succeeded = "Succeeded".equalsIgnoreCase(status);
+            } else {
+                completed = true;
+                succeeded = true;
+            }
+        }
+        int delay = poller.onPolled(url, completed, succeeded, retryAfter(response));
+        return completed ? response : withRetryAfter(response, delay);
+    }
+
+    private static void addPollUrl(List<String> pollUrls, String header) {
+        if (header == null) {
+            return;
+        }
+        // the URL as it will be requested by the polling loop
+        HttpUrl url = HttpUrl.parse(header);
+        if (url != null && !pollUrls.contains(url.toString())) {
+            pollUrls.add(url.toString());
+        }
+    }
+
+    private static int retryAfter(Response response) {
+        String retryAfter = response.header(RETRY_AFTER_HEADER);
+        if (retryAfter == null) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(retryAfter.trim()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static Response withRetryAfter(Response response, int delayInSeconds) {
+        return response.newBuilder()
+                .header(RETRY_AFTER_HEADER, String.valueOf(delayInSeconds))
+                .build();
+    }
+
+    /**
+     * Gets the resource type an operation applies to from its request path, followed by the action if any,
+     * e.g. "Microsoft.Compute/virtualMachines/restart".
+     *
+     * @param path the request path
+     * @return the operation type
+     */
+    static String operationTypeOf(String path) {
+        List<String> segments = new ArrayList<>();
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(segment);
+            }
+        }
+        int providers = -1;
+        for (int i = 0; i < segments.size() - 1; i += 2) {
+            if ("providers".equalsIgnoreCase(segments.get(i))) {
+                providers = i;
+            }
+        }
+        if (providers < 0) {
+            // a subscription or resource group level operation
+            return segments.size() > 2 ? "Microsoft.Resources/" + segments.get(2) : "Microsoft.Resources/" + segments.get(0);
+        }
+        StringBuilder type = new StringBuilder(segments.get(providers + 1));
+        for (int i = providers + 2; i < segments.size(); i += 2) {
+            type.append('/').append(segments.get(i));
+        }
+        return type.toString();
+    }
+}
@@ -11,21 +11,42 @@ import com.microsoft.azure.PagedList;
 import com.microsoft.azure.management.resources.implementation.PageImpl;
 import com.microsoft.rest.RestException;
 import rx.Observable;
+import rx.Observer;
+import rx.functions.Func0;
 import rx.functions.Func1;
+import rx.functions.Func2;
+import rx.observables.SyncOnSubscribe;
+import rx.schedulers.Schedulers;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 /**
  * The base class for converting {@link PagedList} of one type of resource to
  * another, without polling down all the items in a list.
  * This converter is useful in converting inner top level resources into fluent
  * top level resources.
+ * <p>
+ * The items of a page are converted concurrently and emitted in the order of the original page; the
+ * number of conversions at a time can be bounded with {@link #withMaxConcurrency(int)}. With
+ * {@link #withPrefetch()} the next page is fetched while the current one is being converted.
  *
  * @param <U> the type of Resource to convert from
  * @param <V> the type of Resource to convert to
  */
 public abstract class PagedListConverter<U, V> {
+    /**
+     * The number of items a conversion may emit before they are consumed.
+     */
+    private static final int CONVERSION_BUFFER_SIZE = 128;
+
+    private int maxConcurrency = Integer.MAX_VALUE;
+    private boolean prefetch;
+
     /**
      * Override this method to define how to convert each Resource item
      * individually.
@@ -44,6 +65,32 @@ public abstract class PagedListConverter<U, V> {
         return true;
     }
 
+    /**
+     * Sets the maximum number of items converted concurrently, relevant for conversions that make
+     * their own service calls. By default all the items of a page are converted at once.
+     *
+     * @param maxConcurrency the maximum number of concurrent conversions
+     * @return the converter
+     */
+    public PagedListConverter<U, V> withMaxConcurrency(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        }
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    /**
+     * Fetches the next page of the source list in the background while the current page is converted.
+     * The prefetched page is discarded if the list is not enumerated further.
+     *
+     * @return the converter
+     */
+    public PagedListConverter<U, V> withPrefetch() {
+        this.prefetch = true;
+        return this;
+    }
+
     /**
      * Converts the paged list.
      *
@@ -59,44 +106,162 @@ public abstract class PagedListConverter<U, V> {
                 }
             };
         }
+        final PageFetcher fetcher = new PageFetcher(uList);
         Page<U> uPage = uList.currentPage();
-        final PageImpl<V> vPage = new PageImpl<>();
-        vPage.setNextPageLink(uPage.nextPageLink());
-        vPage.setItems(new ArrayList<V>());
-        loadConvertedList(uPage, vPage);
-        return new PagedList<V>(vPage) {
+        fetcher.prefetch(uPage.nextPageLink());
+        return new PagedList<V>(convertPage(uPage)) {
             @Override
             public Page<V> nextPage(String nextPageLink) throws RestException, IOException {
-                Page<U> uPage = uList.nextPage(nextPageLink);
-                final PageImpl<V> vPage = new PageImpl<>();
-                vPage.setNextPageLink(uPage.nextPageLink());
-                vPage.setItems(new ArrayList<V>());
-                loadConvertedList(uPage, vPage);
-                return vPage;
+                Page<U> uPage = fetcher.fetch(nextPageLink);
+                fetcher.prefetch(uPage.nextPageLink());
+                return convertPage(uPage);
             }
         };
     }
 
-    private void loadConvertedList(final Page<U> uPage, final Page<V> vPage) {
-        Observable.from(uPage.items())
+    /**
+     * Converts all the items of the paged list, fetching the pages as the items are requested.
+     * No intermediate pages of converted items are built and the next page is always prefetched.
+     *
+     * @param uList the resource list to convert from
+     * @return an observable emitting the converted items in the order of the list
+     */
+    public Observable<V> convertAsync(final PagedList<U> uList) {
+        if (uList == null) {
+            return Observable.empty();
+        }
+        // Pages are requested one at a time; the fetch of the next page starts as soon as the current
+        // page has been handed over for conversion, so exactly one page is in flight ahead of the consumer
+        Observable<U> items = pagesAsync(uList, uList.currentPage())
+                .flatMapIterable(new Func1<Page<U>, Iterable<U>>() {
+                    @Override
+                    public Iterable<U> call(Page<U> page) {
+                        return page.items();
+                    }
+                }, 1);
+        return convertItemsAsync(items);
+    }
+
+    /**
+     * Converts the items of a paged list a page at a time, keeping only the page being enumerated
+     * in memory, see {@link StreamingPagedIterable}.
+     *
+     * @param uList the factory of the resource list to convert from, invoked once per enumeration
+     * @return the converted items
+     */
+    public StreamingPagedIterable<U, V> convertStreaming(Func0<PagedList<U>> uList) {
+        return StreamingPagedIterable.fromPages(uList, new Func1<List<U>, Iterable<V>>() {
+            @Override
+            public Iterable<V> call(List<U> items) {
+                return convertItemsAsync(Observable.from(items)).toList().toBlocking().single();
+            }
+        });
+    }
+
+    private Observable<Page<U>> pagesAsync(final PagedList<U> uList, final Page<U> firstPage) {
+        // the state is the last page emitted, each request emits the page after it
+        return Observable.create(SyncOnSubscribe.createStateful(
+                new Func0<Page<U>>() {
+                    @Override
+                    public Page<U> call() {
+                        return null;
+                    }
+                },
+                new Func2<Page<U>, Observer<? super Page<U>>, Page<U>>() {
+                    @Override
+                    public Page<U> call(Page<U> lastPage, Observer<? super Page<U>> observer) {
+                        if (lastPage == null) {
+                            observer.onNext(firstPage);
+                            return firstPage;
+                        }
+                        if (lastPage.nextPageLink() == null) {
+                            observer.onCompleted();
+                            return lastPage;
+                        }
+                        try {
+                            Page<U> page = uList.nextPage(lastPage.nextPageLink());
+                            observer.onNext(page);
+                            return page;
+                        } catch (IOException | RuntimeException e) {
+                            observer.onError(e);
+                            return lastPage;
+                        }
+                    }
+                }))
+                .subscribeOn(Schedulers.io());
+    }
+
+    private Page<V> convertPage(Page<U> uPage) {
+        PageImpl<V> vPage = new PageImpl<>();
+        vPage.setNextPageLink(uPage.nextPageLink());
+        vPage.setItems(convertItemsAsync(Observable.from(uPage.items())).toList().toBlocking().single());
+        return vPage;
+    }
+
+    private Observable<V> convertItemsAsync(Observable<U> items) {
+        return items
                 .filter(new Func1<U, Boolean>() {
                     @Override
                     public Boolean call(U u) {
                         return filter(u);
                     }
                 })
-                .flatMap(new Func1<U, Observable<V>>() {
+                .concatMapEager(new Func1<U, Observable<V>>() {
                     @Override
                     public Observable<V> call(U u) {
                         return typeConvertAsync(u);
                     }
-                })
-                .map(new Func1<V, V>() {
-                    @Override
-                    public V call(V v) {
-                        vPage.items().add(v);
-                        return v;
+                }, CONVERSION_BUFFER_SIZE, maxConcurrency);
+    }
+
+    /**
+     * Fetches the pages of a source list, optionally starting the fetch of the next page ahead of time.
+     */
+    private final class PageFetcher {
+        private final PagedList<U> uList;
+        private String prefetchedPageLink;
+        private Future<Page<U>> prefetchedPage;
+
+        private PageFetcher(PagedList<U> uList) {
+            this.uList = uList;
+        }
+
+        private synchronized void prefetch(final String nextPageLink) {
+            if (!prefetch || nextPageLink == null) {
+                return;
+            }
+            this.prefetchedPageLink = nextPageLink;
+            this.prefetchedPage = Observable.fromCallable(new Callable<Page<U>>() {
+                @Override
+                public Page<U> call() throws Exception {
+                    return uList.nextPage(nextPageLink);
+                }
+            }).subscribeOn(Schedulers.io()).toBlocking().toFuture();
+        }
+
+        private synchronized Page<U> fetch(String nextPageLink) throws RestException, IOException {
+            if (prefetchedPage != null && nextPageLink.equals(prefetchedPageLink)) {
+                Future<Page<U>> page = prefetchedPage;
+                prefetchedPage = null;
+                prefetchedPageLink = null;
+                try {
+                    return page.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException(e.getMessage());
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof RestException) {
+                        throw (RestException) cause;
+                    } else if (cause instanceof IOException) {
+                        throw (IOException) cause;
+                    } else if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
                     }
-                }).toBlocking().subscribe();
+                    throw new IOException(cause);
+                }
+            }
+            return uList.nextPage(nextPageLink);
+        }
     }
 }
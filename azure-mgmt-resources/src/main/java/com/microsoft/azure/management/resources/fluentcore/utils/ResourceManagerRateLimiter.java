@@ -0,0 +1,303 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.utils;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.rest.RestClient;
+import okhttp3.Interceptor;
+import okhttp3.Response;
+import rx.Completable;
+import rx.Observable;
+import rx.functions.Func0;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A client side rate limiter for Azure Resource Manager requests.
+ * <p>
+ * Separate read and write buckets are kept for each subscription (or for the tenant, for requests
+ * outside of a subscription). The buckets are fed by the x-ms-ratelimit-remaining-*-reads/writes
+ * response headers: while plenty of quota is left requests are not delayed, and once the remaining
+ * quota drops below a low watermark requests are paced at the rate Azure Resource Manager refills
+ * the quota, so that the client slows down before requests start being rejected with 429.
+ * After a 429 only requests to the throttled bucket wait for the Retry-After period.
+ * <p>
+ * Permits are reserved lock-free by {@link #acquire(String, boolean)}, called by the interceptor sending the
+ * request, and each caller waits for its own reservation only. Rx pipelines can wait out a throttled bucket or
+ * the current pacing backlog ahead of the request with {@link #awaitAsync(String, boolean)}, on a timer of the
+ * SDK scheduler; it reserves nothing, so a request that is never sent leaves no permit behind.
+ */
+@Beta(Beta.SinceVersion.V1_30_0)
+public final class ResourceManagerRateLimiter {
+    private static final ResourceManagerRateLimiter DEFAULT = new ResourceManagerRateLimiter(15000, 1200);
+
+    private static final String[] REMAINING_READS_HEADERS = {
+        "x-ms-ratelimit-remaining-subscription-reads", "x-ms-ratelimit-remaining-tenant-reads" };
+    private static final String[] REMAINING_WRITES_HEADERS = {
+        "x-ms-ratelimit-remaining-subscription-writes", "x-ms-ratelimit-remaining-tenant-writes" };
+
+    private final int readsPerHour;
+    private final int writesPerHour;
+    private final ConcurrentMap<String, Bucket> readBuckets = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Bucket> writeBuckets = new ConcurrentHashMap<>();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong delayedRequests = new AtomicLong();
+    private final AtomicLong throttledResponses = new AtomicLong();
+
+    /**
+     * Creates a rate limiter.
+     *
+     * @param readsPerHour the read requests allowed per hour for a subscription
+     * @param writesPerHour the write requests allowed per hour for a subscription
+     */
+    public ResourceManagerRateLimiter(int readsPerHour, int writesPerHour) {
+        this.readsPerHour = readsPerHour;
+        this.writesPerHour = writesPerHour;
+    }
+
+    /**
+     * @return the rate limiter shared by all clients that do not specify their own
+     */
+    public static ResourceManagerRateLimiter defaultLimiter() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns the rate limiter of the {@link ResourceManagerThrottlingInterceptor} of a client.
+     *
+     * @param restClient the client sending the requests
+     * @return the rate limiter, or null if the client does not throttle its requests
+     */
+    public static ResourceManagerRateLimiter of(RestClient restClient) {
+        if (restClient == null || restClient.httpClient() == null) {
+            return null;
+        }
+        for (Interceptor interceptor : restClient.httpClient().interceptors()) {
+            if (interceptor instanceof ResourceManagerThrottlingInterceptor) {
+                return ((ResourceManagerThrottlingInterceptor) interceptor).rateLimiter();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reserves a permit and blocks the current thread until it becomes available.
+     *
+     * @param key the subscription id, or null for tenant level requests
+     * @param isWrite true for a write request, false for a read request
+     * @return the time waited, in milliseconds
+     */
+    public long acquire(String key, boolean isWrite) {
+        long waitMillis = TimeUnit.NANOSECONDS.toMillis(reserve(key, isWrite));
+        if (waitMillis > 0) {
+            SdkContext.sleep((int) Math.min(waitMillis, Integer.MAX_VALUE));
+        }
+        return waitMillis;
+    }
+
+    /**
+     * Waits without blocking, on subscription, until the next permit of the subscription and kind is due.
+     * No permit is reserved: the request still takes its own in {@link #acquire(String, boolean)}, which
+     * then waits only for the requests reserved in the meantime.
+     *
+     * @param key the subscription id, or null for tenant level requests
+     * @param isWrite true for a write request, false for a read request
+     * @return a completable that completes on the SDK scheduler once the next permit is due
+     */
+    public Completable awaitAsync(final String key, final boolean isWrite) {
+        return Completable.defer(new Func0<Completable>() {
+            @Override
+            public Completable call() {
+                long waitNanos = bucket(key, isWrite).pendingWait(System.nanoTime());
+                return waitNanos <= 0
+                        ? Completable.complete()
+                        : Completable.timer(waitNanos, TimeUnit.NANOSECONDS, SdkContext.getRxScheduler());
+            }
+        });
+    }
+
+    /**
+     * Delays the subscription to a request until the next permit is due, without blocking.
+     *
+     * @param key the subscription id, or null to send the request without pacing it ahead
+     * @param isWrite true for a write request, false for a read request
+     * @param request the observable sending the request
+     * @param <T> the type of the items emitted by the request
+     * @return the paced request
+     */
+    public <T> Observable<T> pace(String key, boolean isWrite, Observable<T> request) {
+        if (key == null) {
+            return request;
+        }
+        return awaitAsync(key, isWrite).andThen(request);
+    }
+
+    /**
+     * Updates the remaining quota from the rate limit headers of a response.
+     *
+     * @param key the subscription id, or null for tenant level requests
+     * @param isWrite true if the response is for a write request
+     * @param response the response
+     */
+    public void onResponse(String key, boolean isWrite, Response response) {
+        String[] headers = isWrite ? REMAINING_WRITES_HEADERS : REMAINING_READS_HEADERS;
+        for (String header : headers) {
+            String value = response.header(header);
+            if (value != null) {
+                try {
+                    bucket(key, isWrite).remaining.set(Integer.parseInt(value.trim()));
+                } catch (NumberFormatException e) {
+                    // ignore malformed header
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Blocks a bucket after Azure Resource Manager rejected a request with 429.
+     *
+     * @param key the subscription id, or null for tenant level requests
+     * @param isWrite true if the rejected request was a write request
+     * @param retryAfterSeconds the time in seconds after which requests may be sent again
+     */
+    public void onThrottled(String key, boolean isWrite, int retryAfterSeconds) {
+        throttledResponses.incrementAndGet();
+        Bucket bucket = bucket(key, isWrite);
+        bucket.remaining.set(0);
+        if (retryAfterSeconds > 0) {
+            bucket.blockUntil(System.nanoTime() + TimeUnit.SECONDS.toNanos(retryAfterSeconds));
+        }
+    }
+
+    /**
+     * @param key the subscription id, or null for tenant level requests
+     * @return the remaining read quota last reported by Azure Resource Manager, or -1 if unknown
+     */
+    public int remainingReads(String key) {
+        Bucket bucket = readBuckets.get(normalize(key));
+        return bucket == null ? -1 : bucket.remaining.get();
+    }
+
+    /**
+     * @param key the subscription id, or null for tenant level requests
+     * @return the remaining write quota last reported by Azure Resource Manager, or -1 if unknown
+     */
+    public int remainingWrites(String key) {
+        Bucket bucket = writeBuckets.get(normalize(key));
+        return bucket == null ? -1 : bucket.remaining.get();
+    }
+
+    /**
+     * @return the total time requests were delayed by this limiter, in milliseconds
+     */
+    public long totalWaitTimeInMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get());
+    }
+
+    /**
+     * @return the number of requests that were delayed by this limiter
+     */
+    public long delayedRequestCount() {
+        return delayedRequests.get();
+    }
+
+    /**
+     * @return the number of 429 responses received
+     */
+    public long throttledResponseCount() {
+        return throttledResponses.get();
+    }
+
+    private long reserve(String key, boolean isWrite) {
+        long waitNanos = bucket(key, isWrite).reserve(System.nanoTime());
+        if (waitNanos > 0) {
+            totalWaitNanos.addAndGet(waitNanos);
+            delayedRequests.incrementAndGet();
+        }
+        return waitNanos;
+    }
+
+    private Bucket bucket(String key, boolean isWrite) {
+        ConcurrentMap<String, Bucket> buckets = isWrite ? writeBuckets : readBuckets;
+        String normalizedKey = normalize(key);
+        Bucket bucket = buckets.get(normalizedKey);
+        if (bucket == null) {
+            Bucket newBucket = new Bucket(isWrite ? writesPerHour : readsPerHour);
+            bucket = buckets.putIfAbsent(normalizedKey, newBucket);
+            if (bucket == null) {
+                bucket = newBucket;
+            }
+        }
+        return bucket;
+    }
+
+    private static String normalize(String key) {
+        return key == null ? "tenant" : key.toLowerCase();
+    }
+
+    /**
+     * Quota state for one subscription and request kind.
+     */
+    private static final class Bucket {
+        private final long refillIntervalNanos;
+        private final int lowWatermark;
+        private final AtomicInteger remaining = new AtomicInteger(-1);
+        private final AtomicLong nextPermitNanos = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicLong blockedUntilNanos = new AtomicLong(Long.MIN_VALUE);
+
+        private Bucket(int permitsPerHour) {
+            this.refillIntervalNanos = TimeUnit.HOURS.toNanos(1) / Math.max(permitsPerHour, 1);
+            // start pacing once less than 5% of the hourly quota is left
+            this.lowWatermark = Math.max(permitsPerHour / 20, 1);
+        }
+
+        private long reserve(long now) {
+            long blockedUntil = blockedUntilNanos.get();
+            long blockedWait = blockedUntil == Long.MIN_VALUE ? 0 : Math.max(0, blockedUntil - now);
+            int left = remaining.get();
+            if (left < 0 || left > lowWatermark) {
+                return blockedWait;
+            }
+            long earliest = now + blockedWait;
+            while (true) {
+                long next = nextPermitNanos.get();
+                long slot = next == Long.MIN_VALUE ? earliest : Math.max(next, earliest);
+                if (nextPermitNanos.compareAndSet(next, slot + refillIntervalNanos)) {
+                    return slot - now;
+                }
+            }
+        }
+
+        private long pendingWait(long now) {
+            long blockedUntil = blockedUntilNanos.get();
+            long blockedWait = blockedUntil == Long.MIN_VALUE ? 0 : Math.max(0, blockedUntil - now);
+            int left = remaining.get();
+            long next = nextPermitNanos.get();
+            if (left < 0 || left > lowWatermark || next == Long.MIN_VALUE) {
+                return blockedWait;
+            }
+            return Math.max(blockedWait, next - now);
+        }
+
+        private void blockUntil(long deadline) {
+            while (true) {
+                long current = blockedUntilNanos.get();
+                if (current != Long.MIN_VALUE && current >= deadline) {
+                    return;
+                }
+                if (blockedUntilNanos.compareAndSet(current, deadline)) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -9,6 +9,7 @@ package com.microsoft.azure.management.resources.fluentcore.utils;
 import com.microsoft.azure.management.resources.fluentcore.arm.ResourceUtils;
 import com.microsoft.rest.DateTimeRfc1123;
 import okhttp3.Interceptor;
+import okhttp3.Request;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
 import okio.Buffer;
@@ -18,114 +19,131 @@ import org.joda.time.Duration;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+
 /**
  * An interceptor for automatic retry when Azure Resource Manager is throttling because of too many read/write requests.
  * <p>
  * For each subscription and tenant, Azure Resource Manager limits read requests to 15,000 per hour and
  *   write requests to 1,200 per hour. These limits apply to each Azure Resource Manager instance.
+ * <p>
+ * Requests are paced by a {@link ResourceManagerRateLimiter} fed from the remaining quota reported in
+ *   each response, and a throttled request only delays later requests to the same subscription and
+ *   request kind, instead of blocking every request to the subscription. OkHttp interceptors are
+ *   synchronous, so the create and update tasks of the SDK first wait for their write permit to be due with
+ *   {@link ResourceManagerRateLimiter#awaitAsync(String, boolean)} on the SDK scheduler; the permit itself
+ *   is always reserved here, for the request actually sent.
  */
 public class ResourceManagerThrottlingInterceptor implements Interceptor {
     private static final String LOGGING_HEADER = "x-ms-logging-context";
-    private static final ConcurrentMap<String, ReentrantLock> REENTRANT_LOCK_MAP = new ConcurrentHashMap<>();
+    private static final Pattern RETRY_AFTER_MINUTES = Pattern.compile("try again after '([0-9]*)' minutes", Pattern.CASE_INSENSITIVE);
+    private static final Pattern RETRY_AFTER_SECONDS = Pattern.compile("try again after '([0-9]*)' seconds", Pattern.CASE_INSENSITIVE);
+    // the retry hint is at the start of the error message, there is no need to read large bodies
+    private static final long MAX_BODY_BYTES_TO_SCAN = 8 * 1024;
+
+    private final ResourceManagerRateLimiter rateLimiter;
+
+    /**
+     * Creates an interceptor sharing the default rate limiter.
+     */
+    public ResourceManagerThrottlingInterceptor() {
+        this(ResourceManagerRateLimiter.defaultLimiter());
+    }
+
+    /**
+     * Creates an interceptor with the given rate limiter.
+     *
+     * @param rateLimiter the rate limiter
+     */
+    public ResourceManagerThrottlingInterceptor(ResourceManagerRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * @return the rate limiter used by this interceptor
+     */
+    public ResourceManagerRateLimiter rateLimiter() {
+        return rateLimiter;
+    }
 
     @Override
     public Response intercept(Chain chain) throws IOException {
-        // Gate control
-        String subscriptionId = ResourceUtils.extractFromResourceId(chain.request().url().url().getPath(), "subscriptions");
-        if (subscriptionId == null) {
-            subscriptionId = "global";
-        }
-        REENTRANT_LOCK_MAP.putIfAbsent(subscriptionId, new ReentrantLock());
-        try {
-            synchronized (REENTRANT_LOCK_MAP.get(subscriptionId)) {
-                if (REENTRANT_LOCK_MAP.get(subscriptionId).isLocked()) {
-                    REENTRANT_LOCK_MAP.get(subscriptionId).wait();
-                }
-            }
-        } catch (InterruptedException e) {
-            throw new IOException(e);
-        }
-        Response response = chain.proceed(chain.request());
+        Request request = chain.request();
+        String subscriptionId = ResourceUtils.extractFromResourceId(request.url().url().getPath(), "subscriptions");
+        boolean isWrite = !"GET".equalsIgnoreCase(request.method()) && !"HEAD".equalsIgnoreCase(request.method());
+
+        rateLimiter.acquire(subscriptionId, isWrite);
+        Response response = chain.proceed(request);
+        rateLimiter.onResponse(subscriptionId, isWrite, response);
         if (response.code() != 429) {
             return response;
         }
 
+        int retryAfter;
         try {
-            synchronized (REENTRANT_LOCK_MAP.get(subscriptionId)) {
-                if (REENTRANT_LOCK_MAP.get(subscriptionId).isLocked()) {
-                    REENTRANT_LOCK_MAP.get(subscriptionId).wait();
-                    return chain.proceed(chain.request());
-                } else {
-                    REENTRANT_LOCK_MAP.get(subscriptionId).lock();
-                }
+            retryAfter = retryAfterSeconds(response);
+        } finally {
+            if (response.body() != null) {
+                response.body().close();
+            }
+        }
+        rateLimiter.onThrottled(subscriptionId, isWrite, retryAfter);
+        if (retryAfter > 0) {
+            String context = request.header(LOGGING_HEADER);
+            if (context == null) {
+                context = "";
             }
-        } catch (InterruptedException e) {
-            throw new IOException(e);
+            LoggerFactory.getLogger(context)
+                .info("Azure Resource Manager read/write per hour limit reached. Will retry in: " + retryAfter + " seconds");
         }
+        rateLimiter.acquire(subscriptionId, isWrite);
+        Response retryResponse = chain.proceed(request);
+        rateLimiter.onResponse(subscriptionId, isWrite, retryResponse);
+        return retryResponse;
+    }
 
-        try {
-            String retryAfterHeader = response.header("Retry-After");
-            int retryAfter = 0;
-            if (retryAfterHeader != null) {
-                DateTime retryWhen = null;
+    private static int retryAfterSeconds(Response response) throws IOException {
+        String retryAfterHeader = response.header("Retry-After");
+        int retryAfter = 0;
+        if (retryAfterHeader != null) {
+            DateTime retryWhen = null;
+            try {
+                retryWhen = new DateTimeRfc1123(retryAfterHeader).dateTime();
+            } catch (Exception e) { }
+            if (retryWhen == null) {
                 try {
-                    retryWhen = new DateTimeRfc1123(retryAfterHeader).dateTime();
-                } catch (Exception e) { }
-                if (retryWhen == null) {
-                    retryAfter = Integer.parseInt(retryAfterHeader);
-                } else {
-                    retryAfter = new Duration(null, retryWhen).toStandardSeconds().getSeconds();
-                }
+                    retryAfter = Integer.parseInt(retryAfterHeader.trim());
+                } catch (NumberFormatException e) { }
+            } else {
+                retryAfter = new Duration(null, retryWhen).toStandardSeconds().getSeconds();
             }
-            if (retryAfter <= 0) {
-                Pattern pattern = Pattern.compile("try again after '([0-9]*)' minutes", Pattern.CASE_INSENSITIVE);
-                Matcher matcher = pattern.matcher(content(response.body()));
+        }
+        if (retryAfter <= 0) {
+            String content = content(response.body());
+            if (content != null) {
+                Matcher matcher = RETRY_AFTER_MINUTES.matcher(content);
                 if (matcher.find()) {
                     retryAfter = (int) TimeUnit.MINUTES.toSeconds(Integer.parseInt(matcher.group(1)));
                 } else {
-                    pattern = Pattern.compile("try again after '([0-9]*)' seconds", Pattern.CASE_INSENSITIVE);
-                    matcher = pattern.matcher(content(response.body()));
+                    matcher = RETRY_AFTER_SECONDS.matcher(content);
                     if (matcher.find()) {
                         retryAfter = Integer.parseInt(matcher.group(1));
                     }
                 }
             }
-            if (retryAfter > 0) {
-                String context = chain.request().header(LOGGING_HEADER);
-                if (context == null) {
-                    context = "";
-                }
-                LoggerFactory.getLogger(context)
-                    .info("Azure Resource Manager read/write per hour limit reached. Will retry in: " + retryAfter + " seconds");
-                SdkContext.sleep((int) (TimeUnit.SECONDS.toMillis(retryAfter) + 100));
-            }
-            return chain.proceed(chain.request());
-        } catch (Throwable t) {
-            throw new IOException(t);
-        } finally {
-            if (response.body() != null) {
-                response.body().close();
-            }
-            synchronized (REENTRANT_LOCK_MAP.get(subscriptionId)) {
-                REENTRANT_LOCK_MAP.get(subscriptionId).unlock();
-                REENTRANT_LOCK_MAP.get(subscriptionId).notifyAll();
-            }
         }
+        return retryAfter;
     }
 
-    private String content(ResponseBody responseBody) throws IOException {
+    private static String content(ResponseBody responseBody) throws IOException {
         if (responseBody == null) {
             return null;
         }
         BufferedSource source = responseBody.source();
-        source.request(Long.MAX_VALUE); // Buffer the entire body.
+        source.request(MAX_BODY_BYTES_TO_SCAN);
         Buffer buffer = source.buffer();
-        return buffer.readUtf8();
+        return buffer.readUtf8(Math.min(buffer.size(), MAX_BODY_BYTES_TO_SCAN));
     }
 }
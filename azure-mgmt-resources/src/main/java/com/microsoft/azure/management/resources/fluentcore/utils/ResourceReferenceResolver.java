@@ -0,0 +1,297 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.utils;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.resources.fluentcore.arm.ResourceUtils;
+import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsGettingById;
+import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsListingByResourceGroup;
+import com.microsoft.azure.management.resources.fluentcore.arm.models.HasId;
+import rx.Observable;
+import rx.functions.Action0;
+import rx.functions.Action1;
+import rx.functions.Func0;
+import rx.functions.Func1;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+
+/**
+ * Resolves the resources referenced by id from another resource, e.g. the networks of the subnets an NSG is
+ * associated with.
+ * <p>
+ * The ids are deduplicated, ignoring case, and the resources not resolved yet are fetched concurrently. Listing
+ * a resource group once instead of fetching many of its resources is opt-in, see
+ * {@link #withListByResourceGroup(Func1, int)}: a listing returns every resource of the group, which costs more
+ * than the fetches when the group is large. The resolved resources are cached for the lifetime of the resolver,
+ * which is meant to be a single operation.
+ *
+ * @param <T> the type of the referenced resources
+ */
+@Beta(Beta.SinceVersion.V1_30_0)
+public final class ResourceReferenceResolver<T extends HasId> {
+    /**
+     * The default maximum number of fetches in flight.
+     */
+    public static final int DEFAULT_MAX_CONCURRENCY = 16;
+
+    private final Func1<String, Observable<T>> getByIdAsync;
+    private Func1<String, Observable<T>> listByResourceGroupAsync;
+    private int listThreshold;
+    private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+    private boolean errorsAsMissing;
+    // resolved resources by lower case id, null for the ids that do not exist
+    private final Map<String, T> resolved = new HashMap<>();
+
+    /**
+     * Creates ResourceReferenceResolver.
+     *
+     * @param getByIdAsync the function fetching a resource by id, emitting nothing or null if it does not exist
+     */
+    public ResourceReferenceResolver(Func1<String, Observable<T>> getByIdAsync) {
+        this.getByIdAsync = getByIdAsync;
+    }
+
+    /**
+     * Creates a resolver fetching the resources one by one from a resource collection.
+     *
+     * @param collection the collection of the referenced resources
+     * @param <T> the type of the referenced resources
+     * @return the resolver
+     */
+    public static <T extends HasId> ResourceReferenceResolver<T> of(final SupportsGettingById<T> collection) {
+        return new ResourceReferenceResolver<>(new Func1<String, Observable<T>>() {
+            @Override
+            public Observable<T> call(String id) {
+                return collection.getByIdAsync(id);
+            }
+        });
+    }
+
+    /**
+     * Creates a resolver fetching from a resource collection, listing a resource group instead when at least
+     * the given number of resources to resolve are in it.
+     * <p>
+     * Only use it when the resource groups of the referenced resources are known to hold few resources of the type.
+     *
+     * @param collection the collection of the referenced resources
+     * @param listThreshold the number of resources to resolve in a resource group from which it is listed
+     * @param <T> the type of the referenced resources
+     * @param <C> the type of the collection
+     * @return the resolver
+     */
+    public static <T extends HasId, C extends SupportsGettingById<T> & SupportsListingByResourceGroup<T>>
+            ResourceReferenceResolver<T> of(final C collection, int listThreshold) {
+        return of((SupportsGettingById<T>) collection).withListByResourceGroup(new Func1<String, Observable<T>>() {
+            @Override
+            public Observable<T> call(String resourceGroupName) {
+                return collection.listByResourceGroupAsync(resourceGroupName);
+            }
+        }, listThreshold);
+    }
+
+    /**
+     * Lists the resource group instead of fetching the resources one by one when at least the given number
+     * of resources to resolve are in it.
+     * <p>
+     * Only use it when the resource groups of the referenced resources are known to hold few resources of the type.
+     *
+     * @param listByResourceGroupAsync the function listing the resources of a resource group
+     * @param listThreshold the number of resources to resolve in a resource group from which it is listed
+     * @return the resolver
+     */
+    public ResourceReferenceResolver<T> withListByResourceGroup(Func1<String, Observable<T>> listByResourceGroupAsync,
+                                                                int listThreshold) {
+        if (listThreshold < 1) {
+            throw new IllegalArgumentException("listThreshold must be at least 1");
+        }
+        this.listByResourceGroupAsync = listByResourceGroupAsync;
+        this.listThreshold = listThreshold;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of fetches in flight.
+     *
+     * @param maxConcurrency the maximum number of fetches in flight
+     * @return the resolver
+     */
+    public ResourceReferenceResolver<T> withMaxConcurrency(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        }
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    /**
+     * Treats the resources that fail to be fetched as missing instead of failing the resolution.
+     *
+     * @return the resolver
+     */
+    public ResourceReferenceResolver<T> withErrorsAsMissing() {
+        this.errorsAsMissing = true;
+        return this;
+    }
+
+    /**
+     * Resolves the resources with the given ids.
+     *
+     * @param ids the resource ids, null ids are ignored
+     * @return the resources by id, looked up ignoring case; the value is null for the ids that do not exist
+     */
+    public Map<String, T> resolve(Collection<String> ids) {
+        return resolveAsync(ids).toBlocking().last();
+    }
+
+    /**
+     * Resolves the resource with the given id.
+     *
+     * @param id the resource id
+     * @return the resource, or null if it does not exist
+     */
+    public T resolve(String id) {
+        if (id == null) {
+            return null;
+        }
+        return resolve(Collections.singletonList(id)).get(id);
+    }
+
+    /**
+     * Resolves the resources with the given ids.
+     *
+     * @param ids the resource ids, null ids are ignored
+     * @return an observable emitting the resources by id, looked up ignoring case; the value is null for the
+     * ids that do not exist
+     */
+    public Observable<Map<String, T>> resolveAsync(Collection<String> ids) {
+        final Map<String, String> requested = new LinkedHashMap<>();
+        final Map<String, List<String>> missingByResourceGroup = new LinkedHashMap<>();
+        synchronized (this.resolved) {
+            for (String id : ids) {
+                if (id == null) {
+                    continue;
+                }
+                String key = id.toLowerCase();
+                if (requested.put(key, id) != null || this.resolved.containsKey(key)) {
+                    continue;
+                }
+                String resourceGroupName = resourceGroupOf(id);
+                String groupKey = resourceGroupName == null ? "" : resourceGroupName.toLowerCase();
+                List<String> missing = missingByResourceGroup.get(groupKey);
+                if (missing == null) {
+                    missing = new ArrayList<>();
+                    missingByResourceGroup.put(groupKey, missing);
+                }
+                missing.add(id);
+            }
+        }
+
+        List<Observable<T>> fetches = new ArrayList<>();
+        for (List<String> missing : missingByResourceGroup.values()) {
+            String resourceGroupName = resourceGroupOf(missing.get(0));
+            if (this.listByResourceGroupAsync != null && resourceGroupName != null && missing.size() >= this.listThreshold) {
+                fetches.add(this.listAsync(resourceGroupName, missing));
+            } else {
+                for (String id : missing) {
+                    fetches.add(this.getAsync(id));
+                }
+            }
+        }
+
+        return Observable.merge(fetches, this.maxConcurrency)
+                .toCompletable()
+                .andThen(Observable.fromCallable(new Callable<Map<String, T>>() {
+                    @Override
+                    public Map<String, T> call() {
+                        Map<String, T> result = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+                        synchronized (resolved) {
+                            for (Map.Entry<String, String> entry : requested.entrySet()) {
+                                result.put(entry.getValue(), resolved.get(entry.getKey()));
+                            }
+                        }
+                        return result;
+                    }
+                }));
+    }
+
+    private static String resourceGroupOf(String id) {
+        try {
+            return ResourceUtils.groupFromResourceId(id);
+        } catch (IllegalArgumentException e) {
+            // an invalid id is fetched on its own, the fetch reports the error
+            return null;
+        }
+    }
+
+    private Observable<T> getAsync(final String id) {
+        Observable<T> fetch = Observable.defer(new Func0<Observable<T>>() {
+            @Override
+            public Observable<T> call() {
+                return getByIdAsync.call(id);
+            }
+        }).lastOrDefault(null);
+        if (this.errorsAsMissing) {
+            fetch = fetch.onErrorReturn(new Func1<Throwable, T>() {
+                @Override
+                public T call(Throwable throwable) {
+                    return null;
+                }
+            });
+        }
+        return fetch.doOnNext(new Action1<T>() {
+            @Override
+            public void call(T t) {
+                synchronized (resolved) {
+                    resolved.put(id.toLowerCase(), t);
+                }
+            }
+        });
+    }
+
+    private Observable<T> listAsync(final String resourceGroupName, final List<String> missing) {
+        Observable<T> fetch = Observable.defer(new Func0<Observable<T>>() {
+            @Override
+            public Observable<T> call() {
+                return listByResourceGroupAsync.call(resourceGroupName);
+            }
+        }).doOnNext(new Action1<T>() {
+            @Override
+            public void call(T t) {
+                if (t != null && t.id() != null) {
+                    // keep the other resources of the group too, they are likely referenced as well
+                    synchronized (resolved) {
+                        resolved.put(t.id().toLowerCase(), t);
+                    }
+                }
+            }
+        });
+        if (this.errorsAsMissing) {
+            fetch = fetch.onErrorResumeNext(Observable.<T>empty());
+        }
+        return fetch.doOnCompleted(new Action0() {
+            @Override
+            public void call() {
+                synchronized (resolved) {
+                    for (String id : missing) {
+                        String key = id.toLowerCase();
+                        if (!resolved.containsKey(key)) {
+                            resolved.put(key, null);
+                        }
+                    }
+                }
+            }
+        });
+    }
+}
@@ -6,6 +6,8 @@
 
 package com.microsoft.azure.management.resources.fluentcore.utils;
 
+import com.microsoft.azure.management.resources.fluentcore.arm.collection.ExternalChildResourceCommitPolicy;
+import com.microsoft.azure.management.resources.fluentcore.dag.TaskGroupExecutionPolicy;
 import org.joda.time.DateTime;
 import rx.Observable;
 import rx.Scheduler;
@@ -22,6 +24,8 @@ public class SdkContext {
     private static DelayProvider delayProvider = new DelayProvider();
     private static Scheduler rxScheduler = Schedulers.io();
     private static FileProvider fileProvider = new FileProvider();
+    private static TaskGroupExecutionPolicy taskGroupExecutionPolicy;
+    private static ExternalChildResourceCommitPolicy externalChildResourceCommitPolicy;
 
     /**
      * Function to override the ResourceNamerFactory.
@@ -130,6 +134,40 @@ public class SdkContext {
         SdkContext.rxScheduler = rxScheduler;
     }
 
+    /**
+     * Gets the execution policy used by task group invocations that do not set their own.
+     * @return the default execution policy, null if tasks are not limited by default.
+     */
+    public static TaskGroupExecutionPolicy getTaskGroupExecutionPolicy() {
+        return taskGroupExecutionPolicy;
+    }
+
+    /**
+     * Sets the execution policy used by task group invocations that do not set their own,
+     * e.g. to bound the number of resources created concurrently by a batch create.
+     * @param taskGroupExecutionPolicy the default execution policy, null to not limit tasks.
+     */
+    public static void setTaskGroupExecutionPolicy(TaskGroupExecutionPolicy taskGroupExecutionPolicy) {
+        SdkContext.taskGroupExecutionPolicy = taskGroupExecutionPolicy;
+    }
+
+    /**
+     * Gets the commit policy used by external child resource collections that do not set their own.
+     * @return the default commit policy, null if not set.
+     */
+    public static ExternalChildResourceCommitPolicy getExternalChildResourceCommitPolicy() {
+        return externalChildResourceCommitPolicy;
+    }
+
+    /**
+     * Sets the commit policy used by external child resource collections that do not set their own,
+     * e.g. to bound the number of child resources updated concurrently.
+     * @param externalChildResourceCommitPolicy the default commit policy, null to send all the operations at once.
+     */
+    public static void setExternalChildResourceCommitPolicy(ExternalChildResourceCommitPolicy externalChildResourceCommitPolicy) {
+        SdkContext.externalChildResourceCommitPolicy = externalChildResourceCommitPolicy;
+    }
+
     /**
      * Sets the FileProvider for SDK framework, by default it does nothing.
      * @param fileProvider the FileProvider to override.
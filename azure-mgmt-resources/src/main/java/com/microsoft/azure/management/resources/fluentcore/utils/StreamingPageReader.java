@@ -0,0 +1,194 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.azure.CloudError;
+import com.microsoft.azure.CloudException;
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.rest.RestClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import rx.Observable;
+import rx.Observer;
+import rx.functions.Action1;
+import rx.functions.Func0;
+import rx.functions.Func2;
+import rx.observables.SyncOnSubscribe;
+import rx.schedulers.Schedulers;
+
+import java.io.IOException;
+
+/**
+ * Reads the items of a paged Azure Resource Manager list while the response is being received.
+ * <p>
+ * The generated clients read each page into a string and bind the whole page before the first item is
+ * seen. This reader parses the items of the {@code value} array one at a time from the response stream,
+ * with the serializer of the REST client, and emits each item as soon as it is parsed and requested, so
+ * that neither the page nor its text is held in memory. The {@code nextLink} of each page is followed
+ * once its items are consumed.
+ *
+ * @param <T> the type of the items
+ */
+@Beta(Beta.SinceVersion.V1_30_0)
+public final class StreamingPageReader<T> {
+    private static final String VALUE_FIELD = "value";
+    private static final String NEXT_LINK_FIELD = "nextLink";
+
+    private final RestClient restClient;
+    private final ObjectMapper mapper;
+    private final JavaType itemType;
+
+    /**
+     * Creates StreamingPageReader.
+     *
+     * @param restClient the REST client sending the requests and deserializing the items
+     * @param itemType the type of the items
+     */
+    public StreamingPageReader(RestClient restClient, Class<T> itemType) {
+        Object serializer = restClient.serializerAdapter().serializer();
+        if (!(serializer instanceof ObjectMapper)) {
+            throw new IllegalArgumentException("The REST client must use a Jackson serializer");
+        }
+        this.restClient = restClient;
+        this.mapper = (ObjectMapper) serializer;
+        this.itemType = this.mapper.getTypeFactory().constructType(itemType);
+    }
+
+    /**
+     * Lists the items of all the pages, starting from the given page.
+     *
+     * @param firstPageUrl the absolute URL of the first page
+     * @return an observable emitting the items as they are parsed
+     */
+    public Observable<T> listAsync(final String firstPageUrl) {
+        return Observable.create(SyncOnSubscribe.createStateful(
+                new Func0<PageCursor>() {
+                    @Override
+                    public PageCursor call() {
+                        return new PageCursor(firstPageUrl);
+                    }
+                },
+                new Func2<PageCursor, Observer<? super T>, PageCursor>() {
+                    @Override
+                    public PageCursor call(PageCursor cursor, Observer<? super T> observer) {
+                        try {
+                            T item = cursor.next();
+                            if (item == null) {
+                                observer.onCompleted();
+                            } else {
+                                observer.onNext(item);
+                            }
+                        } catch (IOException | RuntimeException e) {
+                            observer.onError(e);
+                        }
+                        return cursor;
+                    }
+                },
+                new Action1<PageCursor>() {
+                    @Override
+                    public void call(PageCursor cursor) {
+                        cursor.close();
+                    }
+                }))
+                .subscribeOn(Schedulers.io());
+    }
+
+    /**
+     * The position of an enumeration: the response being parsed and the link to the page after it.
+     */
+    private final class PageCursor {
+        private String nextPageUrl;
+        private Response response;
+        private JsonParser parser;
+        private boolean inValue;
+
+        private PageCursor(String firstPageUrl) {
+            this.nextPageUrl = firstPageUrl;
+        }
+
+        /**
+         * @return the next item, null once all the pages are consumed
+         */
+        private T next() throws IOException {
+            while (true) {
+                if (parser == null) {
+                    if (nextPageUrl == null) {
+                        return null;
+                    }
+                    open(nextPageUrl);
+                    nextPageUrl = null;
+                }
+                JsonToken token = parser.nextToken();
+                if (inValue) {
+                    if (token == JsonToken.END_ARRAY) {
+                        inValue = false;
+                    } else if (token != JsonToken.VALUE_NULL) {
+                        return mapper.readValue(parser, itemType);
+                    }
+                } else if (token == null) {
+                    // the nextLink may come before or after the items, it is only known at the end of the page
+                    close();
+                } else if (token == JsonToken.FIELD_NAME) {
+                    String field = parser.getCurrentName();
+                    JsonToken valueToken = parser.nextToken();
+                    if (VALUE_FIELD.equals(field) && valueToken == JsonToken.START_ARRAY) {
+                        inValue = true;
+                    } else if (NEXT_LINK_FIELD.equals(field) && valueToken == JsonToken.VALUE_STRING
+                            && !parser.getText().isEmpty()) {
+                        nextPageUrl = parser.getText();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+        }
+
+        private void open(String url) throws IOException {
+            response = restClient.httpClient().newCall(new Request.Builder().url(url).get().build()).execute();
+            if (!response.isSuccessful()) {
+                throw error(response);
+            }
+            parser = mapper.getFactory().createParser(response.body().byteStream());
+        }
+
+        private void close() {
+            inValue = false;
+            if (parser != null) {
+                try {
+                    parser.close();
+                } catch (IOException ignored) {
+                    // the response is closed below
+                }
+                parser = null;
+            }
+            if (response != null) {
+                response.close();
+                response = null;
+            }
+        }
+
+        private CloudException error(Response response) throws IOException {
+            ResponseBody body = response.body();
+            String content = body.string();
+            CloudError cloudError = null;
+            try {
+                cloudError = mapper.readValue(content, CloudError.class);
+            } catch (IOException ignored) {
+                // not an Azure error payload, the content is in the message
+            }
+            this.response = null;
+            return new CloudException("Status code " + response.code() + ", " + content,
+                    retrofit2.Response.<ResponseBody>error(ResponseBody.create(body.contentType(), content), response),
+                    cloudError);
+        }
+    }
+}
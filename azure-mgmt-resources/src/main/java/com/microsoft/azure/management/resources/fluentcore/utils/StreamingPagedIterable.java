@@ -0,0 +1,182 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.utils;
+
+import com.microsoft.azure.Page;
+import com.microsoft.azure.PagedList;
+import com.microsoft.azure.management.apigeneration.Beta;
+import rx.functions.Func0;
+import rx.functions.Func1;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * An iterable over the items of a {@link PagedList} that holds on to one page at a time.
+ * <p>
+ * Unlike iterating the {@link PagedList} itself, which appends every loaded page to the list,
+ * the items of each page are dropped from the list once consumed, so the memory used is bounded by
+ * the size of the pages the list holds, the current page and the one it has fetched ahead, regardless
+ * of the size of the list.
+ * Each call to {@link #iterator()} starts a new enumeration from the first page.
+ *
+ * @param <U> the type of the items in the source list
+ * @param <V> the type of the items produced
+ */
+@Beta(Beta.SinceVersion.V1_30_0)
+public final class StreamingPagedIterable<U, V> implements Iterable<V> {
+    private final Func0<PagedList<U>> source;
+    private final Func1<List<U>, Iterable<V>> pageConverter;
+
+    /**
+     * Creates StreamingPagedIterable.
+     *
+     * @param source the factory of the source list, invoked once per enumeration
+     * @param projection the function applied to each item of the source list
+     */
+    public StreamingPagedIterable(Func0<PagedList<U>> source, final Func1<? super U, ? extends V> projection) {
+        this.source = source;
+        this.pageConverter = new Func1<List<U>, Iterable<V>>() {
+            @Override
+            public Iterable<V> call(List<U> items) {
+                return mapLazily(items, projection);
+            }
+        };
+    }
+
+    private StreamingPagedIterable(Func1<List<U>, Iterable<V>> pageConverter, Func0<PagedList<U>> source) {
+        this.source = source;
+        this.pageConverter = pageConverter;
+    }
+
+    /**
+     * Creates an iterable converting the items of the source list a page at a time.
+     *
+     * @param source the factory of the source list, invoked once per enumeration
+     * @param pageConverter the function converting the items of a page
+     * @param <U> the type of the items in the source list
+     * @param <V> the type of the items produced
+     * @return the iterable
+     */
+    static <U, V> StreamingPagedIterable<U, V> fromPages(Func0<PagedList<U>> source, Func1<List<U>, Iterable<V>> pageConverter) {
+        return new StreamingPagedIterable<>(pageConverter, source);
+    }
+
+    /**
+     * Creates an iterable over the items of a list that has already been fetched; it can be enumerated only once
+     * as the pages are not kept.
+     *
+     * @param list the source list
+     * @param <T> the type of the items
+     * @return the iterable
+     */
+    public static <T> StreamingPagedIterable<T, T> of(final PagedList<T> list) {
+        return new StreamingPagedIterable<>(new Func0<PagedList<T>>() {
+            @Override
+            public PagedList<T> call() {
+                return list;
+            }
+        }, new Func1<T, T>() {
+            @Override
+            public T call(T t) {
+                return t;
+            }
+        });
+    }
+
+    /**
+     * Applies a further projection to the items.
+     *
+     * @param projection the function applied to each item
+     * @param <R> the type of the projected items
+     * @return the iterable of projected items
+     */
+    public <R> StreamingPagedIterable<U, R> map(final Func1<? super V, ? extends R> projection) {
+        final Func1<List<U>, Iterable<V>> current = this.pageConverter;
+        return fromPages(this.source, new Func1<List<U>, Iterable<R>>() {
+            @Override
+            public Iterable<R> call(List<U> items) {
+                return mapLazily(current.call(items), projection);
+            }
+        });
+    }
+
+    @Override
+    public Iterator<V> iterator() {
+        return new PageIterator();
+    }
+
+    private static <T, R> Iterable<R> mapLazily(final Iterable<T> items, final Func1<? super T, ? extends R> projection) {
+        return new Iterable<R>() {
+            @Override
+            public Iterator<R> iterator() {
+                final Iterator<T> iterator = items.iterator();
+                return new Iterator<R>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public R next() {
+                        return projection.call(iterator.next());
+                    }
+
+                    @Override
+                    public void remove() {
+                        throw new UnsupportedOperationException("remove");
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * Iterator walking the pages of a single enumeration.
+     */
+    private final class PageIterator implements Iterator<V> {
+        private PagedList<U> list;
+        private Iterator<V> items;
+
+        @Override
+        public boolean hasNext() {
+            if (items == null) {
+                list = source.call();
+                items = itemsOf(list == null ? null : list.currentPage());
+            }
+            while (!items.hasNext() && list != null && list.hasNextPage()) {
+                // Drop the items of the consumed pages before loading the page the list has fetched ahead
+                list.clear();
+                list.loadNextPage();
+                items = itemsOf(list.currentPage());
+            }
+            return items.hasNext();
+        }
+
+        @Override
+        public V next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return items.next();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("remove");
+        }
+
+        private Iterator<V> itemsOf(Page<U> page) {
+            if (page == null || page.items() == null) {
+                return Collections.emptyIterator();
+            }
+            return pageConverter.call(page.items()).iterator();
+        }
+    }
+}
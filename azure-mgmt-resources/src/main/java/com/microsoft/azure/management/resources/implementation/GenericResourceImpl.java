@@ -8,7 +8,7 @@ package com.microsoft.azure.management.resources.implementation;
 
 import com.microsoft.azure.management.resources.GenericResource;
 import com.microsoft.azure.management.resources.Plan;
-import com.microsoft.azure.management.resources.Provider;
+import com.microsoft.azure.management.resources.fluentcore.arm.ProviderApiVersions;
 import com.microsoft.azure.management.resources.fluentcore.arm.ResourceUtils;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.implementation.GroupableResourceImpl;
 import com.microsoft.azure.management.resources.fluentcore.utils.SdkContext;
@@ -139,10 +139,10 @@ final class GenericResourceImpl
         Observable<String> observable = Observable.just(apiVersion);
         if (apiVersion == null) {
             final ResourceManagementClientImpl serviceClient = this.manager().inner();
-            observable = this.manager().providers().getByNameAsync(resourceProviderNamespace)
-                    .map(new Func1<Provider, String>() {
+            observable = this.manager().providerMetadataCache().getApiVersionsAsync(resourceProviderNamespace)
+                    .map(new Func1<ProviderApiVersions, String>() {
                         @Override
-                        public String call(Provider provider) {
+                        public String call(ProviderApiVersions apiVersions) {
                             String id;
                             if (!isInCreateMode()) {
                                 id = inner().id();
@@ -155,7 +155,7 @@ final class GenericResourceImpl
                                         name(),
                                         parentResourcePath());
                             }
-                            self.apiVersion = ResourceUtils.defaultApiVersion(id, provider);
+                            self.apiVersion = apiVersions.defaultApiVersion(id);
                             return self.apiVersion;
                         }
                     });
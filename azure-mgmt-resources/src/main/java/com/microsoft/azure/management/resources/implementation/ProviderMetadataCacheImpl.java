@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.implementation;
+
+import com.microsoft.azure.management.apigeneration.LangDefinition;
+import com.microsoft.azure.management.resources.Provider;
+import com.microsoft.azure.management.resources.ProviderMetadataCache;
+import com.microsoft.azure.management.resources.Providers;
+import com.microsoft.azure.management.resources.fluentcore.arm.ProviderApiVersions;
+import com.microsoft.azure.management.resources.fluentcore.arm.ResourceId;
+import com.microsoft.azure.management.resources.fluentcore.utils.ExpiringCache;
+import org.joda.time.Period;
+import rx.Completable;
+import rx.Observable;
+import rx.functions.Action1;
+import rx.functions.Func0;
+import rx.functions.Func1;
+
+import java.util.Locale;
+
+/**
+ * The implementation of ProviderMetadataCache.
+ * <p>
+ * Entries are keyed by the lower cased provider namespace, see {@link ExpiringCache} for their expiry.
+ */
+@LangDefinition
+final class ProviderMetadataCacheImpl implements ProviderMetadataCache {
+    private final Providers providers;
+    private final ExpiringCache<String, ProviderApiVersions> entries = new ExpiringCache<>(DEFAULT_TIME_TO_LIVE);
+
+    ProviderMetadataCacheImpl(Providers providers) {
+        this.providers = providers;
+    }
+
+    @Override
+    public ProviderMetadataCacheImpl withTimeToLive(Period timeToLive) {
+        this.entries.withTimeToLive(timeToLive);
+        return this;
+    }
+
+    @Override
+    public ProviderApiVersions getApiVersions(String resourceProviderNamespace) {
+        return getApiVersionsAsync(resourceProviderNamespace).toBlocking().single();
+    }
+
+    @Override
+    public Observable<ProviderApiVersions> getApiVersionsAsync(final String resourceProviderNamespace) {
+        return entries.get(resourceProviderNamespace.toLowerCase(Locale.ROOT), new Func0<Observable<ProviderApiVersions>>() {
+            @Override
+            public Observable<ProviderApiVersions> call() {
+                return providers.getByNameAsync(resourceProviderNamespace)
+                        .map(new Func1<Provider, ProviderApiVersions>() {
+                            @Override
+                            public ProviderApiVersions call(Provider provider) {
+                                return ProviderApiVersions.of(provider);
+                            }
+                        });
+            }
+        });
+    }
+
+    @Override
+    public String defaultApiVersion(String resourceId) {
+        return defaultApiVersionAsync(resourceId).toBlocking().single();
+    }
+
+    @Override
+    public Observable<String> defaultApiVersionAsync(String resourceId) {
+        final ResourceId id = ResourceId.fromString(resourceId);
+        return getApiVersionsAsync(id.providerNamespace())
+                .map(new Func1<ProviderApiVersions, String>() {
+                    @Override
+                    public String call(ProviderApiVersions apiVersions) {
+                        return apiVersions.defaultApiVersion(id);
+                    }
+                });
+    }
+
+    @Override
+    public void warmUp() {
+        warmUpAsync().await();
+    }
+
+    @Override
+    public Completable warmUpAsync() {
+        return providers.listAsync()
+                .doOnNext(new Action1<Provider>() {
+                    @Override
+                    public void call(Provider provider) {
+                        entries.put(provider.namespace().toLowerCase(Locale.ROOT), ProviderApiVersions.of(provider));
+                    }
+                })
+                .toCompletable();
+    }
+
+    @Override
+    public void invalidate(String resourceProviderNamespace) {
+        entries.invalidate(resourceProviderNamespace.toLowerCase(Locale.ROOT));
+    }
+
+    @Override
+    public void invalidateAll() {
+        entries.invalidateAll();
+    }
+}
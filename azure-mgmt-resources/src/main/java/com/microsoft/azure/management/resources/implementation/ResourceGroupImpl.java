@@ -39,6 +39,11 @@ class ResourceGroupImpl extends
         this.client = serviceClient.resourceGroups();
     }
 
+    @Override
+    protected String fullResourceType() {
+        return "Microsoft.Resources/resourceGroups";
+    }
+
     @Override
     public String provisioningState() {
         return this.inner().properties().provisioningState();
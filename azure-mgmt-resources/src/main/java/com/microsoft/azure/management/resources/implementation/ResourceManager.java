@@ -9,11 +9,13 @@ package com.microsoft.azure.management.resources.implementation;
 import com.microsoft.azure.AzureEnvironment;
 import com.microsoft.azure.AzureResponseBuilder;
 import com.microsoft.azure.credentials.AzureTokenCredentials;
+import com.microsoft.azure.management.apigeneration.Beta;
 import com.microsoft.azure.management.resources.Deployments;
 import com.microsoft.azure.management.resources.Features;
 import com.microsoft.azure.management.resources.GenericResources;
 import com.microsoft.azure.management.resources.PolicyAssignments;
 import com.microsoft.azure.management.resources.PolicyDefinitions;
+import com.microsoft.azure.management.resources.ProviderMetadataCache;
 import com.microsoft.azure.management.resources.Providers;
 import com.microsoft.azure.management.resources.ResourceGroups;
 import com.microsoft.azure.management.resources.Subscriptions;
@@ -43,6 +45,7 @@ public final class ResourceManager extends ManagerBase implements HasInner<Resou
     private Providers providers;
     private PolicyDefinitions policyDefinitions;
     private PolicyAssignments policyAssignments;
+    private ProviderMetadataCache providerMetadataCache;
 
     /**
      * Creates an instance of ResourceManager that exposes resource management API entry points.
@@ -221,6 +224,17 @@ public final class ResourceManager extends ManagerBase implements HasInner<Resou
         return providers;
     }
 
+    /**
+     * @return the cache of the resource providers, used to find the api version of generic resources
+     */
+    @Beta(Beta.SinceVersion.V1_30_0)
+    public synchronized ProviderMetadataCache providerMetadataCache() {
+        if (providerMetadataCache == null) {
+            providerMetadataCache = new ProviderMetadataCacheImpl(providers());
+        }
+        return providerMetadataCache;
+    }
+
     /**
      * @return the policy definition management API entry point
      */
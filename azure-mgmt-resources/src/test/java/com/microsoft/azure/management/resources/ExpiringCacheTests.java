@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources;
+
+import com.microsoft.azure.management.resources.fluentcore.utils.ExpiringCache;
+import org.joda.time.Period;
+import org.junit.Assert;
+import org.junit.Test;
+import rx.Observable;
+import rx.functions.Func0;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ExpiringCacheTests {
+    @Test
+    public void canKeepValuesForTimeToLive() {
+        ExpiringCache<String, Integer> cache = new ExpiringCache<>(Period.minutes(5));
+        CountingLoader loader = new CountingLoader(false, false);
+
+        Assert.assertEquals(1, (int) cache.get("a", loader).toBlocking().single());
+        Assert.assertEquals(1, (int) cache.get("a", loader).toBlocking().single());
+        Assert.assertEquals(1, loader.loads.get());
+
+        cache.invalidate("a");
+        Assert.assertEquals(2, (int) cache.get("a", loader).toBlocking().single());
+
+        cache.withTimeToLive(Period.ZERO);
+        cache.invalidateAll();
+        cache.get("a", loader).toBlocking().single();
+        Assert.assertEquals(4, (int) cache.get("a", loader).toBlocking().single());
+    }
+
+    @Test
+    public void canRetryFailedLoads() {
+        ExpiringCache<String, Integer> cache = new ExpiringCache<>(Period.minutes(5));
+        CountingLoader failing = new CountingLoader(true, false);
+
+        for (int i = 1; i <= 2; i++) {
+            try {
+                cache.get("a", failing).toBlocking().single();
+                Assert.fail();
+            } catch (IllegalStateException e) {
+                Assert.assertEquals(i, failing.loads.get());
+            }
+        }
+    }
+
+    @Test
+    public void canRetryLoadsCompletingWithoutValue() {
+        ExpiringCache<String, Integer> cache = new ExpiringCache<>(Period.minutes(5));
+        CountingLoader empty = new CountingLoader(false, true);
+
+        Assert.assertNull(cache.get("a", empty).toBlocking().singleOrDefault(null));
+        Assert.assertNull(cache.get("a", empty).toBlocking().singleOrDefault(null));
+        Assert.assertEquals(2, empty.loads.get());
+
+        cache.put("a", 42);
+        Assert.assertEquals(42, (int) cache.get("a", empty).toBlocking().single());
+        Assert.assertEquals(2, empty.loads.get());
+    }
+
+    /**
+     * A loader emitting the number of loads so far.
+     */
+    private static final class CountingLoader implements Func0<Observable<Integer>> {
+        private final AtomicInteger loads = new AtomicInteger();
+        private final boolean failing;
+        private final boolean empty;
+
+        private CountingLoader(boolean failing, boolean empty) {
+            this.failing = failing;
+            this.empty = empty;
+        }
+
+        @Override
+        public Observable<Integer> call() {
+            return Observable.defer(new Func0<Observable<Integer>>() {
+                @Override
+                public Observable<Integer> call() {
+                    int load = loads.incrementAndGet();
+                    if (failing) {
+                        return Observable.error(new IllegalStateException("load failed"));
+                    }
+                    return empty ? Observable.<Integer>empty() : Observable.just(load);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources;
+
+import com.microsoft.azure.management.resources.fluentcore.dag.TaskDurations;
+import com.microsoft.azure.management.resources.fluentcore.utils.LongRunningOperationPoller;
+import org.junit.Assert;
+import org.junit.Test;
+import rx.schedulers.TestScheduler;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class LongRunningOperationPollerTests {
+    private static final String OPERATION_TYPE = "PUT Microsoft.Compute/virtualMachines";
+
+    @Test
+    public void canCoalescePollsOfSameSubscription() {
+        TestScheduler clock = new TestScheduler();
+        LongRunningOperationPoller poller = new LongRunningOperationPoller(clock)
+                .withDurations(new TaskDurations()
+                        .withDeclaredDuration("PUT Microsoft.Network/virtualNetworks", 12000)
+                        .withDeclaredDuration("PUT Microsoft.Network/publicIPAddresses", 10000));
+
+        Assert.assertEquals(12, poller.onStarted("PUT Microsoft.Network/virtualNetworks", "sub1", urls("op1"), 0));
+        // moved by up to a quarter of its delay next to the poll already booked for the subscription
+        Assert.assertEquals(12, poller.onStarted("PUT Microsoft.Network/publicIPAddresses", "sub1", urls("op2"), 0));
+        Assert.assertEquals(10, poller.onStarted("PUT Microsoft.Network/publicIPAddresses", "sub2", urls("op3"), 0));
+        Assert.assertEquals(1, poller.coalescedPollCount());
+        Assert.assertEquals(3, poller.activeOperationCount());
+    }
+
+    @Test
+    public void canAdaptToObservedDurations() {
+        TestScheduler clock = new TestScheduler();
+        LongRunningOperationPoller poller = new LongRunningOperationPoller(clock);
+
+        Assert.assertEquals(10, poller.onStarted(OPERATION_TYPE, "sub1", urls("op1"), 0));
+        clock.advanceTimeBy(10, TimeUnit.SECONDS);
+        // overdue, backing off from the minimum delay
+        Assert.assertEquals(1, poller.onPolled("op1", false, false, 0));
+        clock.advanceTimeBy(1, TimeUnit.SECONDS);
+        Assert.assertEquals(2, poller.onPolled("op1", false, false, 0));
+        clock.advanceTimeBy(2, TimeUnit.SECONDS);
+        Assert.assertEquals(0, poller.onPolled("op1", true, true, 0));
+
+        Assert.assertFalse(poller.isPolling("op1"));
+        Assert.assertEquals(1, poller.completedOperationCount());
+        Assert.assertEquals(13000, poller.durations().expectedDurationInMillis(OPERATION_TYPE));
+        Assert.assertEquals(13, poller.onStarted(OPERATION_TYPE, "sub1", urls("op2"), 0));
+    }
+
+    @Test
+    public void canHonorRetryAfter() {
+        TestScheduler clock = new TestScheduler();
+        LongRunningOperationPoller poller = new LongRunningOperationPoller(clock).withMaximumDelay(20);
+
+        Assert.assertEquals(30, poller.onStarted(OPERATION_TYPE, "sub1", urls("op1"), 30));
+        clock.advanceTimeBy(30, TimeUnit.SECONDS);
+        Assert.assertEquals(5, poller.onPolled("op1", false, false, 5));
+        // polls of operations the poller does not know about are left alone
+        Assert.assertEquals(7, poller.onPolled("unknown", false, false, 7));
+    }
+
+    private static List<String> urls(String url) {
+        return Collections.singletonList(url);
+    }
+}
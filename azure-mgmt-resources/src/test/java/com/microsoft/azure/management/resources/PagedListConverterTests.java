@@ -0,0 +1,179 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources;
+
+import com.microsoft.azure.Page;
+import com.microsoft.azure.PagedList;
+import com.microsoft.azure.management.resources.fluentcore.utils.PagedListConverter;
+import com.microsoft.azure.management.resources.implementation.PageImpl;
+import org.junit.Assert;
+import org.junit.Test;
+import rx.Observable;
+import rx.functions.Action0;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PagedListConverterTests {
+
+    @Test
+    public void canConvertInOrderWithAllItemsInFlightByDefault() {
+        DelayingConverter converter = new DelayingConverter();
+        PagedList<Integer> converted = converter.convert(new FakePages(1, Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8)).list());
+
+        Assert.assertEquals(Arrays.asList(10, 20, 30, 40, 50, 60, 70, 80), new ArrayList<>(converted));
+        Assert.assertEquals(8, converter.maxInFlight.get());
+    }
+
+    @Test
+    public void canBoundConversionsInFlight() {
+        DelayingConverter converter = new DelayingConverter();
+        converter.withMaxConcurrency(2);
+        PagedList<Integer> converted = converter.convert(new FakePages(1, Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8)).list());
+
+        Assert.assertEquals(Arrays.asList(10, 20, 30, 40, 50, 60, 70, 80), new ArrayList<>(converted));
+        Assert.assertEquals(2, converter.maxInFlight.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotBoundConversionsBelowOne() {
+        new DelayingConverter().withMaxConcurrency(0);
+    }
+
+    @Test
+    public void canConvertAllPagesWithFilter() {
+        PagedListConverter<Integer, Integer> converter = new DelayingConverter() {
+            @Override
+            protected boolean filter(Integer item) {
+                return item % 2 == 1;
+            }
+        };
+        PagedList<Integer> converted = converter.convert(new FakePages(3, Arrays.asList(1, 2, 3)).list());
+
+        Assert.assertEquals(Arrays.asList(10, 30, 10, 30, 10, 30), new ArrayList<>(converted));
+    }
+
+    @Test
+    public void canPrefetchNextPage() {
+        FakePages source = new FakePages(3, Arrays.asList(1, 2));
+        PagedList<Integer> converted = new DelayingConverter().withPrefetch().convert(source.list());
+        Assert.assertEquals(6, converted.size());
+        Assert.assertTrue(source.fetchThreads.toString(), hasIoThread(source.fetchThreads));
+
+        source = new FakePages(3, Arrays.asList(1, 2));
+        converted = new DelayingConverter().convert(source.list());
+        Assert.assertEquals(6, converted.size());
+        Assert.assertFalse(source.fetchThreads.toString(), hasIoThread(source.fetchThreads));
+    }
+
+    @Test
+    public void canConvertAsync() {
+        List<Integer> converted = new DelayingConverter().convertAsync(new FakePages(3, Arrays.asList(1, 2, 3)).list())
+                .toList().toBlocking().single();
+        Assert.assertEquals(Arrays.asList(10, 20, 30, 10, 20, 30, 10, 20, 30), converted);
+
+        Assert.assertEquals(Collections.<Integer>emptyList(),
+                new DelayingConverter().convertAsync(null).toList().toBlocking().single());
+    }
+
+    @Test
+    public void canConvertAsyncLongListWithoutDeepStack() {
+        final int pages = 5000;
+        int count = new PagedListConverter<Integer, Integer>() {
+            @Override
+            public Observable<Integer> typeConvertAsync(Integer item) {
+                return Observable.just(item);
+            }
+        }.convertAsync(new FakePages(pages, Arrays.asList(1)).list()).count().toBlocking().single();
+        Assert.assertEquals(pages, count);
+    }
+
+    @Test
+    public void canReportPageFetchFailureAsync() {
+        FakePages source = new FakePages(3, Arrays.asList(1, 2));
+        source.failingPageLink = "2";
+        try {
+            new DelayingConverter().convertAsync(source.list()).toList().toBlocking().single();
+            Assert.fail();
+        } catch (RuntimeException e) {
+            Assert.assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+
+    private static boolean hasIoThread(List<String> threads) {
+        for (String thread : threads) {
+            if (thread.startsWith("RxIoScheduler")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Multiplies the items by 10, the first items of a page taking the longest.
+     */
+    private static class DelayingConverter extends PagedListConverter<Integer, Integer> {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+
+        @Override
+        public Observable<Integer> typeConvertAsync(final Integer item) {
+            int current = inFlight.incrementAndGet();
+            synchronized (maxInFlight) {
+                maxInFlight.set(Math.max(maxInFlight.get(), current));
+            }
+            return Observable.just(item * 10)
+                    .delay(50 - item * 5, TimeUnit.MILLISECONDS)
+                    .doOnTerminate(new Action0() {
+                        @Override
+                        public void call() {
+                            inFlight.decrementAndGet();
+                        }
+                    });
+        }
+    }
+
+    /**
+     * Pages holding the same items, recording the thread fetching each page.
+     */
+    private static class FakePages {
+        private final int pages;
+        private final List<Integer> items;
+        private final List<String> fetchThreads = Collections.synchronizedList(new ArrayList<String>());
+        private volatile String failingPageLink;
+
+        FakePages(int pages, List<Integer> items) {
+            this.pages = pages;
+            this.items = items;
+        }
+
+        PagedList<Integer> list() {
+            return new PagedList<Integer>(page(0)) {
+                @Override
+                public Page<Integer> nextPage(String nextPageLink) throws IOException {
+                    fetchThreads.add(Thread.currentThread().getName());
+                    if (nextPageLink.equals(failingPageLink)) {
+                        throw new IOException("page " + nextPageLink);
+                    }
+                    return page(Integer.parseInt(nextPageLink));
+                }
+            };
+        }
+
+        private Page<Integer> page(int index) {
+            PageImpl<Integer> page = new PageImpl<>();
+            page.setItems(items);
+            page.setNextPageLink(index + 1 < pages ? String.valueOf(index + 1) : null);
+            return page;
+        }
+    }
+}
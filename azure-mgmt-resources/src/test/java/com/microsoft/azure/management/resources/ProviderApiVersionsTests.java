@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources;
+
+import com.microsoft.azure.management.resources.fluentcore.arm.ProviderApiVersions;
+import com.microsoft.azure.management.resources.fluentcore.arm.ResourceUtils;
+import com.microsoft.azure.management.resources.implementation.ProviderInner;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class ProviderApiVersionsTests {
+    private static final String SITE_ID = "/subscriptions/sub/resourceGroups/rg/providers/Microsoft.Web/sites/site1";
+
+    @Test
+    public void canFindDefaultApiVersions() {
+        Provider provider = provider(
+                new ProviderResourceType().withResourceType("serverFarms").withApiVersions(Arrays.asList("2018-02-01")),
+                new ProviderResourceType().withResourceType("sites").withApiVersions(Arrays.asList("2019-08-01", "2018-11-01")),
+                new ProviderResourceType().withResourceType("sites/config").withApiVersions(Arrays.asList("2016-08-01")));
+        ProviderApiVersions apiVersions = ProviderApiVersions.of(provider);
+
+        Assert.assertEquals("2019-08-01", apiVersions.defaultApiVersion(SITE_ID));
+        Assert.assertEquals("2016-08-01", apiVersions.defaultApiVersion(SITE_ID + "/config/web"));
+        // unknown child types use the api version of their parent
+        Assert.assertEquals("2019-08-01", apiVersions.defaultApiVersion(SITE_ID + "/slots/staging"));
+        // unknown types use the first api version of the provider
+        Assert.assertEquals("2018-02-01",
+                apiVersions.defaultApiVersion("/subscriptions/sub/resourceGroups/rg/providers/Microsoft.Web/certificates/c1"));
+        Assert.assertEquals(apiVersions.defaultApiVersion(SITE_ID + "/config/web"),
+                ResourceUtils.defaultApiVersion(SITE_ID + "/config/web", provider));
+    }
+
+    private static Provider provider(final ProviderResourceType... resourceTypes) {
+        return new Provider() {
+            @Override
+            public String namespace() {
+                return "Microsoft.Web";
+            }
+
+            @Override
+            public String registrationState() {
+                return "Registered";
+            }
+
+            @Override
+            public List<ProviderResourceType> resourceTypes() {
+                return Arrays.asList(resourceTypes);
+            }
+
+            @Override
+            public ProviderInner inner() {
+                return null;
+            }
+
+            @Override
+            public String key() {
+                return namespace();
+            }
+        };
+    }
+}
@@ -10,6 +10,14 @@ import com.microsoft.azure.management.resources.fluentcore.arm.ResourceId;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 /**
  * Test class to test ResourceId class.
  */
@@ -75,4 +83,81 @@ public class ResourceIdTests {
         Assert.assertEquals(resourceId.parent().parent().resourceType(), "applicationGateways");
         Assert.assertEquals(resourceId.parent().parent().fullResourceType(), "Microsoft.Network/applicationGateways");
     }
+
+    @Test
+    public void resourceIdParsingMatchesSplitSemantics() {
+        ResourceId resourceId = ResourceId.fromString("subscriptions/9657ab5d-4a4a-4fd2-ae7a-4cd9fbd030ef/resourceGroups/resourceGroupName/providers/Microsoft.Network/applicationGateways/something/someChildType/childName/");
+
+        Assert.assertEquals("childName", resourceId.name());
+        Assert.assertEquals("someChildType", resourceId.resourceType());
+        Assert.assertEquals("Microsoft.Network/applicationGateways/someChildType", resourceId.fullResourceType());
+        Assert.assertEquals("/subscriptions/9657ab5d-4a4a-4fd2-ae7a-4cd9fbd030ef/resourceGroups/resourceGroupName/providers/Microsoft.Network/applicationGateways/something", resourceId.parent().id());
+        Assert.assertSame(resourceId.parent(), resourceId.parent());
+
+        try {
+            ResourceId.fromString("/subscriptions/9657ab5d-4a4a-4fd2-ae7a-4cd9fbd030ef/resourceGroup/resourceGroupName");
+            Assert.fail("Expected an invalid resource ID to be rejected");
+        } catch (InvalidParameterException e) {
+            // expected
+        }
+        Assert.assertNull(ResourceId.fromString(null).name());
+    }
+
+    @Test
+    public void resourceIdSegmentsAreShared() {
+        ResourceId first = ResourceId.fromString("/subscriptions/9657ab5d-4a4a-4fd2-ae7a-4cd9fbd030ef/resourceGroups/sharedGroup/providers/Microsoft.Network/virtualNetworks/vnet1");
+        ResourceId second = ResourceId.fromString("/subscriptions/9657ab5d-4a4a-4fd2-ae7a-4cd9fbd030ef/resourceGroups/sharedGroup/providers/Microsoft.Network/virtualNetworks/vnet2");
+
+        Assert.assertSame(first.resourceGroupName(), second.resourceGroupName());
+        Assert.assertSame(first.providerNamespace(), second.providerNamespace());
+        Assert.assertSame(first, ResourceId.fromString(first.id()));
+    }
+
+    @Test
+    public void resourceIdCacheEvictsLeastRecentlyUsed() {
+        String prefix = "/subscriptions/9657ab5d-4a4a-4fd2-ae7a-4cd9fbd030ef/resourceGroups/evictedGroup/providers/Microsoft.Network/virtualNetworks/";
+        ResourceId hot = ResourceId.fromString(prefix + "hot");
+        ResourceId cold = ResourceId.fromString(prefix + "cold");
+        // more ids than the cache holds, the id read in between stays cached
+        for (int i = 0; i < 8192; i++) {
+            ResourceId.fromString(prefix + "vnet" + i);
+            if (i % 1024 == 0) {
+                Assert.assertSame(hot, ResourceId.fromString(prefix + "hot"));
+            }
+        }
+
+        Assert.assertSame(hot, ResourceId.fromString(prefix + "hot"));
+        Assert.assertNotSame(cold, ResourceId.fromString(prefix + "cold"));
+    }
+
+    @Test
+    public void resourceIdCanBeParsedConcurrently() throws Exception {
+        final int idCount = 10000;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() {
+                        // more ids than the cache holds, so that ids are evicted while other threads read them
+                        int parsed = 0;
+                        for (int j = 0; j < idCount; j++) {
+                            ResourceId resourceId = ResourceId.fromString("/subscriptions/9657ab5d-4a4a-4fd2-ae7a-4cd9fbd030ef/resourceGroups/group" + (j % 10)
+                                    + "/providers/Microsoft.Network/virtualNetworks/vnet" + j);
+                            Assert.assertEquals("vnet" + j, resourceId.name());
+                            Assert.assertEquals("group" + (j % 10), resourceId.resourceGroupName());
+                            parsed++;
+                        }
+                        return parsed;
+                    }
+                }));
+            }
+            for (Future<Integer> result : results) {
+                Assert.assertEquals(idCount, result.get().intValue());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
 }
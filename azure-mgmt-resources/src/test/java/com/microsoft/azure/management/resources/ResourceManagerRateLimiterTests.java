@@ -0,0 +1,209 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources;
+
+import com.microsoft.azure.AzureResponseBuilder;
+import com.microsoft.azure.management.resources.fluentcore.utils.DelayProvider;
+import com.microsoft.azure.management.resources.fluentcore.utils.ResourceManagerRateLimiter;
+import com.microsoft.azure.management.resources.fluentcore.utils.ResourceManagerThrottlingInterceptor;
+import com.microsoft.azure.management.resources.fluentcore.utils.SdkContext;
+import com.microsoft.azure.serializer.AzureJacksonAdapter;
+import com.microsoft.rest.RestClient;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import rx.observers.AssertableSubscriber;
+import rx.schedulers.Schedulers;
+import rx.schedulers.TestScheduler;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ResourceManagerRateLimiterTests {
+    private static final String SUBSCRIPTION = "00000000-0000-0000-0000-000000000000";
+    private static final String OTHER_SUBSCRIPTION = "11111111-1111-1111-1111-111111111111";
+    private static final String WRITES_HEADER = "x-ms-ratelimit-remaining-subscription-writes";
+
+    private final List<Integer> sleeps = new ArrayList<>();
+    // 3600 writes per hour refill one permit per second, pacing starts below 180 remaining writes
+    private ResourceManagerRateLimiter limiter;
+
+    @Before
+    public void setup() {
+        limiter = new ResourceManagerRateLimiter(36000, 3600);
+        SdkContext.setDelayProvider(new DelayProvider() {
+            @Override
+            public void sleep(int milliseconds) {
+                sleeps.add(milliseconds);
+            }
+        });
+    }
+
+    @After
+    public void cleanup() {
+        SdkContext.setDelayProvider(new DelayProvider());
+        SdkContext.setRxScheduler(Schedulers.io());
+    }
+
+    @Test
+    public void canSendWithoutDelayWhileQuotaIsUnknownOrHigh() {
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(0, limiter.acquire(SUBSCRIPTION, true));
+        }
+        limiter.onResponse(SUBSCRIPTION, true, response(WRITES_HEADER, "1000"));
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(0, limiter.acquire(SUBSCRIPTION, true));
+        }
+        Assert.assertTrue(sleeps.isEmpty());
+        Assert.assertEquals(0, limiter.delayedRequestCount());
+    }
+
+    @Test
+    public void canPaceBelowLowWatermark() {
+        limiter.onResponse(SUBSCRIPTION, true, response(WRITES_HEADER, "180"));
+
+        Assert.assertEquals(0, limiter.acquire(SUBSCRIPTION, true));
+        long second = limiter.acquire(SUBSCRIPTION, true);
+        long third = limiter.acquire(SUBSCRIPTION, true);
+        Assert.assertTrue(second > 900 && second <= 1000);
+        Assert.assertTrue(third > 1900 && third <= 2000);
+        Assert.assertEquals(2, sleeps.size());
+        Assert.assertEquals(2, limiter.delayedRequestCount());
+
+        // reads and other subscriptions are paced on their own buckets
+        Assert.assertEquals(0, limiter.acquire(SUBSCRIPTION, false));
+        Assert.assertEquals(0, limiter.acquire(OTHER_SUBSCRIPTION, true));
+    }
+
+    @Test
+    public void canBlockOnlyThrottledBucket() {
+        limiter.onThrottled(SUBSCRIPTION, true, 30);
+
+        long waited = limiter.acquire(SUBSCRIPTION, true);
+        Assert.assertTrue(waited > 29000 && waited <= 30000);
+        Assert.assertEquals(0, limiter.acquire(SUBSCRIPTION, false));
+        Assert.assertEquals(0, limiter.acquire(OTHER_SUBSCRIPTION, true));
+        Assert.assertEquals(0, limiter.remainingWrites(SUBSCRIPTION));
+        Assert.assertEquals(1, limiter.throttledResponseCount());
+    }
+
+    @Test
+    public void canParseRemainingQuotaHeaders() {
+        Assert.assertEquals(-1, limiter.remainingReads(SUBSCRIPTION));
+        Assert.assertEquals(-1, limiter.remainingWrites(null));
+
+        limiter.onResponse(SUBSCRIPTION, false, response("x-ms-ratelimit-remaining-subscription-reads", " 11999 "));
+        Assert.assertEquals(11999, limiter.remainingReads(SUBSCRIPTION.toUpperCase()));
+
+        limiter.onResponse(null, true, response("x-ms-ratelimit-remaining-tenant-writes", "1199"));
+        Assert.assertEquals(1199, limiter.remainingWrites(null));
+
+        // malformed values keep the last known quota
+        limiter.onResponse(SUBSCRIPTION, false, response("x-ms-ratelimit-remaining-subscription-reads", "many"));
+        Assert.assertEquals(11999, limiter.remainingReads(SUBSCRIPTION));
+
+        // write headers are not read for read requests
+        limiter.onResponse(OTHER_SUBSCRIPTION, false, response(WRITES_HEADER, "10"));
+        Assert.assertEquals(-1, limiter.remainingWrites(OTHER_SUBSCRIPTION));
+    }
+
+    @Test
+    public void canAwaitPermitWithoutReserving() {
+        TestScheduler scheduler = new TestScheduler();
+        SdkContext.setRxScheduler(scheduler);
+        limiter.onResponse(SUBSCRIPTION, true, response(WRITES_HEADER, "10"));
+
+        // nothing is reserved while waiting, requests that are never sent leave no permit behind
+        for (int i = 0; i < 5; i++) {
+            limiter.awaitAsync(SUBSCRIPTION, true).test().assertCompleted();
+        }
+        Assert.assertEquals(0, limiter.acquire(SUBSCRIPTION, true));
+
+        AssertableSubscriber<Void> waiting = limiter.awaitAsync(SUBSCRIPTION, true).test();
+        waiting.assertNotCompleted();
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        waiting.assertCompleted();
+        Assert.assertTrue(sleeps.isEmpty());
+
+        // the request sent after waiting takes its own permit, which is due by then
+        long waited = limiter.acquire(SUBSCRIPTION, true);
+        Assert.assertTrue(waited > 0 && waited <= 1000);
+        Assert.assertEquals(0, limiter.acquire(SUBSCRIPTION, false));
+    }
+
+    @Test
+    public void canFindRateLimiterOfClient() {
+        RestClient throttled = new RestClient.Builder()
+                .withBaseUrl("https://management.azure.com/")
+                .withSerializerAdapter(new AzureJacksonAdapter())
+                .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
+                .withInterceptor(new ResourceManagerThrottlingInterceptor(limiter))
+                .build();
+        RestClient unthrottled = new RestClient.Builder()
+                .withBaseUrl("https://management.azure.com/")
+                .withSerializerAdapter(new AzureJacksonAdapter())
+                .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
+                .build();
+
+        Assert.assertSame(limiter, ResourceManagerRateLimiter.of(throttled));
+        Assert.assertNull(ResourceManagerRateLimiter.of(unthrottled));
+    }
+
+    @Test
+    public void canRetryThrottledRequest() throws IOException {
+        final AtomicInteger calls = new AtomicInteger();
+        OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(new ResourceManagerThrottlingInterceptor(limiter))
+                .addInterceptor(new Interceptor() {
+                    @Override
+                    public Response intercept(Chain chain) {
+                        Response.Builder builder = new Response.Builder()
+                                .request(chain.request())
+                                .protocol(Protocol.HTTP_1_1)
+                                .body(ResponseBody.create(MediaType.parse("application/json"), "{}"));
+                        if (calls.incrementAndGet() == 1) {
+                            return builder.code(429).message("Too Many Requests").header("Retry-After", "0").build();
+                        }
+                        return builder.code(200).message("OK").header(WRITES_HEADER, "1150").build();
+                    }
+                })
+                .build();
+
+        Request request = new Request.Builder()
+                .url("https://management.azure.com/subscriptions/" + SUBSCRIPTION + "/resourcegroups/rg1?api-version=2018-05-01")
+                .put(RequestBody.create(MediaType.parse("application/json"), "{\"location\":\"westus\"}"))
+                .build();
+        try (Response response = client.newCall(request).execute()) {
+            Assert.assertEquals(200, response.code());
+        }
+        Assert.assertEquals(2, calls.get());
+        Assert.assertEquals(1, limiter.throttledResponseCount());
+        Assert.assertEquals(1150, limiter.remainingWrites(SUBSCRIPTION));
+    }
+
+    private static Response response(String header, String value) {
+        return new Response.Builder()
+                .request(new Request.Builder().url("https://management.azure.com/").build())
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .header(header, value)
+                .build();
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources;
+
+import com.microsoft.azure.management.resources.fluentcore.arm.models.HasId;
+import com.microsoft.azure.management.resources.fluentcore.utils.ResourceReferenceResolver;
+import org.junit.Assert;
+import org.junit.Test;
+import rx.Observable;
+import rx.functions.Func1;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ResourceReferenceResolverTests {
+    private static final String RG1 = "/subscriptions/sub/resourceGroups/rg1/providers/Microsoft.Network/virtualNetworks/";
+    private static final String RG2 = "/subscriptions/sub/resourceGroups/rg2/providers/Microsoft.Network/virtualNetworks/";
+
+    @Test
+    public void canDeduplicateAndCacheReferences() {
+        final AtomicInteger gets = new AtomicInteger();
+        ResourceReferenceResolver<Item> resolver = new ResourceReferenceResolver<>(new Func1<String, Observable<Item>>() {
+            @Override
+            public Observable<Item> call(String id) {
+                gets.incrementAndGet();
+                return id.endsWith("missing") ? Observable.<Item>empty() : Observable.just(new Item(id));
+            }
+        });
+
+        Map<String, Item> items = resolver.resolve(Arrays.asList(RG1 + "vnet1", RG1.toUpperCase() + "VNET1", RG2 + "vnet2", RG2 + "missing", null));
+        Assert.assertEquals(3, gets.get());
+        Assert.assertEquals(3, items.size());
+        Assert.assertNotNull(items.get(RG1 + "VNet1"));
+        Assert.assertNotNull(items.get(RG2 + "vnet2"));
+        Assert.assertTrue(items.containsKey(RG2 + "missing"));
+        Assert.assertNull(items.get(RG2 + "missing"));
+
+        // Resolved and missing references are not fetched again
+        Assert.assertNotNull(resolver.resolve(RG2 + "vnet2"));
+        Assert.assertNull(resolver.resolve(RG2 + "missing"));
+        Assert.assertEquals(3, gets.get());
+    }
+
+    @Test
+    public void canFetchOneByOneUnlessListingIsEnabled() {
+        final AtomicInteger gets = new AtomicInteger();
+        ResourceReferenceResolver<Item> resolver = new ResourceReferenceResolver<>(new Func1<String, Observable<Item>>() {
+            @Override
+            public Observable<Item> call(String id) {
+                gets.incrementAndGet();
+                return Observable.just(new Item(id));
+            }
+        });
+
+        // Listing a resource group is opt-in, however many of its resources are referenced
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            ids.add(RG1 + "vnet" + i);
+        }
+        Assert.assertEquals(50, resolver.resolve(ids).size());
+        Assert.assertEquals(50, gets.get());
+    }
+
+    @Test
+    public void canListResourceGroupWhenCheaper() {
+        final AtomicInteger gets = new AtomicInteger();
+        final List<String> listed = Collections.synchronizedList(new ArrayList<String>());
+        ResourceReferenceResolver<Item> resolver = new ResourceReferenceResolver<>(new Func1<String, Observable<Item>>() {
+            @Override
+            public Observable<Item> call(String id) {
+                gets.incrementAndGet();
+                return Observable.just(new Item(id));
+            }
+        }).withListByResourceGroup(new Func1<String, Observable<Item>>() {
+            @Override
+            public Observable<Item> call(String resourceGroupName) {
+                listed.add(resourceGroupName);
+                return Observable.just(new Item(RG1 + "vnet1"), new Item(RG1 + "vnet2"), new Item(RG1 + "vnet4"));
+            }
+        }, 3);
+
+        Map<String, Item> items = resolver.resolve(Arrays.asList(RG1 + "vnet1", RG1 + "vnet2", RG1 + "vnet3", RG2 + "vnet1"));
+        Assert.assertEquals(Collections.singletonList("rg1"), listed);
+        Assert.assertEquals(1, gets.get());
+        Assert.assertNotNull(items.get(RG1 + "vnet1"));
+        Assert.assertNotNull(items.get(RG1 + "vnet2"));
+        Assert.assertNull(items.get(RG1 + "vnet3"));
+        Assert.assertNotNull(items.get(RG2 + "vnet1"));
+
+        // Other resources of the listed group are cached too
+        Assert.assertNotNull(resolver.resolve(RG1 + "vnet4"));
+        Assert.assertEquals(1, gets.get());
+    }
+
+    private static class Item implements HasId {
+        private final String id;
+
+        Item(String id) {
+            this.id = id;
+        }
+
+        @Override
+        public String id() {
+            return this.id;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources;
+
+import com.microsoft.azure.Page;
+import com.microsoft.azure.PagedList;
+import com.microsoft.azure.management.resources.fluentcore.arm.collection.implementation.ReadableWrappersImpl;
+import com.microsoft.azure.management.resources.fluentcore.utils.PagedListConverter;
+import com.microsoft.azure.management.resources.fluentcore.utils.StreamingPagedIterable;
+import com.microsoft.azure.management.resources.implementation.PageImpl;
+import org.junit.Assert;
+import org.junit.Test;
+import rx.Observable;
+import rx.functions.Func0;
+import rx.functions.Func1;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class StreamingListingTests {
+
+    @Test
+    public void canFetchPagesAsTheyAreEnumerated() {
+        final AtomicInteger pagesFetched = new AtomicInteger();
+        Iterable<String> items = new StreamingPagedIterable<>(listFactory(pagesFetched,
+                Arrays.asList("a1", "a2"), Arrays.asList("b1"), Arrays.asList("c1", "c2")), new Func1<String, String>() {
+                    @Override
+                    public String call(String s) {
+                        return s.toUpperCase();
+                    }
+                });
+
+        // the list fetches one page ahead of the page being enumerated, and each page only once
+        Iterator<String> iterator = items.iterator();
+        Assert.assertEquals("A1", iterator.next());
+        Assert.assertEquals("A2", iterator.next());
+        Assert.assertEquals(1, pagesFetched.get());
+        Assert.assertEquals("B1", iterator.next());
+        Assert.assertEquals(2, pagesFetched.get());
+        Assert.assertEquals("C1", iterator.next());
+        Assert.assertEquals("C2", iterator.next());
+        Assert.assertFalse(iterator.hasNext());
+        Assert.assertEquals(2, pagesFetched.get());
+
+        // every enumeration starts over from the first page
+        Assert.assertEquals(Arrays.asList("A1", "A2", "B1", "C1", "C2"), toList(items));
+        Assert.assertEquals(4, pagesFetched.get());
+    }
+
+    @Test
+    public void canSkipEmptyPages() {
+        Iterable<String> items = StreamingPagedIterable.of(listFactory(new AtomicInteger(),
+                Arrays.<String>asList(), Arrays.<String>asList(), Arrays.asList("c1")).call());
+        Assert.assertEquals(Arrays.asList("c1"), toList(items));
+    }
+
+    @Test
+    public void canStreamThroughTheConverterOfTheCollection() {
+        FilteringWrappers wrappers = new FilteringWrappers();
+        Func0<PagedList<String>> innerList = listFactory(new AtomicInteger(),
+                Arrays.asList("app1", "functionapp1"), Arrays.asList("app2", "functionapp2"));
+
+        Assert.assertEquals(Arrays.asList("converted:app1", "converted:app2"), toList(wrappers.listStreaming(innerList)));
+        Assert.assertEquals(Arrays.asList("app1", "app2"), toList(wrappers.listStreaming(innerList, new Func1<String, String>() {
+            @Override
+            public String call(String s) {
+                return s.substring(s.indexOf(':') + 1);
+            }
+        })));
+        Assert.assertEquals(toList(wrappers.list(innerList.call())), toList(wrappers.listStreaming(innerList)));
+    }
+
+    /**
+     * Wrappers whose listing filters and converts the items through their own converter, as the web apps do.
+     */
+    private static class FilteringWrappers extends ReadableWrappersImpl<String, String, String> {
+        private final PagedListConverter<String, String> converter = new PagedListConverter<String, String>() {
+            @Override
+            protected boolean filter(String inner) {
+                return !inner.startsWith("function");
+            }
+
+            @Override
+            public Observable<String> typeConvertAsync(String inner) {
+                return Observable.just("converted:" + inner);
+            }
+        };
+
+        @Override
+        protected String wrapModel(String inner) {
+            return "wrapped:" + inner;
+        }
+
+        @Override
+        protected PagedList<String> wrapList(PagedList<String> pagedList) {
+            return converter.convert(pagedList);
+        }
+
+        @Override
+        protected StreamingPagedIterable<String, String> wrapListStreaming(Func0<PagedList<String>> innerList) {
+            return converter.convertStreaming(innerList);
+        }
+
+        PagedList<String> list(PagedList<String> innerList) {
+            return wrapList(innerList);
+        }
+
+        Iterable<String> listStreaming(Func0<PagedList<String>> innerList) {
+            return wrapListStreaming(innerList);
+        }
+
+        <R> Iterable<R> listStreaming(Func0<PagedList<String>> innerList, Func1<? super String, ? extends R> projection) {
+            return wrapListStreaming(innerList, projection);
+        }
+    }
+
+    @SafeVarargs
+    private static Func0<PagedList<String>> listFactory(final AtomicInteger pagesFetched, final List<String>... pages) {
+        return new Func0<PagedList<String>>() {
+            @Override
+            public PagedList<String> call() {
+                return new PagedList<String>(page(pages, 0)) {
+                    @Override
+                    public Page<String> nextPage(String nextPageLink) {
+                        pagesFetched.incrementAndGet();
+                        return page(pages, Integer.parseInt(nextPageLink));
+                    }
+                };
+            }
+        };
+    }
+
+    private static Page<String> page(List<String>[] pages, int index) {
+        PageImpl<String> page = new PageImpl<>();
+        page.setItems(pages[index]);
+        page.setNextPageLink(index + 1 < pages.length ? String.valueOf(index + 1) : null);
+        return page;
+    }
+
+    private static <T> List<T> toList(Iterable<T> items) {
+        List<T> list = new ArrayList<>();
+        for (T item : items) {
+            list.add(item);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources;
+
+import com.microsoft.azure.AzureResponseBuilder;
+import com.microsoft.azure.CloudException;
+import com.microsoft.azure.management.resources.fluentcore.utils.StreamingPageReader;
+import com.microsoft.azure.management.resources.implementation.ResourceGroupInner;
+import com.microsoft.azure.serializer.AzureJacksonAdapter;
+import com.microsoft.rest.RestClient;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.ForwardingSource;
+import okio.Okio;
+import org.junit.Assert;
+import org.junit.Test;
+import rx.functions.Func1;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class StreamingPageReaderTests {
+    private static final String BASE_URL = "https://management.azure.com/";
+
+    private final Map<String, String> pages = new HashMap<>();
+    private final Map<String, Integer> statusCodes = new HashMap<>();
+    private final List<String> requests = Collections.synchronizedList(new ArrayList<String>());
+    private final AtomicInteger closedResponses = new AtomicInteger();
+
+    @Test
+    public void canFollowNextLinkBeforeAndAfterValue() {
+        pages.put("/page1", "{\"nextLink\":\"" + BASE_URL + "page2\",\"value\":[{\"name\":\"a\"},{\"name\":\"b\"}]}");
+        pages.put("/page2", "{\"value\":[{\"name\":\"c\"}],\"nextLink\":\"" + BASE_URL + "page3\"}");
+        pages.put("/page3", "{\"value\":[{\"name\":\"d\"}],\"nextLink\":null}");
+
+        Assert.assertEquals(Arrays.asList("a", "b", "c", "d"), names(BASE_URL + "page1"));
+        Assert.assertEquals(Arrays.asList("/page1", "/page2", "/page3"), requests);
+        Assert.assertEquals(3, closedResponses.get());
+    }
+
+    @Test
+    public void canReadEmptyAndNullValues() {
+        pages.put("/page1", "{\"value\":[],\"nextLink\":\"" + BASE_URL + "page2\"}");
+        pages.put("/page2", "{\"value\":null,\"nextLink\":\"" + BASE_URL + "page3\"}");
+        // null items are skipped, an empty nextLink ends the list
+        pages.put("/page3", "{\"value\":[null,{\"name\":\"a\"}],\"nextLink\":\"\"}");
+
+        Assert.assertEquals(Collections.singletonList("a"), names(BASE_URL + "page1"));
+        Assert.assertEquals(3, requests.size());
+
+        requests.clear();
+        pages.put("/empty", "{}");
+        Assert.assertTrue(names(BASE_URL + "empty").isEmpty());
+        Assert.assertEquals(Collections.singletonList("/empty"), requests);
+    }
+
+    @Test
+    public void canMapErrorToCloudException() {
+        pages.put("/page1", "{\"value\":[{\"name\":\"a\"}],\"nextLink\":\"" + BASE_URL + "page2\"}");
+        pages.put("/page2", "{\"error\":{\"code\":\"AuthorizationFailed\",\"message\":\"No access\"}}");
+        statusCodes.put("/page2", 403);
+
+        List<Throwable> errors = reader().listAsync(BASE_URL + "page1")
+                .test()
+                .awaitTerminalEvent(5, TimeUnit.SECONDS)
+                .assertValueCount(1)
+                .assertError(CloudException.class)
+                .getOnErrorEvents();
+
+        CloudException error = (CloudException) errors.get(0);
+        Assert.assertEquals(403, error.response().code());
+        Assert.assertEquals("AuthorizationFailed", error.body().code());
+        Assert.assertTrue(error.getMessage().contains("No access"));
+        Assert.assertEquals(2, closedResponses.get());
+    }
+
+    @Test
+    public void canCloseResponseWhenUnsubscribedMidPage() throws InterruptedException {
+        pages.put("/page1", "{\"value\":[{\"name\":\"a\"},{\"name\":\"b\"},{\"name\":\"c\"}],\"nextLink\":\""
+                + BASE_URL + "page2\"}");
+
+        ResourceGroupInner first = reader().listAsync(BASE_URL + "page1").take(1).toBlocking().single();
+
+        Assert.assertEquals("a", first.name());
+        for (int i = 0; i < 100 && closedResponses.get() == 0; i++) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(1, closedResponses.get());
+        // the next page is never requested
+        Assert.assertEquals(Collections.singletonList("/page1"), requests);
+    }
+
+    private List<String> names(String firstPageUrl) {
+        return reader().listAsync(firstPageUrl)
+                .map(new Func1<ResourceGroupInner, String>() {
+                    @Override
+                    public String call(ResourceGroupInner inner) {
+                        return inner.name();
+                    }
+                })
+                .toList()
+                .toBlocking()
+                .single();
+    }
+
+    private StreamingPageReader<ResourceGroupInner> reader() {
+        RestClient restClient = new RestClient.Builder()
+                .withBaseUrl(BASE_URL)
+                .withSerializerAdapter(new AzureJacksonAdapter())
+                .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
+                .withInterceptor(new Interceptor() {
+                    @Override
+                    public Response intercept(Chain chain) {
+                        String path = chain.request().url().encodedPath();
+                        requests.add(path);
+                        Integer code = statusCodes.get(path);
+                        return new Response.Builder()
+                                .request(chain.request())
+                                .protocol(Protocol.HTTP_1_1)
+                                .code(code == null ? 200 : code)
+                                .message(code == null ? "OK" : "Error")
+                                .body(body(pages.get(path)))
+                                .build();
+                    }
+                })
+                .build();
+        return new StreamingPageReader<>(restClient, ResourceGroupInner.class);
+    }
+
+    /**
+     * Creates a response body counted in closedResponses once it is closed.
+     */
+    private ResponseBody body(String content) {
+        Buffer buffer = new Buffer().writeUtf8(content);
+        long length = buffer.size();
+        return ResponseBody.create(MediaType.parse("application/json"), length, Okio.buffer(new ForwardingSource(buffer) {
+            private boolean closed;
+
+            @Override
+            public void close() throws IOException {
+                // both the parser and the response may close the body
+                if (!closed) {
+                    closed = true;
+                    closedResponses.incrementAndGet();
+                }
+                super.close();
+            }
+        }));
+    }
+}
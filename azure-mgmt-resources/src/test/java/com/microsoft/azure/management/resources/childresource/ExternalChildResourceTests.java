@@ -6,6 +6,7 @@
 
 package com.microsoft.azure.management.resources.childresource;
 
+import com.microsoft.azure.management.resources.fluentcore.arm.collection.ExternalChildResourceCommitPolicy;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.implementation.ExternalChildResourceImpl;
 import com.microsoft.azure.management.resources.fluentcore.model.Creatable;
 import com.microsoft.azure.management.resources.fluentcore.model.Indexable;
@@ -18,6 +19,7 @@ import rx.exceptions.CompositeException;
 import rx.functions.Action1;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 
@@ -229,6 +231,37 @@ public class ExternalChildResourceTests {
         Assert.assertTrue(foundStudent[0].isInvoked());
     }
 
+    @Test
+    public void canApplyCommitPolicyToPostRunChildren() {
+        SchoolsImpl.SchoolImpl school = new SchoolsImpl().define("redmondSchool")
+                .defineTeacher("maria")
+                    .withSubject("Maths")
+                    .attach()
+                .defineTeacher("john")
+                    .withSubject("Physics")
+                    .attach();
+
+        final List<String> committed = Collections.synchronizedList(new ArrayList<String>());
+        school.inlineTeachers.withCommitPolicy(new ExternalChildResourceCommitPolicy()
+                .withMaxConcurrency(1)
+                .withProgressListener(new ExternalChildResourceCommitPolicy.ProgressListener() {
+                    @Override
+                    public void onChildCommitted(String childName, ExternalChildResourceImpl.PendingOperation operation,
+                                                 Throwable error, int completed, int total) {
+                        Assert.assertEquals(ExternalChildResourceImpl.PendingOperation.ToBeCreated, operation);
+                        Assert.assertNull(error);
+                        committed.add(childName + " " + completed + "/" + total);
+                    }
+                }));
+        school.createAsync().toBlocking().last();
+
+        // the children invoked as "post run" tasks of the school report their outcome as one commit
+        Assert.assertEquals(2, committed.size());
+        Assert.assertTrue(committed.get(0).endsWith(" 1/2"));
+        Assert.assertTrue(committed.get(1).endsWith(" 2/2"));
+        Assert.assertNotEquals(committed.get(0).split(" ")[0], committed.get(1).split(" ")[0]);
+    }
+
     @Test
     public void canCreateChildrenIndependently() throws Exception {
         SchoolsImpl schools = new SchoolsImpl();
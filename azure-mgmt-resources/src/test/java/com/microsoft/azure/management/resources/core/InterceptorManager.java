@@ -21,13 +21,13 @@ import rx.schedulers.Schedulers;
 
 import java.io.File;
 import java.io.IOException;
-import java.net.URI;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 import java.util.zip.GZIPInputStream;
 
 /**
@@ -37,13 +37,19 @@ public class InterceptorManager {
 
     private final static String RECORD_FOLDER = "session-records/";
     private static final String BODY_LOGGING = "x-ms-body-logging";
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
 
     private Map<String, String> textReplacementRules = new HashMap<>();
+    // The replacement rules with their patterns compiled, rebuilt whenever a rule is added
+    private volatile List<ReplacementRule> compiledReplacementRules = new ArrayList<>();
     // Stores a map of all the HTTP properties in a session
     // A state machine ensuring a test is always reset before another one is setup
 
     protected RecordedData recordedData;
 
+    // The recorded calls indexed for playback
+    private PlaybackStore playbackStore;
+
     private final String testName;
 
     private final TestBase.TestMode testMode;
@@ -53,8 +59,15 @@ public class InterceptorManager {
         this.testMode = testMode;
     }
 
-    public void addTextReplacementRule(String regex, String replacement) {
+    public synchronized void addTextReplacementRule(String regex, String replacement) {
         textReplacementRules.put(regex, replacement);
+        List<ReplacementRule> rules = new ArrayList<>();
+        for (Map.Entry<String, String> rule : textReplacementRules.entrySet()) {
+            if (rule.getValue() != null) {
+                rules.add(new ReplacementRule(Pattern.compile(rule.getKey()), rule.getValue()));
+            }
+        }
+        compiledReplacementRules = rules;
     }
 
     // factory method
@@ -165,24 +178,15 @@ public class InterceptorManager {
         String incomingUrl = applyReplacementRule(request.url().toString());
         String incomingMethod = request.method();
 
-        incomingUrl = removeHost(incomingUrl);
-        NetworkCallRecord networkCallRecord = null;
-        synchronized (recordedData) {
-            for (Iterator<NetworkCallRecord> iterator = recordedData.getNetworkCallRecords().iterator(); iterator.hasNext(); ) {
-                NetworkCallRecord record = iterator.next();
-                if (record.Method.equalsIgnoreCase(incomingMethod) && removeHost(record.Uri).equalsIgnoreCase(incomingUrl)) {
-                    networkCallRecord = record;
-                    iterator.remove();
-                    break;
-                }
-            }
-        }
+        PlaybackStore.Entry entry = playbackStore.poll(incomingMethod, incomingUrl);
 
-        if (networkCallRecord == null) {
+        if (entry == null) {
+            incomingUrl = PlaybackStore.removeHost(incomingUrl);
             System.out.println("NOT FOUND - " + incomingMethod + " " + incomingUrl);
-            System.out.println("Remaining records " + recordedData.getNetworkCallRecords().size());
+            System.out.println("Remaining records " + playbackStore.remaining());
             throw new IOException("==> Unexpected request: " + incomingMethod + " " + incomingUrl);
         }
+        NetworkCallRecord networkCallRecord = entry.record();
 
         int recordStatusCode = Integer.parseInt(networkCallRecord.Response.get("StatusCode"));
 
@@ -194,32 +198,23 @@ public class InterceptorManager {
 
         for (Map.Entry<String, String> pair : networkCallRecord.Response.entrySet()) {
             if (!pair.getKey().equals("StatusCode") && !pair.getKey().equals("Body") && !pair.getKey().equals("Content-Length")) {
-                String rawHeader = pair.getValue();
-                for (Map.Entry<String, String> rule : textReplacementRules.entrySet()) {
-                    if (rule.getValue() != null) {
-                        rawHeader = rawHeader.replaceAll(rule.getKey(), rule.getValue());
-                    }
-                }
-                responseBuilder.addHeader(pair.getKey(), rawHeader);
+                responseBuilder.addHeader(pair.getKey(), applyReplacementRule(pair.getValue()));
             }
         }
 
-        String rawBody = networkCallRecord.Response.get("Body");
+        String rawBody = entry.body();
         if (rawBody != null) {
-            for (Map.Entry<String, String> rule : textReplacementRules.entrySet()) {
-                if (rule.getValue() != null) {
-                    rawBody = rawBody.replaceAll(rule.getKey(), rule.getValue());
-                }
-            }
+            rawBody = applyReplacementRule(rawBody);
 
             String rawContentType = networkCallRecord.Response.get("content-type");
             String contentType =  rawContentType == null
                     ? "application/json; charset=utf-8"
                     : rawContentType;
 
-            ResponseBody responseBody = ResponseBody.create(MediaType.parse(contentType), rawBody.getBytes());
+            byte[] bodyBytes = rawBody.getBytes(StandardCharsets.UTF_8);
+            ResponseBody responseBody = ResponseBody.create(MediaType.parse(contentType), bodyBytes);
             responseBuilder.body(responseBody);
-            responseBuilder.addHeader("Content-Length", String.valueOf(rawBody.getBytes("UTF-8").length));
+            responseBuilder.addHeader("Content-Length", String.valueOf(bodyBytes.length));
         }
 
         Response newResponce = responseBuilder.build();
@@ -273,18 +268,16 @@ public class InterceptorManager {
 
     private void readDataFromFile() throws IOException {
         File recordFile = getRecordFile(testName);
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.enable(SerializationFeature.INDENT_OUTPUT);
-        recordedData = mapper.readValue(recordFile, RecordedData.class);
-        System.out.println("Total records " + recordedData.getNetworkCallRecords().size());
+        playbackStore = PlaybackStore.load(recordFile);
+        recordedData = new RecordedData();
+        recordedData.getVariables().addAll(playbackStore.variables());
+        System.out.println("Total records " + playbackStore.remaining());
     }
 
     private void writeDataToFile() throws IOException {
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.enable(SerializationFeature.INDENT_OUTPUT);
         File recordFile = getRecordFile(testName);
         recordFile.createNewFile();
-        mapper.writeValue(recordFile, recordedData);
+        MAPPER.writeValue(recordFile, recordedData);
     }
 
     private File getRecordFile(String testName) {
@@ -299,19 +292,12 @@ public class InterceptorManager {
     }
 
     private String applyReplacementRule(String text) {
-        for (Map.Entry<String, String> rule : textReplacementRules.entrySet()) {
-            if (rule.getValue() != null) {
-                text = text.replaceAll(rule.getKey(), rule.getValue());
-            }
+        for (ReplacementRule rule : compiledReplacementRules) {
+            text = rule.pattern.matcher(text).replaceAll(rule.replacement);
         }
         return text;
     }
 
-    private String removeHost(String url) {
-        URI uri = URI.create(url);
-        return String.format("%s?%s", uri.getPath(), uri.getQuery());
-    }
-
     public void pushVariable(String variable) {
         if (isRecordMode()) {
             synchronized (recordedData.getVariables()) {
@@ -325,4 +311,14 @@ public class InterceptorManager {
             return recordedData.getVariables().remove();
         }
     }
+
+    private static final class ReplacementRule {
+        private final Pattern pattern;
+        private final String replacement;
+
+        private ReplacementRule(Pattern pattern, String replacement) {
+            this.pattern = pattern;
+            this.replacement = replacement;
+        }
+    }
 }
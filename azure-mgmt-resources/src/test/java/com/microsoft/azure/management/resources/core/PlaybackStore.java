@@ -0,0 +1,228 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.core;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The network call records of a session, indexed by method and URL for playback.
+ * <p>
+ * The session file is read with a streaming parser; the response bodies are skipped and only their
+ * offset in the file is kept, a body is read when its record is replayed. Records with the same
+ * method and URL are replayed in the order they were recorded, and lookups do not take any lock so
+ * concurrent requests of a test do not wait on each other.
+ */
+public final class PlaybackStore {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final File file;
+    private final Map<String, ConcurrentLinkedQueue<Entry>> records = new ConcurrentHashMap<>();
+    private final LinkedList<String> variables = new LinkedList<>();
+    private final AtomicInteger remaining = new AtomicInteger();
+
+    private PlaybackStore(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Reads a session file.
+     *
+     * @param file the session file
+     * @return the indexed records
+     * @throws IOException if the file cannot be read
+     */
+    public static PlaybackStore load(File file) throws IOException {
+        PlaybackStore store = new PlaybackStore(file);
+        try (JsonParser parser = JSON_FACTORY.createParser(file)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if ("networkCallRecords".equals(field) && token == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        store.add(store.readRecord(parser));
+                    }
+                } else if ("variables".equals(field) && token == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        store.variables.add(parser.getText());
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return store;
+    }
+
+    /**
+     * Removes the first record matching a request.
+     *
+     * @param method the method of the request
+     * @param url the URL of the request, the host is ignored
+     * @return the record, null if there is none left
+     */
+    public Entry poll(String method, String url) {
+        ConcurrentLinkedQueue<Entry> queue = records.get(key(method, url));
+        Entry entry = queue == null ? null : queue.poll();
+        if (entry != null) {
+            remaining.decrementAndGet();
+        }
+        return entry;
+    }
+
+    /**
+     * @return the number of records not replayed yet
+     */
+    public int remaining() {
+        return remaining.get();
+    }
+
+    /**
+     * @return the variables of the session, in the order they were recorded
+     */
+    public LinkedList<String> variables() {
+        return variables;
+    }
+
+    /**
+     * Gets the URL of a request without the scheme and host, as matched against the records.
+     *
+     * @param url the URL
+     * @return the path and query of the URL
+     */
+    public static String removeHost(String url) {
+        URI uri = URI.create(url);
+        return String.format("%s?%s", uri.getPath(), uri.getQuery());
+    }
+
+    private void add(Entry entry) {
+        String key = key(entry.record.Method, entry.record.Uri);
+        ConcurrentLinkedQueue<Entry> queue = records.get(key);
+        if (queue == null) {
+            queue = new ConcurrentLinkedQueue<>();
+            records.put(key, queue);
+        }
+        queue.add(entry);
+        remaining.incrementAndGet();
+    }
+
+    private static String key(String method, String url) {
+        return method.toUpperCase(Locale.ROOT) + " " + removeHost(url).toLowerCase(Locale.ROOT);
+    }
+
+    private Entry readRecord(JsonParser parser) throws IOException {
+        NetworkCallRecord record = new NetworkCallRecord();
+        long bodyOffset = -1;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if ("Method".equals(field)) {
+                record.Method = parser.getText();
+            } else if ("Uri".equals(field)) {
+                record.Uri = parser.getText();
+            } else if ("Headers".equals(field) && token == JsonToken.START_OBJECT) {
+                record.Headers = readStrings(parser, null);
+            } else if ("Response".equals(field) && token == JsonToken.START_OBJECT) {
+                long[] offset = {-1};
+                record.Response = readStrings(parser, offset);
+                bodyOffset = offset[0];
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return new Entry(this, record, bodyOffset);
+    }
+
+    private static Map<String, String> readStrings(JsonParser parser, long[] bodyOffset) throws IOException {
+        Map<String, String> values = new HashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if (bodyOffset != null && "Body".equals(field) && token == JsonToken.VALUE_STRING) {
+                // The text of the body is not decoded unless requested, only its position is kept
+                bodyOffset[0] = parser.getTokenLocation().getByteOffset();
+            } else if (token == JsonToken.VALUE_NULL) {
+                values.put(field, null);
+            } else if (token.isScalarValue()) {
+                values.put(field, parser.getText());
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return values;
+    }
+
+    private String readBody(long offset) throws IOException {
+        try (InputStream stream = new FileInputStream(file)) {
+            long skipped = 0;
+            while (skipped < offset) {
+                long count = stream.skip(offset - skipped);
+                if (count <= 0) {
+                    throw new IOException("Unexpected end of " + file + " before offset " + offset);
+                }
+                skipped += count;
+            }
+            try (JsonParser parser = JSON_FACTORY.createParser(stream)) {
+                expect(parser.nextToken(), JsonToken.VALUE_STRING);
+                return parser.getText();
+            }
+        }
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Malformed session record, expected " + expected + " but found " + actual);
+        }
+    }
+
+    /**
+     * A record of the session.
+     */
+    public static final class Entry {
+        private final PlaybackStore store;
+        private final NetworkCallRecord record;
+        private final long bodyOffset;
+
+        private Entry(PlaybackStore store, NetworkCallRecord record, long bodyOffset) {
+            this.store = store;
+            this.record = record;
+            this.bodyOffset = bodyOffset;
+        }
+
+        /**
+         * @return the record; its response does not include the body
+         */
+        public NetworkCallRecord record() {
+            return record;
+        }
+
+        /**
+         * Reads the body of the recorded response.
+         *
+         * @return the body, null if the response has none
+         * @throws IOException if the session file cannot be read
+         */
+        public String body() throws IOException {
+            return bodyOffset < 0 ? null : store.readBody(bodyOffset);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.arm.collection.implementation;
+
+import com.microsoft.azure.CloudException;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import org.junit.Assert;
+import org.junit.Test;
+import retrofit2.Response;
+import rx.Observable;
+import rx.Subscription;
+import rx.functions.Func0;
+import rx.observers.TestSubscriber;
+import rx.subjects.PublishSubject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AdaptiveConcurrencyLimiterTests {
+
+    @Test
+    public void canLimitOperationsInFlight() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 0);
+        List<PublishSubject<String>> started = new ArrayList<>();
+        List<TestSubscriber<String>> subscribers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            TestSubscriber<String> subscriber = new TestSubscriber<>();
+            limiter.run(operation(started)).subscribe(subscriber);
+            subscribers.add(subscriber);
+        }
+        Assert.assertEquals(2, started.size());
+
+        // each completed operation hands its permit to the next waiting one
+        started.get(0).onNext("first");
+        started.get(0).onCompleted();
+        Assert.assertEquals(3, started.size());
+        subscribers.get(0).assertValues("first");
+        subscribers.get(0).assertCompleted();
+
+        started.get(1).onError(new IllegalStateException());
+        Assert.assertEquals(4, started.size());
+        subscribers.get(1).assertError(IllegalStateException.class);
+        Assert.assertEquals(2, limiter.limit());
+    }
+
+    @Test
+    public void canHalveLimitWhenThrottledAndGrowItBack() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 0);
+        List<PublishSubject<String>> started = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            limiter.run(operation(started)).subscribe(new TestSubscriber<String>());
+        }
+        Assert.assertEquals(4, started.size());
+
+        started.get(0).onError(throttled("0"));
+        Assert.assertEquals(2, limiter.limit());
+        started.get(1).onError(throttled("0"));
+        Assert.assertEquals(1, limiter.limit());
+
+        // two operations are still in flight, no new one starts until they are below the limit
+        limiter.run(operation(started)).subscribe(new TestSubscriber<String>());
+        Assert.assertEquals(4, started.size());
+
+        // the limit grows by one after as many successes as the limit
+        started.get(2).onCompleted();
+        Assert.assertEquals(2, limiter.limit());
+        Assert.assertEquals(5, started.size());
+        started.get(3).onCompleted();
+        Assert.assertEquals(2, limiter.limit());
+        started.get(4).onCompleted();
+        Assert.assertEquals(3, limiter.limit());
+        for (int i = 0; i < 3; i++) {
+            limiter.run(operation(started)).subscribe(new TestSubscriber<String>());
+            started.get(started.size() - 1).onCompleted();
+        }
+        Assert.assertEquals(4, limiter.limit());
+        for (int i = 0; i < 8; i++) {
+            limiter.run(operation(started)).subscribe(new TestSubscriber<String>());
+            started.get(started.size() - 1).onCompleted();
+        }
+        Assert.assertEquals(4, limiter.limit());
+    }
+
+    @Test
+    public void canSkipUnsubscribedWaitingOperations() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 0);
+        List<PublishSubject<String>> started = new ArrayList<>();
+        limiter.run(operation(started)).subscribe(new TestSubscriber<String>());
+        Subscription waiting = limiter.run(operation(started)).subscribe(new TestSubscriber<String>());
+        TestSubscriber<String> next = new TestSubscriber<>();
+        limiter.run(operation(started)).subscribe(next);
+        Assert.assertEquals(1, started.size());
+
+        waiting.unsubscribe();
+        started.get(0).onCompleted();
+        Assert.assertEquals(2, started.size());
+        started.get(1).onNext("next");
+        started.get(1).onCompleted();
+        next.assertValues("next");
+
+        // the unsubscribed operation gave its permit back
+        limiter.run(operation(started)).subscribe(new TestSubscriber<String>());
+        Assert.assertEquals(3, started.size());
+    }
+
+    @Test
+    public void canReleasePermitOfUnsubscribedOperation() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 0);
+        List<PublishSubject<String>> started = new ArrayList<>();
+        Subscription running = limiter.run(operation(started)).subscribe(new TestSubscriber<String>());
+        limiter.run(operation(started)).subscribe(new TestSubscriber<String>());
+        Assert.assertEquals(1, started.size());
+
+        running.unsubscribe();
+        Assert.assertEquals(2, started.size());
+    }
+
+    @Test
+    public void canRetryThrottledOperations() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 2);
+        final AtomicInteger attempts = new AtomicInteger();
+        String result = limiter.run(new Func0<Observable<String>>() {
+            @Override
+            public Observable<String> call() {
+                if (attempts.incrementAndGet() < 3) {
+                    return Observable.error(throttled("0"));
+                }
+                return Observable.just("done");
+            }
+        }).timeout(10, TimeUnit.SECONDS).toBlocking().single();
+
+        Assert.assertEquals("done", result);
+        Assert.assertEquals(3, attempts.get());
+        // halved twice down to 1, then grown back by the success
+        Assert.assertEquals(2, limiter.limit());
+    }
+
+    @Test
+    public void cannotRetryBeyondMaxThrottledRetriesOrOtherErrors() {
+        final AtomicInteger attempts = new AtomicInteger();
+        TestSubscriber<String> throttled = new TestSubscriber<>();
+        new AdaptiveConcurrencyLimiter(2, 1).run(new Func0<Observable<String>>() {
+            @Override
+            public Observable<String> call() {
+                attempts.incrementAndGet();
+                return Observable.error(throttled("0"));
+            }
+        }).subscribe(throttled);
+        throttled.awaitTerminalEvent(10, TimeUnit.SECONDS);
+        throttled.assertError(CloudException.class);
+        Assert.assertEquals(2, attempts.get());
+
+        attempts.set(0);
+        TestSubscriber<String> failed = new TestSubscriber<>();
+        new AdaptiveConcurrencyLimiter(2, 3).run(new Func0<Observable<String>>() {
+            @Override
+            public Observable<String> call() {
+                attempts.incrementAndGet();
+                return Observable.error(new IllegalStateException());
+            }
+        }).subscribe(failed);
+        failed.awaitTerminalEvent(10, TimeUnit.SECONDS);
+        failed.assertError(IllegalStateException.class);
+        Assert.assertEquals(1, attempts.get());
+    }
+
+    private static Func0<Observable<String>> operation(final List<PublishSubject<String>> started) {
+        return new Func0<Observable<String>>() {
+            @Override
+            public Observable<String> call() {
+                PublishSubject<String> operation = PublishSubject.create();
+                started.add(operation);
+                return operation;
+            }
+        };
+    }
+
+    private static CloudException throttled(String retryAfter) {
+        okhttp3.Response raw = new okhttp3.Response.Builder()
+                .request(new Request.Builder().url("http://localhost/").build())
+                .protocol(Protocol.HTTP_1_1)
+                .code(429)
+                .message("Too Many Requests")
+                .header("Retry-After", retryAfter)
+                .build();
+        return new CloudException("throttled", Response.<ResponseBody>error(ResponseBody.create(null, ""), raw));
+    }
+}
@@ -0,0 +1,324 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.dag;
+
+import com.microsoft.azure.management.resources.fluentcore.model.Indexable;
+import org.junit.Assert;
+import org.junit.Test;
+import rx.Completable;
+import rx.Observable;
+import rx.Subscription;
+import rx.functions.Action0;
+import rx.functions.Func0;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TaskGroupExecutionPolicyTests {
+    @Test
+    public void canLimitConcurrentTasks() {
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+
+        IndexableTaskItem root = IndexableTaskItem.create(new FunctionalTaskItem() {
+            @Override
+            public Observable<Indexable> call(Context context) {
+                return context.voidObservable();
+            }
+        });
+        for (int i = 0; i < 20; i++) {
+            root.taskGroup().addDependency(new FunctionalTaskItem() {
+                @Override
+                public Observable<Indexable> call(final Context context) {
+                    return Observable.defer(new Func0<Observable<Indexable>>() {
+                        @Override
+                        public Observable<Indexable> call() {
+                            int current = inFlight.incrementAndGet();
+                            synchronized (maxInFlight) {
+                                maxInFlight.set(Math.max(maxInFlight.get(), current));
+                            }
+                            return context.voidObservable()
+                                    .delay(20, TimeUnit.MILLISECONDS)
+                                    .doOnTerminate(new Action0() {
+                                        @Override
+                                        public void call() {
+                                            inFlight.decrementAndGet();
+                                        }
+                                    });
+                        }
+                    });
+                }
+            });
+        }
+
+        TaskGroup taskGroup = root.taskGroup();
+        List<Indexable> results = taskGroup.invokeAsync(taskGroup.newInvocationContext()
+                .withExecutionPolicy(new TaskGroupExecutionPolicy().withMaxConcurrency(3)))
+                .toList()
+                .toBlocking()
+                .single();
+
+        Assert.assertEquals(21, results.size());
+        Assert.assertTrue("At most 3 tasks should run at once, observed " + maxInFlight.get(), maxInFlight.get() <= 3);
+        Assert.assertTrue(maxInFlight.get() > 0);
+    }
+
+    @Test
+    public void canLimitConcurrentTasksPerTypeAndNamespace() {
+        IndexableTaskItem root = IndexableTaskItem.create(new FunctionalTaskItem() {
+            @Override
+            public Observable<Indexable> call(Context context) {
+                return context.voidObservable();
+            }
+        });
+        ConcurrencyCounter counter = new ConcurrencyCounter();
+        for (int i = 0; i < 8; i++) {
+            root.taskGroup().addDependencyTaskGroup(new TaskGroup("vm" + i,
+                    new TypedTaskItem("vm" + i, "Microsoft.Compute/virtualMachines", counter)));
+            root.taskGroup().addDependencyTaskGroup(new TaskGroup("disk" + i,
+                    new TypedTaskItem("disk" + i, "Microsoft.Compute/disks", counter)));
+            root.taskGroup().addDependencyTaskGroup(new TaskGroup("nic" + i,
+                    new TypedTaskItem("nic" + i, "Microsoft.Network/networkInterfaces", counter)));
+        }
+
+        TaskGroup taskGroup = root.taskGroup();
+        TaskGroupExecutionPolicy policy = new TaskGroupExecutionPolicy()
+                .withMaxConcurrency("microsoft.compute/VIRTUALMACHINES", 2)
+                .withMaxConcurrencyPerProviderNamespace("Microsoft.Compute", 3);
+        List<Indexable> results = taskGroup.invokeAsync(taskGroup.newInvocationContext().withExecutionPolicy(policy))
+                .toList()
+                .toBlocking()
+                .single();
+
+        Assert.assertEquals(25, results.size());
+        Assert.assertEquals(8, counter.completed("Microsoft.Compute/virtualMachines"));
+        int maxVirtualMachines = counter.maxInFlight("Microsoft.Compute/virtualMachines");
+        Assert.assertTrue("At most 2 virtual machines should be created at once, observed " + maxVirtualMachines,
+                maxVirtualMachines <= 2);
+        int maxCompute = counter.maxInFlight("Microsoft.Compute");
+        Assert.assertTrue("At most 3 compute tasks should run at once, observed " + maxCompute, maxCompute <= 3);
+        Assert.assertTrue(maxVirtualMachines > 0);
+        // the network interfaces are bound by neither limit
+        Assert.assertTrue(counter.maxInFlight("Microsoft.Network/networkInterfaces") > 1);
+    }
+
+    @Test
+    public void canCancelWaitingAndRunningTasks() throws InterruptedException {
+        IndexableTaskItem root = IndexableTaskItem.create(new FunctionalTaskItem() {
+            @Override
+            public Observable<Indexable> call(Context context) {
+                return context.voidObservable();
+            }
+        });
+        ConcurrencyCounter counter = new ConcurrencyCounter();
+        for (int i = 0; i < 4; i++) {
+            root.taskGroup().addDependencyTaskGroup(new TaskGroup("vm" + i,
+                    new TypedTaskItem("vm" + i, "Microsoft.Compute/virtualMachines", counter, -1)));
+        }
+        TaskDurations durations = new TaskDurations().withDefaultDuration(5000);
+
+        TaskGroup taskGroup = root.taskGroup();
+        Subscription subscription = taskGroup.invokeAsync(taskGroup.newInvocationContext()
+                .withExecutionPolicy(new TaskGroupExecutionPolicy().withMaxConcurrency(1).withTaskDurations(durations)))
+                .subscribe();
+        for (int i = 0; i < 100 && counter.maxInFlight("Microsoft.Compute/virtualMachines") == 0; i++) {
+            Thread.sleep(10);
+        }
+        subscription.unsubscribe();
+        Thread.sleep(200);
+
+        // the waiting tasks are never started, and the cancelled one says nothing about how long a task takes
+        Assert.assertEquals(1, counter.maxInFlight("Microsoft.Compute/virtualMachines"));
+        Assert.assertEquals(0, counter.completed("Microsoft.Compute/virtualMachines"));
+        Assert.assertEquals(5000, durations.expectedDurationInMillis("Microsoft.Compute/virtualMachines"));
+    }
+
+    @Test
+    public void canRecordExecutionTimeline() {
+        IndexableTaskItem root = IndexableTaskItem.create(new FunctionalTaskItem() {
+            @Override
+            public Observable<Indexable> call(Context context) {
+                return context.voidObservable();
+            }
+        });
+        IndexableTaskItem slow = IndexableTaskItem.create(new FunctionalTaskItem() {
+            @Override
+            public Observable<Indexable> call(Context context) {
+                return context.voidObservable().delay(100, TimeUnit.MILLISECONDS);
+            }
+        });
+        IndexableTaskItem fast = IndexableTaskItem.create(new FunctionalTaskItem() {
+            @Override
+            public Observable<Indexable> call(Context context) {
+                return context.voidObservable();
+            }
+        });
+        root.taskGroup().addDependencyTaskGroup(slow.taskGroup());
+        root.taskGroup().addDependencyTaskGroup(fast.taskGroup());
+
+        TaskGroup taskGroup = root.taskGroup();
+        TaskGroup.InvocationContext context = taskGroup.newInvocationContext();
+        taskGroup.invokeAsync(context).toBlocking().last();
+
+        TaskGroupExecutionTimeline timeline = context.executionTimeline();
+        Assert.assertEquals(3, timeline.records().size());
+        for (TaskGroupExecutionTimeline.TaskExecutionRecord record : timeline.records()) {
+            Assert.assertNotNull(record.startedTime());
+            Assert.assertNotNull(record.completedTime());
+            Assert.assertFalse(record.isFaulted());
+        }
+        Assert.assertEquals(slow.key(), timeline.record(root.key()).blockingDependencyKey());
+        List<TaskGroupExecutionTimeline.TaskExecutionRecord> criticalPath = timeline.criticalPath();
+        Assert.assertEquals(2, criticalPath.size());
+        Assert.assertEquals(slow.key(), criticalPath.get(0).key());
+        Assert.assertEquals(root.key(), criticalPath.get(1).key());
+    }
+
+    @Test
+    public void canPrioritizeLongChainsOfTasks() {
+        TaskItem taskItem = IndexableTaskItem.create(new FunctionalTaskItem() {
+            @Override
+            public Observable<Indexable> call(Context context) {
+                return context.voidObservable();
+            }
+        });
+        TaskGroup taskGroup = new TaskGroup("root", taskItem);
+        // a chain of 10000 tasks ahead of the root, and a single task next to it
+        String dependentKey = "root";
+        for (int i = 10000; i > 0; i--) {
+            TaskGroupEntry<TaskItem> entry = new TaskGroupEntry<>("chain" + i, taskItem);
+            entry.addDependent(dependentKey);
+            taskGroup.addNode(entry);
+            dependentKey = entry.key();
+        }
+        TaskGroupEntry<TaskItem> single = new TaskGroupEntry<>("single", taskItem);
+        single.addDependent("root");
+        taskGroup.addNode(single);
+
+        TaskGroupScheduler scheduler = new TaskGroupScheduler(taskGroup,
+                new TaskGroupExecutionPolicy().withTaskDurations(new TaskDurations().withDefaultDuration(1)),
+                new TaskGroupExecutionTimeline());
+        List<TaskGroupEntry<TaskItem>> ready = new ArrayList<>();
+        ready.add(single);
+        ready.add(taskGroup.getNode("chain1"));
+        scheduler.prioritize(ready);
+
+        Assert.assertEquals("chain1", ready.get(0).key());
+        Assert.assertEquals("single", ready.get(1).key());
+    }
+
+    /**
+     * Counts the tasks in flight per task type and per provider namespace.
+     */
+    private static final class ConcurrencyCounter {
+        private final Map<String, Integer> inFlight = new HashMap<>();
+        private final Map<String, Integer> maxInFlight = new HashMap<>();
+        private final Map<String, Integer> completed = new HashMap<>();
+
+        private synchronized void onStarted(String taskType) {
+            for (String key : keys(taskType)) {
+                int current = get(inFlight, key) + 1;
+                inFlight.put(key, current);
+                maxInFlight.put(key, Math.max(get(maxInFlight, key), current));
+            }
+        }
+
+        private synchronized void onCompleted(String taskType) {
+            for (String key : keys(taskType)) {
+                inFlight.put(key, get(inFlight, key) - 1);
+            }
+            completed.put(taskType, get(completed, taskType) + 1);
+        }
+
+        private synchronized int maxInFlight(String key) {
+            return get(maxInFlight, key);
+        }
+
+        private synchronized int completed(String taskType) {
+            return get(completed, taskType);
+        }
+
+        private static String[] keys(String taskType) {
+            return new String[] {taskType, taskType.substring(0, taskType.indexOf('/'))};
+        }
+
+        private static int get(Map<String, Integer> counts, String key) {
+            Integer count = counts.get(key);
+            return count == null ? 0 : count;
+        }
+    }
+
+    /**
+     * A task of a given type taking a little while, or never completing.
+     */
+    private static final class TypedTaskItem implements TaskItem, TaskGroupExecutionPolicy.HasTaskType {
+        private final String key;
+        private final String taskType;
+        private final ConcurrencyCounter counter;
+        private final long durationInMillis;
+
+        private TypedTaskItem(String key, String taskType, ConcurrencyCounter counter) {
+            this(key, taskType, counter, 20);
+        }
+
+        private TypedTaskItem(String key, String taskType, ConcurrencyCounter counter, long durationInMillis) {
+            this.key = key;
+            this.taskType = taskType;
+            this.counter = counter;
+            this.durationInMillis = durationInMillis;
+        }
+
+        @Override
+        public String taskType() {
+            return taskType;
+        }
+
+        @Override
+        public Indexable result() {
+            return null;
+        }
+
+        @Override
+        public void beforeGroupInvoke() {
+        }
+
+        @Override
+        public boolean isHot() {
+            return false;
+        }
+
+        @Override
+        public Observable<Indexable> invokeAsync(TaskGroup.InvocationContext context) {
+            return Observable.defer(new Func0<Observable<Indexable>>() {
+                @Override
+                public Observable<Indexable> call() {
+                    counter.onStarted(taskType);
+                    if (durationInMillis < 0) {
+                        return Observable.never();
+                    }
+                    return Observable.<Indexable>just(new VoidIndexable(key))
+                            .delay(durationInMillis, TimeUnit.MILLISECONDS)
+                            .doOnTerminate(new Action0() {
+                                @Override
+                                public void call() {
+                                    counter.onCompleted(taskType);
+                                }
+                            });
+                }
+            });
+        }
+
+        @Override
+        public Completable invokeAfterPostRunAsync(boolean isGroupFaulted) {
+            return Completable.complete();
+        }
+    }
+}
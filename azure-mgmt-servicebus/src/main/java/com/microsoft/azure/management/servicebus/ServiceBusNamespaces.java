@@ -11,11 +11,13 @@ import com.microsoft.azure.management.resources.fluentcore.arm.collection.Suppor
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsGettingByResourceGroup;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsGettingById;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsListingByResourceGroup;
+import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsStreamingListingByResourceGroup;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.HasManager;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsBatchCreation;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsStreamingListing;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 import com.microsoft.azure.management.servicebus.implementation.NamespacesInner;
 import com.microsoft.azure.management.servicebus.implementation.ServiceBusManager;
@@ -32,7 +34,9 @@ public interface ServiceBusNamespaces extends
         SupportsBatchCreation<ServiceBusNamespace>,
         SupportsBatchDeletion,
         SupportsListing<ServiceBusNamespace>,
+        SupportsStreamingListing<ServiceBusNamespace>,
         SupportsListingByResourceGroup<ServiceBusNamespace>,
+        SupportsStreamingListingByResourceGroup<ServiceBusNamespace>,
         SupportsGettingByResourceGroup<ServiceBusNamespace>,
         SupportsGettingById<ServiceBusNamespace>,
         SupportsDeletingById,
@@ -18,6 +18,7 @@ import com.microsoft.azure.management.sql.SqlDatabaseImportExportResponse;
 import com.microsoft.azure.management.sql.StorageKeyType;
 import com.microsoft.azure.management.storage.StorageAccount;
 import com.microsoft.azure.management.storage.StorageAccountKey;
+import com.microsoft.azure.management.storage.StorageAccountKeyCache;
 import com.microsoft.azure.storage.CloudStorageAccount;
 import com.microsoft.azure.storage.StorageException;
 import com.microsoft.azure.storage.blob.CloudBlobClient;
@@ -82,33 +83,46 @@ public class SqlDatabaseExportRequestImpl extends ExecutableImpl<SqlDatabaseImpo
 
     private Observable<Indexable> getOrCreateStorageAccountContainer(final StorageAccount storageAccount, final String containerName, final String fileName, final FunctionalTaskItem.Context context) {
         final SqlDatabaseExportRequestImpl self = this;
-        return storageAccount.getKeysAsync()
+        // the keys and the blob client are shared with the other users of the storage manager
+        final StorageAccountKeyCache keyCache = storageAccount.manager().storageAccountKeyCache();
+        return keyCache.getKeysAsync(storageAccount)
             .flatMap(new Func1<List<StorageAccountKey>, Observable<StorageAccountKey>>() {
                 @Override
                 public Observable<StorageAccountKey> call(List<StorageAccountKey> storageAccountKeys) {
                     return Observable.from(storageAccountKeys).first();
                 }
             })
-            .flatMap(new Func1<StorageAccountKey, Observable<Indexable>>() {
+            .flatMap(new Func1<StorageAccountKey, Observable<CloudBlobClient>>() {
                 @Override
-                public Observable<Indexable> call(StorageAccountKey storageAccountKey) {
+                public Observable<CloudBlobClient> call(StorageAccountKey storageAccountKey) {
                     self.inner.withStorageUri(String.format("%s%s/%s", storageAccount.endPoints().primary().blob(), containerName, fileName));
                     self.inner.withStorageKeyType(StorageKeyType.STORAGE_ACCESS_KEY);
                     self.inner.withStorageKey(storageAccountKey.value());
+                    return keyCache.getClientAsync(storageAccount, storageAccountKey.keyName(), CloudBlobClient.class,
+                        new Func1<String, CloudBlobClient>() {
+                            @Override
+                            public CloudBlobClient call(String connectionString) {
+                                try {
+                                    return CloudStorageAccount.parse(connectionString).createCloudBlobClient();
+                                } catch (URISyntaxException syntaxException) {
+                                    throw Exceptions.propagate(syntaxException);
+                                } catch (InvalidKeyException keyException) {
+                                    throw Exceptions.propagate(keyException);
+                                }
+                            }
+                        });
+                }
+            })
+            .flatMap(new Func1<CloudBlobClient, Observable<Indexable>>() {
+                @Override
+                public Observable<Indexable> call(CloudBlobClient blobClient) {
                     try {
-                        CloudStorageAccount cloudStorageAccount =
-                            CloudStorageAccount.parse(String.format("DefaultEndpointsProtocol=https;AccountName=%s;AccountKey=%s;EndpointSuffix=core.windows.net", storageAccount.name(), storageAccountKey.value()));
-                        CloudBlobClient blobClient = cloudStorageAccount.createCloudBlobClient();
                         blobClient.getContainerReference(containerName)
                             .createIfNotExists();
-                    } catch (IndexOutOfBoundsException indexOutOfBoundsException) {
-                        throw Exceptions.propagate(indexOutOfBoundsException);
                     } catch (URISyntaxException syntaxException) {
                         throw Exceptions.propagate(syntaxException);
                     } catch (StorageException stgException) {
                         throw Exceptions.propagate(stgException);
-                    } catch (InvalidKeyException keyException) {
-                        throw Exceptions.propagate(keyException);
                     }
                     return context.voidObservable();
                 }
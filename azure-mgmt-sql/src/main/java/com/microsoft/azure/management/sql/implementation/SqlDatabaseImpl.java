@@ -828,7 +828,7 @@ class SqlDatabaseImpl
         this.addDependency(new FunctionalTaskItem() {
             @Override
             public Observable<Indexable> call(final Context context) {
-                return storageAccount.getKeysAsync()
+                return storageAccount.manager().storageAccountKeyCache().getKeysAsync(storageAccount)
                     .flatMap(new Func1<List<StorageAccountKey>, Observable<StorageAccountKey>>() {
                         @Override
                         public Observable<StorageAccountKey> call(List<StorageAccountKey> storageAccountKeys) {
@@ -74,7 +74,7 @@ public class SqlDatabaseImportRequestImpl extends ExecutableImpl<SqlDatabaseImpo
 
     private Observable<Indexable> getOrCreateStorageAccountContainer(final StorageAccount storageAccount, final String containerName, final String fileName, final FunctionalTaskItem.Context context) {
         final SqlDatabaseImportRequestImpl self = this;
-        return storageAccount.getKeysAsync()
+        return storageAccount.manager().storageAccountKeyCache().getKeysAsync(storageAccount)
             .flatMap(new Func1<List<StorageAccountKey>, Observable<StorageAccountKey>>() {
                 @Override
                 public Observable<StorageAccountKey> call(List<StorageAccountKey> storageAccountKeys) {
@@ -86,6 +86,11 @@ public class SqlServerImpl
         this.sqlDatabases = new SqlDatabasesAsExternalChildResourcesImpl(this, "SqlDatabase");
     }
 
+    @Override
+    protected String fullResourceType() {
+        return "Microsoft.Sql/servers";
+    }
+
     @Override
     protected Observable<ServerInner> getInnerAsync() {
         return this.manager().inner().servers().getByResourceGroupAsync(
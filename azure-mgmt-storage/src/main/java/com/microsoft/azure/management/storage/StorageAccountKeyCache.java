@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.storage;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Fluent;
+import org.joda.time.Period;
+import rx.Observable;
+import rx.functions.Func1;
+
+import java.util.List;
+
+/**
+ * A client-side cache of the access keys of storage accounts, and of the data plane clients built from
+ * them.
+ * <p>
+ * Listing the keys of a storage account is a write operation counting against the write request quota
+ * of the subscription; the cache lists the keys of an account once per time to live, concurrent lookups
+ * sharing a single request. The keys of an account are dropped when they are regenerated through its
+ * manager; keys regenerated elsewhere are picked up once their time to live expires, or on
+ * {@link #invalidate(String)}.
+ */
+@Fluent
+@Beta(Beta.SinceVersion.V1_30_0)
+public interface StorageAccountKeyCache {
+    /**
+     * The default time the keys of an account are kept.
+     */
+    Period DEFAULT_TIME_TO_LIVE = Period.minutes(5);
+
+    /**
+     * Sets the time the keys of an account are kept.
+     *
+     * @param timeToLive the time to live
+     * @return the cache
+     */
+    StorageAccountKeyCache withTimeToLive(Period timeToLive);
+
+    /**
+     * Gets the access keys of a storage account.
+     *
+     * @param storageAccount the storage account
+     * @return the access keys
+     */
+    List<StorageAccountKey> getKeys(StorageAccount storageAccount);
+
+    /**
+     * Gets the access keys of a storage account.
+     *
+     * @param storageAccount the storage account
+     * @return an observable emitting the access keys
+     */
+    Observable<List<StorageAccountKey>> getKeysAsync(StorageAccount storageAccount);
+
+    /**
+     * Gets a connection string of a storage account, naming the primary endpoints of the account.
+     *
+     * @param storageAccount the storage account
+     * @param keyName the name of the key to connect with, e.g. "key1"
+     * @return an observable emitting the connection string
+     */
+    Observable<String> getConnectionStringAsync(StorageAccount storageAccount, String keyName);
+
+    /**
+     * Gets a data plane client of a storage account, e.g. a CloudStorageAccount, built once per key
+     * and client type and kept as long as the key.
+     *
+     * @param storageAccount the storage account
+     * @param keyName the name of the key to connect with, e.g. "key1"
+     * @param clientType the type of the client
+     * @param clientFactory the function building the client from a connection string of the account
+     * @param <T> the type of the client
+     * @return an observable emitting the client
+     */
+    <T> Observable<T> getClientAsync(StorageAccount storageAccount, String keyName, Class<T> clientType,
+                                     Func1<String, T> clientFactory);
+
+    /**
+     * Removes the keys and the clients of a storage account from the cache.
+     *
+     * @param storageAccountId the resource ID of the storage account
+     */
+    void invalidate(String storageAccountId);
+
+    /**
+     * Removes all the keys and clients from the cache.
+     */
+    void invalidateAll();
+}
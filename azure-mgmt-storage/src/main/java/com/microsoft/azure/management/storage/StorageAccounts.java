@@ -12,11 +12,13 @@ import com.microsoft.azure.management.resources.fluentcore.arm.collection.Suppor
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsGettingByResourceGroup;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsGettingById;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsListingByResourceGroup;
+import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsStreamingListingByResourceGroup;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.HasManager;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsBatchCreation;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsStreamingListing;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 import com.microsoft.azure.management.storage.implementation.StorageAccountsInner;
 import com.microsoft.azure.management.storage.implementation.StorageManager;
@@ -31,9 +33,11 @@ import rx.Observable;
 @Fluent
 public interface StorageAccounts extends
         SupportsListing<StorageAccount>,
+        SupportsStreamingListing<StorageAccount>,
         SupportsCreating<StorageAccount.DefinitionStages.Blank>,
         SupportsDeletingById,
         SupportsListingByResourceGroup<StorageAccount>,
+        SupportsStreamingListingByResourceGroup<StorageAccount>,
         SupportsGettingByResourceGroup<StorageAccount>,
         SupportsGettingById<StorageAccount>,
         SupportsDeletingByResourceGroup,
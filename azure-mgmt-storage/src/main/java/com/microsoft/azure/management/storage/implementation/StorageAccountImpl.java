@@ -70,6 +70,11 @@ class StorageAccountImpl
         this.encryptionHelper = new StorageEncryptionHelper(this.createParameters);
     }
 
+    @Override
+    protected String fullResourceType() {
+        return "Microsoft.Storage/storageAccounts";
+    }
+
     @Override
     public AccountStatuses accountStatuses() {
         if (accountStatuses == null) {
@@ -247,6 +252,8 @@ class StorageAccountImpl
                 this.resourceGroupName(), this.name(), keyName).map(new Func1<StorageAccountListKeysResultInner, List<StorageAccountKey>>() {
             @Override
             public List<StorageAccountKey> call(StorageAccountListKeysResultInner storageAccountListKeysResultInner) {
+                // the cached keys, and the clients built from them, no longer authenticate
+                manager().storageAccountKeyCache().invalidate(id());
                 return storageAccountListKeysResultInner.keys();
             }
         });
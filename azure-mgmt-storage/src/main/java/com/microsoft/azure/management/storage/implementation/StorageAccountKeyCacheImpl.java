@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.storage.implementation;
+
+import com.microsoft.azure.management.apigeneration.LangDefinition;
+import com.microsoft.azure.management.resources.fluentcore.utils.ExpiringCache;
+import com.microsoft.azure.management.storage.Endpoints;
+import com.microsoft.azure.management.storage.StorageAccount;
+import com.microsoft.azure.management.storage.StorageAccountKey;
+import com.microsoft.azure.management.storage.StorageAccountKeyCache;
+import org.joda.time.Period;
+import rx.Observable;
+import rx.functions.Func0;
+import rx.functions.Func1;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The implementation of StorageAccountKeyCache.
+ * <p>
+ * Entries are keyed by the lower cased storage account ID, see {@link ExpiringCache} for their expiry.
+ * The clients built from the keys are kept in the entry of the keys and expire with it.
+ */
+@LangDefinition
+final class StorageAccountKeyCacheImpl implements StorageAccountKeyCache {
+    private final ExpiringCache<String, AccountKeys> entries = new ExpiringCache<>(DEFAULT_TIME_TO_LIVE);
+
+    /**
+     * The keys of a storage account and the clients built from them.
+     */
+    private static final class AccountKeys {
+        private final List<StorageAccountKey> keys;
+        private final ConcurrentMap<String, Object> clients = new ConcurrentHashMap<>();
+
+        private AccountKeys(List<StorageAccountKey> keys) {
+            this.keys = keys;
+        }
+    }
+
+    StorageAccountKeyCacheImpl() {
+    }
+
+    @Override
+    public StorageAccountKeyCacheImpl withTimeToLive(Period timeToLive) {
+        this.entries.withTimeToLive(timeToLive);
+        return this;
+    }
+
+    @Override
+    public List<StorageAccountKey> getKeys(StorageAccount storageAccount) {
+        return getKeysAsync(storageAccount).toBlocking().last();
+    }
+
+    @Override
+    public Observable<List<StorageAccountKey>> getKeysAsync(StorageAccount storageAccount) {
+        return entry(storageAccount).map(new Func1<AccountKeys, List<StorageAccountKey>>() {
+            @Override
+            public List<StorageAccountKey> call(AccountKeys accountKeys) {
+                return accountKeys.keys;
+            }
+        });
+    }
+
+    @Override
+    public Observable<String> getConnectionStringAsync(final StorageAccount storageAccount, final String keyName) {
+        return getKeysAsync(storageAccount).map(new Func1<List<StorageAccountKey>, String>() {
+            @Override
+            public String call(List<StorageAccountKey> keys) {
+                return connectionString(storageAccount, keyValue(keys, keyName));
+            }
+        });
+    }
+
+    @Override
+    public <T> Observable<T> getClientAsync(final StorageAccount storageAccount, final String keyName, final Class<T> clientType,
+                                            final Func1<String, T> clientFactory) {
+        final String clientKey = keyName.toLowerCase(Locale.ROOT) + "/" + clientType.getName();
+        return entry(storageAccount).map(new Func1<AccountKeys, T>() {
+            @Override
+            public T call(AccountKeys accountKeys) {
+                Object client = accountKeys.clients.get(clientKey);
+                if (client == null) {
+                    Object created = clientFactory.call(connectionString(storageAccount, keyValue(accountKeys.keys, keyName)));
+                    client = accountKeys.clients.putIfAbsent(clientKey, created);
+                    if (client == null) {
+                        client = created;
+                    }
+                }
+                return clientType.cast(client);
+            }
+        });
+    }
+
+    @Override
+    public void invalidate(String storageAccountId) {
+        entries.invalidate(storageAccountId.toLowerCase(Locale.ROOT));
+    }
+
+    @Override
+    public void invalidateAll() {
+        entries.invalidateAll();
+    }
+
+    private Observable<AccountKeys> entry(final StorageAccount storageAccount) {
+        return entries.get(storageAccount.id().toLowerCase(Locale.ROOT), new Func0<Observable<AccountKeys>>() {
+            @Override
+            public Observable<AccountKeys> call() {
+                return storageAccount.getKeysAsync().map(new Func1<List<StorageAccountKey>, AccountKeys>() {
+                    @Override
+                    public AccountKeys call(List<StorageAccountKey> keys) {
+                        return new AccountKeys(keys);
+                    }
+                });
+            }
+        });
+    }
+
+    private static String connectionString(StorageAccount storageAccount, String keyValue) {
+        // the endpoints of the account carry the storage endpoint suffix of its cloud
+        Endpoints endpoints = storageAccount.endPoints() != null ? storageAccount.endPoints().primary() : null;
+        if (endpoints == null) {
+            throw new IllegalArgumentException("The storage account " + storageAccount.name() + " has no endpoints");
+        }
+        StringBuilder connectionString = new StringBuilder("DefaultEndpointsProtocol=https")
+                .append(";AccountName=").append(storageAccount.name())
+                .append(";AccountKey=").append(keyValue);
+        appendEndpoint(connectionString, "BlobEndpoint", endpoints.blob());
+        appendEndpoint(connectionString, "QueueEndpoint", endpoints.queue());
+        appendEndpoint(connectionString, "TableEndpoint", endpoints.table());
+        appendEndpoint(connectionString, "FileEndpoint", endpoints.file());
+        return connectionString.toString();
+    }
+
+    private static void appendEndpoint(StringBuilder connectionString, String name, String endpoint) {
+        if (endpoint != null) {
+            connectionString.append(';').append(name).append('=').append(endpoint);
+        }
+    }
+
+    private static String keyValue(List<StorageAccountKey> keys, String keyName) {
+        for (StorageAccountKey key : keys) {
+            if (key.keyName().equalsIgnoreCase(keyName)) {
+                return key.value();
+            }
+        }
+        throw new IllegalArgumentException("The storage account has no key named " + keyName);
+    }
+}
@@ -9,6 +9,7 @@ package com.microsoft.azure.management.storage.implementation;
 import com.microsoft.azure.AzureEnvironment;
 import com.microsoft.azure.AzureResponseBuilder;
 import com.microsoft.azure.credentials.AzureTokenCredentials;
+import com.microsoft.azure.management.apigeneration.Beta;
 import com.microsoft.azure.management.resources.fluentcore.arm.AzureConfigurable;
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.AzureConfigurableImpl;
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.Manager;
@@ -17,6 +18,7 @@ import com.microsoft.azure.management.resources.fluentcore.utils.ResourceManager
 import com.microsoft.azure.management.storage.BlobContainers;
 import com.microsoft.azure.management.storage.BlobServices;
 import com.microsoft.azure.management.storage.ManagementPolicies;
+import com.microsoft.azure.management.storage.StorageAccountKeyCache;
 import com.microsoft.azure.management.storage.StorageAccounts;
 import com.microsoft.azure.management.storage.StorageSkus;
 import com.microsoft.azure.management.storage.Usages;
@@ -34,6 +36,7 @@ public final class StorageManager extends Manager<StorageManager, StorageManagem
     private BlobContainers blobContainers;
     private BlobServices blobServices;
     private ManagementPolicies managementPolicies;
+    private StorageAccountKeyCache storageAccountKeyCache;
 
     /**
      * Get a Configurable instance that can be used to create StorageManager with optional configuration.
@@ -162,4 +165,15 @@ public final class StorageManager extends Manager<StorageManager, StorageManagem
         }
         return managementPolicies;
     }
-}
\ No newline at end of file
+
+    /**
+     * @return the cache of the keys of the storage accounts of this manager
+     */
+    @Beta(Beta.SinceVersion.V1_30_0)
+    public synchronized StorageAccountKeyCache storageAccountKeyCache() {
+        if (storageAccountKeyCache == null) {
+            storageAccountKeyCache = new StorageAccountKeyCacheImpl();
+        }
+        return storageAccountKeyCache;
+    }
+}
@@ -0,0 +1,163 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.storage;
+
+import com.microsoft.azure.AzureResponseBuilder;
+import com.microsoft.azure.management.storage.implementation.StorageManager;
+import com.microsoft.azure.serializer.AzureJacksonAdapter;
+import com.microsoft.rest.RestClient;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.joda.time.Period;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import rx.functions.Func1;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class StorageAccountKeyCacheTests {
+    private static final String ACCOUNT_ID =
+            "/subscriptions/00000000-0000-0000-0000-000000000000/resourceGroups/rg/providers/Microsoft.Storage/storageAccounts/account";
+
+    private final AtomicInteger listKeysRequests = new AtomicInteger();
+    private final AtomicInteger regenerateKeyRequests = new AtomicInteger();
+    private StorageManager manager;
+    private StorageAccount storageAccount;
+
+    @Before
+    public void setup() {
+        RestClient restClient = new RestClient.Builder()
+                .withBaseUrl("https://management.azure.com/")
+                .withSerializerAdapter(new AzureJacksonAdapter())
+                .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
+                .withInterceptor(new FakeStorageInterceptor())
+                .build();
+        manager = StorageManager.authenticate(restClient, "00000000-0000-0000-0000-000000000000");
+        storageAccount = manager.storageAccounts().getByResourceGroup("rg", "account");
+    }
+
+    @Test
+    public void canShareKeysWithinTimeToLive() {
+        StorageAccountKeyCache cache = manager.storageAccountKeyCache();
+        Assert.assertEquals("key1-1", cache.getKeys(storageAccount).get(0).value());
+        Assert.assertEquals("key1-1", cache.getKeys(storageAccount).get(0).value());
+        Assert.assertEquals(1, listKeysRequests.get());
+
+        cache.invalidate(ACCOUNT_ID.toUpperCase());
+        Assert.assertEquals("key1-2", cache.getKeys(storageAccount).get(0).value());
+        Assert.assertEquals(2, listKeysRequests.get());
+    }
+
+    @Test
+    public void canExpireKeys() {
+        StorageAccountKeyCache cache = manager.storageAccountKeyCache().withTimeToLive(Period.ZERO);
+        cache.getKeys(storageAccount);
+        cache.getKeys(storageAccount);
+        Assert.assertEquals(2, listKeysRequests.get());
+
+        cache.withTimeToLive(Period.minutes(5));
+        cache.getKeys(storageAccount);
+        cache.getKeys(storageAccount);
+        Assert.assertEquals(3, listKeysRequests.get());
+    }
+
+    @Test
+    public void canInvalidateKeysOnRegenerate() {
+        StorageAccountKeyCache cache = manager.storageAccountKeyCache();
+        Assert.assertEquals("key1-1", cache.getKeys(storageAccount).get(0).value());
+
+        storageAccount.regenerateKey("key1");
+        Assert.assertEquals(1, regenerateKeyRequests.get());
+        Assert.assertEquals("key1-2", cache.getKeys(storageAccount).get(0).value());
+        Assert.assertEquals(2, listKeysRequests.get());
+    }
+
+    @Test
+    public void canReuseClients() {
+        StorageAccountKeyCache cache = manager.storageAccountKeyCache();
+        final AtomicInteger clientsBuilt = new AtomicInteger();
+        Func1<String, StringBuilder> factory = new Func1<String, StringBuilder>() {
+            @Override
+            public StringBuilder call(String connectionString) {
+                clientsBuilt.incrementAndGet();
+                return new StringBuilder(connectionString);
+            }
+        };
+
+        StringBuilder client = cache.getClientAsync(storageAccount, "key1", StringBuilder.class, factory).toBlocking().single();
+        Assert.assertSame(client, cache.getClientAsync(storageAccount, "KEY1", StringBuilder.class, factory).toBlocking().single());
+        Assert.assertEquals(1, clientsBuilt.get());
+        Assert.assertTrue(client.toString().contains("AccountKey=key1-1;"));
+
+        StringBuilder otherKeyClient = cache.getClientAsync(storageAccount, "key2", StringBuilder.class, factory).toBlocking().single();
+        Assert.assertNotSame(client, otherKeyClient);
+        Assert.assertTrue(otherKeyClient.toString().contains("AccountKey=key2-1;"));
+        Assert.assertEquals(2, clientsBuilt.get());
+        Assert.assertEquals(1, listKeysRequests.get());
+
+        // the clients expire with the keys they were built from
+        storageAccount.regenerateKey("key1");
+        StringBuilder rebuilt = cache.getClientAsync(storageAccount, "key1", StringBuilder.class, factory).toBlocking().single();
+        Assert.assertNotSame(client, rebuilt);
+        Assert.assertTrue(rebuilt.toString().contains("AccountKey=key1-2;"));
+        Assert.assertEquals(3, clientsBuilt.get());
+    }
+
+    @Test
+    public void canBuildConnectionStringFromAccountEndpoints() {
+        String connectionString = manager.storageAccountKeyCache()
+                .getConnectionStringAsync(storageAccount, "key2").toBlocking().single();
+        Assert.assertEquals("DefaultEndpointsProtocol=https;AccountName=account;AccountKey=key2-1"
+                + ";BlobEndpoint=https://account.blob.core.chinacloudapi.cn/"
+                + ";QueueEndpoint=https://account.queue.core.chinacloudapi.cn/"
+                + ";TableEndpoint=https://account.table.core.chinacloudapi.cn/"
+                + ";FileEndpoint=https://account.file.core.chinacloudapi.cn/", connectionString);
+    }
+
+    /**
+     * Answers the storage account requests, the keys changing with each request listing them.
+     */
+    private class FakeStorageInterceptor implements Interceptor {
+        @Override
+        public Response intercept(Chain chain) throws IOException {
+            Request request = chain.request();
+            String path = request.url().encodedPath();
+            String body;
+            if (path.endsWith("/listKeys")) {
+                body = keys(listKeysRequests.incrementAndGet());
+            } else if (path.endsWith("/regenerateKey")) {
+                body = keys(regenerateKeyRequests.incrementAndGet() + 100);
+            } else {
+                body = "{\"id\":\"" + ACCOUNT_ID + "\",\"name\":\"account\",\"location\":\"chinaeast\","
+                        + "\"type\":\"Microsoft.Storage/storageAccounts\",\"kind\":\"StorageV2\","
+                        + "\"properties\":{\"primaryEndpoints\":{"
+                        + "\"blob\":\"https://account.blob.core.chinacloudapi.cn/\","
+                        + "\"queue\":\"https://account.queue.core.chinacloudapi.cn/\","
+                        + "\"table\":\"https://account.table.core.chinacloudapi.cn/\","
+                        + "\"file\":\"https://account.file.core.chinacloudapi.cn/\"}}}";
+            }
+            return new Response.Builder()
+                    .request(request)
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(200)
+                    .message("OK")
+                    .body(ResponseBody.create(MediaType.parse("application/json"), body))
+                    .build();
+        }
+
+        private String keys(int version) {
+            return "{\"keys\":[{\"keyName\":\"key1\",\"value\":\"key1-" + version + "\",\"permissions\":\"FULL\"},"
+                    + "{\"keyName\":\"key2\",\"value\":\"key2-" + version + "\",\"permissions\":\"FULL\"}]}";
+        }
+    }
+}
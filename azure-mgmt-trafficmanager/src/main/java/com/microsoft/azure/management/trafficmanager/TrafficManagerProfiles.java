@@ -11,11 +11,13 @@ import com.microsoft.azure.management.resources.fluentcore.arm.collection.Suppor
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsGettingByResourceGroup;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsGettingById;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsListingByResourceGroup;
+import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsStreamingListingByResourceGroup;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.HasManager;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsBatchCreation;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsStreamingListing;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 import com.microsoft.azure.management.trafficmanager.implementation.ProfilesInner;
 import com.microsoft.azure.management.trafficmanager.implementation.TrafficManager;
@@ -30,7 +32,9 @@ import rx.Observable;
 public interface TrafficManagerProfiles extends
         SupportsCreating<TrafficManagerProfile.DefinitionStages.Blank>,
         SupportsListing<TrafficManagerProfile>,
+        SupportsStreamingListing<TrafficManagerProfile>,
         SupportsListingByResourceGroup<TrafficManagerProfile>,
+        SupportsStreamingListingByResourceGroup<TrafficManagerProfile>,
         SupportsGettingByResourceGroup<TrafficManagerProfile>,
         SupportsGettingById<TrafficManagerProfile>,
         SupportsDeletingById,
@@ -323,6 +323,14 @@ public final class Azure {
          * @throws IOException exception thrown from serialization/deserialization
          */
         Azure withDefaultSubscription() throws CloudException, IOException;
+
+        /**
+         * Entry point to taking inventory of the resources of one or more subscriptions.
+         *
+         * @return a new inventory, of all the subscriptions unless limited
+         */
+        @Beta(SinceVersion.V1_30_0)
+        Inventory inventory();
     }
 
     /**
@@ -397,6 +405,11 @@ public final class Azure {
             return new Azure(restClient, subscriptionId, tenantId, this);
         }
 
+        @Override
+        public Inventory inventory() {
+            return new Inventory(restClient, this);
+        }
+
         @Override
         public Azure withDefaultSubscription() throws CloudException, IOException {
             if (this.defaultSubscription != null) {
@@ -440,6 +453,14 @@ public final class Azure {
         this.authenticated = authenticated;
     }
 
+    /**
+     * @return a new inventory of the resources of the currently selected subscription
+     */
+    @Beta(SinceVersion.V1_30_0)
+    public Inventory inventory() {
+        return this.authenticated.inventory().withSubscriptions(this.subscriptionId);
+    }
+
     /**
      * @return the currently selected subscription ID this client is authenticated to work with
      */
@@ -0,0 +1,319 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management;
+
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
+import com.microsoft.azure.management.resources.GenericResource;
+import com.microsoft.azure.management.resources.Subscription;
+import com.microsoft.azure.management.resources.fluentcore.arm.ResourceId;
+import com.microsoft.azure.management.resources.fluentcore.utils.StreamingPageReader;
+import com.microsoft.azure.management.resources.implementation.ResourceManager;
+import com.microsoft.rest.RestClient;
+import okhttp3.HttpUrl;
+import okio.ByteString;
+import rx.Observable;
+import rx.functions.Action2;
+import rx.functions.Func0;
+import rx.functions.Func1;
+import rx.schedulers.Schedulers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Lists the resources of many subscriptions concurrently to take inventory snapshots, and fetches the
+ * resources that changed between two snapshots.
+ * <p>
+ * A snapshot lists the resources of each subscription through the Azure Resource Manager resources API,
+ * once for all the resources or once per resource type, each listing being read as a stream. The
+ * listings of all the subscriptions, and then the fetches of the changed resources, share a budget of
+ * requests in flight, so that a large inventory does not exceed the request rate of the subscriptions.
+ * <pre>{@code
+ * InventorySnapshot snapshot = azure.inventory().takeSnapshot();
+ * InventoryDelta delta = snapshot.deltaFrom(previousSnapshot);
+ * List<GenericResource> changed = azure.inventory().fetch(delta);
+ * }</pre>
+ */
+@Beta(SinceVersion.V1_30_0)
+public final class Inventory {
+    /**
+     * The default number of requests in flight.
+     */
+    public static final int DEFAULT_MAX_CONCURRENCY = 8;
+
+    // the first version of the resources API reporting the time resources were changed
+    private static final String LIST_API_VERSION = "2019-08-01";
+    // marks the fingerprints of the resources listed without a change time or an ETag
+    static final String LISTED_STATE_FINGERPRINT_PREFIX = "sha256:";
+
+    private final RestClient restClient;
+    private final Azure.Authenticated authenticated;
+    private final List<String> subscriptionIds = new ArrayList<>();
+    private final List<String> resourceTypes = new ArrayList<>();
+    private final ConcurrentMap<String, ResourceManager> resourceManagers = new ConcurrentHashMap<>();
+    private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+
+    /**
+     * A resource as listed by the resources API.
+     */
+    static final class ListedResource {
+        @JsonProperty(value = "id")
+        private String id;
+
+        @JsonProperty(value = "type")
+        private String type;
+
+        @JsonProperty(value = "changedTime")
+        private String changedTime;
+
+        @JsonProperty(value = "etag")
+        private String etag;
+
+        // the rest of the listed state, e.g. the location, tags and sku
+        private final Map<String, Object> otherProperties = new TreeMap<>();
+
+        @JsonAnySetter
+        void setOtherProperty(String name, Object value) {
+            this.otherProperties.put(name, value);
+        }
+
+        InventorySnapshot.Entry toEntry() {
+            String fingerprint = changedTime != null ? changedTime : etag;
+            if (fingerprint == null) {
+                // a digest of the listed state is the same from one snapshot to the next while the state is,
+                // but misses the changes the listing does not show, e.g. of the properties
+                StringBuilder content = new StringBuilder();
+                appendCanonical(otherProperties, content);
+                fingerprint = LISTED_STATE_FINGERPRINT_PREFIX + ByteString.encodeUtf8(content.toString()).sha256().hex();
+            }
+            return new InventorySnapshot.Entry(id, type, fingerprint);
+        }
+
+        private static void appendCanonical(Object value, StringBuilder content) {
+            if (value instanceof Map) {
+                // the keys are sorted, the service does not guarantee their order
+                Map<String, Object> sorted = new TreeMap<>();
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                    sorted.put(String.valueOf(entry.getKey()), entry.getValue());
+                }
+                content.append('{');
+                for (Map.Entry<String, Object> entry : sorted.entrySet()) {
+                    appendCanonical(entry.getKey(), content);
+                    content.append(':');
+                    appendCanonical(entry.getValue(), content);
+                    content.append(',');
+                }
+                content.append('}');
+            } else if (value instanceof List) {
+                content.append('[');
+                for (Object item : (List<?>) value) {
+                    appendCanonical(item, content);
+                    content.append(',');
+                }
+                content.append(']');
+            } else if (value instanceof String) {
+                content.append('"').append(((String) value).replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+            } else {
+                content.append(value);
+            }
+        }
+    }
+
+    Inventory(RestClient restClient, Azure.Authenticated authenticated) {
+        this.restClient = restClient;
+        this.authenticated = authenticated;
+    }
+
+    /**
+     * Limits the inventory to the given subscriptions; by default all the subscriptions of the
+     * credentials are listed.
+     *
+     * @param subscriptionIds the subscription IDs
+     * @return the inventory
+     */
+    public Inventory withSubscriptions(String... subscriptionIds) {
+        this.subscriptionIds.addAll(Arrays.asList(subscriptionIds));
+        return this;
+    }
+
+    /**
+     * Limits the inventory to the given resource types, each type being listed concurrently; by default
+     * all the resources of a subscription are listed at once.
+     *
+     * @param resourceTypes the resource types, e.g. "Microsoft.Compute/virtualMachines"
+     * @return the inventory
+     */
+    public Inventory withResourceTypes(String... resourceTypes) {
+        this.resourceTypes.addAll(Arrays.asList(resourceTypes));
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of listings and fetches in flight across all the subscriptions.
+     *
+     * @param maxConcurrency the maximum number of requests in flight
+     * @return the inventory
+     */
+    public Inventory withMaxConcurrency(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        }
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    /**
+     * Lists the resources of the inventory.
+     *
+     * @return the snapshot of the resources
+     */
+    public InventorySnapshot takeSnapshot() {
+        return takeSnapshotAsync().toBlocking().last();
+    }
+
+    /**
+     * Lists the resources of the inventory.
+     * <p>
+     * The snapshot fails if any listing fails, since a partial snapshot would report the resources
+     * it misses as removed.
+     *
+     * @return an observable emitting the snapshot of the resources
+     */
+    public Observable<InventorySnapshot> takeSnapshotAsync() {
+        final long takenAtMillis = System.currentTimeMillis();
+        final StreamingPageReader<ListedResource> reader = new StreamingPageReader<>(restClient, ListedResource.class);
+        return subscriptionIdsAsync()
+                .flatMap(new Func1<String, Observable<String>>() {
+                    @Override
+                    public Observable<String> call(String subscriptionId) {
+                        return Observable.from(listUrls(subscriptionId));
+                    }
+                })
+                .flatMap(new Func1<String, Observable<ListedResource>>() {
+                    @Override
+                    public Observable<ListedResource> call(String url) {
+                        return reader.listAsync(url);
+                    }
+                }, maxConcurrency)
+                .collect(new Func0<List<InventorySnapshot.Entry>>() {
+                    @Override
+                    public List<InventorySnapshot.Entry> call() {
+                        return new ArrayList<>();
+                    }
+                }, new Action2<List<InventorySnapshot.Entry>, ListedResource>() {
+                    @Override
+                    public void call(List<InventorySnapshot.Entry> entries, ListedResource resource) {
+                        entries.add(resource.toEntry());
+                    }
+                })
+                .map(new Func1<List<InventorySnapshot.Entry>, InventorySnapshot>() {
+                    @Override
+                    public InventorySnapshot call(List<InventorySnapshot.Entry> entries) {
+                        return new InventorySnapshot(takenAtMillis, entries);
+                    }
+                });
+    }
+
+    /**
+     * Fetches in full the resources added or changed between two snapshots.
+     *
+     * @param delta the differences between the snapshots
+     * @return the resources
+     */
+    public List<GenericResource> fetch(InventoryDelta delta) {
+        return fetchAsync(delta.resourceIdsToFetch()).toList().toBlocking().last();
+    }
+
+    /**
+     * Fetches in full the resources added or changed between two snapshots.
+     *
+     * @param delta the differences between the snapshots
+     * @return an observable emitting the resources as they are fetched
+     */
+    public Observable<GenericResource> fetchAsync(InventoryDelta delta) {
+        return fetchAsync(delta.resourceIdsToFetch());
+    }
+
+    /**
+     * Fetches resources in full, within the budget of requests in flight of the inventory.
+     *
+     * @param resourceIds the resource IDs
+     * @return an observable emitting the resources as they are fetched
+     */
+    public Observable<GenericResource> fetchAsync(Collection<String> resourceIds) {
+        return Observable.from(resourceIds)
+                .flatMap(new Func1<String, Observable<GenericResource>>() {
+                    @Override
+                    public Observable<GenericResource> call(final String resourceId) {
+                        // the api version of each provider is looked up once per subscription
+                        final ResourceManager resourceManager = resourceManager(ResourceId.fromString(resourceId).subscriptionId());
+                        return Observable.fromCallable(new Callable<GenericResource>() {
+                            @Override
+                            public GenericResource call() {
+                                return resourceManager.genericResources().getById(resourceId);
+                            }
+                        }).subscribeOn(Schedulers.io());
+                    }
+                }, maxConcurrency);
+    }
+
+    private Observable<String> subscriptionIdsAsync() {
+        if (!this.subscriptionIds.isEmpty()) {
+            return Observable.from(new ArrayList<>(this.subscriptionIds));
+        }
+        return this.authenticated.subscriptions().listAsync()
+                .map(new Func1<Subscription, String>() {
+                    @Override
+                    public String call(Subscription subscription) {
+                        return subscription.subscriptionId();
+                    }
+                });
+    }
+
+    private List<String> listUrls(String subscriptionId) {
+        List<String> types = this.resourceTypes.isEmpty()
+                ? Collections.<String>singletonList(null)
+                : new ArrayList<>(this.resourceTypes);
+        List<String> urls = new ArrayList<>();
+        for (String type : types) {
+            HttpUrl.Builder url = restClient.retrofit().baseUrl().newBuilder()
+                    .addPathSegment("subscriptions")
+                    .addPathSegment(subscriptionId)
+                    .addPathSegment("resources")
+                    .addQueryParameter("api-version", LIST_API_VERSION)
+                    .addQueryParameter("$expand", "changedTime");
+            if (type != null) {
+                url.addQueryParameter("$filter", "resourceType eq '" + type + "'");
+            }
+            urls.add(url.build().toString());
+        }
+        return urls;
+    }
+
+    private ResourceManager resourceManager(String subscriptionId) {
+        ResourceManager resourceManager = this.resourceManagers.get(subscriptionId);
+        if (resourceManager == null) {
+            resourceManager = ResourceManager.authenticate(restClient).withSubscription(subscriptionId);
+            ResourceManager existing = this.resourceManagers.putIfAbsent(subscriptionId, resourceManager);
+            if (existing != null) {
+                resourceManager = existing;
+            }
+        }
+        return resourceManager;
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The differences between two inventory snapshots, see {@link InventorySnapshot#deltaFrom(InventorySnapshot)}.
+ */
+@Beta(SinceVersion.V1_30_0)
+public final class InventoryDelta {
+    private final List<InventorySnapshot.Entry> added;
+    private final List<InventorySnapshot.Entry> changed;
+    private final List<InventorySnapshot.Entry> removed;
+
+    InventoryDelta(List<InventorySnapshot.Entry> added,
+                   List<InventorySnapshot.Entry> changed,
+                   List<InventorySnapshot.Entry> removed) {
+        this.added = Collections.unmodifiableList(added);
+        this.changed = Collections.unmodifiableList(changed);
+        this.removed = Collections.unmodifiableList(removed);
+    }
+
+    /**
+     * @return the resources not in the previous snapshot
+     */
+    public List<InventorySnapshot.Entry> added() {
+        return this.added;
+    }
+
+    /**
+     * @return the resources whose fingerprint changed since the previous snapshot
+     */
+    public List<InventorySnapshot.Entry> changed() {
+        return this.changed;
+    }
+
+    /**
+     * @return the resources of the previous snapshot that no longer exist
+     */
+    public List<InventorySnapshot.Entry> removed() {
+        return this.removed;
+    }
+
+    /**
+     * @return the IDs of the added and changed resources, i.e. the resources to fetch again
+     */
+    public List<String> resourceIdsToFetch() {
+        List<String> ids = new ArrayList<>(this.added.size() + this.changed.size());
+        for (InventorySnapshot.Entry entry : this.added) {
+            ids.add(entry.resourceId());
+        }
+        for (InventorySnapshot.Entry entry : this.changed) {
+            ids.add(entry.resourceId());
+        }
+        return ids;
+    }
+
+    /**
+     * @return true if no resource was added, changed or removed
+     */
+    public boolean isEmpty() {
+        return this.added.isEmpty() && this.changed.isEmpty() && this.removed.isEmpty();
+    }
+}
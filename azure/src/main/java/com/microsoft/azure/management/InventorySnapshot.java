@@ -0,0 +1,241 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The resources of one or more subscriptions at a point in time, as listed by an {@link Inventory}.
+ * <p>
+ * Each resource is recorded with its ID, its type and a fingerprint of its state, the time it was last
+ * changed, else its ETag, else a digest of the state the listing returned, so that two snapshots can be
+ * compared without the resources themselves. A resource fingerprinted by the digest is only seen as changed
+ * when its listed state changes, e.g. its tags or SKU, not when only its properties do. A snapshot can
+ * be saved in a compact binary form, the resource types being written once and the whole being compressed.
+ */
+@Beta(SinceVersion.V1_30_0)
+public final class InventorySnapshot {
+    private static final int MAGIC = 0x415A4956;
+    private static final int VERSION = 1;
+
+    private final long takenAtMillis;
+    private final Map<String, Entry> entries;
+
+    /**
+     * A resource recorded in a snapshot.
+     */
+    public static final class Entry {
+        private final String resourceId;
+        private final String resourceType;
+        private final String fingerprint;
+
+        Entry(String resourceId, String resourceType, String fingerprint) {
+            this.resourceId = resourceId;
+            this.resourceType = resourceType;
+            this.fingerprint = fingerprint == null ? "" : fingerprint;
+        }
+
+        /**
+         * @return the resource ID
+         */
+        public String resourceId() {
+            return this.resourceId;
+        }
+
+        /**
+         * @return the resource type, e.g. "Microsoft.Compute/virtualMachines"
+         */
+        public String resourceType() {
+            return this.resourceType;
+        }
+
+        /**
+         * @return the time the resource was last changed, its ETag, or a digest of its listed state prefixed
+         * with "sha256:"; empty if unknown
+         */
+        public String fingerprint() {
+            return this.fingerprint;
+        }
+    }
+
+    InventorySnapshot(long takenAtMillis, Collection<Entry> entries) {
+        this.takenAtMillis = takenAtMillis;
+        this.entries = new LinkedHashMap<>();
+        for (Entry entry : entries) {
+            this.entries.put(key(entry.resourceId()), entry);
+        }
+    }
+
+    /**
+     * @return the time the listing of the resources started, in milliseconds since the epoch
+     */
+    public long takenAtMillis() {
+        return this.takenAtMillis;
+    }
+
+    /**
+     * @return the number of resources
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * @return the resources
+     */
+    public Collection<Entry> entries() {
+        return Collections.unmodifiableCollection(this.entries.values());
+    }
+
+    /**
+     * Gets a resource of the snapshot.
+     *
+     * @param resourceId the resource ID, case insensitive
+     * @return the resource, null if not in the snapshot
+     */
+    public Entry get(String resourceId) {
+        return this.entries.get(key(resourceId));
+    }
+
+    /**
+     * Compares this snapshot with a previous one.
+     * <p>
+     * A resource is changed if its fingerprint differs, or if it has no fingerprint in either snapshot
+     * since it cannot then be known to be unchanged.
+     *
+     * @param previous the previous snapshot
+     * @return the resources added, changed and removed since the previous snapshot
+     */
+    public InventoryDelta deltaFrom(InventorySnapshot previous) {
+        List<Entry> added = new ArrayList<>();
+        List<Entry> changed = new ArrayList<>();
+        List<Entry> removed = new ArrayList<>();
+        for (Map.Entry<String, Entry> current : this.entries.entrySet()) {
+            Entry before = previous.entries.get(current.getKey());
+            Entry after = current.getValue();
+            if (before == null) {
+                added.add(after);
+            } else if (after.fingerprint().isEmpty() || !after.fingerprint().equals(before.fingerprint())) {
+                changed.add(after);
+            }
+        }
+        for (Map.Entry<String, Entry> before : previous.entries.entrySet()) {
+            if (!this.entries.containsKey(before.getKey())) {
+                removed.add(before.getValue());
+            }
+        }
+        return new InventoryDelta(added, changed, removed);
+    }
+
+    /**
+     * Writes this snapshot in its binary form. The stream is not closed.
+     *
+     * @param outputStream the stream to write to
+     * @throws IOException if the stream cannot be written
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+        GZIPOutputStream compressed = new GZIPOutputStream(outputStream);
+        DataOutputStream output = new DataOutputStream(compressed);
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        output.writeLong(this.takenAtMillis);
+
+        Map<String, Integer> types = new LinkedHashMap<>();
+        for (Entry entry : this.entries.values()) {
+            if (!types.containsKey(entry.resourceType())) {
+                types.put(entry.resourceType(), types.size());
+            }
+        }
+        writeVarInt(output, types.size());
+        for (String type : types.keySet()) {
+            output.writeUTF(type);
+        }
+        writeVarInt(output, this.entries.size());
+        for (Entry entry : this.entries.values()) {
+            writeVarInt(output, types.get(entry.resourceType()));
+            output.writeUTF(entry.resourceId());
+            output.writeUTF(entry.fingerprint());
+        }
+        output.flush();
+        compressed.finish();
+    }
+
+    /**
+     * Reads a snapshot written by {@link #writeTo(OutputStream)}. The stream is not closed.
+     *
+     * @param inputStream the stream to read from
+     * @return the snapshot
+     * @throws IOException if the stream cannot be read or does not contain a snapshot
+     */
+    public static InventorySnapshot readFrom(InputStream inputStream) throws IOException {
+        DataInputStream input = new DataInputStream(new GZIPInputStream(inputStream));
+        if (input.readInt() != MAGIC) {
+            throw new IOException("The stream does not contain an inventory snapshot");
+        }
+        int version = input.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported inventory snapshot version " + version);
+        }
+        long takenAtMillis = input.readLong();
+
+        int typeCount = readVarInt(input);
+        String[] types = new String[typeCount];
+        for (int i = 0; i < typeCount; i++) {
+            types[i] = input.readUTF();
+        }
+        int entryCount = readVarInt(input);
+        List<Entry> entries = new ArrayList<>(entryCount);
+        for (int i = 0; i < entryCount; i++) {
+            int type = readVarInt(input);
+            if (type >= typeCount) {
+                throw new IOException("Corrupted inventory snapshot");
+            }
+            entries.add(new Entry(input.readUTF(), types[type], input.readUTF()));
+        }
+        return new InventorySnapshot(takenAtMillis, entries);
+    }
+
+    private static void writeVarInt(DataOutputStream output, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream input) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = input.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Corrupted inventory snapshot");
+    }
+
+    private static String key(String resourceId) {
+        return resourceId.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+public class InventorySnapshotTests {
+    private static final String VM_TYPE = "Microsoft.Compute/virtualMachines";
+    private static final String VM_ID = "/subscriptions/sub/resourceGroups/rg/providers/Microsoft.Compute/virtualMachines/";
+
+    @Test
+    public void canWriteAndReadSnapshots() throws IOException {
+        InventorySnapshot snapshot = new InventorySnapshot(1000, Arrays.asList(
+                new InventorySnapshot.Entry(VM_ID + "vm1", VM_TYPE, "2020-01-01T00:00:00Z"),
+                new InventorySnapshot.Entry(VM_ID + "vm2", VM_TYPE, null),
+                new InventorySnapshot.Entry("/subscriptions/sub/resourceGroups/rg/providers/Microsoft.Network/virtualNetworks/vnet1",
+                        "Microsoft.Network/virtualNetworks", "W/\"1\"")));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        snapshot.writeTo(output);
+        InventorySnapshot read = InventorySnapshot.readFrom(new ByteArrayInputStream(output.toByteArray()));
+
+        Assert.assertEquals(1000, read.takenAtMillis());
+        Assert.assertEquals(3, read.size());
+        Assert.assertEquals("2020-01-01T00:00:00Z", read.get(VM_ID.toUpperCase() + "VM1").fingerprint());
+        Assert.assertEquals("", read.get(VM_ID + "vm2").fingerprint());
+        Assert.assertEquals("Microsoft.Network/virtualNetworks",
+                read.get("/subscriptions/sub/resourceGroups/rg/providers/Microsoft.Network/virtualNetworks/vnet1").resourceType());
+        Assert.assertTrue(read.deltaFrom(snapshot).changed().size() == 1);
+    }
+
+    @Test
+    public void canComputeDeltas() {
+        InventorySnapshot previous = new InventorySnapshot(1000, Arrays.asList(
+                new InventorySnapshot.Entry(VM_ID + "unchanged", VM_TYPE, "t1"),
+                new InventorySnapshot.Entry(VM_ID + "changed", VM_TYPE, "t1"),
+                new InventorySnapshot.Entry(VM_ID + "removed", VM_TYPE, "t1")));
+        InventorySnapshot current = new InventorySnapshot(2000, Arrays.asList(
+                new InventorySnapshot.Entry(VM_ID + "unchanged", VM_TYPE, "t1"),
+                new InventorySnapshot.Entry(VM_ID + "changed", VM_TYPE, "t2"),
+                new InventorySnapshot.Entry(VM_ID + "added", VM_TYPE, "t2")));
+
+        InventoryDelta delta = current.deltaFrom(previous);
+        Assert.assertEquals(1, delta.added().size());
+        Assert.assertEquals(VM_ID + "added", delta.added().get(0).resourceId());
+        Assert.assertEquals(1, delta.changed().size());
+        Assert.assertEquals(VM_ID + "changed", delta.changed().get(0).resourceId());
+        Assert.assertEquals(1, delta.removed().size());
+        Assert.assertEquals(VM_ID + "removed", delta.removed().get(0).resourceId());
+        Assert.assertEquals(Arrays.asList(VM_ID + "added", VM_ID + "changed"), delta.resourceIdsToFetch());
+        Assert.assertTrue(current.deltaFrom(current).isEmpty());
+    }
+
+    @Test
+    public void canFingerprintResourcesListedWithoutChangeTime() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        InventorySnapshot.Entry entry = mapper.readValue("{\"id\":\"" + VM_ID + "vm1\",\"type\":\"" + VM_TYPE + "\","
+                + "\"location\":\"westus\",\"tags\":{\"env\":\"test\",\"owner\":\"me\"},\"sku\":{\"name\":\"Standard\"}}",
+                Inventory.ListedResource.class).toEntry();
+        InventorySnapshot.Entry reordered = mapper.readValue("{\"sku\":{\"name\":\"Standard\"},\"tags\":{\"owner\":\"me\",\"env\":\"test\"},"
+                + "\"location\":\"westus\",\"type\":\"" + VM_TYPE + "\",\"id\":\"" + VM_ID + "vm1\"}",
+                Inventory.ListedResource.class).toEntry();
+        InventorySnapshot.Entry retagged = mapper.readValue("{\"id\":\"" + VM_ID + "vm1\",\"type\":\"" + VM_TYPE + "\","
+                + "\"location\":\"westus\",\"tags\":{\"env\":\"prod\",\"owner\":\"me\"},\"sku\":{\"name\":\"Standard\"}}",
+                Inventory.ListedResource.class).toEntry();
+
+        Assert.assertTrue(entry.fingerprint().startsWith(Inventory.LISTED_STATE_FINGERPRINT_PREFIX));
+        Assert.assertEquals(entry.fingerprint(), reordered.fingerprint());
+        Assert.assertNotEquals(entry.fingerprint(), retagged.fingerprint());
+
+        InventorySnapshot previous = new InventorySnapshot(1000, Arrays.asList(entry));
+        Assert.assertTrue(new InventorySnapshot(2000, Arrays.asList(reordered)).deltaFrom(previous).isEmpty());
+        Assert.assertEquals(1, new InventorySnapshot(2000, Arrays.asList(retagged)).deltaFrom(previous).changed().size());
+
+        // the change time or the ETag are used when listed
+        Assert.assertEquals("W/\"1\"", mapper.readValue("{\"id\":\"" + VM_ID + "vm1\",\"etag\":\"W/\\\"1\\\"\",\"tags\":{}}",
+                Inventory.ListedResource.class).toEntry().fingerprint());
+    }
+}